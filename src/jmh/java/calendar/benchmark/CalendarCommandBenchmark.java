@@ -0,0 +1,155 @@
+package calendar.benchmark;
+
+import calendar.controller.commanddata.CopyMultipleEventsCommandData;
+import calendar.controller.commanddata.CreateCommandData;
+import calendar.controller.handlers.CopyMultipleEventsHandler;
+import calendar.controller.handlers.CreateEventHandler;
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.EventSeries;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the commands that change a calendar by a whole series or week at a time.
+ * Each call gets a fresh series to edit and a fresh empty calendar to copy to, and the
+ * series added by the call are removed after it, all outside the measured time, so the
+ * calendar keeps its size for the whole run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalendarCommandBenchmark {
+  private static final int SERIES_WEEKS = 26;
+  private static final int PROBES = 1024;
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+  /**
+   * Number of events of the calendar, counting each series occurrence.
+   */
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int size;
+
+  /**
+   * Share of the events that belong to series.
+   */
+  @Param({"0.0", "0.2", "0.5"})
+  public double seriesDensity;
+
+  private CalendarImpl calendar;
+  private AdvancedCalendar source;
+  private LocalDateTime[] probes;
+  private CalendarContainerImpl container;
+  private int next;
+  private LocalDateTime start;
+  private UUID editedSeries;
+  private String createdSubject;
+
+  /**
+   * Generates the calendar and the times the series and copies start at.
+   */
+  @Setup
+  public void setUp() {
+    calendar = CalendarDataGenerator.generate(size, seriesDensity, CalendarDataGenerator.SEED);
+    source = new AdvancedCalendarImpl.AdvancedCalendarBuilder("source", ZONE)
+        .setCalendar(calendar).build();
+    probes = CalendarDataGenerator.probeTimes(size, PROBES, CalendarDataGenerator.SEED);
+  }
+
+  /**
+   * Adds the series to edit and makes a new empty calendar to copy to.
+   */
+  @Setup(Level.Invocation)
+  public void setUpCall() {
+    next = (next + 1) & (PROBES - 1);
+    start = probes[next];
+    editedSeries = calendar.addSeries(new EventSeries.EventSeriesBuilder("Edited " + next,
+        start, start.plusHours(1), EnumSet.of(start.getDayOfWeek()))
+        .setOccurrences(SERIES_WEEKS)
+        .build()).getId();
+    createdSubject = "Created " + next;
+    container = new CalendarContainerImpl();
+    container.addCalendar("source", source);
+    container.addCalendar("target", new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("target", ZONE).setCalendar(new CalendarImpl()).build());
+    container.setActiveCalendar("source");
+  }
+
+  /**
+   * Removes the series added by the call.
+   */
+  @TearDown(Level.Invocation)
+  public void tearDownCall() {
+    removeSeries(editedSeries);
+    List<EventReadOnly> created = calendar.findEvents(createdSubject, start);
+    if (!created.isEmpty()) {
+      removeSeries(created.get(0).getId());
+    }
+  }
+
+  private void removeSeries(UUID seriesId) {
+    for (EventReadOnly event : calendar.getSeriesEvents(seriesId)) {
+      calendar.removeEvent(event);
+    }
+  }
+
+  /**
+   * Changes the description of every occurrence of a series.
+   *
+   * @return the edited events
+   */
+  @Benchmark
+  public List<EventReadOnly> editSeries() {
+    return calendar.editEvent(calendar.getSeriesEvents(editedSeries), "description",
+        "moved to the big room");
+  }
+
+  /**
+   * Creates a weekly series through the create command.
+   *
+   * @return the result of the command
+   */
+  @Benchmark
+  public String createSeries() {
+    return new CreateEventHandler(calendar).handle(new CreateCommandData(createdSubject,
+        start, start.plusHours(1), CalendarDataGenerator.dayLetter(start.toLocalDate()), "for",
+        String.valueOf(SERIES_WEEKS), true));
+  }
+
+  /**
+   * Copies a week of events to another calendar through the copy command.
+   *
+   * @return the result of the command
+   */
+  @Benchmark
+  public String copyWeek() {
+    LocalDate monday = start.toLocalDate().with(DayOfWeek.MONDAY);
+    return new CopyMultipleEventsHandler(container).handle(new CopyMultipleEventsCommandData(
+        monday, monday.plusDays(6), monday.plusWeeks(60), "target"));
+  }
+}
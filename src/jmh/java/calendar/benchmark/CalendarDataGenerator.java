@@ -0,0 +1,161 @@
+package calendar.benchmark;
+
+import calendar.model.CalendarImpl;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.datatypes.Location;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Random;
+
+/**
+ * Builds synthetic calendars for the benchmarks. The same size, density and seed always
+ * give the same calendar, so runs on different commits compare like for like.
+ * Events fill working hours at about twenty a day from FIRST_DAY on, with subjects drawn
+ * from a small pool as real calendars repeat them, and one in a hundred lasts several
+ * days. The series density is the share of the events that are weekly series occurrences
+ * rather than events stored on their own.
+ */
+public final class CalendarDataGenerator {
+  /**
+   * First day of every generated calendar, a Monday.
+   */
+  public static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 6);
+  /**
+   * Seed used by the benchmarks.
+   */
+  public static final long SEED = 20250106L;
+
+  private static final int EVENTS_PER_DAY = 20;
+  private static final int MAX_SERIES_WEEKS = 52;
+  private static final int SUBJECTS = 200;
+  private static final String[] DESCRIPTIONS = {
+      "", "weekly sync", "planning", "review of the quarter", "one on one"};
+
+  private CalendarDataGenerator() {
+  }
+
+  /**
+   * Returns the number of days the events of a calendar of the given size spread over.
+   *
+   * @param size the number of events
+   * @return the number of days, at least four weeks
+   */
+  public static int daysFor(int size) {
+    return Math.max(28, size / EVENTS_PER_DAY);
+  }
+
+  /**
+   * Builds a calendar of the given size and series density.
+   *
+   * @param size          the number of events, counting each series occurrence
+   * @param seriesDensity the share of the events that belong to series, from 0 to 1
+   * @param seed          the seed of the random choices
+   * @return the calendar
+   */
+  public static CalendarImpl generate(int size, double seriesDensity, long seed) {
+    return fill(new CalendarImpl(), size, seriesDensity, seed);
+  }
+
+  /**
+   * Adds generated events to the given calendar. Series are added first, each with a
+   * subject of its own, then stored events until the size is reached. A stored event
+   * drawn twice is drawn again.
+   *
+   * @param calendar      the calendar to fill
+   * @param size          the number of events, counting each series occurrence
+   * @param seriesDensity the share of the events that belong to series, from 0 to 1
+   * @param seed          the seed of the random choices
+   * @param <T>           the type of the calendar
+   * @return the given calendar
+   */
+  public static <T extends CalendarEditable> T fill(T calendar, int size,
+                                                    double seriesDensity, long seed) {
+    if (size < 0 || seriesDensity < 0 || seriesDensity > 1) {
+      throw new IllegalArgumentException("size must be positive and density within 0 and 1");
+    }
+    Random random = new Random(seed);
+    int days = daysFor(size);
+    int weeks = Math.max(1, Math.min(MAX_SERIES_WEEKS, days / 7));
+    int seriesCount = (int) Math.round(size * seriesDensity / weeks);
+    for (int i = 0; i < seriesCount; i++) {
+      LocalDateTime start = randomStart(random, random.nextInt(7));
+      calendar.addSeries(new EventSeries.EventSeriesBuilder("Series " + i, start,
+          start.plusMinutes(randomMinutes(random)),
+          EnumSet.of(start.getDayOfWeek()))
+          .setOccurrences(weeks)
+          .setLocation(randomLocation(random))
+          .build());
+    }
+    int stored = size - seriesCount * weeks;
+    while (stored > 0) {
+      try {
+        calendar.addEvent(randomEvent(random, days));
+        stored--;
+      } catch (IllegalArgumentException e) {
+        // the same subject and times were drawn twice
+      }
+    }
+    return calendar;
+  }
+
+  /**
+   * Returns times spread over the days of a calendar of the given size, for queries to
+   * go through in turn.
+   *
+   * @param size  the number of events of the calendar
+   * @param count the number of times, a power of two
+   * @param seed  the seed of the random choices
+   * @return the times
+   */
+  public static LocalDateTime[] probeTimes(int size, int count, long seed) {
+    if (Integer.bitCount(count) != 1) {
+      throw new IllegalArgumentException("count must be a power of two");
+    }
+    Random random = new Random(seed + 1);
+    int days = daysFor(size);
+    LocalDateTime[] times = new LocalDateTime[count];
+    for (int i = 0; i < count; i++) {
+      times[i] = FIRST_DAY.atTime(6, 0).plusDays(random.nextInt(days))
+          .plusMinutes(random.nextInt(15 * 60));
+    }
+    return times;
+  }
+
+  /**
+   * Returns the letter the create command uses for the day of the week of the date.
+   *
+   * @param date the date
+   * @return the letter of the day of the week of the date
+   */
+  public static String dayLetter(LocalDate date) {
+    return String.valueOf("MTWRFSU".charAt(date.getDayOfWeek().getValue() - 1));
+  }
+
+  private static EventReadOnly randomEvent(Random random, int days) {
+    LocalDateTime start = randomStart(random, random.nextInt(days));
+    LocalDateTime end = random.nextInt(100) == 0
+        ? start.plusDays(2 + random.nextInt(3))
+        : start.plusMinutes(randomMinutes(random));
+    return new Event.EventBuilder("Meeting " + random.nextInt(SUBJECTS), start)
+        .setEndDateTime(end)
+        .setDescription(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)])
+        .setLocation(randomLocation(random))
+        .build();
+  }
+
+  private static LocalDateTime randomStart(Random random, int day) {
+    return FIRST_DAY.plusDays(day).atTime(7 + random.nextInt(12), 15 * random.nextInt(4));
+  }
+
+  private static int randomMinutes(Random random) {
+    return 15 * (1 + random.nextInt(8));
+  }
+
+  private static Location randomLocation(Random random) {
+    return random.nextBoolean() ? Location.PHYSICAL : Location.ONLINE;
+  }
+}
@@ -0,0 +1,161 @@
+package calendar.benchmark;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendar;
+import calendar.model.EditCalendarTimeZone;
+import calendar.model.Event;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the queries and changes of the calendars that need no setup per call,
+ * for each way of storing the events.
+ * Queries go through a fixed set of times spread over the calendar in turn, and changes
+ * are undone within the call, so the calendar keeps its size for the whole run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalendarModelBenchmark {
+  private static final int PROBES = 1024;
+  private static final String[] ZONES = {"America/New_York", "Europe/Paris"};
+
+  /**
+   * Number of events of the calendar, counting each series occurrence.
+   */
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int size;
+
+  /**
+   * Share of the events that belong to series.
+   */
+  @Param({"0.0", "0.2", "0.5"})
+  public double seriesDensity;
+
+  /**
+   * How the calendar stores its events, "objects" for a CalendarImpl and "columnar" for
+   * a ColumnarCalendar.
+   */
+  @Param({"objects", "columnar"})
+  public String storage;
+
+  private CalendarEditable calendar;
+  private AdvancedCalendar advancedCalendar;
+  private LocalDateTime[] probes;
+  private EventReadOnly[] newEvents;
+  private int next;
+  private int zone;
+
+  /**
+   * Generates the calendar and the times to query.
+   */
+  @Setup
+  public void setUp() {
+    calendar = CalendarDataGenerator.fill(
+        "columnar".equals(storage) ? new ColumnarCalendar() : new CalendarImpl(), size,
+        seriesDensity, CalendarDataGenerator.SEED);
+    advancedCalendar = new AdvancedCalendarImpl.AdvancedCalendarBuilder("bench",
+        ZoneId.of(ZONES[0])).setCalendar(calendar).build();
+    probes = CalendarDataGenerator.probeTimes(size, PROBES, CalendarDataGenerator.SEED);
+    newEvents = new EventReadOnly[PROBES];
+    for (int i = 0; i < PROBES; i++) {
+      newEvents[i] = new Event.EventBuilder("Added " + i, probes[i])
+          .setEndDateTime(probes[i].plusMinutes(45)).build();
+    }
+  }
+
+  private int nextIndex() {
+    next = (next + 1) & (PROBES - 1);
+    return next;
+  }
+
+  /**
+   * Adds a new event and removes it again.
+   *
+   * @return the added event
+   */
+  @Benchmark
+  public EventReadOnly addEvent() {
+    EventReadOnly added = calendar.addEvent(newEvents[nextIndex()]);
+    calendar.removeEvent(added);
+    return added;
+  }
+
+  /**
+   * Asks for the events of a whole day, as printing a day does.
+   *
+   * @return the events of the day
+   */
+  @Benchmark
+  public List<EventReadOnly> getEventsOfDay() {
+    LocalDate date = probes[nextIndex()].toLocalDate();
+    return calendar.getEvents(date.atStartOfDay(), date.atTime(23, 59));
+  }
+
+  /**
+   * Asks for the events of a whole month.
+   *
+   * @return the events of the month
+   */
+  @Benchmark
+  public List<EventReadOnly> getEventsOfMonth() {
+    LocalDate first = probes[nextIndex()].toLocalDate().withDayOfMonth(1);
+    return calendar.getEvents(first.atStartOfDay(),
+        first.plusMonths(1).minusDays(1).atTime(23, 59, 59));
+  }
+
+  /**
+   * Asks for the events of a range starting and ending within days.
+   *
+   * @return the events of the range
+   */
+  @Benchmark
+  public List<EventReadOnly> getEventsOfRange() {
+    LocalDateTime start = probes[nextIndex()];
+    return calendar.getEvents(start, start.plusHours(36));
+  }
+
+  /**
+   * Checks whether the calendar is busy at a time.
+   *
+   * @return whether the calendar is busy
+   */
+  @Benchmark
+  public boolean isBusy() {
+    return calendar.isBusy(probes[nextIndex()]);
+  }
+
+  /**
+   * Moves every event of the calendar to the other time zone. The first move turns series
+   * occurrences into events of their own, as the command does.
+   *
+   * @return the calendar in its new time zone
+   */
+  @Benchmark
+  public AdvancedCalendar editTimeZone() {
+    zone = 1 - zone;
+    advancedCalendar = new EditCalendarTimeZone().edit(advancedCalendar, ZONES[zone]);
+    return advancedCalendar;
+  }
+}
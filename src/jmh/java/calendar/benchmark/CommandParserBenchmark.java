@@ -0,0 +1,51 @@
+package calendar.benchmark;
+
+import calendar.controller.CommandTokenizerImpl;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of splitting commands into words. Parsing does not depend on any calendar, so
+ * it goes through a fixed mix of commands, quoted and not, instead of calendar sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandParserBenchmark {
+  private static final String[] COMMANDS = {
+      "create event \"Team standup\" from 2025-03-03T09:00 to 2025-03-03T09:15 "
+          + "repeats MTWRF for 40 times",
+      "create event Offsite on 2025-04-10",
+      "edit events location \"Team standup\" from 2025-03-03T09:00 with online",
+      "copy events between 2025-03-03 and 2025-03-09 --target home to 2025-06-02",
+      "print events from 2025-03-03T00:00 to 2025-03-31T23:59",
+      "show status on 2025-03-03T10:30",
+      "edit calendar --name work --property timezone Europe/Paris",
+      "export cal \"quarter one.csv\""};
+
+  private final CommandTokenizerImpl tokenizer = new CommandTokenizerImpl();
+  private int next;
+
+  /**
+   * Parses the next command of the mix.
+   *
+   * @return the words of the command
+   */
+  @Benchmark
+  public List<String> parse() {
+    next = (next + 1) % COMMANDS.length;
+    return tokenizer.parser(COMMANDS[next]);
+  }
+}
@@ -0,0 +1,94 @@
+package calendar.benchmark;
+
+import calendar.controller.CsvExporter;
+import calendar.controller.IcalExporter;
+import calendar.model.interfaces.EventReadOnly;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of exporting a whole calendar. The events are taken from the calendar's read
+ * view once, as the export command does, so only the writing of the file is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportBenchmark {
+
+  /**
+   * Number of events of the calendar, counting each series occurrence.
+   */
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int size;
+
+  /**
+   * Share of the events that belong to series.
+   */
+  @Param({"0.0", "0.2", "0.5"})
+  public double seriesDensity;
+
+  private Map<LocalDate, List<EventReadOnly>> events;
+  private File csvFile;
+  private File icalFile;
+
+  /**
+   * Generates the calendar and the files to write to.
+   *
+   * @throws IOException if the files cannot be made
+   */
+  @Setup
+  public void setUp() throws IOException {
+    events = CalendarDataGenerator.generate(size, seriesDensity, CalendarDataGenerator.SEED)
+        .getReadView().getAllEvents();
+    csvFile = File.createTempFile("calendar-bench", ".csv");
+    icalFile = File.createTempFile("calendar-bench", ".ical");
+  }
+
+  /**
+   * Deletes the written files.
+   */
+  @TearDown
+  public void tearDown() {
+    csvFile.delete();
+    icalFile.delete();
+  }
+
+  /**
+   * Writes the calendar as CSV.
+   *
+   * @return the path of the file
+   */
+  @Benchmark
+  public String exportCsv() {
+    return new CsvExporter().export(csvFile.getPath(), events);
+  }
+
+  /**
+   * Writes the calendar as iCalendar.
+   *
+   * @return the path of the file
+   */
+  @Benchmark
+  public String exportIcal() {
+    return new IcalExporter().export(icalFile.getPath(), events);
+  }
+}
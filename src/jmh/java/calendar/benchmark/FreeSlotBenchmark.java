@@ -0,0 +1,119 @@
+package calendar.benchmark;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.FreeSlotFinder;
+import calendar.model.TimeSlot;
+import calendar.model.interfaces.AdvancedCalendar;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of FreeSlotFinder over several generated calendars that must all be free.
+ * Each calendar is generated with a seed of its own, so their events do not line up, and
+ * every other calendar is in another time zone, so its events are converted as they are
+ * read. Searches start from a fixed set of times spread over the calendars in turn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FreeSlotBenchmark {
+  private static final int PROBES = 1024;
+  private static final ZoneId[] ZONES = {
+      ZoneId.of("America/New_York"), ZoneId.of("America/Chicago")};
+  private static final LocalTime WORK_START = LocalTime.of(9, 0);
+  private static final LocalTime WORK_END = LocalTime.of(17, 0);
+  private static final Duration MEETING = Duration.ofMinutes(30);
+
+  /**
+   * Number of events of each calendar, counting each series occurrence.
+   */
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int size;
+
+  /**
+   * Share of the events that belong to series.
+   */
+  @Param({"0.0", "0.2", "0.5"})
+  public double seriesDensity;
+
+  /**
+   * Number of calendars that must all be free. The generated calendars fill most of the
+   * working hours, so with more of them a free slot is rare and the runs mostly measure
+   * a search of the whole window.
+   */
+  @Param({"2", "4", "8"})
+  public int calendars;
+
+  private FreeSlotFinder finder;
+  private LocalDateTime[] probes;
+  private int next;
+
+  /**
+   * Generates the calendars and the times the searches start from.
+   */
+  @Setup
+  public void setUp() {
+    List<AdvancedCalendar> all = new ArrayList<>();
+    for (int i = 0; i < calendars; i++) {
+      all.add(new AdvancedCalendarImpl.AdvancedCalendarBuilder("calendar " + i,
+          ZONES[i % ZONES.length])
+          .setCalendar(CalendarDataGenerator.generate(size, seriesDensity,
+              CalendarDataGenerator.SEED + i))
+          .build());
+    }
+    finder = new FreeSlotFinder(all, ZONES[0]);
+    probes = CalendarDataGenerator.probeTimes(size, PROBES, CalendarDataGenerator.SEED);
+  }
+
+  private LocalDateTime nextProbe() {
+    next = (next + 1) & (PROBES - 1);
+    return probes[next];
+  }
+
+  /**
+   * Finds the first free half hour within four weeks, as booking the next meeting does.
+   *
+   * @return the first slot, or null if there is none
+   */
+  @Benchmark
+  public TimeSlot firstSlot() {
+    LocalDateTime start = nextProbe();
+    Iterator<TimeSlot> slots = finder.findFreeSlots(start, start.plusWeeks(4), MEETING,
+        WORK_START, WORK_END);
+    return slots.hasNext() ? slots.next() : null;
+  }
+
+  /**
+   * Lists every free half hour of a week, as showing the free times of a week does.
+   *
+   * @return the slots of the week
+   */
+  @Benchmark
+  public List<TimeSlot> slotsOfWeek() {
+    LocalDateTime start = nextProbe().toLocalDate().atStartOfDay();
+    List<TimeSlot> result = new ArrayList<>();
+    finder.findFreeSlots(start, start.plusWeeks(1), MEETING, WORK_START, WORK_END)
+        .forEachRemaining(result::add);
+    return result;
+  }
+}
@@ -81,20 +81,29 @@
 
 import calendar.controller.AdvanceCalendarController;
 import calendar.controller.CalendarController;
-import calendar.model.CalendarContainerImpl;
+import calendar.controller.handlers.MetricsReportHandler;
+import calendar.controller.metrics.CommandMetrics;
+import calendar.controller.metrics.MetricsDumper;
 import calendar.model.CalendarImpl;
+import calendar.model.ConcurrentCalendarContainer;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.journal.CalendarJournal;
+import calendar.model.journal.SyncPolicy;
+import calendar.view.BufferedCalendarView;
 import calendar.view.CalendarGuiView;
 import calendar.view.CalendarGuiViewImpl;
 import calendar.view.CalendarView;
 import calendar.view.CalendarViewImpl;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 
 /**
  * Program runner.
  */
 public class CalendarRunner {
-  private static final CalendarContainer container = new CalendarContainerImpl();
+  private static final CalendarContainer container = createContainer();
   private static final CalendarEditable calendar = new CalendarImpl();
 
   /**
@@ -108,6 +117,7 @@ public class CalendarRunner {
    * @param args Command-line arguments
    */
   public static void main(String[] args) {
+    startMetricsDump();
     // GUI mode: no arguments
     if (args.length == 0) {
       try {
@@ -142,6 +152,10 @@ public class CalendarRunner {
     // CLI modes: interactive or headless
     try {
       Readable input = InputFactory.getInput(args);
+      if (args[1].equalsIgnoreCase("headless")) {
+        runHeadless(input);
+        return;
+      }
       CalendarView view = new CalendarViewImpl(System.out);
       CalendarController controller = new AdvanceCalendarController(container, input, view);
       controller.run();
@@ -154,4 +168,91 @@ public class CalendarRunner {
       System.exit(1);
     }
   }
+
+  /**
+   * Runs a headless script with buffered output and reports the throughput on the error
+   * stream once the script is done. The output buffer size in characters can be set with
+   * the calendar.output.buffer system property.
+   *
+   * @param input the script to run
+   */
+  private static void runHeadless(Readable input) {
+    int threshold = Integer.getInteger("calendar.output.buffer",
+        BufferedCalendarView.DEFAULT_FLUSH_THRESHOLD);
+    BufferedCalendarView view = new BufferedCalendarView(System.out, threshold);
+    AdvanceCalendarController controller = new AdvanceCalendarController(container, input, view);
+    long start = System.nanoTime();
+    try {
+      controller.run();
+    } finally {
+      view.flush();
+    }
+    long elapsedNanos = Math.max(1, System.nanoTime() - start);
+    System.err.printf("Processed %d commands in %d ms (%.0f commands/sec)%n",
+        controller.getCommandsRun(), elapsedNanos / 1_000_000,
+        controller.getCommandsRun() * 1e9 / elapsedNanos);
+  }
+
+  /**
+   * Starts writing the command metrics and calendar sizes, as show metrics prints them,
+   * to the file named by the calendar.metrics.file system property, if any.
+   * The calendar.metrics.interval property sets the seconds between two dumps,
+   * and a last dump is written on exit.
+   */
+  private static void startMetricsDump() {
+    String metricsFile = System.getProperty("calendar.metrics.file");
+    if (metricsFile == null) {
+      return;
+    }
+    MetricsDumper dumper = new MetricsDumper(Paths.get(metricsFile),
+        Duration.ofSeconds(Long.getLong("calendar.metrics.interval", 60)),
+        new MetricsReportHandler(container, CommandMetrics.global())::handle);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try {
+        dumper.close();
+      } catch (IOException e) {
+        System.err.println("Error: cannot write metrics to " + metricsFile);
+      }
+    }));
+    dumper.start();
+  }
+
+  /**
+   * Creates the calendar container, safe to share between the GUI and background work.
+   * When the calendar.journal system property names a file,
+   * the calendars saved in that journal are restored and every change is journaled.
+   * Journal records that can no longer be applied are reported on the error stream.
+   * The calendar.journal.sync property picks the sync policy (always, group or never)
+   * and calendar.journal.group the number of changes written together. The
+   * calendar.journal.delay property sets the most milliseconds a change waits for its group.
+   *
+   * @return the container used by every mode
+   */
+  private static CalendarContainer createContainer() {
+    String journalFile = System.getProperty("calendar.journal");
+    if (journalFile == null) {
+      return new ConcurrentCalendarContainer();
+    }
+    try {
+      CalendarJournal journal = new CalendarJournal(Paths.get(journalFile),
+          SyncPolicy.getSyncPolicy(System.getProperty("calendar.journal.sync", "group")),
+          Integer.getInteger("calendar.journal.group", CalendarJournal.DEFAULT_GROUP_SIZE),
+          Duration.ofMillis(Long.getLong("calendar.journal.delay",
+              CalendarJournal.DEFAULT_COMMIT_DELAY.toMillis())));
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try {
+          journal.close();
+        } catch (IOException e) {
+          System.err.println("Error: cannot close journal " + journalFile);
+        }
+      }));
+      CalendarContainer restored = journal.restore(new ConcurrentCalendarContainer());
+      for (String skipped : journal.getSkippedRecords()) {
+        System.err.println("Warning: skipped journal " + skipped);
+      }
+      return restored;
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot open journal " + journalFile, e);
+    }
+  }
 }
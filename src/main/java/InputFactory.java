@@ -1,3 +1,4 @@
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.InputStreamReader;
@@ -30,7 +31,7 @@ public class InputFactory {
             + "or --mode headless <filename>");
       }
       try {
-        return new FileReader(args[2]);
+        return new BufferedReader(new FileReader(args[2]), 1 << 16);
       } catch (FileNotFoundException e) {
         throw new IllegalArgumentException("File not found. " + args[2]);
       }
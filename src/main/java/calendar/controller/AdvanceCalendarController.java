@@ -1,5 +1,6 @@
 package calendar.controller;
 
+import calendar.controller.metrics.CommandMetrics;
 import calendar.model.CalendarImpl;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.view.CalendarView;
@@ -23,18 +24,54 @@ public class AdvanceCalendarController extends CalendarControllerImpl {
   public AdvanceCalendarController(CalendarContainer calendarContainer,
                                    Readable inputStream,
                                    CalendarView calendarView) {
+    this(calendarContainer, inputStream, calendarView, CommandMetrics.global());
+  }
+
+  /**
+   * Constructs an advanced calendar controller that records the commands it runs in the
+   * given metrics.
+   *
+   * @param calendarContainer the container that manages multiple calendars
+   * @param inputStream       input source
+   * @param calendarView      output view
+   * @param metrics           the metrics to record commands in
+   */
+  public AdvanceCalendarController(CalendarContainer calendarContainer,
+                                   Readable inputStream,
+                                   CalendarView calendarView,
+                                   CommandMetrics metrics) {
     super(Objects.requireNonNull(calendarContainer), new CalendarImpl(),
-        Objects.requireNonNull(inputStream), Objects.requireNonNull(calendarView));
+        Objects.requireNonNull(inputStream), Objects.requireNonNull(calendarView),
+        Objects.requireNonNull(metrics));
 
-    this.commands.put("create calendar", (container)
-        -> new CreateCalendarCommand(calendarContainer));
-    this.commands.put("edit calendar", (container)
-        -> new EditCalendarCommand(calendarContainer));
-    this.commands.put("use calendar", (container)
-        -> new UseCalendarCommand(calendarContainer));
-    this.commands.put("copy event", (container)
+    this.registerCommand("create calendar", (container)
+        -> new CreateCalendarCommand(calendarContainer), CommandOption.CHANGES_ACTIVE_CALENDAR);
+    this.registerCommand("edit calendar", (container)
+        -> new EditCalendarCommand(calendarContainer), CommandOption.CHANGES_ACTIVE_CALENDAR);
+    this.registerCommand("use calendar", (container)
+        -> new UseCalendarCommand(calendarContainer), CommandOption.CHANGES_ACTIVE_CALENDAR);
+    this.registerCommand("copy event", (container)
         -> new CopySingleEventCalendarCommand(calendarContainer));
-    this.commands.put("copy events", (container)
+    this.registerCommand("copy events", (container)
         -> new CopyMultipleEventsCalendarCommand(calendarContainer));
+    this.registerCommand("find slots", (container)
+        -> new FindSlotsCommand(calendarContainer));
+    this.registerCommand("archive calendar", (container)
+        -> new ArchiveCalendarCommand(calendarContainer));
+    this.registerCommand("mount calendar", (container)
+        -> new ArchiveCalendarCommand(calendarContainer), CommandOption.CHANGES_ACTIVE_CALENDAR);
+    this.registerCommand("save snapshot", (container)
+        -> new SnapshotCommand(calendarContainer));
+    this.registerCommand("load snapshot", (container)
+        -> new SnapshotCommand(calendarContainer), CommandOption.CHANGES_ACTIVE_CALENDAR);
+    this.registerCommand("show memory", (container)
+        -> new MemoryReportCommand(calendarContainer), CommandOption.TAKES_NO_ARGUMENTS);
+    this.registerCommand("show metrics", (container)
+        -> new MetricsReportCommand(calendarContainer, this.metrics),
+        CommandOption.TAKES_NO_ARGUMENTS);
+    this.registerCommand("import cal", (container)
+        -> new ImportCommand(container.getActiveCalendar()), CommandOption.CHANGES_ACTIVE_CALENDAR);
+    this.registerCommand("export all", (container)
+        -> new ExportAllCommand(calendarContainer, this.calendarView::render));
   }
 }
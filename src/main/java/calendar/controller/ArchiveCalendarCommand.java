@@ -0,0 +1,50 @@
+package calendar.controller;
+
+import calendar.controller.commanddata.ArchiveCalendarCommandData;
+import calendar.controller.handlers.ArchiveCalendarHandler;
+import calendar.model.interfaces.CalendarContainer;
+import java.util.List;
+
+/**
+ * Command class to write a calendar to a read-only archive file, or to mount such a
+ * file as a calendar that can be queried but not edited.
+ * This class handles parsing, while ArchiveCalendarHandler handles the logic.
+ * Example usage of commands:
+ * "archive calendar --name calName --file calName.archive"
+ * "mount calendar --name oldCal --file calName.archive"
+ */
+public class ArchiveCalendarCommand implements Command {
+
+  private final ArchiveCalendarHandler handler;
+
+  /**
+   * We are passing the calendar Manager which has all the calendars.
+   *
+   * @param calendarManager current calendar manager.
+   */
+  public ArchiveCalendarCommand(CalendarContainer calendarManager) {
+    this.handler = new ArchiveCalendarHandler(calendarManager);
+  }
+
+  @Override
+  public String execute(List<String> parsedCommand) {
+    ArchiveCalendarCommandData data = parse(parsedCommand);
+    return handler.handle(data);
+  }
+
+  /**
+   * Parses the command input into an ArchiveCalendarCommandData object.
+   *
+   * @param parsedCommand the parsed command tokens
+   * @return ArchiveCalendarCommandData containing parsed information
+   */
+  public ArchiveCalendarCommandData parse(List<String> parsedCommand) {
+    if (parsedCommand.size() != 6 || !parsedCommand.get(2).equalsIgnoreCase("--name")
+        || !parsedCommand.get(4).equalsIgnoreCase("--file")) {
+      throw new IllegalArgumentException("Invalid command. Usage: "
+          + parsedCommand.get(0) + " calendar --name <calName> --file <file>");
+    }
+    return new ArchiveCalendarCommandData(parsedCommand.get(0).toLowerCase(),
+        parsedCommand.get(3), parsedCommand.get(5));
+  }
+}
@@ -1,16 +1,23 @@
 package calendar.controller;
 
+import calendar.controller.metrics.CommandMetrics;
 import calendar.model.AdvancedCalendarImpl;
 import calendar.model.CalendarContainerImpl;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.CalendarEditable;
 import calendar.view.CalendarView;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
 import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Scanner;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -24,7 +31,10 @@ public class CalendarControllerImpl implements CalendarController {
   protected final CalendarEditable calendar;
   protected final Readable inputStream;
   protected final CalendarView calendarView;
-  protected Map<String, Function<CalendarContainer, Command>> commands;
+  protected final CommandMetrics metrics;
+  private final Map<String, Function<CalendarContainer, Command>> commands;
+  private final Map<String, Set<CommandOption>> commandOptions;
+  private int commandsRun;
 
   /**
    * Backward-compatible constructor (keeps old behavior).
@@ -40,8 +50,9 @@ public class CalendarControllerImpl implements CalendarController {
   }
 
   /**
-   * New primary constructor: accepts an externally-provided CalendarContainer.
+   * Constructor that accepts an externally-provided CalendarContainer.
    * This ensures the controller uses the *exact same* container instance that callers pass in.
+   * Commands are recorded in the metrics shared by the whole program.
    *
    * @param calendarContainer an existing CalendarContainer to use
    * @param calendar          Calendar Editable Model (used for default calendar if needed)
@@ -52,11 +63,30 @@ public class CalendarControllerImpl implements CalendarController {
                                 CalendarEditable calendar,
                                 Readable inputStream,
                                 CalendarView calendarView) {
+    this(calendarContainer, calendar, inputStream, calendarView, CommandMetrics.global());
+  }
+
+  /**
+   * New primary constructor: also accepts the metrics to record every command run in.
+   *
+   * @param calendarContainer an existing CalendarContainer to use
+   * @param calendar          Calendar Editable Model (used for default calendar if needed)
+   * @param inputStream       used to read the user input
+   * @param calendarView      Output to the user view
+   * @param metrics           the metrics to record commands in
+   */
+  public CalendarControllerImpl(CalendarContainer calendarContainer,
+                                CalendarEditable calendar,
+                                Readable inputStream,
+                                CalendarView calendarView,
+                                CommandMetrics metrics) {
     this.calendar = Objects.requireNonNull(calendar);
+    this.metrics = Objects.requireNonNull(metrics);
     // inputStream can be null for GUI mode
     this.inputStream = inputStream;
     this.calendarView = Objects.requireNonNull(calendarView);
     this.commands = new HashMap<>();
+    this.commandOptions = new HashMap<>();
 
     this.calendarContainer = Objects.requireNonNull(calendarContainer);
 
@@ -81,22 +111,38 @@ public class CalendarControllerImpl implements CalendarController {
       }
     }
 
-    this.commands.put("create event",
+    this.registerCommand("create event",
         (container) -> new CreateCommand(container.getActiveCalendar()));
-    this.commands.put("edit event",
+    this.registerCommand("edit event",
         (container) -> new EditEventCommand(container.getActiveCalendar()));
-    this.commands.put("edit events",
+    this.registerCommand("edit events",
         (container) -> new EditMultipleEventsCommand(container.getActiveCalendar()));
-    this.commands.put("edit series",
+    this.registerCommand("edit series",
         (container) -> new EditSeriesCommand(container.getActiveCalendar()));
-    this.commands.put("print events",
+    this.registerCommand("print events",
         (container) -> new PrintCommand(container.getActiveCalendar()));
-    this.commands.put("export cal",
+    this.registerCommand("export cal",
         (container) -> new ExportCommand(container.getActiveCalendar()));
-    this.commands.put("show status",
+    this.registerCommand("show status",
         (container) -> new UserStatusCommand(container.getActiveCalendar()));
   }
 
+  /**
+   * Registers a command under its two word key together with the options that change how
+   * the command line is run.
+   *
+   * @param key     the first two words of the command
+   * @param factory builds the command for the container
+   * @param options how the command line is run
+   */
+  protected void registerCommand(String key, Function<CalendarContainer, Command> factory,
+                                 CommandOption... options) {
+    commands.put(key, factory);
+    Set<CommandOption> set = EnumSet.noneOf(CommandOption.class);
+    set.addAll(Arrays.asList(options));
+    commandOptions.put(key, set);
+  }
+
   @Override
   public void run() {
     // For GUI mode, inputStream may be null or empty - don't run CLI loop
@@ -104,34 +150,120 @@ public class CalendarControllerImpl implements CalendarController {
       return;
     }
     this.welcomeMessage();
-    Scanner scanner = new Scanner(inputStream);
+    commandsRun = 0;
+    BufferedReader reader = toBufferedReader(inputStream);
     CommandTokenizer tokenizer = new CommandTokenizerImpl();
-    while (scanner.hasNext()) {
-      String command = scanner.nextLine();
-      List<String> tokens = tokenizer.parser(command);
-      if (tokens.isEmpty()) {
+    Map<String, Map<String, CommandEntry>> commandEntries = buildCommandEntries();
+    String command;
+    while ((command = readLine(reader)) != null) {
+      int tokenCount = tokenizer.scan(command);
+      if (tokenCount == 0) {
         continue;
       }
-      if (tokens.size() == 1 && tokens.get(0).equals("exit")) {
+      commandsRun++;
+      if (tokenCount == 1 && tokenizer.tokenEquals(0, "exit")) {
         calendarView.render("Exiting!!");
         this.farewellMessage();
         return;
       }
-      if (tokens.size() <= 2) {
+      if (tokenCount < 2) {
         calendarView.renderError("Invalid command: " + command);
         continue;
       }
-      String commandKey = tokens.get(0) + " " + tokens.get(1);
-      Function<CalendarContainer, Command> commandFunction = commands.get(commandKey);
+      CommandEntry entry = findCommand(tokenizer.tokens(), commandEntries);
 
-      if (commandFunction == null) {
+      if (entry == null || (tokenCount == 2 && !entry.takesNoArguments)) {
         calendarView.renderError("Invalid command: " + command);
         continue;
       }
       try {
-        calendarView.render(commandFunction.apply(calendarContainer).execute(tokens));
+        calendarView.render(execute(entry, tokenizer.tokens()));
       } catch (Exception e) {
         calendarView.renderError(e.getMessage());
+      } finally {
+        if (entry.changesActiveCalendar) {
+          clearCommands(commandEntries);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of non-empty command lines read by the last run.
+   *
+   * @return the number of commands run.
+   */
+  public int getCommandsRun() {
+    return commandsRun;
+  }
+
+  /**
+   * Runs the command of the entry and records how long it took and whether it failed
+   * under the key of the entry.
+   */
+  private String execute(CommandEntry entry, List<String> tokens) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      String result = entry.getCommand().execute(tokens);
+      failed = false;
+      return result;
+    } finally {
+      metrics.record(entry.key, System.nanoTime() - start, failed);
+    }
+  }
+
+  private static BufferedReader toBufferedReader(Readable readable) {
+    if (readable instanceof BufferedReader) {
+      return (BufferedReader) readable;
+    }
+    if (readable instanceof Reader) {
+      return new BufferedReader((Reader) readable);
+    }
+    return new BufferedReader(new ReadableReader(readable));
+  }
+
+  private static String readLine(BufferedReader reader) {
+    try {
+      return reader.readLine();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read from input stream.", e);
+    }
+  }
+
+  /**
+   * Splits every registered command key into its two words once, before reading input,
+   * and indexes the entries by their first word and then by their second word.
+   */
+  private Map<String, Map<String, CommandEntry>> buildCommandEntries() {
+    Map<String, Map<String, CommandEntry>> commandEntries = new HashMap<>();
+    for (Map.Entry<String, Function<CalendarContainer, Command>> command
+        : commands.entrySet()) {
+      CommandEntry entry = new CommandEntry(command.getKey(), command.getValue(),
+          commandOptions.getOrDefault(command.getKey(), EnumSet.noneOf(CommandOption.class)));
+      commandEntries.computeIfAbsent(entry.firstWord, (word) -> new HashMap<>())
+          .put(entry.secondWord, entry);
+    }
+    return commandEntries;
+  }
+
+  private CommandEntry findCommand(List<String> tokens,
+                                   Map<String, Map<String, CommandEntry>> commandEntries) {
+    Map<String, CommandEntry> secondWords = commandEntries.get(tokens.get(0));
+    if (secondWords == null) {
+      return null;
+    }
+    return secondWords.get(tokens.get(1));
+  }
+
+  /**
+   * Drops every cached command, so the next use of a command builds it again
+   * for the calendar that is active then.
+   */
+  private void clearCommands(Map<String, Map<String, CommandEntry>> commandEntries) {
+    for (Map<String, CommandEntry> secondWords : commandEntries.values()) {
+      for (CommandEntry entry : secondWords.values()) {
+        entry.command = null;
       }
     }
   }
@@ -224,5 +356,74 @@ public class CalendarControllerImpl implements CalendarController {
         + "exit" + System.lineSeparator();
   }
 
-}
 
+  /**
+   * Options a command is registered with.
+   */
+  protected enum CommandOption {
+    /**
+     * The command can change which calendar is active, or replace it, so every command
+     * built for the old active calendar is built again after it runs.
+     */
+    CHANGES_ACTIVE_CALENDAR,
+
+    /**
+     * The command is complete with its two words alone.
+     */
+    TAKES_NO_ARGUMENTS
+  }
+
+  /**
+   * A registered command together with the instance built for the active calendar.
+   * Commands and their handlers keep no state between lines, so one instance serves
+   * every line until a command that can change the active calendar runs.
+   */
+  private class CommandEntry {
+    private final String key;
+    private final String firstWord;
+    private final String secondWord;
+    private final boolean changesActiveCalendar;
+    private final boolean takesNoArguments;
+    private final Function<CalendarContainer, Command> factory;
+    private Command command;
+
+    CommandEntry(String key, Function<CalendarContainer, Command> factory,
+                 Set<CommandOption> options) {
+      this.key = key;
+      String[] words = key.split(" ");
+      this.firstWord = words[0];
+      this.secondWord = words[1];
+      this.changesActiveCalendar = options.contains(CommandOption.CHANGES_ACTIVE_CALENDAR);
+      this.takesNoArguments = options.contains(CommandOption.TAKES_NO_ARGUMENTS);
+      this.factory = factory;
+    }
+
+    Command getCommand() {
+      if (command == null) {
+        command = factory.apply(calendarContainer);
+      }
+      return command;
+    }
+  }
+
+  /**
+   * Reader over a Readable that is not a Reader, so that it can be read line by line.
+   */
+  private static class ReadableReader extends Reader {
+    private final Readable readable;
+
+    ReadableReader(Readable readable) {
+      this.readable = readable;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+      return readable.read(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public void close() {
+      // the Readable belongs to the caller
+    }
+  }
+}
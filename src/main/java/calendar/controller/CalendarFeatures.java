@@ -20,6 +20,7 @@ import calendar.controller.handlers.EditEventHandler;
 import calendar.controller.handlers.EditMultipleEventsHandler;
 import calendar.controller.handlers.EditSeriesHandler;
 import calendar.controller.handlers.ExportEventHandler;
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.EventReadOnly;
@@ -98,8 +99,7 @@ public class CalendarFeatures implements Features {
 
       if (isRepeating && repeatDays != null && repeatEndDate != null) {
         data = new CreateCommandData(subject, startDateTime, endDateTime,
-            repeatDays, "until", repeatEndDate.format(
-                java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd")), true);
+            repeatDays, "until", DateTimeCodec.formatDate(repeatEndDate), true);
       } else {
         data = new CreateCommandData(subject, startDateTime, endDateTime, true);
       }
@@ -1,5 +1,6 @@
 package calendar.controller;
 
+import calendar.controller.metrics.CommandMetrics;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.view.CalendarGuiView;
 import calendar.view.EventInfo;
@@ -9,6 +10,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * Controller for the Calendar GUI application.
@@ -19,6 +22,7 @@ public class CalendarGuiController implements CalendarController,ViewListener {
   private final CalendarContainer container;
   private final CalendarFeatures features;
   private final CalendarGuiView view;
+  private final CommandMetrics metrics;
   private LocalDate currentMonth;
   private LocalDate selectedDate;
 
@@ -29,9 +33,23 @@ public class CalendarGuiController implements CalendarController,ViewListener {
    * @param view      the GUI view
    */
   public CalendarGuiController(CalendarContainer container, CalendarGuiView view) {
+    this(container, view, CommandMetrics.global());
+  }
+
+  /**
+   * Constructor for CalendarGuiController that records every action of the user in the
+   * given metrics, under the key of the matching text command.
+   *
+   * @param container the calendar container (model)
+   * @param view      the GUI view
+   * @param metrics   the metrics to record actions in
+   */
+  public CalendarGuiController(CalendarContainer container, CalendarGuiView view,
+                               CommandMetrics metrics) {
     this.container = container;
     this.features = new CalendarFeatures(container);
     this.view = view;
+    this.metrics = Objects.requireNonNull(metrics);
     this.currentMonth = LocalDate.now();
     this.selectedDate = LocalDate.now();
     
@@ -51,7 +69,7 @@ public class CalendarGuiController implements CalendarController,ViewListener {
 
   @Override
   public void handleSwitchCalendar(String calendarName) {
-    String result = features.switchCalendar(calendarName);
+    String result = timed("use calendar", () -> features.switchCalendar(calendarName));
     if (isError(result)) {
       view.renderError(result);
     } else {
@@ -61,7 +79,7 @@ public class CalendarGuiController implements CalendarController,ViewListener {
 
   @Override
   public void handleCreateCalendar(String name, String timezone) {
-    String result = features.createCalendar(name, timezone);
+    String result = timed("create calendar", () -> features.createCalendar(name, timezone));
     if (isError(result)) {
       view.renderError(result);
     } else {
@@ -71,7 +89,8 @@ public class CalendarGuiController implements CalendarController,ViewListener {
 
   @Override
   public void handleEditCalendar(String calendarName, String property, String newValue) {
-    String result = features.editCalendar(calendarName, property, newValue);
+    String result = timed("edit calendar",
+        () -> features.editCalendar(calendarName, property, newValue));
     if (isError(result)) {
       view.renderError(result);
     } else {
@@ -102,8 +121,9 @@ public class CalendarGuiController implements CalendarController,ViewListener {
                                 String description, String location, String status,
                                 boolean isRepeating, String repeatDays, LocalDate repeatEndDate) {
     try {
-      String result = features.createEvent(subject, startDateTime, endDateTime, description,
-          location, status, isRepeating, repeatDays, repeatEndDate);
+      String result = timed("create event", () -> features.createEvent(subject,
+          startDateTime, endDateTime, description, location, status, isRepeating, repeatDays,
+          repeatEndDate));
       if (isError(result)) {
         view.renderError(result);
       } else {
@@ -118,7 +138,8 @@ public class CalendarGuiController implements CalendarController,ViewListener {
   public void handleEditEvent(String property, String subject, LocalDateTime startDateTime,
                               LocalDateTime endDateTime, String newValue, String scope) {
     try {
-      String result = features.editEvent(property, subject, startDateTime, endDateTime, newValue, scope);
+      String result = timed(editKey(scope), () -> features.editEvent(property, subject,
+          startDateTime, endDateTime, newValue, scope));
       if (isError(result)) {
         view.renderError(result);
       } else {
@@ -133,7 +154,8 @@ public class CalendarGuiController implements CalendarController,ViewListener {
   public void handleDeleteEvent(String subject, LocalDateTime startDateTime,
                                  LocalDateTime endDateTime, String scope) {
     try {
-      String result = features.deleteEvent(subject, startDateTime, endDateTime, scope);
+      String result = timed("delete event",
+          () -> features.deleteEvent(subject, startDateTime, endDateTime, scope));
       if (isError(result)) {
         view.renderError(result);
       } else {
@@ -146,15 +168,25 @@ public class CalendarGuiController implements CalendarController,ViewListener {
 
   @Override
   public void handleExportCalendar(String fileName) {
-    String result = features.exportCalendar(fileName);
+    String result = timed("export cal", () -> features.exportCalendar(fileName));
     if (isError(result)) {
       view.renderError(result);
     }
     // No popup on success
   }
 
+  /**
+   * Reloads the calendars and the events shown, recorded as printing events.
+   */
   @Override
   public void handleRefresh() {
+    timed("print events", () -> {
+      refresh();
+      return null;
+    });
+  }
+
+  private void refresh() {
     // Update current month and selected date from view
     currentMonth = view.getCurrentMonth();
     selectedDate = view.getSelectedDate();
@@ -207,6 +239,29 @@ public class CalendarGuiController implements CalendarController,ViewListener {
     return selectedDate;
   }
 
+  /**
+   * Runs the action and records how long it took under the key, counting an error result
+   * or an exception as a failure.
+   */
+  private String timed(String key, Supplier<String> action) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      String result = action.get();
+      failed = isError(result);
+      return result;
+    } finally {
+      metrics.record(key, System.nanoTime() - start, failed);
+    }
+  }
+
+  private static String editKey(String scope) {
+    if ("single".equals(scope)) {
+      return "edit event";
+    }
+    return "from".equals(scope) ? "edit events" : "edit series";
+  }
+
   // Helper to identify error results while avoiding direct null checks
   private static boolean isError(String result) {
     return result != null && (result.startsWith("Error") || result.contains("Failed") || result.contains("Error"));
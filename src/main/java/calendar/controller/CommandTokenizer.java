@@ -16,4 +16,32 @@ public interface CommandTokenizer {
    * @return Parsed list of the command.
    */
   List<String> parser(String command);
+
+  /**
+   * Splits the command into tokens with the same rules as parser, without copying them.
+   * The tokens stay available through tokenEquals and tokens until the next scan.
+   *
+   * @param command entered by the user.
+   * @return the number of tokens in the command.
+   */
+  int scan(CharSequence command);
+
+  /**
+   * Compares a token of the last scan with the given value without creating a String.
+   *
+   * @param index the position of the token.
+   * @param value the value to compare with.
+   * @return true if the token has exactly the given value.
+   * @throws IndexOutOfBoundsException if there is no token at the index.
+   */
+  boolean tokenEquals(int index, String value);
+
+  /**
+   * Returns a read-only list over the tokens of the last scan.
+   * A token is only turned into a String when it is read from the list,
+   * and the list changes when the next command is scanned.
+   *
+   * @return the tokens of the last scan.
+   */
+  List<String> tokens();
 }
@@ -1,13 +1,40 @@
 package calendar.controller;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Implementation of the ICommandTokenizer to parse user input into a list.
+ * A scan records where each token starts and ends in the command instead of copying it,
+ * and the offset buffers are reused from one command to the next. A token is turned into
+ * a String the first time it is read, so tokens that are only compared are never copied.
  */
 public class CommandTokenizerImpl implements CommandTokenizer {
+  private static final int INITIAL_CAPACITY = 16;
 
+  private CharSequence source;
+  private int[] starts;
+  private int[] ends;
+  private int[] lengths;
+  private boolean[] quoted;
+  private String[] materialized;
+  private int count;
+  private final List<String> tokenView;
+
+  /**
+   * Creates a tokenizer with empty token buffers.
+   */
+  public CommandTokenizerImpl() {
+    this.source = "";
+    this.starts = new int[INITIAL_CAPACITY];
+    this.ends = new int[INITIAL_CAPACITY];
+    this.lengths = new int[INITIAL_CAPACITY];
+    this.quoted = new boolean[INITIAL_CAPACITY];
+    this.materialized = new String[INITIAL_CAPACITY];
+    this.tokenView = new TokenView();
+  }
 
   /**
    * Used to parse the user input into a list of input.
@@ -19,28 +46,126 @@ public class CommandTokenizerImpl implements CommandTokenizer {
    */
   @Override
   public List<String> parser(String command) {
+    scan(command);
+    return new ArrayList<>(tokenView);
+  }
 
-    List<String> commandTokens = new ArrayList<>();
+  @Override
+  public int scan(CharSequence command) {
+    Arrays.fill(materialized, 0, count, null);
+    source = command;
+    count = 0;
     boolean inQuotes = false;
-    StringBuilder token = new StringBuilder();
+    boolean hasQuote = false;
+    int tokenStart = -1;
+    int tokenLength = 0;
     for (int i = 0; i < command.length(); i++) {
       char c = command.charAt(i);
       if (c == '"') {
         inQuotes = !inQuotes;
+        hasQuote = true;
+        if (tokenStart < 0) {
+          tokenStart = i;
+        }
         continue;
       }
       if (c == ' ' && !inQuotes) {
-        if (token.length() > 0) {
-          commandTokens.add(token.toString());
-          token.setLength(0);
+        if (tokenLength > 0) {
+          addToken(tokenStart, i, tokenLength, hasQuote);
         }
+        tokenStart = -1;
+        tokenLength = 0;
+        hasQuote = false;
+      } else {
+        if (tokenStart < 0) {
+          tokenStart = i;
+        }
+        tokenLength++;
+      }
+    }
+    if (tokenLength > 0) {
+      addToken(tokenStart, command.length(), tokenLength, hasQuote);
+    }
+    return count;
+  }
+
+  @Override
+  public boolean tokenEquals(int index, String value) {
+    checkIndex(index);
+    if (lengths[index] != value.length()) {
+      return false;
+    }
+    int position = 0;
+    for (int i = starts[index]; i < ends[index]; i++) {
+      char c = source.charAt(i);
+      if (quoted[index] && c == '"') {
+        continue;
+      }
+      if (c != value.charAt(position++)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public List<String> tokens() {
+    return tokenView;
+  }
+
+  private void addToken(int start, int end, int length, boolean hasQuote) {
+    if (count == starts.length) {
+      int capacity = count * 2;
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      quoted = Arrays.copyOf(quoted, capacity);
+      materialized = Arrays.copyOf(materialized, capacity);
+    }
+    starts[count] = start;
+    ends[count] = end;
+    lengths[count] = length;
+    quoted[count] = hasQuote;
+    count++;
+  }
+
+  private String token(int index) {
+    checkIndex(index);
+    if (materialized[index] == null) {
+      if (!quoted[index]) {
+        materialized[index] = source.subSequence(starts[index], ends[index]).toString();
       } else {
-        token.append(c);
+        StringBuilder token = new StringBuilder(lengths[index]);
+        for (int i = starts[index]; i < ends[index]; i++) {
+          char c = source.charAt(i);
+          if (c != '"') {
+            token.append(c);
+          }
+        }
+        materialized[index] = token.toString();
       }
     }
-    if (token.length() > 0) {
-      commandTokens.add(token.toString());
+    return materialized[index];
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= count) {
+      throw new IndexOutOfBoundsException("Token " + index + " of " + count);
+    }
+  }
+
+  /**
+   * Read-only list over the tokens of the last scan.
+   */
+  private class TokenView extends AbstractList<String> {
+    @Override
+    public String get(int index) {
+      return token(index);
+    }
+
+    @Override
+    public int size() {
+      return count;
     }
-    return commandTokens;
   }
 }
@@ -2,9 +2,9 @@ package calendar.controller;
 
 import calendar.controller.commanddata.CopyMultipleEventsCommandData;
 import calendar.controller.handlers.CopyMultipleEventsHandler;
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.CalendarContainer;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -73,7 +73,7 @@ public class CopyMultipleEventsCalendarCommand implements Command {
   }
 
   private LocalDate parseDate(String dateString) {
-    return LocalDate.parse(dateString, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+    return DateTimeCodec.parseDate(dateString);
   }
 
   private boolean checkValidCommand(List<String> parsedCommand) {
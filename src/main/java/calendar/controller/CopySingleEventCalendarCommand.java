@@ -2,11 +2,11 @@ package calendar.controller;
 
 import calendar.controller.commanddata.CopySingleEventCommandData;
 import calendar.controller.handlers.CopySingleEventHandler;
+import calendar.model.DateTimeCodec;
 import calendar.model.datatypes.TypeOfEvent;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.EventReadOnly;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -20,8 +20,6 @@ import java.util.List;
  */
 public class CopySingleEventCalendarCommand implements Command {
 
-  private static final DateTimeFormatter FORMATTER =
-      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
   private final CopySingleEventHandler handler;
 
   /**
@@ -93,7 +91,7 @@ public class CopySingleEventCalendarCommand implements Command {
 
   private LocalDateTime parseDate(String dateStr) {
     try {
-      return LocalDateTime.parse(dateStr, FORMATTER);
+      return DateTimeCodec.parseDateTime(dateStr);
     } catch (Exception e) {
       throw new IllegalArgumentException("Invalid date/time format: " + dateStr);
     }
@@ -2,10 +2,11 @@ package calendar.controller;
 
 import calendar.controller.commanddata.CreateCommandData;
 import calendar.controller.handlers.CreateEventHandler;
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.CalendarEditable;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 
@@ -17,7 +18,6 @@ import java.util.List;
 public class CreateCommand implements Command {
 
   private final CreateEventHandler handler;
-  private final DateTimeFormatter formatter;
   private final LocalTime allDayStart;
   private final LocalTime allDayEnd;
 
@@ -29,7 +29,6 @@ public class CreateCommand implements Command {
    */
   public CreateCommand(CalendarEditable calendar) {
     this.handler = new CreateEventHandler(calendar);
-    this.formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
     this.allDayStart = LocalTime.of(8, 0);
     this.allDayEnd = LocalTime.of(17, 0);
   }
@@ -64,8 +63,8 @@ public class CreateCommand implements Command {
   }
 
   private CreateCommandData parseFromCommand(List<String> parsedCommand, String subject) {
-    LocalDateTime startDateTime = LocalDateTime.parse(parsedCommand.get(4), formatter);
-    LocalDateTime endDateTime = LocalDateTime.parse(parsedCommand.get(6), formatter);
+    LocalDateTime startDateTime = DateTimeCodec.parseDateTime(parsedCommand.get(4));
+    LocalDateTime endDateTime = DateTimeCodec.parseDateTime(parsedCommand.get(6));
 
     if (parsedCommand.size() > 7 && parsedCommand.get(7).equals("repeats")) {
       int repeatsIndex = parsedCommand.indexOf("repeats");
@@ -84,9 +83,9 @@ public class CreateCommand implements Command {
   }
 
   private CreateCommandData parseOnCommand(List<String> parsedCommand, String subject) {
-    String date = parsedCommand.get(4);
-    LocalDateTime startDateTime = LocalDateTime.parse(date + "T" + allDayStart, formatter);
-    LocalDateTime endDateTime = LocalDateTime.parse(date + "T" + allDayEnd, formatter);
+    LocalDate date = DateTimeCodec.parseDate(parsedCommand.get(4));
+    LocalDateTime startDateTime = date.atTime(allDayStart);
+    LocalDateTime endDateTime = date.atTime(allDayEnd);
 
     if (parsedCommand.size() > 5 && parsedCommand.get(5).equals("repeats")) {
       int repeatsIndex = parsedCommand.indexOf("repeats");
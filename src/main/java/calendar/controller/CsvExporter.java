@@ -1,11 +1,11 @@
 package calendar.controller;
 
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.EventReadOnly;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 
@@ -16,53 +16,34 @@ public class CsvExporter implements FileExporter {
 
   @Override
   public String export(String fileName, Map<LocalDate, List<EventReadOnly>> events) {
+    ExportEvent exportEvent = new ExportEvent();
+    exportEvent.begin();
+    String path = write(fileName, events);
+    exportEvent.commit("csv", path, events);
+    return path;
+  }
 
-    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
-    DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+  private String write(String fileName, Map<LocalDate, List<EventReadOnly>> events) {
 
     File file = new File(fileName);
 
-    try (FileWriter fileWriter = new FileWriter(fileName)) {
+    try (Writer fileWriter = ExportWriters.open(file.toPath())) {
       fileWriter.append("Subject,StartDate,StartTime").append(System.lineSeparator());
 
+      StringBuilder line = new StringBuilder();
       for (Map.Entry<LocalDate, List<EventReadOnly>> entry : events.entrySet()) {
-        entry.getValue().forEach(event -> {
-          try {
-            fileWriter.append(event.getSubject()).append(",")
-                .append(event.getStartDateTime().format(dateFormatter)).append(",")
-                .append(formatTime(event.getStartDateTime().format(timeFormatter)))
-                .append(System.lineSeparator());
-          } catch (IOException e) {
-            throw new RuntimeException(e);
-          }
-        });
+        for (EventReadOnly event : entry.getValue()) {
+          line.setLength(0);
+          line.append(event.getSubject()).append(",");
+          DateTimeCodec.appendUsDate(line, event.getStartDateTime().toLocalDate()).append(",");
+          DateTimeCodec.appendTwelveHourTime(line, event.getStartDateTime().toLocalTime())
+              .append(System.lineSeparator());
+          fileWriter.append(line);
+        }
       }
       return file.getAbsolutePath();
     } catch (IOException e) {
       throw new RuntimeException("Error writing to file: " + fileName, e);
     }
   }
-
-  /**
-   * Helper to converts a 24-hour formatted time string into a 12-hour AM/PM format.
-   *
-   * @param time the time string in HH:mm format
-   * @return the formatted time in 12-hour AM/PM format
-   */
-  private String formatTime(String time) {
-    String[] parts = time.split(":");
-    int hour = Integer.parseInt(parts[0]);
-    String minutes = parts[1];
-
-    if (hour == 0) {
-      return "12:" + minutes + "AM";
-    }
-    if (hour < 12) {
-      return hour + ":" + minutes + "AM";
-    }
-    if (hour == 12) {
-      return hour + ":" + minutes + "PM";
-    }
-    return (hour - 12) + ":" + minutes + "PM";
-  }
 }
@@ -2,6 +2,7 @@ package calendar.controller;
 
 import calendar.controller.commanddata.EditEventCommandData;
 import calendar.controller.handlers.EditEventHandler;
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.CalendarEditable;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -55,8 +56,8 @@ public class EditEventCommand implements Command {
     }
     String propertyToUpdate = parsedCommand.get(2);
     String subject = parsedCommand.get(3);
-    LocalDateTime startDateTime = LocalDateTime.parse(parsedCommand.get(5));
-    LocalDateTime endDateTime = LocalDateTime.parse(parsedCommand.get(7));
+    LocalDateTime startDateTime = DateTimeCodec.parseIsoDateTime(parsedCommand.get(5));
+    LocalDateTime endDateTime = DateTimeCodec.parseIsoDateTime(parsedCommand.get(7));
     String newPropertyValue = parsedCommand.get(9);
 
     return new EditEventCommandData(propertyToUpdate, subject, startDateTime,
@@ -2,6 +2,7 @@ package calendar.controller;
 
 import calendar.controller.commanddata.EditMultipleEventsCommandData;
 import calendar.controller.handlers.EditMultipleEventsHandler;
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.CalendarEditable;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -56,7 +57,7 @@ public class EditMultipleEventsCommand implements Command {
 
     String propertyToUpdate = parsedCommand.get(2);
     String subject = parsedCommand.get(3);
-    LocalDateTime startDateTime = LocalDateTime.parse(parsedCommand.get(5));
+    LocalDateTime startDateTime = DateTimeCodec.parseIsoDateTime(parsedCommand.get(5));
     String newPropertyValue = parsedCommand.get(7);
 
     return new EditMultipleEventsCommandData(propertyToUpdate, subject, startDateTime,
@@ -2,6 +2,7 @@ package calendar.controller;
 
 import calendar.controller.commanddata.EditSeriesCommandData;
 import calendar.controller.handlers.EditSeriesHandler;
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.CalendarEditable;
 import calendar.model.interfaces.EventReadOnly;
 import java.time.LocalDateTime;
@@ -57,7 +58,7 @@ public class EditSeriesCommand implements Command {
 
     String propertyToUpdate = parsedCommand.get(2);
     String subject = parsedCommand.get(3);
-    LocalDateTime startDateTime = LocalDateTime.parse(parsedCommand.get(5));
+    LocalDateTime startDateTime = DateTimeCodec.parseIsoDateTime(parsedCommand.get(5));
     String newPropertyValue = parsedCommand.get(7);
 
     return new EditSeriesCommandData(propertyToUpdate, subject, startDateTime, newPropertyValue);
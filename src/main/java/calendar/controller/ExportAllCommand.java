@@ -0,0 +1,50 @@
+package calendar.controller;
+
+import calendar.controller.commanddata.ExportAllCommandData;
+import calendar.controller.handlers.ExportAllHandler;
+import calendar.model.interfaces.CalendarContainer;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Executes the "export all" command from the user input.
+ * Represents the command used to export every calendar into a file of its own.
+ * This class handles parsing, while ExportAllHandler handles the logic.
+ */
+public class ExportAllCommand implements Command {
+
+  private final ExportAllHandler handler;
+
+  /**
+   * We are passing the calendar Manager which has all the calendars.
+   *
+   * @param calendarManager current calendar manager.
+   * @param progress        where a line is sent as each file is written.
+   */
+  public ExportAllCommand(CalendarContainer calendarManager, Consumer<String> progress) {
+    this.handler = new ExportAllHandler(calendarManager, progress);
+  }
+
+  @Override
+  public String execute(List<String> parsedCommand) {
+    ExportAllCommandData data = parse(parsedCommand);
+    return handler.handle(data);
+  }
+
+  /**
+   * Parses the command input into an ExportAllCommandData object.
+   *
+   * @param parsedCommand the parsed command tokens
+   * @return ExportAllCommandData containing parsed information
+   */
+  public ExportAllCommandData parse(List<String> parsedCommand) {
+    if (parsedCommand.size() != 5 || !parsedCommand.get(3).equalsIgnoreCase("--format")) {
+      throw new IllegalArgumentException("Invalid export all command."
+          + System.lineSeparator()
+          + "Usage: export all <directory> --format csv|ical");
+    }
+    return new ExportAllCommandData(parsedCommand.get(2),
+        parsedCommand.get(4).toLowerCase(Locale.ROOT));
+  }
+}
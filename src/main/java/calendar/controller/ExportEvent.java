@@ -0,0 +1,60 @@
+package calendar.controller;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the export of a calendar to a file. It is off unless a
+ * recording turns it on, as the calendar profile in res/calendar.jfc does, and costs
+ * next to nothing while off.
+ */
+@Name("calendar.Export")
+@Label("Calendar Export")
+@Category({"Calendar", "Export"})
+@Description("Events of a calendar written to a file")
+@Enabled(false)
+@StackTrace(false)
+final class ExportEvent extends Event {
+  @Label("Format")
+  String format;
+
+  @Label("File")
+  String file;
+
+  @Label("Events")
+  int events;
+
+  @Label("Bytes Written")
+  @DataAmount
+  long bytesWritten;
+
+  /**
+   * Ends the event once the file is written and commits it if it is recorded. The events
+   * are counted and the file measured only then.
+   *
+   * @param format  the format of the file
+   * @param path    the path of the written file
+   * @param written the events written
+   */
+  void commit(String format, String path, Map<LocalDate, List<EventReadOnly>> written) {
+    end();
+    if (shouldCommit()) {
+      this.format = format;
+      this.file = path;
+      this.events = written.values().stream().mapToInt(List::size).sum();
+      this.bytesWritten = new File(path).length();
+      commit();
+    }
+  }
+}
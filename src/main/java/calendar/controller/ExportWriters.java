@@ -0,0 +1,41 @@
+package calendar.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Opens the writers the exporters write their files with. The text is gathered in a buffer
+ * and encoded into a buffer of bytes before it reaches the file's channel, so a file is
+ * written in large blocks however small the pieces it is appended in.
+ */
+final class ExportWriters {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private ExportWriters() {
+  }
+
+  /**
+   * Opens a file for writing, replacing what it held. The text is encoded as FileWriter
+   * encodes it, in the platform's charset with characters it cannot encode replaced.
+   *
+   * @param path the file to write
+   * @return the writer, to be closed once the file is written
+   * @throws IOException if the file cannot be opened
+   */
+  static Writer open(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    return new BufferedWriter(Channels.newWriter(channel, encoder, BUFFER_SIZE), BUFFER_SIZE);
+  }
+}
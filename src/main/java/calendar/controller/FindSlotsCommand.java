@@ -0,0 +1,77 @@
+package calendar.controller;
+
+import calendar.controller.commanddata.FindSlotsCommandData;
+import calendar.controller.handlers.FindSlotsHandler;
+import calendar.model.DateTimeCodec;
+import calendar.model.interfaces.CalendarContainer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command class responsible for finding the free slots shared by one or more calendars.
+ * This class handles parsing, while FindSlotsHandler handles the logic.
+ */
+public class FindSlotsCommand implements Command {
+
+  private final FindSlotsHandler handler;
+
+  /**
+   * Constructor for finding free slots across the calendars of a calendar manager.
+   *
+   * @param calendarManager the calendar manager holding the calendars to search
+   */
+  public FindSlotsCommand(CalendarContainer calendarManager) {
+    this.handler = new FindSlotsHandler(calendarManager);
+  }
+
+  @Override
+  public String execute(List<String> parsedCommand) {
+    FindSlotsCommandData data = parse(parsedCommand);
+    return handler.handle(data);
+  }
+
+  /**
+   * Parses the command input into a FindSlotsCommandData object.
+   *
+   * @param parsedCommand the parsed command tokens
+   * @return FindSlotsCommandData containing parsed information
+   */
+  public FindSlotsCommandData parse(List<String> parsedCommand) {
+    if ((parsedCommand.size() != 11 && parsedCommand.size() != 13)
+        || !checkValidCommand(parsedCommand)) {
+      throw new IllegalArgumentException(
+          "Invalid find slots command."
+              + System.lineSeparator()
+              + "Usage: find slots <minutes> between <dateStringTtimeString> and "
+              + "<dateStringTtimeString> from <timeString> to <timeString> "
+              + "[in <calendarName>,<calendarName>...]");
+    }
+
+    Duration duration = Duration.ofMinutes(Long.parseLong(parsedCommand.get(2)));
+    LocalDateTime windowStart = DateTimeCodec.parseDateTime(parsedCommand.get(4));
+    LocalDateTime windowEnd = DateTimeCodec.parseDateTime(parsedCommand.get(6));
+    LocalTime workStart = DateTimeCodec.parseTime(parsedCommand.get(8));
+    LocalTime workEnd = DateTimeCodec.parseTime(parsedCommand.get(10));
+    List<String> calendarNames = new ArrayList<>();
+    if (parsedCommand.size() == 13) {
+      calendarNames.addAll(Arrays.asList(parsedCommand.get(12).split(",")));
+    }
+    return new FindSlotsCommandData(duration, windowStart, windowEnd, workStart, workEnd,
+        calendarNames);
+  }
+
+  private boolean checkValidCommand(List<String> parsedCommand) {
+    boolean valid = parsedCommand.get(3).equalsIgnoreCase("between")
+        && parsedCommand.get(5).equalsIgnoreCase("and")
+        && parsedCommand.get(7).equalsIgnoreCase("from")
+        && parsedCommand.get(9).equalsIgnoreCase("to");
+    if (parsedCommand.size() == 13) {
+      return valid && parsedCommand.get(11).equalsIgnoreCase("in");
+    }
+    return valid;
+  }
+}
@@ -1,12 +1,11 @@
 package calendar.controller;
 
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.EventReadOnly;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
 import java.util.List;
 import java.util.Map;
 
@@ -17,28 +16,33 @@ public class IcalExporter implements FileExporter {
 
   @Override
   public String export(String fileName, Map<LocalDate, List<EventReadOnly>> events) {
+    ExportEvent exportEvent = new ExportEvent();
+    exportEvent.begin();
+    String path = write(fileName, events);
+    exportEvent.commit("ical", path, events);
+    return path;
+  }
 
+  private String write(String fileName, Map<LocalDate, List<EventReadOnly>> events) {
 
     File file = new File(fileName);
 
-    DateTimeFormatter dateTimeFormatter = new DateTimeFormatterBuilder()
-        .appendPattern("yyyyMMdd'T'HHmmss")
-        .toFormatter();
-
-    try (FileWriter fileWriter = new FileWriter(file)) {
+    try (Writer fileWriter = ExportWriters.open(file.toPath())) {
 
       fileWriter.write("BEGIN:VCALENDAR\n");
       fileWriter.write("VERSION:2.0\n");
       fileWriter.write("PRODID:-//MyCalendarApp//EN\n");
 
+      StringBuilder vevent = new StringBuilder();
       for (Map.Entry<LocalDate, List<EventReadOnly>> entry : events.entrySet()) {
         for (EventReadOnly event : entry.getValue()) {
-
-          fileWriter.write("BEGIN:VEVENT\n");
-          fileWriter.write("SUMMARY:" + event.getSubject() + "\n");
-          fileWriter.write("DTSTART:" + event.getStartDateTime().format(dateTimeFormatter) + "\n");
-          fileWriter.write("DTEND:" + event.getEndDateTime().format(dateTimeFormatter) + "\n");
-          fileWriter.write("END:VEVENT\n");
+          vevent.setLength(0);
+          vevent.append("BEGIN:VEVENT\n")
+              .append("SUMMARY:").append(event.getSubject()).append("\nDTSTART:");
+          DateTimeCodec.appendBasicDateTime(vevent, event.getStartDateTime()).append("\nDTEND:");
+          DateTimeCodec.appendBasicDateTime(vevent, event.getEndDateTime())
+              .append("\nEND:VEVENT\n");
+          fileWriter.append(vevent);
         }
       }
 
@@ -0,0 +1,603 @@
+package calendar.controller;
+
+import calendar.model.DateTimeCodec;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Imports the events of an iCalendar (.ics) file into a calendar.
+ *
+ * <p>The file is read a line at a time, with folded lines joined back, and each VEVENT is
+ * turned into events as soon as its END line is read. Only the VEVENT being read and one
+ * batch of events waiting to be added are held, so the memory used does not grow with the
+ * size of the file. The events are added a batch at a time through
+ * {@link CalendarEditable#addEvents}, and a VEVENT with a RRULE is added as a series.
+ *
+ * <p>SUMMARY, DTSTART, DTEND or DURATION, DESCRIPTION, LOCATION, CLASS, RRULE and EXDATE
+ * are read; other properties and nested components such as VALARM are skipped. Times
+ * given in UTC or with a TZID are moved to the time zone of the calendar, and floating
+ * times are taken as they are. A VEVENT that cannot be imported is counted in the report
+ * with the reason and the rest of the file is still imported.
+ *
+ * <p>An importer keeps the state of the import it is running, so it is used by one thread
+ * at a time.
+ */
+public class IcalImporter {
+  private static final int BATCH_SIZE = 1000;
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+  private static final LocalTime ALL_DAY_START = LocalTime.of(8, 0);
+  private static final LocalTime ALL_DAY_END = LocalTime.of(17, 0);
+  private static final LocalTime LAST_MINUTE = LocalTime.of(23, 59);
+  private static final Set<String> RULE_PARTS = Set.of("FREQ", "INTERVAL", "COUNT", "UNTIL",
+      "BYDAY", "WKST");
+
+  private final CalendarEditable calendar;
+  private final ZoneId zone;
+  private final List<PendingEvent> batch;
+  private int batchEvents;
+  private ImportReport report;
+
+  /**
+   * Creates an importer that adds to the given calendar.
+   *
+   * @param calendar the calendar to add the events to
+   * @param zone     the time zone of the calendar
+   */
+  public IcalImporter(CalendarEditable calendar, ZoneId zone) {
+    this.calendar = Objects.requireNonNull(calendar);
+    this.zone = Objects.requireNonNull(zone);
+    this.batch = new ArrayList<>();
+  }
+
+  /**
+   * Imports every VEVENT of the file.
+   *
+   * @param fileName the file to import
+   * @return what was added and what was rejected
+   * @throws IllegalArgumentException if the file cannot be read
+   */
+  public ImportReport importFile(String fileName) {
+    Path path = Paths.get(fileName).toAbsolutePath();
+    report = new ImportReport(path.toString());
+    batch.clear();
+    batchEvents = 0;
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        Files.newInputStream(path), StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+      read(reader);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot read file: " + fileName, e);
+    }
+    return report;
+  }
+
+  /**
+   * Joins folded lines, a line starting with a space or a tab carrying on the one before,
+   * and follows the components the lines open and close.
+   */
+  private void read(BufferedReader reader) throws IOException {
+    StringBuilder logical = new StringBuilder();
+    int logicalStart = 0;
+    int lineNumber = 0;
+    EventRecord current = null;
+    int nested = 0;
+    String physical;
+    while (true) {
+      physical = reader.readLine();
+      lineNumber++;
+      if (physical != null && !physical.isEmpty() && logicalStart > 0
+          && (physical.charAt(0) == ' ' || physical.charAt(0) == '\t')) {
+        logical.append(physical, 1, physical.length());
+        continue;
+      }
+      if (logicalStart > 0 && logical.length() > 0) {
+        Property property = Property.parse(logical);
+        if (property == null) {
+          if (current != null && nested == 0 && current.error == null) {
+            current.error = "Malformed line " + logicalStart;
+          }
+        } else if (property.name.equals("BEGIN")) {
+          if (current == null && property.value.equalsIgnoreCase("VEVENT")) {
+            current = new EventRecord(logicalStart);
+          } else if (current != null) {
+            nested++;
+          }
+        } else if (property.name.equals("END") && current != null) {
+          if (nested > 0) {
+            nested--;
+          } else {
+            finish(current);
+            current = null;
+          }
+        } else if (current != null && nested == 0) {
+          current.add(property);
+        }
+      }
+      if (physical == null) {
+        break;
+      }
+      logical.setLength(0);
+      logical.append(physical);
+      logicalStart = lineNumber;
+    }
+    flush();
+    if (current != null) {
+      report.reject(current.line, current.subject(), "VEVENT is not closed");
+    }
+  }
+
+  private void finish(EventRecord vevent) {
+    try {
+      if (vevent.error != null) {
+        throw new IllegalArgumentException(vevent.error);
+      }
+      if (vevent.get("RECURRENCE-ID") != null) {
+        throw new IllegalArgumentException("RECURRENCE-ID overrides are not supported");
+      }
+      if (vevent.get("RRULE") != null) {
+        addSeries(vevent);
+      } else {
+        queue(vevent);
+      }
+    } catch (IllegalArgumentException | DateTimeException e) {
+      report.reject(vevent.line, vevent.subject(), e.getMessage());
+    }
+  }
+
+  private void queue(EventRecord vevent) {
+    Span span = span(vevent);
+    List<EventReadOnly> pieces = new ArrayList<>();
+    if (span.dateOnly) {
+      for (LocalDate day = span.start.toLocalDate(); day.isBefore(span.end.toLocalDate());
+           day = day.plusDays(1)) {
+        pieces.add(event(vevent, day.atTime(ALL_DAY_START), day.atTime(ALL_DAY_END), true));
+      }
+    } else {
+      LocalDate firstDay = span.start.toLocalDate();
+      LocalDate lastDay = span.end.toLocalTime().equals(LocalTime.MIDNIGHT)
+          && span.end.toLocalDate().isAfter(firstDay)
+          ? span.end.toLocalDate().minusDays(1) : span.end.toLocalDate();
+      for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+        LocalDateTime start = day.equals(firstDay)
+            ? span.start : day.atStartOfDay();
+        LocalDateTime end = day.equals(span.end.toLocalDate())
+            ? span.end : day.atTime(LAST_MINUTE);
+        pieces.add(event(vevent, start, end, isAllDay(start, end)));
+      }
+    }
+    batch.add(new PendingEvent(vevent.line, vevent.subject(), pieces));
+    batchEvents += pieces.size();
+    if (batchEvents >= BATCH_SIZE) {
+      flush();
+    }
+  }
+
+  /**
+   * Adds the waiting events in one call. If the batch is turned down, each VEVENT of it
+   * is added on its own so only the ones in conflict are rejected.
+   */
+  private void flush() {
+    if (batch.isEmpty()) {
+      return;
+    }
+    List<EventReadOnly> events = new ArrayList<>(batchEvents);
+    for (PendingEvent pending : batch) {
+      events.addAll(pending.pieces);
+    }
+    try {
+      calendar.addEvents(events);
+      report.addEvents(events.size());
+    } catch (IllegalArgumentException batchRejected) {
+      for (PendingEvent pending : batch) {
+        try {
+          calendar.addEvents(pending.pieces);
+          report.addEvents(pending.pieces.size());
+        } catch (IllegalArgumentException e) {
+          report.reject(pending.line, pending.subject, e.getMessage());
+        }
+      }
+    }
+    batch.clear();
+    batchEvents = 0;
+  }
+
+  private void addSeries(EventRecord vevent) {
+    Span span = span(vevent);
+    LocalDateTime start = span.start;
+    LocalDateTime end = span.end;
+    boolean allDay;
+    if (span.dateOnly) {
+      if (!span.end.toLocalDate().equals(span.start.toLocalDate().plusDays(1))) {
+        throw new IllegalArgumentException("Repeating events must last a single day");
+      }
+      start = span.start.toLocalDate().atTime(ALL_DAY_START);
+      end = span.start.toLocalDate().atTime(ALL_DAY_END);
+      allDay = true;
+    } else {
+      if (!start.toLocalDate().equals(end.toLocalDate())) {
+        throw new IllegalArgumentException("Repeating events must start and end on one day");
+      }
+      allDay = isAllDay(start, end);
+    }
+
+    Map<String, String> rule = rule(vevent.get("RRULE").value);
+    String frequency = rule.getOrDefault("FREQ", "");
+    if (!frequency.equals("WEEKLY") && !frequency.equals("DAILY")) {
+      throw new IllegalArgumentException("RRULE FREQ=" + frequency + " is not supported");
+    }
+    for (String key : rule.keySet()) {
+      if (!RULE_PARTS.contains(key)) {
+        throw new IllegalArgumentException("RRULE " + key + " is not supported");
+      }
+    }
+    if (!rule.getOrDefault("INTERVAL", "1").equals("1")) {
+      throw new IllegalArgumentException("RRULE INTERVAL other than 1 is not supported");
+    }
+    Set<DayOfWeek> days = rule.containsKey("BYDAY") ? days(rule.get("BYDAY"))
+        : frequency.equals("DAILY") ? EnumSet.allOf(DayOfWeek.class)
+        : EnumSet.of(start.getDayOfWeek());
+
+    EventSeries.EventSeriesBuilder builder = new EventSeries.EventSeriesBuilder(
+        vevent.subject(), start, end, days)
+        .setAllDay(allDay)
+        .setLocation(location(vevent))
+        .setEventStatus(status(vevent));
+    if (vevent.get("DESCRIPTION") != null) {
+      builder.setDescription(text(vevent.get("DESCRIPTION").value));
+    }
+    if (rule.containsKey("COUNT") == rule.containsKey("UNTIL")) {
+      throw new IllegalArgumentException("RRULE must have either COUNT or UNTIL");
+    }
+    if (rule.containsKey("COUNT")) {
+      builder.setOccurrences(count(rule.get("COUNT")));
+    } else {
+      builder.setLastDate(until(rule.get("UNTIL"), start));
+    }
+    Set<LocalDate> exceptions = new TreeSet<>();
+    for (Property exdate : vevent.exdates) {
+      for (String value : exdate.value.split(",")) {
+        exceptions.add(dateTime(exdate, value).toLocalDate());
+      }
+    }
+    builder.setExceptions(exceptions);
+
+    EventSeriesReadOnly stored = calendar.addSeries(builder.build());
+    if (stored.occurrenceCount() == 0) {
+      throw new IllegalArgumentException("RRULE has no occurrences");
+    }
+    report.addSeries(stored.occurrenceCount());
+  }
+
+  private EventReadOnly event(EventRecord vevent, LocalDateTime start, LocalDateTime end,
+                              boolean allDay) {
+    Event.EventBuilder builder = new Event.EventBuilder(vevent.subject(), start)
+        .setEndDateTime(end)
+        .setAllDay(allDay)
+        .setLocation(location(vevent))
+        .setEventStatus(status(vevent));
+    if (vevent.get("DESCRIPTION") != null) {
+      builder.setDescription(text(vevent.get("DESCRIPTION").value));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Works out when the VEVENT starts and ends in the calendar's time zone. An event given
+   * by dates ends on the day after its last day, as iCal has it.
+   */
+  private Span span(EventRecord vevent) {
+    if (vevent.subject() == null || vevent.subject().isEmpty()) {
+      throw new IllegalArgumentException("VEVENT has no SUMMARY");
+    }
+    Property dtstart = vevent.get("DTSTART");
+    if (dtstart == null) {
+      throw new IllegalArgumentException("VEVENT has no DTSTART");
+    }
+    boolean dateOnly = isDate(dtstart, dtstart.value);
+    LocalDateTime start = dateTime(dtstart, dtstart.value);
+    LocalDateTime end;
+    Property dtend = vevent.get("DTEND");
+    Property duration = vevent.get("DURATION");
+    if (dtend != null) {
+      end = dateTime(dtend, dtend.value);
+    } else if (duration != null) {
+      end = start.plus(duration(duration.value));
+    } else {
+      end = dateOnly ? start.plusDays(1) : start;
+    }
+    if (end.isBefore(start) || (dateOnly && !end.isAfter(start))) {
+      throw new IllegalArgumentException("VEVENT ends before it starts");
+    }
+    return new Span(start, end, dateOnly);
+  }
+
+  private static boolean isDate(Property property, String value) {
+    return "DATE".equalsIgnoreCase(property.params.get("VALUE")) || value.length() == 8;
+  }
+
+  /**
+   * Reads a DATE or DATE-TIME value, moving times in UTC or with a TZID to the time zone
+   * of the calendar. A date is read as the start of that day.
+   */
+  private LocalDateTime dateTime(Property property, String value) {
+    try {
+      if (isDate(property, value)) {
+        return DateTimeCodec.parseBasicDate(value).atStartOfDay();
+      }
+      if (value.endsWith("Z")) {
+        return DateTimeCodec.parseBasicDateTime(value.substring(0, value.length() - 1))
+            .atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDateTime();
+      }
+      LocalDateTime dateTime = DateTimeCodec.parseBasicDateTime(value);
+      String tzid = property.params.get("TZID");
+      if (tzid == null) {
+        return dateTime;
+      }
+      return dateTime.atZone(ZoneId.of(tzid)).withZoneSameInstant(zone).toLocalDateTime();
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid " + property.name + ": " + value);
+    }
+  }
+
+  private LocalDate until(String value, LocalDateTime start) {
+    Property until = new Property("UNTIL", new HashMap<>(), value);
+    if (isDate(until, value)) {
+      return dateTime(until, value).toLocalDate();
+    }
+    LocalDateTime last = dateTime(until, value);
+    return last.toLocalTime().isBefore(start.toLocalTime())
+        ? last.toLocalDate().minusDays(1) : last.toLocalDate();
+  }
+
+  private static Duration duration(String value) {
+    String upper = value.toUpperCase(Locale.ROOT);
+    try {
+      if (upper.matches("P\\d+W")) {
+        return Duration.ofDays(7L * Long.parseLong(upper.substring(1, upper.length() - 1)));
+      }
+      return Duration.parse(upper);
+    } catch (DateTimeException | ArithmeticException e) {
+      throw new IllegalArgumentException("Invalid DURATION: " + value);
+    }
+  }
+
+  private static Map<String, String> rule(String value) {
+    Map<String, String> rule = new HashMap<>();
+    for (String part : value.split(";")) {
+      int equals = part.indexOf('=');
+      if (equals <= 0) {
+        throw new IllegalArgumentException("Invalid RRULE: " + value);
+      }
+      rule.put(part.substring(0, equals).trim().toUpperCase(Locale.ROOT),
+          part.substring(equals + 1).trim().toUpperCase(Locale.ROOT));
+    }
+    return rule;
+  }
+
+  private static Set<DayOfWeek> days(String byDay) {
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    for (String day : byDay.split(",")) {
+      switch (day) {
+        case "MO":
+          days.add(DayOfWeek.MONDAY);
+          break;
+        case "TU":
+          days.add(DayOfWeek.TUESDAY);
+          break;
+        case "WE":
+          days.add(DayOfWeek.WEDNESDAY);
+          break;
+        case "TH":
+          days.add(DayOfWeek.THURSDAY);
+          break;
+        case "FR":
+          days.add(DayOfWeek.FRIDAY);
+          break;
+        case "SA":
+          days.add(DayOfWeek.SATURDAY);
+          break;
+        case "SU":
+          days.add(DayOfWeek.SUNDAY);
+          break;
+        default:
+          throw new IllegalArgumentException("RRULE BYDAY=" + day + " is not supported");
+      }
+    }
+    return days;
+  }
+
+  private static int count(String value) {
+    try {
+      int count = Integer.parseInt(value);
+      if (count > 0) {
+        return count;
+      }
+    } catch (NumberFormatException e) {
+      // reported below with the other invalid counts
+    }
+    throw new IllegalArgumentException("Invalid RRULE COUNT: " + value);
+  }
+
+  private static Location location(EventRecord vevent) {
+    Property property = vevent.get("LOCATION");
+    if (property == null || property.value.isBlank()) {
+      return Location.UNKNOWN;
+    }
+    String value = text(property.value).trim();
+    Location location = Location.getLocation(value);
+    if (location != Location.UNKNOWN) {
+      return location;
+    }
+    return value.contains("://") ? Location.ONLINE : Location.PHYSICAL;
+  }
+
+  private static EventStatus status(EventRecord vevent) {
+    Property property = vevent.get("CLASS");
+    if (property == null) {
+      return EventStatus.UNKNOWN;
+    }
+    if (property.value.equalsIgnoreCase("CONFIDENTIAL")) {
+      return EventStatus.PRIVATE;
+    }
+    return EventStatus.getEventStatus(property.value);
+  }
+
+  private static boolean isAllDay(LocalDateTime start, LocalDateTime end) {
+    return start.toLocalDate().equals(end.toLocalDate())
+        && start.toLocalTime().equals(ALL_DAY_START)
+        && end.toLocalTime().equals(ALL_DAY_END);
+  }
+
+  /**
+   * Undoes the escaping of iCal text values.
+   */
+  private static String text(String value) {
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder text = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        char next = value.charAt(++i);
+        text.append(next == 'n' || next == 'N' ? '\n' : next);
+      } else {
+        text.append(c);
+      }
+    }
+    return text.toString();
+  }
+
+  /**
+   * A content line split into its name, parameters and value.
+   */
+  private static final class Property {
+    private final String name;
+    private final Map<String, String> params;
+    private final String value;
+
+    Property(String name, Map<String, String> params, String value) {
+      this.name = name;
+      this.params = params;
+      this.value = value;
+    }
+
+    /**
+     * Splits a line at the first colon that is not within a quoted parameter value.
+     *
+     * @return the property, or null if the line has no value
+     */
+    static Property parse(CharSequence line) {
+      int colon = -1;
+      boolean quoted = false;
+      for (int i = 0; i < line.length() && colon < 0; i++) {
+        char c = line.charAt(i);
+        if (c == '"') {
+          quoted = !quoted;
+        } else if (c == ':' && !quoted) {
+          colon = i;
+        }
+      }
+      if (colon <= 0) {
+        return null;
+      }
+      String[] parts = line.subSequence(0, colon).toString().split(";");
+      Map<String, String> params = new HashMap<>();
+      for (int i = 1; i < parts.length; i++) {
+        int equals = parts[i].indexOf('=');
+        if (equals > 0) {
+          params.put(parts[i].substring(0, equals).toUpperCase(Locale.ROOT),
+              parts[i].substring(equals + 1).replace("\"", ""));
+        }
+      }
+      return new Property(parts[0].trim().toUpperCase(Locale.ROOT), params,
+          line.subSequence(colon + 1, line.length()).toString().trim());
+    }
+  }
+
+  /**
+   * The properties of the VEVENT being read.
+   */
+  private static final class EventRecord {
+    private final int line;
+    private final Map<String, Property> properties = new HashMap<>();
+    private final List<Property> exdates = new ArrayList<>();
+    private String error;
+
+    EventRecord(int line) {
+      this.line = line;
+    }
+
+    void add(Property property) {
+      if (property.name.equals("EXDATE")) {
+        exdates.add(property);
+      } else {
+        properties.put(property.name, property);
+      }
+    }
+
+    Property get(String name) {
+      return properties.get(name);
+    }
+
+    String subject() {
+      Property summary = properties.get("SUMMARY");
+      return summary == null ? null : text(summary.value);
+    }
+  }
+
+  /**
+   * The events of a VEVENT waiting in the batch.
+   */
+  private static final class PendingEvent {
+    private final int line;
+    private final String subject;
+    private final List<EventReadOnly> pieces;
+
+    PendingEvent(int line, String subject, List<EventReadOnly> pieces) {
+      this.line = line;
+      this.subject = subject;
+      this.pieces = pieces;
+    }
+  }
+
+  private static final class Span {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final boolean dateOnly;
+
+    Span(LocalDateTime start, LocalDateTime end, boolean dateOnly) {
+      this.start = start;
+      this.end = end;
+      this.dateOnly = dateOnly;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package calendar.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What an import added to a calendar and what it turned down. Every rejected record is
+ * counted, but only the reasons of the first few are kept, so a file full of records
+ * that cannot be imported does not fill the memory with reasons.
+ */
+public class ImportReport {
+  /**
+   * Number of rejected records whose reason is kept.
+   */
+  public static final int REASONS_KEPT = 20;
+
+  private final String path;
+  private long events;
+  private long series;
+  private long seriesOccurrences;
+  private long rejected;
+  private final List<String> reasons;
+
+  /**
+   * Creates an empty report.
+   *
+   * @param path the absolute path of the imported file
+   */
+  ImportReport(String path) {
+    this.path = path;
+    this.reasons = new ArrayList<>();
+  }
+
+  void addEvents(int count) {
+    events += count;
+  }
+
+  void addSeries(long occurrences) {
+    series++;
+    seriesOccurrences += occurrences;
+  }
+
+  void reject(int line, String subject, String reason) {
+    rejected++;
+    if (reasons.size() < REASONS_KEPT) {
+      reasons.add("line " + line + (subject == null ? "" : " (" + subject + ")") + ": "
+          + reason);
+    }
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public long getEvents() {
+    return events;
+  }
+
+  public long getSeries() {
+    return series;
+  }
+
+  public long getSeriesOccurrences() {
+    return seriesOccurrences;
+  }
+
+  public long getRejected() {
+    return rejected;
+  }
+
+  /**
+   * Returns the reasons of the first rejected records, each with the line the record
+   * starts on.
+   *
+   * @return at most REASONS_KEPT reasons, in the order of the file
+   */
+  public List<String> getReasons() {
+    return Collections.unmodifiableList(reasons);
+  }
+}
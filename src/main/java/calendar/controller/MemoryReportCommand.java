@@ -0,0 +1,30 @@
+package calendar.controller;
+
+import calendar.controller.handlers.MemoryReportHandler;
+import calendar.model.interfaces.CalendarContainer;
+import java.util.List;
+
+/**
+ * Executes the "show memory" command from the user input.
+ * This class handles parsing, while MemoryReportHandler handles the logic.
+ */
+public class MemoryReportCommand implements Command {
+  private final MemoryReportHandler handler;
+
+  /**
+   * We are passing the calendar Manager which has all the calendars.
+   *
+   * @param calendarManager current calendar manager.
+   */
+  public MemoryReportCommand(CalendarContainer calendarManager) {
+    this.handler = new MemoryReportHandler(calendarManager);
+  }
+
+  @Override
+  public String execute(List<String> parsedCommand) {
+    if (parsedCommand.size() != 2) {
+      throw new IllegalArgumentException("Invalid command. Usage: show memory");
+    }
+    return handler.handle();
+  }
+}
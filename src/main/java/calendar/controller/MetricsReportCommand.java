@@ -0,0 +1,32 @@
+package calendar.controller;
+
+import calendar.controller.handlers.MetricsReportHandler;
+import calendar.controller.metrics.CommandMetrics;
+import calendar.model.interfaces.CalendarContainer;
+import java.util.List;
+
+/**
+ * Executes the "show metrics" command from the user input.
+ * This class handles parsing, while MetricsReportHandler handles the logic.
+ */
+public class MetricsReportCommand implements Command {
+  private final MetricsReportHandler handler;
+
+  /**
+   * We are passing the calendar Manager which has all the calendars.
+   *
+   * @param calendarManager current calendar manager.
+   * @param metrics         the metrics of the commands run.
+   */
+  public MetricsReportCommand(CalendarContainer calendarManager, CommandMetrics metrics) {
+    this.handler = new MetricsReportHandler(calendarManager, metrics);
+  }
+
+  @Override
+  public String execute(List<String> parsedCommand) {
+    if (parsedCommand.size() != 2) {
+      throw new IllegalArgumentException("Invalid command. Usage: show metrics");
+    }
+    return handler.handle();
+  }
+}
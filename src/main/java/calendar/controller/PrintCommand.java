@@ -2,10 +2,10 @@ package calendar.controller;
 
 import calendar.controller.commanddata.PrintCommandData;
 import calendar.controller.handlers.PrintEventHandler;
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.CalendarEditable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -51,17 +51,14 @@ public class PrintCommand implements Command {
     boolean isOnCommand;
 
     if (parsedCommand.contains("on") && parsedCommand.size() == 4) {
-      LocalDate localDate = LocalDate.parse(parsedCommand.get(3),
-          DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+      LocalDate localDate = DateTimeCodec.parseDate(parsedCommand.get(3));
       startDateTime = localDate.atStartOfDay();
       endDateTime = localDate.atTime(23, 59);
       isOnCommand = true;
     } else if (parsedCommand.contains("from")
         && parsedCommand.size() == 6 && parsedCommand.get(4).equals("to")) {
-      startDateTime = LocalDateTime.parse(parsedCommand.get(3),
-          DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm"));
-      endDateTime = LocalDateTime.parse(parsedCommand.get(5),
-          DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm"));
+      startDateTime = DateTimeCodec.parseDateTime(parsedCommand.get(3));
+      endDateTime = DateTimeCodec.parseDateTime(parsedCommand.get(5));
       if (endDateTime.isBefore(startDateTime)) {
         throw new IllegalArgumentException("End date cannot be before start date");
       }
@@ -0,0 +1,43 @@
+package calendar.controller;
+
+import calendar.controller.commanddata.SnapshotCommandData;
+import calendar.controller.handlers.SnapshotHandler;
+import calendar.model.interfaces.CalendarContainer;
+import java.util.List;
+
+/**
+ * Executes the "save snapshot" and "load snapshot" commands from the user input.
+ * This class handles parsing, while SnapshotHandler handles the logic.
+ */
+public class SnapshotCommand implements Command {
+  private final SnapshotHandler handler;
+
+  /**
+   * We are passing the calendar Manager which has all the calendars.
+   *
+   * @param calendarManager current calendar manager.
+   */
+  public SnapshotCommand(CalendarContainer calendarManager) {
+    this.handler = new SnapshotHandler(calendarManager);
+  }
+
+  @Override
+  public String execute(List<String> parsedCommand) {
+    SnapshotCommandData data = parse(parsedCommand);
+    return handler.handle(data);
+  }
+
+  /**
+   * Parses the command input into a SnapshotCommandData object.
+   *
+   * @param parsedCommand the parsed command tokens
+   * @return SnapshotCommandData containing parsed information
+   */
+  public SnapshotCommandData parse(List<String> parsedCommand) {
+    if (parsedCommand.size() != 3) {
+      throw new IllegalArgumentException("Invalid command. "
+          + "Usage: save snapshot <file> or load snapshot <file>");
+    }
+    return new SnapshotCommandData(parsedCommand.get(0).toLowerCase(), parsedCommand.get(2));
+  }
+}
@@ -2,9 +2,9 @@ package calendar.controller;
 
 import calendar.controller.commanddata.UserStatusCommandData;
 import calendar.controller.handlers.UserStatusHandler;
+import calendar.model.DateTimeCodec;
 import calendar.model.interfaces.CalendarEditable;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -48,8 +48,7 @@ public class UserStatusCommand implements Command {
     if (parsedCommand.size() != 4 || !parsedCommand.get(2).equalsIgnoreCase("on")) {
       throw new IllegalArgumentException("Invalid show status command");
     }
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
-    LocalDateTime dateTime = LocalDateTime.parse(parsedCommand.get(3), formatter);
+    LocalDateTime dateTime = DateTimeCodec.parseDateTime(parsedCommand.get(3));
     return new UserStatusCommandData(dateTime);
   }
 }
@@ -0,0 +1,35 @@
+package calendar.controller.commanddata;
+
+/**
+ * Data transfer object for ArchiveCalendarCommand parsed data.
+ */
+public class ArchiveCalendarCommandData {
+  private final String action;
+  private final String calendarName;
+  private final String fileName;
+
+  /**
+   * Constructor for ArchiveCalendarCommandData.
+   *
+   * @param action       either "archive" or "mount"
+   * @param calendarName the calendar to archive, or the name to mount the archive under
+   * @param fileName     the archive file
+   */
+  public ArchiveCalendarCommandData(String action, String calendarName, String fileName) {
+    this.action = action;
+    this.calendarName = calendarName;
+    this.fileName = fileName;
+  }
+
+  public String getAction() {
+    return action;
+  }
+
+  public String getCalendarName() {
+    return calendarName;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+}
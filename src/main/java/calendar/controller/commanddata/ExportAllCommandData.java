@@ -0,0 +1,28 @@
+package calendar.controller.commanddata;
+
+/**
+ * Data transfer object for ExportAllCommand parsed data.
+ */
+public class ExportAllCommandData {
+  private final String directory;
+  private final String format;
+
+  /**
+   * Constructor for ExportAllCommandData.
+   *
+   * @param directory the directory to write the files in
+   * @param format    the format of the files, csv or ical
+   */
+  public ExportAllCommandData(String directory, String format) {
+    this.directory = directory;
+    this.format = format;
+  }
+
+  public String getDirectory() {
+    return directory;
+  }
+
+  public String getFormat() {
+    return format;
+  }
+}
@@ -0,0 +1,63 @@
+package calendar.controller.commanddata;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Data transfer object for FindSlotsCommand parsed data.
+ */
+public class FindSlotsCommandData {
+  private final Duration duration;
+  private final LocalDateTime windowStart;
+  private final LocalDateTime windowEnd;
+  private final LocalTime workStart;
+  private final LocalTime workEnd;
+  private final List<String> calendarNames;
+
+  /**
+   * Constructor for FindSlotsCommandData.
+   *
+   * @param duration      the minimum length of a free slot
+   * @param windowStart   the start of the search window
+   * @param windowEnd     the end of the search window
+   * @param workStart     the time each working day starts
+   * @param workEnd       the time each working day ends
+   * @param calendarNames the calendars to search, empty for the active calendar
+   */
+  public FindSlotsCommandData(Duration duration, LocalDateTime windowStart,
+                              LocalDateTime windowEnd, LocalTime workStart,
+                              LocalTime workEnd, List<String> calendarNames) {
+    this.duration = duration;
+    this.windowStart = windowStart;
+    this.windowEnd = windowEnd;
+    this.workStart = workStart;
+    this.workEnd = workEnd;
+    this.calendarNames = List.copyOf(calendarNames);
+  }
+
+  public Duration getDuration() {
+    return duration;
+  }
+
+  public LocalDateTime getWindowStart() {
+    return windowStart;
+  }
+
+  public LocalDateTime getWindowEnd() {
+    return windowEnd;
+  }
+
+  public LocalTime getWorkStart() {
+    return workStart;
+  }
+
+  public LocalTime getWorkEnd() {
+    return workEnd;
+  }
+
+  public List<String> getCalendarNames() {
+    return calendarNames;
+  }
+}
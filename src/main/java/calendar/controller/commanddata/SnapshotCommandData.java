@@ -0,0 +1,28 @@
+package calendar.controller.commanddata;
+
+/**
+ * Data transfer object for SnapshotCommand parsed data.
+ */
+public class SnapshotCommandData {
+  private final String action;
+  private final String fileName;
+
+  /**
+   * Constructor for SnapshotCommandData.
+   *
+   * @param action   either "save" or "load"
+   * @param fileName the snapshot file to write or read
+   */
+  public SnapshotCommandData(String action, String fileName) {
+    this.action = action;
+    this.fileName = fileName;
+  }
+
+  public String getAction() {
+    return action;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+}
@@ -0,0 +1,53 @@
+package calendar.controller.handlers;
+
+import calendar.controller.commanddata.ArchiveCalendarCommandData;
+import calendar.model.archive.ArchiveCalendar;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Handler class that performs the logic for archiving and mounting calendars.
+ * Takes parsed command data and interacts with the model.
+ */
+public class ArchiveCalendarHandler {
+
+  private final CalendarContainer calendarManager;
+
+  /**
+   * Constructor for ArchiveCalendarHandler.
+   *
+   * @param calendarManager the calendar container to interact with
+   */
+  public ArchiveCalendarHandler(CalendarContainer calendarManager) {
+    this.calendarManager = Objects.requireNonNull(calendarManager);
+  }
+
+  /**
+   * Executes the archive or mount logic based on the parsed command data.
+   *
+   * @param data the parsed command data
+   * @return the result string
+   */
+  public String handle(ArchiveCalendarCommandData data) {
+    String name = data.getCalendarName();
+    Path file = Path.of(data.getFileName());
+    try {
+      if (data.getAction().equals("archive")) {
+        AdvancedCalendar calendar = calendarManager.getCalendars().get(name);
+        if (calendar == null) {
+          throw new IllegalArgumentException("Calendar with name " + name + " does not exist");
+        }
+        int count = ArchiveCalendar.write(calendar, calendar.getZoneId(), file);
+        return "Archived " + count + " event(s) to: " + file.toAbsolutePath();
+      }
+      calendarManager.addCalendar(name, ArchiveCalendar.mount(name, file));
+      return "Mounted archive " + file.toAbsolutePath() + " as calendar " + name;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot " + data.getAction() + " calendar "
+          + name + ": " + e.getMessage());
+    }
+  }
+}
@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Handler class that performs the logic for copying multiple events.
@@ -60,6 +61,12 @@ public class CopyMultipleEventsHandler {
     }
     AdvancedCalendar targetCal = calendarManager.getCalendars().get(targetCalName);
 
+    return calendarManager.withCalendars(List.of(sourceCal, targetCal),
+        () -> copyEvents(sourceCal, targetCal, sourceStart, sourceEnd, targetStart));
+  }
+
+  private String copyEvents(AdvancedCalendar sourceCal, AdvancedCalendar targetCal,
+                            LocalDate sourceStart, LocalDate sourceEnd, LocalDate targetStart) {
     ZoneId sourceZone = sourceCal.getZoneId();
     ZoneId targetZone = targetCal.getZoneId();
 
@@ -73,8 +80,8 @@ public class CopyMultipleEventsHandler {
     for (EventReadOnly event : eventsToCopy) {
       if (event.getEventType() == TypeOfEvent.SINGLE) {
         copiedEvents
-            .add(copySingleEvent(event, sourceStart,
-                targetStart, sourceZone, targetZone, targetCal));
+            .add(toTargetEvent(event, sourceStart,
+                targetStart, sourceZone, targetZone));
       } else if (event.getEventType() == TypeOfEvent.SERIES) {
         java.util.UUID seriesId = event.getId();
         if (processedSeries.contains(seriesId)) {
@@ -82,26 +89,26 @@ public class CopyMultipleEventsHandler {
         }
         processedSeries.add(seriesId);
 
-        List<EventReadOnly> seriesEvents = new CalendarFilter(sourceCal)
-            .filter(EventPredicates.byEventId(seriesId)
-                .and(EventPredicates.betweenStartAndEnd(
-                    sourceStart.atStartOfDay(),
-                    sourceEnd.atTime(23, 59, 59))));
+        Predicate<EventReadOnly> inRange = EventPredicates.betweenStartAndEnd(
+            sourceStart.atStartOfDay(), sourceEnd.atTime(23, 59, 59));
 
-        for (EventReadOnly seriesEvent : seriesEvents) {
+        for (EventReadOnly seriesEvent : sourceCal.getSeriesEvents(seriesId)) {
+          if (!inRange.test(seriesEvent)) {
+            continue;
+          }
           copiedEvents
-              .add(copySingleEvent(seriesEvent, sourceStart,
-                  targetStart, sourceZone, targetZone, targetCal));
+              .add(toTargetEvent(seriesEvent, sourceStart,
+                  targetStart, sourceZone, targetZone));
         }
       }
     }
 
-    return handleOutput(copiedEvents);
+    return handleOutput(targetCal.addEvents(copiedEvents));
   }
 
-  private EventReadOnly copySingleEvent(EventReadOnly event, LocalDate sourceStart,
-                                        LocalDate targetStart, ZoneId sourceZone,
-                                        ZoneId targetZone, AdvancedCalendar targetCal) {
+  private EventReadOnly toTargetEvent(EventReadOnly event, LocalDate sourceStart,
+                                      LocalDate targetStart, ZoneId sourceZone,
+                                      ZoneId targetZone) {
 
     long daysOffset = ChronoUnit.DAYS.between(sourceStart, event.getStartDateTime().toLocalDate());
     LocalDate targetDate = targetStart.plusDays(daysOffset);
@@ -117,12 +124,10 @@ public class CopyMultipleEventsHandler {
         convertToTargetDateTime(event.getStartDateTime(), targetDate, sourceZone, targetZone);
     LocalDateTime targetEndDateTime = targetStartDateTime.plus(duration);
 
-    EventReadOnly targetEvent = new Event.EventBuilder(event)
+    return new Event.EventBuilder(event)
         .setStartDateTime(targetStartDateTime)
         .setEndDateTime(targetEndDateTime)
         .build();
-
-    return targetCal.addEvent(targetEvent);
   }
 
   private LocalDateTime convertToTargetDateTime(LocalDateTime sourceDateTime, LocalDate targetDate,
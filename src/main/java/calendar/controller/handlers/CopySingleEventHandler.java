@@ -40,6 +40,12 @@ public class CopySingleEventHandler {
     AdvancedCalendar sourceCalendar = calendarManager.getActiveCalendar();
     AdvancedCalendar targetCalendar = getTargetCalendar(data.getTargetCalendarName());
 
+    return calendarManager.withCalendars(List.of(sourceCalendar, targetCalendar),
+        () -> copyEvent(data, sourceCalendar, targetCalendar));
+  }
+
+  private String copyEvent(CopySingleEventCommandData data, AdvancedCalendar sourceCalendar,
+                           AdvancedCalendar targetCalendar) {
     List<EventReadOnly> eventsToCopy = findEvents(sourceCalendar, data.getEventName(),
         data.getSourceStart());
 
@@ -89,7 +95,7 @@ public class CopySingleEventHandler {
 
       copiedEvents.add(toCopy);
     }
-    return handleOutput(copiedEvents);
+    return handleOutput(targetCal.addEvents(copiedEvents));
   }
 
   private String handleOutput(List<EventReadOnly> copiedEvents) {
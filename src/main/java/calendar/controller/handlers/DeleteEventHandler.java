@@ -1,6 +1,5 @@
 package calendar.controller.handlers;
 
-import calendar.controller.CalendarFilter;
 import calendar.controller.EventPredicates;
 import calendar.controller.commanddata.DeleteEventCommandData;
 import calendar.model.interfaces.CalendarEditable;
@@ -32,10 +31,9 @@ public class DeleteEventHandler {
    * @return the result string
    */
   public String handle(DeleteEventCommandData data) {
-    CalendarFilter filter = new CalendarFilter(calendarModel);
-    List<EventReadOnly> filteredEvents = filter.filter(EventPredicates.bySubject(data.getSubject())
-        .and(EventPredicates.byStartDate(data.getStartDateTime()))
-        .and(EventPredicates.byEndDate(data.getEndDateTime())));
+    List<EventReadOnly> filteredEvents = calendarModel.findEvents(data.getSubject(),
+        data.getStartDateTime());
+    filteredEvents.removeIf(EventPredicates.byEndDate(data.getEndDateTime()).negate());
 
     if (filteredEvents.isEmpty()) {
       return "No events found to delete";
@@ -1,7 +1,5 @@
 package calendar.controller.handlers;
 
-import calendar.controller.CalendarFilter;
-import calendar.controller.EventPredicates;
 import calendar.controller.commanddata.DeleteMultipleEventsCommandData;
 import calendar.model.datatypes.TypeOfEvent;
 import calendar.model.interfaces.CalendarEditable;
@@ -34,9 +32,8 @@ public class DeleteMultipleEventsHandler {
    * @return the result string
    */
   public String handle(DeleteMultipleEventsCommandData data) {
-    CalendarFilter filter = new CalendarFilter(calendarModel);
-    List<EventReadOnly> filteredEvents = filter.filter(EventPredicates.bySubject(data.getSubject())
-        .and(EventPredicates.byStartDate(data.getStartDateTime())));
+    List<EventReadOnly> filteredEvents = calendarModel.findEvents(data.getSubject(),
+        data.getStartDateTime());
 
     if (filteredEvents.isEmpty()) {
       return "No events found to delete";
@@ -49,7 +46,7 @@ public class DeleteMultipleEventsHandler {
       List<EventReadOnly> eventsToDelete = new ArrayList<>();
       if (event.getEventType() == TypeOfEvent.SERIES) {
         // Get all events in the series from this date onwards
-        List<EventReadOnly> seriesEvents = filter.filter(EventPredicates.byEventId(event.getId()));
+        List<EventReadOnly> seriesEvents = calendarModel.getSeriesEvents(event.getId());
         for (EventReadOnly seriesEvent : seriesEvents) {
           if (seriesEvent.getStartDateTime().isEqual(data.getStartDateTime())
               || seriesEvent.getStartDateTime().isAfter(data.getStartDateTime())) {
@@ -1,13 +1,12 @@
 package calendar.controller.handlers;
 
-import calendar.controller.CalendarFilter;
 import calendar.controller.EditSeriesCommand;
 import calendar.controller.EventPredicates;
 import calendar.controller.commanddata.EditSeriesCommandData;
+import calendar.model.DateTimeCodec;
 import calendar.model.datatypes.TypeOfEvent;
 import calendar.model.interfaces.CalendarEditable;
 import calendar.model.interfaces.EventReadOnly;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -36,9 +35,8 @@ public class EditSeriesHandler {
    * @return the result string
    */
   public String handle(EditSeriesCommandData data) {
-    CalendarFilter filter = new CalendarFilter(calendarModel);
-    List<EventReadOnly> filteredEvents = filter.filter(EventPredicates.bySubject(data.getSubject())
-        .and(EventPredicates.byStartDate(data.getStartDateTime())));
+    List<EventReadOnly> filteredEvents = calendarModel.findEvents(data.getSubject(),
+        data.getStartDateTime());
 
     StringBuilder output = new StringBuilder();
 
@@ -46,19 +44,18 @@ public class EditSeriesHandler {
       List<EventReadOnly> currEvents = new ArrayList<>();
       currEvents.add(event);
       if (event.getEventType() == TypeOfEvent.SERIES) {
-        currEvents = filter.filter(EventPredicates.byEventId(event.getId()));
+        currEvents = calendarModel.getSeriesEvents(event.getId());
       }
       calendarModel.editEvent(currEvents, data.getPropertyToUpdate(), data.getNewPropertyValue());
 
       List<EventReadOnly> newFilteredEvents;
       if (data.getPropertyToUpdate().equalsIgnoreCase("start")) {
-        newFilteredEvents = filter.filter(EventPredicates.bySubject(data.getSubject())
-            .and(EventPredicates.byStartDate(LocalDateTime.parse(data.getNewPropertyValue())))
-            .and(EventPredicates.byEndDate(LocalDateTime
-                .parse(event.getEndDateTime().toString()))));
-        currEvents = filter.filter(EventPredicates.byEventId(newFilteredEvents.get(0).getId()));
+        newFilteredEvents = calendarModel.findEvents(data.getSubject(),
+            DateTimeCodec.parseIsoDateTime(data.getNewPropertyValue()));
+        newFilteredEvents.removeIf(EventPredicates.byEndDate(event.getEndDateTime()).negate());
+        currEvents = calendarModel.getSeriesEvents(newFilteredEvents.get(0).getId());
       } else {
-        currEvents = filter.filter(EventPredicates.byEventId(event.getId()));
+        currEvents = calendarModel.getSeriesEvents(event.getId());
       }
 
       EditSeriesCommand.getReturnValue(output, currEvents);
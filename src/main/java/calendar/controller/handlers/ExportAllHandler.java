@@ -0,0 +1,225 @@
+package calendar.controller.handlers;
+
+import calendar.controller.CsvExporter;
+import calendar.controller.FileExporter;
+import calendar.controller.IcalExporter;
+import calendar.controller.commanddata.ExportAllCommandData;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.EventReadOnly;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Handler class that performs the logic for exporting every calendar of a container, each
+ * into a file of its own named after the calendar. The files are written at the same time
+ * by a fixed number of threads, and a line is reported as each one is done.
+ */
+public class ExportAllHandler {
+
+  private final CalendarContainer calendarManager;
+  private final Consumer<String> progress;
+  private final int threads;
+  private final Map<String, FileExporter> fileExporter;
+
+  /**
+   * Constructor for ExportAllHandler, writing with as many threads as there are
+   * processors.
+   *
+   * @param calendarManager the calendar container to export the calendars of
+   * @param progress        where a line is sent as each file is written
+   */
+  public ExportAllHandler(CalendarContainer calendarManager, Consumer<String> progress) {
+    this(calendarManager, progress, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor for ExportAllHandler.
+   *
+   * @param calendarManager the calendar container to export the calendars of
+   * @param progress        where a line is sent as each file is written
+   * @param threads         the most files written at the same time
+   */
+  public ExportAllHandler(CalendarContainer calendarManager, Consumer<String> progress,
+                          int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("At least one thread is needed to export");
+    }
+    this.calendarManager = Objects.requireNonNull(calendarManager);
+    this.progress = Objects.requireNonNull(progress);
+    this.threads = threads;
+    this.fileExporter = new HashMap<>();
+    fileExporter.put("csv", new CsvExporter());
+    fileExporter.put("ical", new IcalExporter());
+  }
+
+  /**
+   * Executes the export logic based on the parsed command data. Each calendar is exported
+   * from its read view, so it is seen as it was when its file was started and commands
+   * running meanwhile are not held up. The progress lines are all sent from the calling
+   * thread, in the order the files are finished. A calendar that cannot be written is
+   * reported and the others are still exported.
+   *
+   * @param data the parsed command data
+   * @return the summary of the files written
+   */
+  public String handle(ExportAllCommandData data) {
+    String format = data.getFormat();
+    FileExporter exporter = fileExporter.get(format);
+    if (exporter == null) {
+      throw new IllegalArgumentException("Invalid file type: " + format);
+    }
+    Path directory = Paths.get(data.getDirectory()).toAbsolutePath();
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot write to directory: " + directory, e);
+    }
+    Map<String, AdvancedCalendar> calendars = new TreeMap<>(calendarManager.getCalendars());
+    if (calendars.isEmpty()) {
+      return "No calendars to export";
+    }
+    Map<String, String> fileNames = fileNames(calendars.keySet(), format);
+
+    long start = System.nanoTime();
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Math.min(threads, calendars.size()), new ExportThreadFactory());
+    CompletionService<FileResult> completion = new ExecutorCompletionService<>(executor);
+    long events = 0;
+    long bytes = 0;
+    int failed = 0;
+    try {
+      for (Map.Entry<String, AdvancedCalendar> entry : calendars.entrySet()) {
+        Path file = directory.resolve(fileNames.get(entry.getKey()));
+        completion.submit(() -> export(entry.getKey(), entry.getValue(), file, exporter));
+      }
+      for (int done = 1; done <= calendars.size(); done++) {
+        FileResult result = completion.take().get();
+        if (result.error != null) {
+          failed++;
+        } else {
+          events += result.events;
+          bytes += result.bytes;
+        }
+        progress.accept(result.describe(done, calendars.size()));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Export of all calendars was interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Export of all calendars failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+
+    StringBuilder summary = new StringBuilder("Exported ")
+        .append(calendars.size() - failed).append(" of ").append(calendars.size())
+        .append(" calendars to: ").append(directory)
+        .append(System.lineSeparator())
+        .append(String.format(Locale.ROOT,
+            "%d events, %d bytes in %.3f s (%.0f events/s, %.2f MB/s)",
+            events, bytes, seconds, events / seconds, bytes / seconds / 1e6));
+    if (failed > 0) {
+      summary.append(System.lineSeparator()).append(failed).append(" calendars failed");
+    }
+    return summary.toString();
+  }
+
+  private static FileResult export(String name, AdvancedCalendar calendar, Path file,
+                                   FileExporter exporter) {
+    long start = System.nanoTime();
+    try {
+      Map<LocalDate, List<EventReadOnly>> events = calendar.getReadView().getAllEvents();
+      String path = exporter.export(file.toString(), events);
+      int count = 0;
+      for (List<EventReadOnly> day : events.values()) {
+        count += day.size();
+      }
+      return new FileResult(name, path, count, Files.size(file),
+          System.nanoTime() - start, null);
+    } catch (IOException | RuntimeException e) {
+      String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+      return new FileResult(name, file.toString(), 0, 0, System.nanoTime() - start,
+          String.valueOf(message));
+    }
+  }
+
+  /**
+   * Names the file of each calendar after it, with the characters that are not letters,
+   * digits, dots, dashes or underscores replaced. Names that end up the same, ignoring
+   * case, are told apart by a number.
+   */
+  private static Map<String, String> fileNames(Set<String> calendarNames, String format) {
+    Map<String, String> fileNames = new LinkedHashMap<>();
+    Set<String> taken = new HashSet<>();
+    for (String name : calendarNames) {
+      String base = name.replaceAll("[^A-Za-z0-9._-]", "_");
+      String fileName = base + "." + format;
+      for (int n = 2; !taken.add(fileName.toLowerCase(Locale.ROOT)); n++) {
+        fileName = base + "-" + n + "." + format;
+      }
+      fileNames.put(name, fileName);
+    }
+    return fileNames;
+  }
+
+  private static final class FileResult {
+    private final String calendar;
+    private final String path;
+    private final int events;
+    private final long bytes;
+    private final long nanos;
+    private final String error;
+
+    FileResult(String calendar, String path, int events, long bytes, long nanos,
+               String error) {
+      this.calendar = calendar;
+      this.path = path;
+      this.events = events;
+      this.bytes = bytes;
+      this.nanos = nanos;
+      this.error = error;
+    }
+
+    String describe(int done, int total) {
+      String prefix = "[" + done + "/" + total + "] " + calendar + ": ";
+      if (error != null) {
+        return prefix + "failed: " + error;
+      }
+      return prefix + String.format(Locale.ROOT, "%d events, %d bytes in %.1f ms -> %s",
+          events, bytes, nanos / 1e6, path);
+    }
+  }
+
+  private static final class ExportThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable task) {
+      Thread thread = new Thread(task, "calendar-export-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -32,6 +32,8 @@ public class ExportEventHandler {
 
   /**
    * Executes the export logic based on the parsed command data.
+   * The events are exported from the calendar's read view, so the export sees the
+   * calendar as it was when it started.
    *
    * @param data the parsed command data
    * @return the result string
@@ -43,7 +45,7 @@ public class ExportEventHandler {
     if (exporter == null) {
       throw new IllegalArgumentException("Invalid file type." + fileType);
     }
-    String path = exporter.export(fileName, calendarModel.getAllEvents());
+    String path = exporter.export(fileName, calendarModel.getReadView().getAllEvents());
     return "Successfully exported to: " + path;
   }
 }
@@ -0,0 +1,63 @@
+package calendar.controller.handlers;
+
+import calendar.controller.commanddata.FindSlotsCommandData;
+import calendar.model.FreeSlotFinder;
+import calendar.model.TimeSlot;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Handler class that performs the logic for finding free slots across calendars.
+ * Takes parsed command data and interacts with the model.
+ */
+public class FindSlotsHandler {
+
+  private final CalendarContainer calendarManager;
+
+  /**
+   * Constructor for FindSlotsHandler.
+   *
+   * @param calendarManager the calendar container to interact with
+   */
+  public FindSlotsHandler(CalendarContainer calendarManager) {
+    this.calendarManager = Objects.requireNonNull(calendarManager);
+  }
+
+  /**
+   * Executes the find slots logic based on the parsed command data.
+   * The window and working hours are read in the time zone of the active calendar.
+   *
+   * @param data the parsed command data
+   * @return the result string
+   */
+  public String handle(FindSlotsCommandData data) {
+    AdvancedCalendar activeCalendar = calendarManager.getActiveCalendar();
+    List<AdvancedCalendar> calendars = new ArrayList<>();
+    if (data.getCalendarNames().isEmpty()) {
+      calendars.add(activeCalendar);
+    }
+    for (String name : data.getCalendarNames()) {
+      if (!calendarManager.getCalendars().containsKey(name)) {
+        throw new IllegalArgumentException("No calendar with name " + name);
+      }
+      calendars.add(calendarManager.getCalendars().get(name));
+    }
+
+    Iterator<TimeSlot> slots = new FreeSlotFinder(calendars, activeCalendar.getZoneId())
+        .findFreeSlots(data.getWindowStart(), data.getWindowEnd(), data.getDuration(),
+            data.getWorkStart(), data.getWorkEnd());
+    if (!slots.hasNext()) {
+      return "No free slots found";
+    }
+    StringBuilder output = new StringBuilder();
+    output.append("Free slots:").append(System.lineSeparator());
+    while (slots.hasNext()) {
+      output.append(slots.next().toString()).append(System.lineSeparator());
+    }
+    return output.toString();
+  }
+}
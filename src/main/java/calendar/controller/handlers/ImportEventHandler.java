@@ -0,0 +1,63 @@
+package calendar.controller.handlers;
+
+import calendar.controller.IcalImporter;
+import calendar.controller.ImportReport;
+import calendar.controller.commanddata.ImportCommandData;
+import calendar.model.interfaces.AdvancedCalendar;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Handler class that performs the logic for importing events from an iCal file.
+ * Takes parsed command data and interacts with the model.
+ */
+public class ImportEventHandler {
+
+  private final AdvancedCalendar calendarModel;
+
+  /**
+   * Constructor for ImportEventHandler.
+   *
+   * @param calendarModel the calendar model to import into
+   */
+  public ImportEventHandler(AdvancedCalendar calendarModel) {
+    this.calendarModel = Objects.requireNonNull(calendarModel);
+  }
+
+  /**
+   * Executes the import logic based on the parsed command data. Times are moved to the
+   * time zone of the calendar, and the records that could not be imported are listed
+   * after the counts of what was added.
+   *
+   * @param data the parsed command data
+   * @return the result string
+   */
+  public String handle(ImportCommandData data) {
+    String fileName = data.getFileName();
+    String fileType = fileName.substring(fileName.lastIndexOf('.') + 1)
+        .toLowerCase(Locale.ROOT);
+    if (!fileType.equals("ics") && !fileType.equals("ical")) {
+      throw new IllegalArgumentException("Invalid file type: " + fileType);
+    }
+    ImportReport report = new IcalImporter(calendarModel, calendarModel.getZoneId())
+        .importFile(fileName);
+
+    StringBuilder result = new StringBuilder("Imported ")
+        .append(report.getEvents()).append(" events and ")
+        .append(report.getSeries()).append(" series (")
+        .append(report.getSeriesOccurrences()).append(" occurrences) from: ")
+        .append(report.getPath());
+    if (report.getRejected() > 0) {
+      result.append(System.lineSeparator())
+          .append("Rejected ").append(report.getRejected()).append(" records:");
+      for (String reason : report.getReasons()) {
+        result.append(System.lineSeparator()).append(reason);
+      }
+      long notShown = report.getRejected() - report.getReasons().size();
+      if (notShown > 0) {
+        result.append(System.lineSeparator()).append("and ").append(notShown).append(" more");
+      }
+    }
+    return result.toString();
+  }
+}
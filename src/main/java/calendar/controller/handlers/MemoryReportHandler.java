@@ -0,0 +1,51 @@
+package calendar.controller.handlers;
+
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.StringPoolReadOnly;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Handler class that reports the duplicate strings replaced by the string pools of the
+ * calendars.
+ */
+public class MemoryReportHandler {
+
+  private final CalendarContainer calendarManager;
+
+  /**
+   * Constructor for MemoryReportHandler.
+   *
+   * @param calendarManager the calendar container to report on
+   */
+  public MemoryReportHandler(CalendarContainer calendarManager) {
+    this.calendarManager = Objects.requireNonNull(calendarManager);
+  }
+
+  /**
+   * Builds one line per calendar, in name order, followed by the total replaced.
+   *
+   * @return the report
+   */
+  public String handle() {
+    StringBuilder report = new StringBuilder("Memory report:");
+    long totalReplaced = 0;
+    for (Map.Entry<String, AdvancedCalendar> entry
+        : new TreeMap<>(calendarManager.getCalendars()).entrySet()) {
+      StringPoolReadOnly pool = entry.getValue().getStringPool();
+      report.append(System.lineSeparator())
+          .append(entry.getKey()).append(": ")
+          .append(pool.size()).append(" of ").append(pool.getCapacity())
+          .append(" pooled strings, ")
+          .append(pool.getHits()).append(" of ").append(pool.getLookups())
+          .append(" strings reused, ")
+          .append(pool.getBytesReplaced()).append(" bytes of duplicates replaced");
+      totalReplaced += pool.getBytesReplaced();
+    }
+    return report.append(System.lineSeparator())
+        .append("Total bytes of duplicates replaced: ").append(totalReplaced)
+        .toString();
+  }
+}
@@ -0,0 +1,88 @@
+package calendar.controller.handlers;
+
+import calendar.controller.metrics.CommandMetrics;
+import calendar.controller.metrics.CommandStats;
+import calendar.controller.metrics.LatencyHistogram;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.CalendarReadOnly;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Handler class that reports how often each command ran, how often it failed and how
+ * long it took, followed by the size of every calendar.
+ */
+public class MetricsReportHandler {
+
+  private final CalendarContainer calendarManager;
+  private final CommandMetrics metrics;
+
+  /**
+   * Constructor for MetricsReportHandler.
+   *
+   * @param calendarManager the calendar container to report the sizes of
+   * @param metrics         the metrics of the commands run
+   */
+  public MetricsReportHandler(CalendarContainer calendarManager, CommandMetrics metrics) {
+    this.calendarManager = Objects.requireNonNull(calendarManager);
+    this.metrics = Objects.requireNonNull(metrics);
+  }
+
+  /**
+   * Builds one line per command key and one per calendar, both in name order.
+   * Latencies are the 50th, 99th and 99.9th percentiles and the highest, in milliseconds.
+   * Calendar sizes are read from the read view of each calendar, so commands running
+   * meanwhile are not held up. The events of a calendar are its stored events plus the
+   * occurrences each series counts, so no series is expanded to size it.
+   *
+   * @return the report
+   */
+  public String handle() {
+    StringBuilder report = new StringBuilder("Command metrics:");
+    Map<String, CommandStats> allStats = metrics.getStats();
+    if (allStats.isEmpty()) {
+      report.append(System.lineSeparator()).append("No commands run yet");
+    }
+    for (Map.Entry<String, CommandStats> entry : allStats.entrySet()) {
+      CommandStats stats = entry.getValue();
+      LatencyHistogram latencies = stats.getLatencies();
+      report.append(System.lineSeparator())
+          .append(entry.getKey()).append(": ")
+          .append(stats.getCount()).append(" runs, ")
+          .append(stats.getErrors()).append(" errors, p50 ")
+          .append(millis(latencies.getPercentile(50))).append(" ms, p99 ")
+          .append(millis(latencies.getPercentile(99))).append(" ms, p999 ")
+          .append(millis(latencies.getPercentile(99.9))).append(" ms, max ")
+          .append(millis(latencies.getMax())).append(" ms");
+    }
+    report.append(System.lineSeparator()).append("Calendar sizes:");
+    long totalEvents = 0;
+    for (Map.Entry<String, AdvancedCalendar> entry
+        : new TreeMap<>(calendarManager.getCalendars()).entrySet()) {
+      CalendarReadOnly view = entry.getValue().getReadView();
+      long[] counts = new long[3];
+      view.forEachStoredEvent(event -> counts[1]++);
+      view.forEachSeries(series -> {
+        counts[0] += series.occurrenceCount();
+        counts[2]++;
+      });
+      counts[0] += counts[1];
+      report.append(System.lineSeparator())
+          .append(entry.getKey()).append(": ")
+          .append(counts[0]).append(" events, ")
+          .append(counts[1]).append(" stored, ")
+          .append(counts[2]).append(" series");
+      totalEvents += counts[0];
+    }
+    return report.append(System.lineSeparator())
+        .append("Total events: ").append(totalEvents)
+        .toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+  }
+}
@@ -0,0 +1,47 @@
+package calendar.controller.handlers;
+
+import calendar.controller.commanddata.SnapshotCommandData;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.snapshot.CalendarSnapshot;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Handler class that performs the logic for saving and loading calendar snapshots.
+ * Takes parsed command data and interacts with the model.
+ */
+public class SnapshotHandler {
+
+  private final CalendarContainer calendarManager;
+
+  /**
+   * Constructor for SnapshotHandler.
+   *
+   * @param calendarManager the calendar container to save or load into
+   */
+  public SnapshotHandler(CalendarContainer calendarManager) {
+    this.calendarManager = Objects.requireNonNull(calendarManager);
+  }
+
+  /**
+   * Executes the snapshot logic based on the parsed command data.
+   *
+   * @param data the parsed command data
+   * @return the result string
+   */
+  public String handle(SnapshotCommandData data) {
+    Path file = Path.of(data.getFileName());
+    try {
+      if (data.getAction().equals("save")) {
+        int count = CalendarSnapshot.save(calendarManager, file);
+        return "Saved " + count + " calendar(s) to: " + file.toAbsolutePath();
+      }
+      int count = CalendarSnapshot.load(file, calendarManager);
+      return "Loaded " + count + " calendar(s) from: " + file.toAbsolutePath();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot " + data.getAction() + " snapshot "
+          + data.getFileName() + ": " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package calendar.controller.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the counts, errors and latencies of the commands run, by command key
+ * such as "create event" or "copy events". Controllers record every command they run,
+ * from any thread and without locking. One registry is shared by the whole program
+ * unless a controller is given its own.
+ */
+public final class CommandMetrics {
+  private static final CommandMetrics GLOBAL = new CommandMetrics();
+
+  private final Map<String, CommandStats> stats = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the registry shared by the whole program.
+   *
+   * @return the shared registry
+   */
+  public static CommandMetrics global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Records one run of a command.
+   *
+   * @param key    the key of the command
+   * @param nanos  how long the command took, in nanoseconds
+   * @param failed true if the command failed
+   */
+  public void record(String key, long nanos, boolean failed) {
+    Objects.requireNonNull(key);
+    CommandStats commandStats = stats.get(key);
+    if (commandStats == null) {
+      commandStats = stats.computeIfAbsent(key, k -> new CommandStats());
+    }
+    commandStats.record(nanos, failed);
+  }
+
+  /**
+   * Returns the stats of every command run so far, by key in alphabetical order.
+   * The stats keep counting after this returns.
+   *
+   * @return unmodifiable map of the stats of each command key
+   */
+  public Map<String, CommandStats> getStats() {
+    return Collections.unmodifiableMap(new TreeMap<>(stats));
+  }
+}
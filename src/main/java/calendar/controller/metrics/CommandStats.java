@@ -0,0 +1,45 @@
+package calendar.controller.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and latencies of one kind of command.
+ */
+public final class CommandStats {
+  private final LongAdder errors = new LongAdder();
+  private final LatencyHistogram latencies = new LatencyHistogram();
+
+  void record(long nanos, boolean failed) {
+    latencies.record(nanos);
+    if (failed) {
+      errors.increment();
+    }
+  }
+
+  /**
+   * Returns the number of times the command ran.
+   *
+   * @return the count
+   */
+  public long getCount() {
+    return latencies.getCount();
+  }
+
+  /**
+   * Returns the number of times the command failed.
+   *
+   * @return the error count
+   */
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  /**
+   * Returns the latencies of the command, failed runs included.
+   *
+   * @return the histogram
+   */
+  public LatencyHistogram getLatencies() {
+    return latencies;
+  }
+}
@@ -0,0 +1,101 @@
+package calendar.controller.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Histogram of latencies in nanoseconds, kept in buckets that grow with the value as
+ * HdrHistogram does. Values below 32 get a bucket each, and every power of two above is
+ * split into 16 buckets, so any value is known within about 6% whatever its size.
+ * Recording only adds to one counter, so any number of threads record without locking.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BITS = 4;
+  private static final int SUB_COUNT = 1 << SUB_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records one latency.
+   *
+   * @param nanos the latency in nanoseconds, negative values counted as zero
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketOf(value));
+    max.accumulate(value);
+  }
+
+  /**
+   * Returns the number of latencies recorded.
+   *
+   * @return the count
+   */
+  public long getCount() {
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * Returns the highest latency recorded.
+   *
+   * @return the highest latency in nanoseconds, 0 if none was recorded
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns the latency that the given share of the recorded latencies do not exceed,
+   * rounded up to the top of its bucket. Latencies recorded while this runs may or may
+   * not be counted.
+   *
+   * @param percentile the share, from 0 to 100
+   * @return the latency in nanoseconds, 0 if none was recorded
+   */
+  public long getPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be within 0 and 100");
+    }
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestOf(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  static int bucketOf(long value) {
+    if (value < 2 * SUB_COUNT) {
+      return (int) value;
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+    return shift * SUB_COUNT + (int) (value >>> shift);
+  }
+
+  static long highestOf(int bucket) {
+    if (bucket < 2 * SUB_COUNT) {
+      return bucket;
+    }
+    int shift = bucket / SUB_COUNT - 1;
+    long first = (long) (bucket % SUB_COUNT + SUB_COUNT) << shift;
+    return first + (1L << shift) - 1;
+  }
+}
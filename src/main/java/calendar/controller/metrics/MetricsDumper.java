@@ -0,0 +1,90 @@
+package calendar.controller.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Writes a metrics report to a file at a fixed interval from a background thread, and once
+ * more when closed. Each report is written to a file next to the target first and then
+ * moved over it, so readers of the file never see half a report.
+ */
+public final class MetricsDumper implements Closeable {
+  private final Path file;
+  private final Duration interval;
+  private final Supplier<String> report;
+  private final ScheduledExecutorService executor;
+
+  /**
+   * Creates a dumper, not started yet.
+   *
+   * @param file     the file to write the report to
+   * @param interval the time between two reports
+   * @param report   builds the report
+   */
+  public MetricsDumper(Path file, Duration interval, Supplier<String> report) {
+    this.file = Objects.requireNonNull(file);
+    this.interval = Objects.requireNonNull(interval);
+    this.report = Objects.requireNonNull(report);
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("Metrics interval must be positive");
+    }
+    this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "metrics-dump");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts writing the report every interval.
+   */
+  public void start() {
+    executor.scheduleAtFixedRate(this::dumpQuietly, interval.toMillis(), interval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Writes the report now. Dumps never overlap, as they share the file written first.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public synchronized void dump() throws IOException {
+    String content = "Metrics at " + LocalDateTime.now() + System.lineSeparator()
+        + report.get() + System.lineSeparator();
+    Path parent = file.toAbsolutePath().getParent();
+    Path temp = parent.resolve(file.getFileName() + ".tmp");
+    Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Stops the background thread and writes the report a last time.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    executor.shutdownNow();
+    dump();
+  }
+
+  private void dumpQuietly() {
+    try {
+      dump();
+    } catch (IOException | RuntimeException e) {
+      // a failed dump must not stop the next ones
+    }
+  }
+}
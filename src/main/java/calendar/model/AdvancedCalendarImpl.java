@@ -1,14 +1,20 @@
 package calendar.model;
 
 import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarChangeListener;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
 import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import calendar.model.interfaces.StringPoolReadOnly;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 /**
@@ -22,6 +28,7 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
 
   /**
    * Creates a new advanced calendar with the given editable calendar, name, and time zone.
+   * A CalendarImpl is told the name, so its flight recorder events can be told apart.
    *
    * @param calendar the base editable calendar
    * @param name     the name of the calendar
@@ -31,6 +38,9 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     this.calendar = Objects.requireNonNull(calendar);
     this.name = name;
     this.zoneId = zoneId;
+    if (calendar instanceof CalendarImpl) {
+      ((CalendarImpl) calendar).setName(name);
+    }
   }
 
   /**
@@ -44,6 +54,54 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     return calendar.addEvent(event);
   }
 
+  /**
+   * Adds a batch of events to the calendar, all or nothing.
+   *
+   * @param events the events to add
+   * @return the added events in the order they were given
+   * @throws IllegalArgumentException if an event already exists or appears twice in the batch
+   */
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> events) {
+    return calendar.addEvents(events);
+  }
+
+  /**
+   * Adds a recurring series to the calendar.
+   *
+   * @param series the series to add
+   * @return the series as stored in the calendar
+   * @throws IllegalArgumentException if any occurrence conflicts with an existing event
+   */
+  @Override
+  public EventSeriesReadOnly addSeries(EventSeriesReadOnly series) {
+    return calendar.addSeries(series);
+  }
+
+  /**
+   * Returns the events with the given subject that start at the given date and time.
+   *
+   * @param subject       the subject of the events
+   * @param startDateTime the start date and time of the events
+   * @return the matching events, empty if there are none.
+   */
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    return calendar.findEvents(subject, startDateTime);
+  }
+
+  /**
+   * Returns every occurrence of the series with the given id.
+   *
+   * @param seriesId the id shared by the occurrences of the series
+   * @return the occurrences in start order, or the single event with that id,
+   *         empty if there is no such id.
+   */
+  @Override
+  public List<EventReadOnly> getSeriesEvents(UUID seriesId) {
+    return calendar.getSeriesEvents(seriesId);
+  }
+
   /**
    * Edits one or more existing events by modifying a specified property.
    *
@@ -59,6 +117,20 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     return calendar.editEvent(events, property, newValue);
   }
 
+  /**
+   * Replaces a series rule with the rules that take its place.
+   *
+   * @param oldSeries the stored series, found by its id and first date
+   * @param newSeries the series to store instead
+   * @throws IllegalArgumentException if there is no such series or a new occurrence
+   *                                  conflicts with an existing event
+   */
+  @Override
+  public void replaceSeries(EventSeriesReadOnly oldSeries,
+                            List<EventSeriesReadOnly> newSeries) {
+    calendar.replaceSeries(oldSeries, newSeries);
+  }
+
   /**
    * Removes an event from the calendar.
    *
@@ -69,6 +141,36 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     calendar.removeEvent(event);
   }
 
+  /**
+   * Sets the listener that is told about every change to the events of the calendar.
+   *
+   * @param listener the listener to notify, or null for none
+   */
+  @Override
+  public void setChangeListener(CalendarChangeListener listener) {
+    calendar.setChangeListener(listener);
+  }
+
+  /**
+   * Returns the pool the calendar interns the subjects and descriptions of its events through.
+   *
+   * @return the string pool of the calendar
+   */
+  @Override
+  public StringPoolReadOnly getStringPool() {
+    return calendar.getStringPool();
+  }
+
+  /**
+   * Returns whether the queries of the underlying calendar need no lock against changes.
+   *
+   * @return true if queries need no lock against changes
+   */
+  @Override
+  public boolean publishesReadView() {
+    return calendar.publishesReadView();
+  }
+
   /**
    * Checks whether the status in calendar is busy at the given date and time.
    *
@@ -91,6 +193,16 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     calendar.forEachEvent(consumer);
   }
 
+  @Override
+  public void forEachStoredEvent(Consumer<EventReadOnly> consumer) {
+    calendar.forEachStoredEvent(consumer);
+  }
+
+  @Override
+  public void forEachSeries(Consumer<EventSeriesReadOnly> consumer) {
+    calendar.forEachSeries(consumer);
+  }
+
   /**
    * Retrieves all events that occur between the given start and end times.
    *
@@ -108,6 +220,11 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
     return calendar.getAllEvents();
   }
 
+  @Override
+  public CalendarReadOnly getReadView() {
+    return calendar.getReadView();
+  }
+
   @Override
   public String getName() {
     return this.name;
@@ -127,18 +244,26 @@ public class AdvancedCalendarImpl implements AdvancedCalendar {
    * Builder class to create instances of AdvancedCalendarImpl.
    */
   public static class AdvancedCalendarBuilder {
+    /**
+     * System property that picks how the calendars the builder makes store their events:
+     * "columnar" for a ColumnarCalendar, and anything else for a CalendarImpl.
+     */
+    public static final String STORAGE_PROPERTY = "calendar.storage";
+
     private CalendarEditable calendar;
     private String name;
     private ZoneId zoneId;
 
     /**
-     * Creates a builder with a name and time zone.
+     * Creates a builder with a name and time zone, for a calendar of the storage the
+     * storage property names.
      *
      * @param name   the calendar name
      * @param zoneId the time zone
      */
     public AdvancedCalendarBuilder(String name, ZoneId zoneId) {
-      this.calendar = new CalendarImpl();
+      this.calendar = "columnar".equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY))
+          ? new ColumnarCalendar() : new CalendarImpl();
       this.name = name;
       this.zoneId = zoneId;
     }
@@ -0,0 +1,119 @@
+package calendar.model;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Minute resolution occupancy of the days of a calendar used to answer busy queries.
+ * Each day is a bitmap of 1440 bits, one per minute, where a bit is set if an event
+ * covers that minute. A day's bitmap is built the first time the day is asked for,
+ * only from the events that overlap the day, including events that started on an
+ * earlier day. The bitmaps are kept in a persistent map that a new version of the
+ * calendar takes over without the days its change touched. A bitmap never changes once
+ * built, so readers on several threads may build the same day at once and only one of
+ * them is kept, which costs a rebuild and never a wrong answer.
+ */
+final class BusyTimeIndex {
+  private static final int MINUTES_PER_DAY = 24 * 60;
+
+  private final Function<LocalDate, List<EventReadOnly>> eventsOverlapping;
+  private volatile PersistentTreeMap<LocalDate, long[]> busyDays;
+
+  /**
+   * Creates an index starting from bitmaps that are still valid.
+   *
+   * @param busyDays          the bitmaps already built
+   * @param eventsOverlapping returns the events that overlap the given day
+   */
+  BusyTimeIndex(PersistentTreeMap<LocalDate, long[]> busyDays,
+                Function<LocalDate, List<EventReadOnly>> eventsOverlapping) {
+    this.busyDays = busyDays;
+    this.eventsOverlapping = eventsOverlapping;
+  }
+
+  /**
+   * Checks whether an event covers the given minute, that is the event starts at the minute
+   * or starts before it and ends after it.
+   *
+   * @param dateTime the date and time to check, without seconds
+   * @return true if the minute is busy else false
+   */
+  boolean isBusy(LocalDateTime dateTime) {
+    LocalDate date = dateTime.toLocalDate();
+    long[] minutes = busyDays.get(date);
+    if (minutes == null) {
+      minutes = buildDay(date);
+      busyDays = busyDays.plus(date, minutes);
+    }
+    int minute = dateTime.getHour() * 60 + dateTime.getMinute();
+    return (minutes[minute >> 6] & (1L << minute)) != 0;
+  }
+
+  /**
+   * Returns the bitmaps built so far without the ones of the days touched by the event.
+   *
+   * @param event the event that was added or removed
+   * @return the bitmaps still valid after the change
+   */
+  PersistentTreeMap<LocalDate, long[]> without(EventReadOnly event) {
+    return without(event.getStartDateTime().toLocalDate(),
+        event.getEndDateTime().toLocalDate());
+  }
+
+  /**
+   * Returns the bitmaps built so far without the ones of the days between the two dates,
+   * both inclusive.
+   *
+   * @param from the first day to drop
+   * @param to   the last day to drop
+   * @return the bitmaps still valid after the change
+   */
+  PersistentTreeMap<LocalDate, long[]> without(LocalDate from, LocalDate to) {
+    PersistentTreeMap<LocalDate, long[]> built = busyDays;
+    if (to.isBefore(from)) {
+      return built;
+    }
+    List<LocalDate> dropped = new ArrayList<>();
+    built.forEachBetween(from, to, (date, minutes) -> dropped.add(date));
+    for (LocalDate date : dropped) {
+      built = built.minus(date);
+    }
+    return built;
+  }
+
+  private long[] buildDay(LocalDate date) {
+    long[] minutes = new long[MINUTES_PER_DAY / 64 + 1];
+    LocalDateTime dayStart = date.atStartOfDay();
+    for (EventReadOnly event : eventsOverlapping.apply(date)) {
+      LocalDateTime start = event.getStartDateTime();
+      LocalDateTime end = event.getEndDateTime();
+      LocalDateTime firstMinute = start.truncatedTo(ChronoUnit.MINUTES);
+      if (firstMinute.equals(start) && start.toLocalDate().equals(date)) {
+        set(minutes, (int) ChronoUnit.MINUTES.between(dayStart, firstMinute));
+      }
+      if (!firstMinute.equals(start)) {
+        firstMinute = firstMinute.plusMinutes(1);
+      }
+      long from = Math.max(0, ChronoUnit.MINUTES.between(dayStart, firstMinute));
+      long to = Math.min(MINUTES_PER_DAY, minutesUntil(dayStart, end));
+      for (long minute = from; minute < to; minute++) {
+        set(minutes, (int) minute);
+      }
+    }
+    return minutes;
+  }
+
+  private long minutesUntil(LocalDateTime dayStart, LocalDateTime end) {
+    long whole = ChronoUnit.MINUTES.between(dayStart, end);
+    return dayStart.plusMinutes(whole).isBefore(end) ? whole + 1 : whole;
+  }
+
+  private void set(long[] minutes, int minute) {
+    minutes[minute >> 6] |= 1L << minute;
+  }
+}
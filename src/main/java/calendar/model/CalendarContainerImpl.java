@@ -3,8 +3,10 @@ package calendar.model;
 import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.CalendarContainer;
 import calendar.model.interfaces.EditCalendar;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Manages multiple calendars and allows adding, updating,
@@ -81,4 +83,12 @@ public class CalendarContainerImpl implements CalendarContainer {
   public Map<String, AdvancedCalendar> getCalendars() {
     return new HashMap<>(this.calendars);
   }
+
+  /**
+   * Runs the action directly, since this container is only used by one thread.
+   */
+  @Override
+  public <T> T withCalendars(Collection<AdvancedCalendar> calendars, Supplier<T> action) {
+    return action.get();
+  }
 }
@@ -1,19 +1,21 @@
 package calendar.model;
 
-import calendar.controller.CalendarFilter;
-import calendar.controller.EventPredicates;
-import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarChangeListener;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
 import calendar.model.interfaces.EventReadOnly;
-import calendar.model.interfaces.ModifyEvent;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import calendar.model.interfaces.StringPoolReadOnly;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -24,207 +26,501 @@ import java.util.function.Consumer;
  */
 
 public class CalendarImpl implements CalendarEditable {
-  protected Map<LocalDate, List<EventReadOnly>> events;
+  /**
+   * Message of the error raised when an occurrence of a new series is already an event,
+   * shared with the other calendars.
+   */
+  static final String SERIES_CONFLICT = "Cannot create series — conflict with existing event";
+
+  /**
+   * Stored events hashed on subject, start and end, so checking that an event already
+   * exists does not scan the calendar.
+   */
+  private final Map<EventKey, EventReadOnly> eventsByKey;
+
+  /**
+   * Stored events grouped by id, so the events of a series are found directly.
+   */
+  private final Map<UUID, List<EventReadOnly>> eventsById;
+
+  /**
+   * Recurring series stored once as rules, whose occurrences are expanded on demand.
+   * An edited or removed occurrence becomes an exception of its series, and an edit of
+   * the series from a date on splits its rule there.
+   */
+  private final SeriesRules series;
+
+  /**
+   * Pool the subjects and descriptions are interned through as events are stored, so
+   * equal strings read from different commands or files are kept once.
+   */
+  private final StringPool stringPool;
+  private CalendarChangeListener changeListener;
+
+  /**
+   * Immutable version of the calendar that queries are answered from, a new one of which
+   * is published on every change, so readers holding a version never see a later change
+   * and reading it needs no lock.
+   */
+  private volatile CalendarReadView readView;
+
+  /**
+   * Version the steps of a change are made on, published as the read view once the
+   * change is complete, so a reader never sees an edit half applied.
+   */
+  private CalendarReadView pendingView;
+
+  /**
+   * Name the flight recorder events of the calendar are reported under. Changes and time
+   * queries emit them, which costs next to nothing unless a recording turned them on.
+   */
+  private volatile String name = "";
 
   /**
    * Constructor of a new empty calendar.
-   * We are using Map to store the calendar events.
-   * Each entry contains list of all the events for a given day.
    */
   public CalendarImpl() {
-    this.events = new TreeMap<>();
+    this.readView = CalendarReadView.empty();
+    this.pendingView = readView;
+    this.eventsByKey = new HashMap<>();
+    this.eventsById = new HashMap<>();
+    this.series = new SeriesRules();
+    this.stringPool = new StringPool(StringPool.DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Sets the name the flight recorder events of this calendar are reported under.
+   *
+   * @param name the name of the calendar
+   */
+  void setName(String name) {
+    this.name = name;
   }
 
   @Override
   public EventReadOnly addEvent(EventReadOnly newEvent) {
-    LocalDate eventDate = newEvent.getStartDateTime().toLocalDate();
-    List<EventReadOnly> existingEvents = events.getOrDefault(eventDate, new ArrayList<>());
+    CalendarMutationEvent mutation = new CalendarMutationEvent();
+    mutation.begin();
+    if (containsEvent(newEvent)) {
+      throw new IllegalArgumentException("Event already exists");
+    }
+    EventReadOnly stored = storeEvent(newEvent);
+    if (changeListener != null) {
+      changeListener.eventAdded(stored);
+    }
+    commit(mutation, "add", 1);
+    return stored;
+  }
 
-    for (EventReadOnly existingEvent : existingEvents) {
-      if (newEvent.equals(existingEvent)) {
+  /**
+   * Checks the whole batch against the key index and against itself before storing
+   * anything, so a conflict leaves the calendar unchanged.
+   *
+   * @param newEvents the events to add
+   * @return the added events in the order they were given
+   */
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> newEvents) {
+    CalendarMutationEvent mutation = new CalendarMutationEvent();
+    mutation.begin();
+    Set<EventKey> batchKeys = new HashSet<>();
+    for (EventReadOnly newEvent : newEvents) {
+      if (!batchKeys.add(EventKey.of(newEvent)) || containsEvent(newEvent)) {
         throw new IllegalArgumentException("Event already exists");
       }
     }
-    existingEvents.add(newEvent);
-    events.put(eventDate, existingEvents);
-    return newEvent;
+    List<EventReadOnly> added = new ArrayList<>(newEvents.size());
+    for (EventReadOnly newEvent : newEvents) {
+      EventReadOnly stored = storeEvent(newEvent);
+      if (changeListener != null) {
+        changeListener.eventAdded(stored);
+      }
+      added.add(stored);
+    }
+    commit(mutation, "addAll", added.size());
+    return added;
+  }
+
+  @Override
+  public EventSeriesReadOnly addSeries(EventSeriesReadOnly newSeries) {
+    CalendarMutationEvent mutation = new CalendarMutationEvent();
+    mutation.begin();
+    EventSeries stored = internStrings(newSeries);
+    if (series.contains(stored)) {
+      throw new IllegalArgumentException("Series already exists");
+    }
+    stored.forEachOccurrence(occurrence -> {
+      if (containsEvent(occurrence)) {
+        throw new IllegalArgumentException(SERIES_CONFLICT);
+      }
+    });
+    if (stored.occurrenceCount() > 0) {
+      series.add(stored);
+      pendingView = pendingView.withSeries(stored);
+      if (changeListener != null) {
+        changeListener.seriesAdded(stored);
+      }
+    }
+    commit(mutation, "addSeries", stored.occurrenceCount());
+    return stored;
   }
 
   @Override
   public List<EventReadOnly> editEvent(List<EventReadOnly> events, String property,
                                        String newValue) {
-    if (events.isEmpty()) {
-      throw new IllegalArgumentException("Event with given details doesn't exist");
+    CalendarMutationEvent mutation = new CalendarMutationEvent();
+    mutation.begin();
+    List<EventReadOnly> edited;
+    try {
+      edited = new EventEditor(this, this::updateEvent, series, this::swapSeries)
+          .edit(events, property, newValue);
+    } finally {
+      readView = pendingView;
+    }
+    commit(mutation, "edit", edited.size());
+    return edited;
+  }
+
+  @Override
+  public void replaceSeries(EventSeriesReadOnly oldSeries,
+                            List<EventSeriesReadOnly> newSeries) {
+    CalendarMutationEvent mutation = new CalendarMutationEvent();
+    mutation.begin();
+    EventSeries stored = series.get(oldSeries);
+    if (stored == null) {
+      throw new IllegalArgumentException("Series doesn't exist");
     }
-    if (events.size() == 1) {
-      return editSingleEvent(events, property, newValue);
+    List<EventSeries> rules = new ArrayList<>(newSeries.size());
+    for (EventSeriesReadOnly rule : newSeries) {
+      rules.add(new EventSeries.EventSeriesBuilder(rule).build());
     }
-    return editMultipleEvents(events, property, newValue);
+    swapSeries(stored, rules);
+    commit(mutation, "replaceSeries", rules.size());
+  }
 
+  @Override
+  public void removeEvent(EventReadOnly event) {
+    CalendarMutationEvent mutation = new CalendarMutationEvent();
+    mutation.begin();
+    boolean removed = deleteEvent(event);
+    if (removed && changeListener != null) {
+      changeListener.eventRemoved(event);
+    }
+    commit(mutation, "remove", removed ? 1 : 0);
+  }
+
+  @Override
+  public void setChangeListener(CalendarChangeListener listener) {
+    this.changeListener = listener;
+  }
+
+  @Override
+  public StringPoolReadOnly getStringPool() {
+    return stringPool;
   }
 
   /**
-   * Edits multiple events in a batch by modifying the specified property.
+   * Queries read the volatile read view, which changes only once a change is complete.
    *
-   * @param events   the list of events to modify
-   * @param property the property name to edit
-   * @param newValue the new value for the property
-   * @throws UnsupportedOperationException if the property is invalid
-   */
-
-  private List<EventReadOnly> editMultipleEvents(List<EventReadOnly> events,
-                                                 String property, String newValue) {
-    Map<String, ModifyEvent> modifyEvents = populateModifyEvents();
-    ModifyEvent modifyEvent = modifyEvents.getOrDefault(property.toLowerCase(), null);
-    if (modifyEvent == null) {
-      throw new UnsupportedOperationException("Invalid property value to edit: " + property);
-    }
-    UUID uuid = UUID.randomUUID();
-    List<EventReadOnly> editedEvents = new ArrayList<>();
-    for (EventReadOnly event : events) {
-      EventReadOnly updatedEvent;
-      if (property.equalsIgnoreCase("start")) {
-        updatedEvent = modifyEvents.get("id").edit(this, event, uuid.toString());
-        String currStart = updatedEvent.getStartDateTime().toString();
-        String newStartTime = newValue.split("T")[1];
-        String newStratDateTime = currStart.split("T")[0] + "T" + newStartTime;
-        updatedEvent = modifyEvent.edit(this, updatedEvent, newStratDateTime);
-      } else if (property.equalsIgnoreCase("end")) {
-        String currEnd = event.getEndDateTime().toString();
-        String newEndTime = newValue.split("T")[1];
-        String newEndDateTime = currEnd.split("T")[0] + "T" + newEndTime;
-        updatedEvent = modifyEvent.edit(this, event, newEndDateTime);
+   * @return true
+   */
+  @Override
+  public boolean publishesReadView() {
+    return true;
+  }
+
+  private boolean deleteEvent(EventReadOnly event) {
+    LocalDate eventDate = event.getStartDateTime().toLocalDate();
+    EventReadOnly stored = eventsByKey.remove(EventKey.of(event));
+    if (stored != null) {
+      pendingView = pendingView.withoutEvent(stored);
+      List<EventReadOnly> sameId = eventsById.get(stored.getId());
+      sameId.remove(stored);
+      if (sameId.isEmpty()) {
+        eventsById.remove(stored.getId());
+      }
+      return true;
+    }
+    EventSeries owner = findSeriesOf(event);
+    if (owner != null) {
+      EventSeries remaining = owner.withException(eventDate);
+      if (remaining.occurrenceCount() == 0) {
+        dropSeries(owner);
       } else {
-        updatedEvent = modifyEvent.edit(this, event, newValue);
+        replaceSeries(owner, remaining);
       }
-      updateEvent(event, updatedEvent);
-      editedEvents.add(updatedEvent);
+      return true;
     }
-    return editedEvents;
+    return false;
   }
 
   /**
-   * Edits a single event's property.
-   * and if necessary, changes its type from series to single.
+   * Looks the start date up in the read view and keeps the events with the subject that
+   * start at the time, then adds the occurrence of any series with that subject starting
+   * then.
    *
-   * @param events   list containing events.
-   * @param property the property to modify.
-   * @param newValue the value for the property.
-   * @throws UnsupportedOperationException if the property is invalid
-   */
-  private List<EventReadOnly> editSingleEvent(List<EventReadOnly> events,
-                                              String property, String newValue) {
-    Map<String, ModifyEvent> modifyEvents = populateModifyEvents();
-    ModifyEvent modifyEvent = modifyEvents.getOrDefault(property.toLowerCase(), null);
-    if (modifyEvent == null) {
-      throw new UnsupportedOperationException("Invalid property value to edit: " + property);
-    }
-
-    List<EventReadOnly> editedEvents = new ArrayList<>();
-
-    for (EventReadOnly event : events) {
-      EventReadOnly updatedEvent = event;
-
-      if (property.equalsIgnoreCase("start")
-          && event.getEventType() == TypeOfEvent.SERIES) {
-        updatedEvent = new Event.EventBuilder(event)
-            .setEventId(UUID.randomUUID())
-            .setEventType(TypeOfEvent.SINGLE)
-            .build();
+   * @param subject       the subject of the events
+   * @param startDateTime the start date and time of the events
+   * @return the matching events, empty if there are none.
+   */
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    List<EventReadOnly> result = new ArrayList<>();
+    for (EventReadOnly event : pendingView.storedOn(startDateTime.toLocalDate())) {
+      if (event.getSubject().equals(subject)
+          && event.getStartDateTime().equals(startDateTime)) {
+        result.add(event);
+      }
+    }
+    LocalDate date = startDateTime.toLocalDate();
+    for (EventSeries eventSeries : series.withSubject(subject)) {
+      if (eventSeries.getStartTime().equals(startDateTime.toLocalTime())
+          && eventSeries.occursOn(date)) {
+        result.add(eventSeries.occurrenceOn(date));
       }
-      updatedEvent = modifyEvent.edit(this, updatedEvent, newValue);
-      updateEvent(event, updatedEvent);
-      editedEvents.add(updatedEvent);
     }
-    return editedEvents;
+    return result;
   }
 
   /**
-   * Populates a map of property modification handlers used.
-   * call and modify events for the given property.
+   * Returns the occurrences of a series by merging the ones still expanded from its rules
+   * with the stored events that carry the series id, such as edited occurrences.
+   * A single event has an id of its own, so looking up its id returns just that event.
    *
-   * @return a map linking property names to their respective modification classes.
+   * @param seriesId the id shared by the occurrences of the series
+   * @return the occurrences in start order, empty if there is no such series.
    */
-  private Map<String, ModifyEvent> populateModifyEvents() {
-    Map<String, ModifyEvent> modifyEvents = new HashMap<>();
-
-    modifyEvents.put("subject", new ModifySubject());
-    modifyEvents.put("start", new ModifyStartDate());
-    modifyEvents.put("end", new ModifyEndDate());
-    modifyEvents.put("location", new ModifyLocation());
-    modifyEvents.put("description", new ModifyDescription());
-    modifyEvents.put("status", new ModifyStatus());
-    modifyEvents.put("id", new ModifyId());
+  @Override
+  public List<EventReadOnly> getSeriesEvents(UUID seriesId) {
+    List<EventReadOnly> result = new ArrayList<>(
+        eventsById.getOrDefault(seriesId, List.of()));
+    for (EventSeries rule : series.withId(seriesId)) {
+      rule.forEachOccurrence(result::add);
+    }
+    result.sort(Comparator.comparing(EventReadOnly::getStartDateTime));
+    return result;
+  }
 
-    return modifyEvents;
+  /**
+   * Visits the stored events and the series occurrences in date order, as the current
+   * read view holds them.
+   *
+   * @param consumer the consumer that processes each event.
+   */
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    readView.forEachEvent(consumer);
   }
 
   @Override
-  public void removeEvent(EventReadOnly event) {
-    LocalDate eventDate = event.getStartDateTime().toLocalDate();
-    List<EventReadOnly> existingEvents = events.get(eventDate);
-    existingEvents.remove(event);
+  public void forEachStoredEvent(Consumer<EventReadOnly> consumer) {
+    readView.forEachStoredEvent(consumer);
   }
 
   @Override
-  public void forEachEvent(Consumer<EventReadOnly> consumer) {
-    for (List<EventReadOnly> eventList : events.values()) {
-      for (EventReadOnly event : eventList) {
-        consumer.accept(event);
-      }
-    }
+  public void forEachSeries(Consumer<EventSeriesReadOnly> consumer) {
+    readView.forEachSeries(consumer);
   }
 
 
+  /**
+   * Answers from the current read view, reporting the query to the flight recorder.
+   *
+   * @param startDateTime the start date and time of the range.
+   * @param endDateTime   the end date and time of the range.
+   * @return a list of events occurring in the given range, empty if no events.
+   */
   @Override
   public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
-
-    if (startDateTime.toLocalDate().equals(endDateTime.toLocalDate())
-        && startDateTime.toLocalTime().equals(LocalTime.of(0, 0))
-        && endDateTime.toLocalTime().equals(LocalTime.of(23, 59))) {
-      return events.getOrDefault(startDateTime.toLocalDate(), new ArrayList<>());
+    CalendarQueryEvent query = new CalendarQueryEvent();
+    query.begin();
+    CalendarReadView view = readView;
+    List<EventReadOnly> result = view.getEvents(startDateTime, endDateTime);
+    query.end();
+    if (query.shouldCommit()) {
+      commit(query, "getEvents", startDateTime, endDateTime,
+          view.candidateCount(startDateTime, endDateTime), result.size());
     }
-    CalendarFilter filter = new CalendarFilter(this);
-    return filter.filter(EventPredicates
-        .betweenStartAndEnd(startDateTime, endDateTime));
+    return result;
   }
 
   @Override
   public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
-    return this.events;
+    return readView.getAllEvents();
+  }
+
+  /**
+   * Returns the current version of the events. Changes publish a new version and leave
+   * this one as it is, so it can be read for as long as needed, from any thread.
+   *
+   * @return the immutable view of the calendar as it is now
+   */
+  @Override
+  public CalendarReadOnly getReadView() {
+    return readView;
   }
 
 
+  /**
+   * Answers from the current read view, reporting the query to the flight recorder.
+   *
+   * @param dateTime the date and time to check
+   * @return true if the time is busy else false
+   */
   @Override
   public boolean isBusy(LocalDateTime dateTime) {
+    CalendarQueryEvent query = new CalendarQueryEvent();
+    query.begin();
+    CalendarReadView view = readView;
+    boolean busy = view.isBusy(dateTime);
+    query.end();
+    if (query.shouldCommit()) {
+      int scanned = dateTime.getSecond() == 0 && dateTime.getNano() == 0 ? 0
+          : view.candidateCount(dateTime, dateTime);
+      commit(query, "isBusy", dateTime, dateTime, scanned, busy ? 1 : 0);
+    }
+    return busy;
+  }
 
-    LocalDate date = dateTime.toLocalDate();
-    if (!events.containsKey(date)) {
-      return false;
-    }
-    List<EventReadOnly> eventList = events.get(date);
-    for (EventReadOnly event : eventList) {
-      LocalDateTime startDateTime = event.getStartDateTime();
-      LocalDateTime endDateTime = event.getEndDateTime();
-      if (event.getStartDateTime().equals(dateTime)
-          || (startDateTime.isBefore(dateTime)
-          && endDateTime.isAfter(dateTime))) {
-        return true;
-      }
+  private void commit(CalendarMutationEvent mutation, String operation, long eventsChanged) {
+    readView = pendingView;
+    mutation.end();
+    if (mutation.shouldCommit()) {
+      mutation.calendar = name;
+      mutation.operation = operation;
+      mutation.eventsChanged = eventsChanged;
+      mutation.storedEvents = eventsByKey.size();
+      mutation.series = series.size();
+      mutation.commit();
     }
-    return false;
   }
 
+  private void commit(CalendarQueryEvent query, String operation, LocalDateTime from,
+                      LocalDateTime to, int scanned, int returned) {
+    query.calendar = name;
+    query.operation = operation;
+    query.from = from.toString();
+    query.to = to.toString();
+    query.scanned = scanned;
+    query.returned = returned;
+    query.commit();
+  }
+
+  /**
+   * Replaces an existing event with its edited version.
+   * The edited event is filed under its own start date, and an edited series
+   * occurrence is stored as a standalone override while its date becomes an
+   * exception of the series.
+   *
+   * @param oldEvent the event before the edit
+   * @param newEvent the event after the edit
+   * @throws IllegalArgumentException if the edited event conflicts with another event
+   */
   private void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
-    List<EventReadOnly> eventsOnDate =
-        events.getOrDefault(oldEvent.getStartDateTime().toLocalDate(), new ArrayList<>());
-    eventsOnDate.remove(oldEvent);
-    this.forEachEvent(event -> {
-      if (event.equals(newEvent)) {
-        throw new IllegalArgumentException("Update conflicting with existing event");
+    if (!newEvent.equals(oldEvent) && containsEvent(newEvent)) {
+      throw new IllegalArgumentException("Update conflicting with existing event");
+    }
+    deleteEvent(oldEvent);
+    EventReadOnly stored = storeEvent(newEvent);
+    if (changeListener != null) {
+      changeListener.eventEdited(oldEvent, stored);
+    }
+  }
+
+  private EventReadOnly storeEvent(EventReadOnly newEvent) {
+    EventReadOnly event = internStrings(newEvent);
+    pendingView = pendingView.withEvent(event);
+    eventsByKey.put(EventKey.of(event), event);
+    eventsById.computeIfAbsent(event.getId(), k -> new ArrayList<>()).add(event);
+    return event;
+  }
+
+  /**
+   * Returns the event with its subject and description swapped for the pooled strings,
+   * or the event itself if it already uses them.
+   */
+  private EventReadOnly internStrings(EventReadOnly event) {
+    String subject = stringPool.intern(event.getSubject());
+    String description = stringPool.intern(event.getDescription());
+    if (subject == event.getSubject() && description == event.getDescription()) {
+      return event;
+    }
+    return new Event.EventBuilder(event)
+        .setSubject(subject)
+        .setDescription(description)
+        .build();
+  }
+
+  /**
+   * Returns the series with its subject and description swapped for the pooled strings.
+   */
+  private EventSeries internStrings(EventSeriesReadOnly eventSeries) {
+    return new EventSeries.EventSeriesBuilder(eventSeries)
+        .setSubject(stringPool.intern(eventSeries.getSubject()))
+        .setDescription(stringPool.intern(eventSeries.getDescription()))
+        .build();
+  }
+
+  /**
+   * Replaces a series rule with the rules that take its place, such as its two parts
+   * once it is edited from a date on. A new rule with the id and first date of the old
+   * one takes its place in the order. Every occurrence of the new rules is checked
+   * before anything changes, so a conflict leaves the calendar unchanged.
+   *
+   * @param oldSeries the stored rule
+   * @param newSeries the rules to store instead
+   * @throws IllegalArgumentException if a new occurrence conflicts with another event
+   */
+  private void swapSeries(EventSeries oldSeries, List<EventSeries> newSeries) {
+    for (EventSeries rule : newSeries) {
+      rule.forEachOccurrence(occurrence -> {
+        EventSeries owner = findSeriesOf(occurrence);
+        if (eventsByKey.containsKey(EventKey.of(occurrence))
+            || owner != null && owner != oldSeries) {
+          throw new IllegalArgumentException("Update conflicting with existing event");
+        }
+      });
+    }
+    List<EventSeries> stored = new ArrayList<>(newSeries.size());
+    EventSeries inPlace = null;
+    for (EventSeries rule : newSeries) {
+      EventSeries interned = internStrings(rule);
+      stored.add(interned);
+      if (SeriesKey.of(interned).equals(SeriesKey.of(oldSeries))) {
+        inPlace = interned;
       }
-    });
-    eventsOnDate.add(newEvent);
-    events.put(oldEvent.getStartDateTime().toLocalDate(), eventsOnDate);
+    }
+    if (inPlace != null) {
+      replaceSeries(oldSeries, inPlace);
+    } else {
+      dropSeries(oldSeries);
+    }
+    for (EventSeries rule : stored) {
+      if (rule != inPlace) {
+        series.add(rule);
+        pendingView = pendingView.withSeries(rule);
+      }
+    }
+    if (changeListener != null) {
+      changeListener.seriesReplaced(oldSeries, new ArrayList<>(stored));
+    }
+  }
+
+  private void replaceSeries(EventSeries oldSeries, EventSeries newSeries) {
+    series.replace(oldSeries, newSeries);
+    pendingView = pendingView.withSeries(newSeries);
+  }
+
+  private void dropSeries(EventSeries eventSeries) {
+    series.remove(eventSeries);
+    pendingView = pendingView.withoutSeries(eventSeries);
+  }
+
+  private boolean containsEvent(EventReadOnly event) {
+    return eventsByKey.containsKey(EventKey.of(event)) || findSeriesOf(event) != null;
+  }
+
+  private EventSeries findSeriesOf(EventReadOnly event) {
+    return series.findSeriesOf(event);
   }
 }
@@ -0,0 +1,117 @@
+package calendar.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * The lock of one calendar, shared by every wrapper of that calendar so that renaming it
+ * keeps the same lock. A StampedLock is not reentrant, so the thread holding the write
+ * lock is remembered and runs any further locked call on the calendar straight through.
+ * Each lock has a sequence number that fixes the order several locks are taken in.
+ * A StampedLock lets new readers share the lock while a writer waits for it, so readers
+ * that keep overlapping could hold a writer off forever. A writer therefore holds a
+ * turnstile while it waits, which readers pass through before taking the read lock, so
+ * readers arriving after a writer wait for it. Reads must not nest for that reason.
+ */
+class CalendarLock {
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+
+  private final StampedLock lock;
+  private final ReentrantLock turnstile;
+  private final long order;
+  private volatile Thread owner;
+
+  /**
+   * Creates a new unlocked lock, ordered after every lock created before it.
+   */
+  CalendarLock() {
+    this.lock = new StampedLock();
+    this.turnstile = new ReentrantLock();
+    this.order = SEQUENCE.incrementAndGet();
+  }
+
+  /**
+   * Returns the position of this lock in the order locks are taken in.
+   *
+   * @return the sequence number of the lock
+   */
+  long getOrder() {
+    return order;
+  }
+
+  /**
+   * Runs the action holding the write lock.
+   *
+   * @param action the action to run
+   * @param <T>    the type of the result
+   * @return the result of the action
+   */
+  <T> T write(Supplier<T> action) {
+    Thread current = Thread.currentThread();
+    if (owner == current) {
+      return action.get();
+    }
+    long stamp;
+    turnstile.lock();
+    try {
+      stamp = lock.writeLock();
+    } finally {
+      turnstile.unlock();
+    }
+    owner = current;
+    try {
+      return action.get();
+    } finally {
+      owner = null;
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Runs the action holding the read lock, or straight through if this thread already
+   * holds the write lock.
+   *
+   * @param action the action to run
+   * @param <T>    the type of the result
+   * @return the result of the action
+   */
+  <T> T read(Supplier<T> action) {
+    if (owner == Thread.currentThread()) {
+      return action.get();
+    }
+    turnstile.lock();
+    turnstile.unlock();
+    long stamp = lock.readLock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Runs the action without taking the lock, and again holding the read lock if a writer
+   * held the lock or took it meanwhile. The action must only read state that writers
+   * replace rather than change in place, so that a run raced by a writer does no harm
+   * and its result is just dropped.
+   *
+   * @param action the action to run
+   * @param <T>    the type of the result
+   * @return the result of a run that no write overlapped
+   */
+  <T> T optimisticRead(Supplier<T> action) {
+    if (owner == Thread.currentThread()) {
+      return action.get();
+    }
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      T result = action.get();
+      if (lock.validate(stamp)) {
+        return result;
+      }
+    }
+    return read(action);
+  }
+}
@@ -0,0 +1,39 @@
+package calendar.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a change to the events of a calendar. It is off unless a
+ * recording turns it on, as the calendar profile in res/calendar.jfc does, and costs
+ * next to nothing while off.
+ */
+@Name("calendar.Mutation")
+@Label("Calendar Mutation")
+@Category({"Calendar", "Model"})
+@Description("Events added to, removed from or edited in a calendar")
+@Enabled(false)
+@StackTrace(false)
+final class CalendarMutationEvent extends jdk.jfr.Event {
+  @Label("Calendar")
+  String calendar;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Events Changed")
+  @Description("Events added, removed or edited, counting each series occurrence")
+  long eventsChanged;
+
+  @Label("Stored Events")
+  @Description("Events stored on their own after the change")
+  int storedEvents;
+
+  @Label("Series")
+  @Description("Series of the calendar after the change")
+  int series;
+}
@@ -0,0 +1,42 @@
+package calendar.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a range query or busy check on a calendar. Comparing the
+ * scanned and returned counts shows queries the indexes serve badly. It is off unless a
+ * recording turns it on and costs next to nothing while off.
+ */
+@Name("calendar.Query")
+@Label("Calendar Query")
+@Category({"Calendar", "Model"})
+@Description("Events of a calendar looked up by time")
+@Enabled(false)
+@StackTrace(false)
+final class CalendarQueryEvent extends jdk.jfr.Event {
+  @Label("Calendar")
+  String calendar;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("From")
+  String from;
+
+  @Label("To")
+  String to;
+
+  @Label("Scanned")
+  @Description("Stored events and series checked, 0 when a busy check is answered "
+      + "from the minute bitmap")
+  int scanned;
+
+  @Label("Returned")
+  @Description("Events returned, or 1 if a busy check found the calendar busy")
+  int returned;
+}
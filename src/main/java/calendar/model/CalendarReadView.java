@@ -0,0 +1,496 @@
+package calendar.model;
+
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Immutable version of the events of a calendar, answering the queries of CalendarImpl.
+ * A change to the calendar makes a new version with the with and without methods,
+ * which share everything but the changed day with the version they come from, so any
+ * number of versions can be kept and read at once without copying the calendar.
+ * Stored events are kept by start date in a persistent map, events lasting more than a
+ * day also in a map of their own, so that range queries look back a single day for the
+ * rest and only as far as the longest of them for those. Series are immutable rules,
+ * kept in persistent maps by the order they were added in and by id, so adding,
+ * replacing or removing one also costs O(log n). Busy queries on whole minutes read
+ * per-day bitmaps, which each version takes over from the one it comes from but for the
+ * days its change touched.
+ */
+final class CalendarReadView implements CalendarReadOnly {
+  private static final Duration ONE_DAY = Duration.ofDays(1);
+  private static final CalendarReadView EMPTY = new CalendarReadView(
+      PersistentTreeMap.empty(), PersistentTreeMap.empty(), 0, PersistentTreeMap.empty(),
+      PersistentTreeMap.empty(), 0, PersistentTreeMap.empty());
+
+  private final PersistentTreeMap<LocalDate, List<EventReadOnly>> days;
+  private final PersistentTreeMap<LocalDate, List<EventReadOnly>> longEvents;
+
+  /**
+   * Most days any long event ends after the day it starts on, the look-back of range
+   * queries into the long events. Removing an event leaves it as it is, since a bound
+   * that is too wide costs a few more days read and never a missed event.
+   */
+  private final long longestDays;
+  private final PersistentTreeMap<Long, EventSeries> series;
+  private final PersistentTreeMap<SeriesKey, Long> seriesOrder;
+  private final long nextSeries;
+  private final BusyTimeIndex busyIndex;
+
+  private CalendarReadView(PersistentTreeMap<LocalDate, List<EventReadOnly>> days,
+                           PersistentTreeMap<LocalDate, List<EventReadOnly>> longEvents,
+                           long longestDays, PersistentTreeMap<Long, EventSeries> series,
+                           PersistentTreeMap<SeriesKey, Long> seriesOrder, long nextSeries,
+                           PersistentTreeMap<LocalDate, long[]> busyDays) {
+    this.days = days;
+    this.longEvents = longEvents;
+    this.longestDays = longestDays;
+    this.series = series;
+    this.seriesOrder = seriesOrder;
+    this.nextSeries = nextSeries;
+    this.busyIndex = new BusyTimeIndex(busyDays, this::eventsOverlappingDay);
+  }
+
+  /**
+   * Returns the view of an empty calendar.
+   *
+   * @return the empty view
+   */
+  static CalendarReadView empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds a view of the given events and series at once.
+   *
+   * @param storedEvents the events stored on their own, in date order
+   * @param allSeries    the series, in the order they were added
+   * @return the view
+   */
+  static CalendarReadView of(List<EventReadOnly> storedEvents,
+                             List<EventSeriesReadOnly> allSeries) {
+    List<LocalDate> dates = new ArrayList<>();
+    List<List<EventReadOnly>> dayEvents = new ArrayList<>();
+    List<LocalDate> longDates = new ArrayList<>();
+    List<List<EventReadOnly>> longDayEvents = new ArrayList<>();
+    long longestDays = 0;
+    for (EventReadOnly event : storedEvents) {
+      addSorted(dates, dayEvents, event);
+      if (isLong(event)) {
+        addSorted(longDates, longDayEvents, event);
+        longestDays = Math.max(longestDays, daysSpanned(event));
+      }
+    }
+    CalendarReadView view = new CalendarReadView(
+        PersistentTreeMap.ofSorted(dates, freeze(dayEvents)),
+        PersistentTreeMap.ofSorted(longDates, freeze(longDayEvents)), longestDays,
+        PersistentTreeMap.empty(), PersistentTreeMap.empty(), 0, PersistentTreeMap.empty());
+    for (EventSeriesReadOnly eventSeries : allSeries) {
+      view = view.withSeries(eventSeries);
+    }
+    return view;
+  }
+
+  /**
+   * Returns this version with the event stored.
+   *
+   * @param event the event to add
+   * @return the new version
+   */
+  CalendarReadView withEvent(EventReadOnly event) {
+    LocalDate date = event.getStartDateTime().toLocalDate();
+    PersistentTreeMap<LocalDate, List<EventReadOnly>> longOnes = longEvents;
+    long longest = longestDays;
+    if (isLong(event)) {
+      longOnes = longOnes.plus(date, appended(longOnes.get(date), event));
+      longest = Math.max(longest, daysSpanned(event));
+    }
+    return new CalendarReadView(days.plus(date, appended(days.get(date), event)),
+        longOnes, longest, series, seriesOrder, nextSeries, busyIndex.without(event));
+  }
+
+  /**
+   * Returns this version without the stored event equal to the given one.
+   *
+   * @param event the event to remove
+   * @return the new version, or this version if it has no such event
+   */
+  CalendarReadView withoutEvent(EventReadOnly event) {
+    LocalDate date = event.getStartDateTime().toLocalDate();
+    PersistentTreeMap<LocalDate, List<EventReadOnly>> remaining = removed(days, date, event);
+    if (remaining == days) {
+      return this;
+    }
+    return new CalendarReadView(remaining, removed(longEvents, date, event), longestDays,
+        series, seriesOrder, nextSeries, busyIndex.without(event));
+  }
+
+  /**
+   * Returns this version with the series, replacing the series with its id and first date
+   * in its place.
+   * A series that is not an EventSeries is copied into one, so later changes to it are
+   * not seen.
+   *
+   * @param eventSeries the series to add or replace
+   * @return the new version
+   */
+  CalendarReadView withSeries(EventSeriesReadOnly eventSeries) {
+    EventSeries frozen = eventSeries instanceof EventSeries ? (EventSeries) eventSeries
+        : new EventSeries.EventSeriesBuilder(eventSeries).build();
+    SeriesKey key = SeriesKey.of(frozen);
+    Long order = seriesOrder.get(key);
+    if (order != null) {
+      EventSeries replaced = series.get(order);
+      LocalDate from = replaced.getFirstDate().isBefore(frozen.getFirstDate())
+          ? replaced.getFirstDate() : frozen.getFirstDate();
+      LocalDate to = lastDayTouched(replaced).isAfter(lastDayTouched(frozen))
+          ? lastDayTouched(replaced) : lastDayTouched(frozen);
+      return new CalendarReadView(days, longEvents, longestDays, series.plus(order, frozen),
+          seriesOrder, nextSeries, busyIndex.without(from, to));
+    }
+    return new CalendarReadView(days, longEvents, longestDays,
+        series.plus(nextSeries, frozen), seriesOrder.plus(key, nextSeries),
+        nextSeries + 1, busyIndex.without(frozen.getFirstDate(), lastDayTouched(frozen)));
+  }
+
+  /**
+   * Returns this version without the series with the id and first date of the given one.
+   *
+   * @param eventSeries the series to remove
+   * @return the new version
+   */
+  CalendarReadView withoutSeries(EventSeriesReadOnly eventSeries) {
+    SeriesKey key = SeriesKey.of(eventSeries);
+    Long order = seriesOrder.get(key);
+    if (order == null) {
+      return this;
+    }
+    EventSeries removed = series.get(order);
+    return new CalendarReadView(days, longEvents, longestDays, series.minus(order),
+        seriesOrder.minus(key), nextSeries,
+        busyIndex.without(removed.getFirstDate(), lastDayTouched(removed)));
+  }
+
+  /**
+   * Returns the stored events that start on the given date, in the order they were added.
+   *
+   * @param date the date to look up
+   * @return the unmodifiable events of the day, empty if there are none
+   */
+  List<EventReadOnly> storedOn(LocalDate date) {
+    List<EventReadOnly> dayEvents = days.get(date);
+    return dayEvents == null ? List.of() : dayEvents;
+  }
+
+  boolean hasSeries() {
+    return !series.isEmpty();
+  }
+
+  /**
+   * Checks whether an event covers the given time. A time on a whole minute is read from
+   * the bitmap of its day, built on the first such query after the day last changed.
+   *
+   * @param dateTime the date and time to check
+   * @return true if the time is busy else false
+   */
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    if (dateTime.getSecond() == 0 && dateTime.getNano() == 0) {
+      return busyIndex.isBusy(dateTime);
+    }
+    for (EventReadOnly event : overlapping(dateTime, dateTime)) {
+      if (event.getStartDateTime().equals(dateTime)
+          || (event.getStartDateTime().isBefore(dateTime)
+          && event.getEndDateTime().isAfter(dateTime))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    PriorityQueue<SeriesCursor> cursors = SeriesCursor.queueOf(series.asMap().values());
+    days.forEach((date, dayEvents) -> {
+      SeriesCursor.drain(cursors, date.minusDays(1), consumer);
+      dayEvents.forEach(consumer);
+      SeriesCursor.drain(cursors, date, consumer);
+    });
+    SeriesCursor.drain(cursors, LocalDate.MAX, consumer);
+  }
+
+  @Override
+  public void forEachStoredEvent(Consumer<EventReadOnly> consumer) {
+    days.forEach((date, dayEvents) -> dayEvents.forEach(consumer));
+  }
+
+  @Override
+  public void forEachSeries(Consumer<EventSeriesReadOnly> consumer) {
+    series.forEach((order, eventSeries) -> consumer.accept(eventSeries));
+  }
+
+  /**
+   * Retrieves the events between the given times in start order. A range covering
+   * exactly one day from midnight to 23:59 returns the events starting on that day.
+   *
+   * @param startDateTime the start date and time of the range.
+   * @param endDateTime   the end date and time of the range.
+   * @return a list of events occurring in the given range, empty if no events.
+   */
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    if (isWholeDay(startDateTime, endDateTime)) {
+      return new ArrayList<>(startingOn(startDateTime.toLocalDate()));
+    }
+    List<EventReadOnly> result = overlapping(startDateTime, endDateTime);
+    result.sort(Comparator.comparing(EventReadOnly::getStartDateTime));
+    return result;
+  }
+
+  /**
+   * Returns how many stored events and series a range query between the given times
+   * looks at, as reported to the flight recorder.
+   *
+   * @param startDateTime the start date and time of the range
+   * @param endDateTime   the end date and time of the range
+   * @return the number of candidates
+   */
+  int candidateCount(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    if (isWholeDay(startDateTime, endDateTime)) {
+      return storedOn(startDateTime.toLocalDate()).size() + series.size();
+    }
+    int[] count = {series.size()};
+    days.forEachBetween(startDateTime.toLocalDate().minusDays(1), endDateTime.toLocalDate(),
+        (date, dayEvents) -> count[0] += dayEvents.size());
+    longEvents.forEachBetween(startDateTime.toLocalDate().minusDays(longestDays),
+        endDateTime.toLocalDate(), (date, dayEvents) -> count[0] += dayEvents.size());
+    return count[0];
+  }
+
+  /**
+   * Returns the events by start date as a map reading this version, so creating it
+   * copies nothing. The occurrences of series are merged in as the map is read, after
+   * the stored events of their date.
+   *
+   * @return unmodifiable map of the events of each date
+   */
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    return series.isEmpty() ? days.asMap() : new AllEvents();
+  }
+
+  @Override
+  public CalendarReadOnly getReadView() {
+    return this;
+  }
+
+  private List<EventReadOnly> startingOn(LocalDate date) {
+    List<EventReadOnly> stored = storedOn(date);
+    List<EventReadOnly> result = null;
+    for (EventSeries eventSeries : series.asMap().values()) {
+      if (eventSeries.occursOn(date)) {
+        if (result == null) {
+          result = new ArrayList<>(stored);
+        }
+        result.add(eventSeries.occurrenceOn(date));
+      }
+    }
+    return result == null ? stored : Collections.unmodifiableList(result);
+  }
+
+  private List<EventReadOnly> overlapping(LocalDateTime startDateTime,
+                                          LocalDateTime endDateTime) {
+    List<EventReadOnly> result = new ArrayList<>();
+    days.forEachBetween(startDateTime.toLocalDate().minusDays(1), endDateTime.toLocalDate(),
+        (date, dayEvents) -> {
+          for (EventReadOnly event : dayEvents) {
+            if (!isLong(event) && overlaps(event, startDateTime, endDateTime)) {
+              result.add(event);
+            }
+          }
+        });
+    longEvents.forEachBetween(startDateTime.toLocalDate().minusDays(longestDays),
+        endDateTime.toLocalDate(), (date, dayEvents) -> {
+          for (EventReadOnly event : dayEvents) {
+            if (overlaps(event, startDateTime, endDateTime)) {
+              result.add(event);
+            }
+          }
+        });
+    for (EventSeries eventSeries : series.asMap().values()) {
+      result.addAll(eventSeries.occurrencesOverlapping(startDateTime, endDateTime));
+    }
+    return result;
+  }
+
+  private List<EventReadOnly> eventsOverlappingDay(LocalDate date) {
+    return overlapping(date.atStartOfDay(), date.atTime(LocalTime.MAX));
+  }
+
+  private static boolean isWholeDay(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    return startDateTime.toLocalDate().equals(endDateTime.toLocalDate())
+        && startDateTime.toLocalTime().equals(LocalTime.of(0, 0))
+        && endDateTime.toLocalTime().equals(LocalTime.of(23, 59));
+  }
+
+  private static LocalDate lastDayTouched(EventSeries eventSeries) {
+    return eventSeries.getLastDate().atTime(eventSeries.getStartTime())
+        .plus(eventSeries.getDuration()).toLocalDate();
+  }
+
+  private static long daysSpanned(EventReadOnly event) {
+    return ChronoUnit.DAYS.between(event.getStartDateTime().toLocalDate(),
+        event.getEndDateTime().toLocalDate());
+  }
+
+  private static boolean isLong(EventReadOnly event) {
+    return Duration.between(event.getStartDateTime(), event.getEndDateTime())
+        .compareTo(ONE_DAY) > 0;
+  }
+
+  private static boolean overlaps(EventReadOnly event, LocalDateTime start, LocalDateTime end) {
+    return !event.getEndDateTime().isBefore(start) && !event.getStartDateTime().isAfter(end);
+  }
+
+  private static List<EventReadOnly> appended(List<EventReadOnly> dayEvents,
+                                              EventReadOnly event) {
+    List<EventReadOnly> changed = dayEvents == null ? new ArrayList<>(1)
+        : new ArrayList<>(dayEvents.size() + 1);
+    if (dayEvents != null) {
+      changed.addAll(dayEvents);
+    }
+    changed.add(event);
+    return Collections.unmodifiableList(changed);
+  }
+
+  private static PersistentTreeMap<LocalDate, List<EventReadOnly>> removed(
+      PersistentTreeMap<LocalDate, List<EventReadOnly>> map, LocalDate date,
+      EventReadOnly event) {
+    List<EventReadOnly> dayEvents = map.get(date);
+    if (dayEvents == null || !dayEvents.contains(event)) {
+      return map;
+    }
+    if (dayEvents.size() == 1) {
+      return map.minus(date);
+    }
+    List<EventReadOnly> changed = new ArrayList<>(dayEvents);
+    changed.remove(event);
+    return map.plus(date, Collections.unmodifiableList(changed));
+  }
+
+  private static void addSorted(List<LocalDate> dates, List<List<EventReadOnly>> dayEvents,
+                                EventReadOnly event) {
+    LocalDate date = event.getStartDateTime().toLocalDate();
+    if (dates.isEmpty() || !dates.get(dates.size() - 1).equals(date)) {
+      dates.add(date);
+      dayEvents.add(new ArrayList<>());
+    }
+    dayEvents.get(dayEvents.size() - 1).add(event);
+  }
+
+  private static List<List<EventReadOnly>> freeze(List<List<EventReadOnly>> dayEvents) {
+    List<List<EventReadOnly>> frozen = new ArrayList<>(dayEvents.size());
+    for (List<EventReadOnly> events : dayEvents) {
+      frozen.add(Collections.unmodifiableList(events));
+    }
+    return frozen;
+  }
+
+  /**
+   * Events of every date, read from the version as they are asked for. Looking a date up
+   * checks its stored events and each series, walking the map merges the stored days
+   * with the series cursors the way forEachEvent does.
+   */
+  private final class AllEvents extends AbstractMap<LocalDate, List<EventReadOnly>> {
+    private final Set<Map.Entry<LocalDate, List<EventReadOnly>>> entries = new Entries();
+
+    @Override
+    public List<EventReadOnly> get(Object key) {
+      if (!(key instanceof LocalDate)) {
+        return null;
+      }
+      List<EventReadOnly> dayEvents = startingOn((LocalDate) key);
+      return dayEvents.isEmpty() ? null : dayEvents;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public Set<Map.Entry<LocalDate, List<EventReadOnly>>> entrySet() {
+      return entries;
+    }
+  }
+
+  private final class Entries extends AbstractSet<Map.Entry<LocalDate, List<EventReadOnly>>> {
+    @Override
+    public Iterator<Map.Entry<LocalDate, List<EventReadOnly>>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+      int size = 0;
+      for (Iterator<?> entry = iterator(); entry.hasNext(); entry.next()) {
+        size++;
+      }
+      return size;
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Map.Entry<LocalDate,
+      List<EventReadOnly>>> {
+    private final Iterator<Map.Entry<LocalDate, List<EventReadOnly>>> stored =
+        days.asMap().entrySet().iterator();
+    private final PriorityQueue<SeriesCursor> cursors =
+        SeriesCursor.queueOf(series.asMap().values());
+    private Map.Entry<LocalDate, List<EventReadOnly>> nextStored = nextStored();
+
+    @Override
+    public boolean hasNext() {
+      return nextStored != null || SeriesCursor.nextDate(cursors) != null;
+    }
+
+    @Override
+    public Map.Entry<LocalDate, List<EventReadOnly>> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      LocalDate occurrenceDate = SeriesCursor.nextDate(cursors);
+      LocalDate date = nextStored == null || (occurrenceDate != null
+          && occurrenceDate.isBefore(nextStored.getKey()))
+          ? occurrenceDate : nextStored.getKey();
+      List<EventReadOnly> dayEvents = new ArrayList<>();
+      if (nextStored != null && nextStored.getKey().equals(date)) {
+        dayEvents.addAll(nextStored.getValue());
+        nextStored = nextStored();
+      }
+      SeriesCursor.drain(cursors, date, dayEvents::add);
+      return new AbstractMap.SimpleImmutableEntry<>(date,
+          Collections.unmodifiableList(dayEvents));
+    }
+
+    private Map.Entry<LocalDate, List<EventReadOnly>> nextStored() {
+      return stored.hasNext() ? stored.next() : null;
+    }
+  }
+}
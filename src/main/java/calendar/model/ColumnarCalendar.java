@@ -0,0 +1,788 @@
+package calendar.model;
+
+import calendar.model.interfaces.CalendarChangeListener;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import calendar.model.interfaces.StringPoolReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Calendar that keeps its events in primitive columns instead of one object per event.
+ * It behaves like CalendarImpl but stores an event in about a tenth of the memory, which
+ * suits calendars of millions of events. Events handed out are views that read a field
+ * from the columns only when it is asked for.
+ * The rows are kept in a start-sorted order that range, busy and lookup queries binary
+ * search. New rows are sorted and merged into the order when the next query needs it,
+ * so a run of inserts is sorted once. Rows lasting more than a day are also kept in an
+ * order of their own, so range and busy queries look back at most a day in the main
+ * order however long the longest event is. Once more rows are removed than are live, the
+ * live rows are copied to fresh columns in start order. Since queries sort, the sort and
+ * the changes it reads are synchronized, so that several readers can query at once.
+ * Duplicates are found through an open addressing table of rows hashed on subject,
+ * start and end, and the rows of a series through a second one hashed on the id.
+ * Recurring series are stored as rules, as in CalendarImpl.
+ */
+public class ColumnarCalendar implements CalendarEditable {
+  private static final int NONE = EventColumns.NONE;
+  private static final int EMPTY = 0;
+  private static final int REMOVED = -1;
+  private static final int MINUTES_PER_DAY = 24 * 60;
+  private static final int COMPACT_MIN_ROWS = 1024;
+
+  private final StringPool stringPool;
+  private final EventColumns.Strings strings;
+  private final SeriesRules series;
+  private EventColumns columns;
+  private int[] order;
+  private int orderSize;
+  private int sortedRows;
+  private int[] slots;
+  private int removedSlots;
+  private int[] idSlots;
+  private int idEntries;
+  private int live;
+  private int[] longOrder;
+  private int longSize;
+
+  /**
+   * Longest duration of the rows lasting at most a day, the look-back of range queries
+   * into the main order.
+   */
+  private long maxShortMinutes;
+
+  /**
+   * Longest duration of the rows lasting more than a day, the look-back of range queries
+   * into the long order. Both bounds only grow until the next compaction, since a bound
+   * that is too wide costs a few more rows read and never a missed event.
+   */
+  private long maxLongMinutes;
+  private CalendarChangeListener changeListener;
+
+  /**
+   * Immutable view handed out by getReadView, built on first use and then kept up to
+   * date by every change, so only the first call pays for building it.
+   */
+  private volatile CalendarReadView readView;
+
+  /**
+   * Creates an empty calendar.
+   */
+  public ColumnarCalendar() {
+    this.stringPool = new StringPool(StringPool.DEFAULT_CAPACITY);
+    this.strings = new EventColumns.Strings(stringPool);
+    this.series = new SeriesRules();
+    this.columns = new EventColumns(strings, 0);
+    this.order = new int[0];
+    this.slots = new int[32];
+    this.idSlots = new int[32];
+    this.longOrder = new int[0];
+  }
+
+  @Override
+  public EventReadOnly addEvent(EventReadOnly newEvent) {
+    if (containsEvent(newEvent)) {
+      throw new IllegalArgumentException("Event already exists");
+    }
+    storeEvent(newEvent);
+    if (changeListener != null) {
+      changeListener.eventAdded(newEvent);
+    }
+    return newEvent;
+  }
+
+  /**
+   * Checks the whole batch against the stored rows and against itself before storing
+   * anything, so a conflict leaves the calendar unchanged.
+   *
+   * @param newEvents the events to add
+   * @return the added events in the order they were given
+   */
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> newEvents) {
+    Set<EventKey> batchKeys = new HashSet<>();
+    for (EventReadOnly newEvent : newEvents) {
+      if (!batchKeys.add(EventKey.of(newEvent)) || containsEvent(newEvent)) {
+        throw new IllegalArgumentException("Event already exists");
+      }
+    }
+    for (EventReadOnly newEvent : newEvents) {
+      storeEvent(newEvent);
+      if (changeListener != null) {
+        changeListener.eventAdded(newEvent);
+      }
+    }
+    return new ArrayList<>(newEvents);
+  }
+
+  @Override
+  public EventSeriesReadOnly addSeries(EventSeriesReadOnly newSeries) {
+    EventSeries stored = internStrings(newSeries);
+    if (series.contains(stored)) {
+      throw new IllegalArgumentException("Series already exists");
+    }
+    stored.forEachOccurrence(occurrence -> {
+      if (containsEvent(occurrence)) {
+        throw new IllegalArgumentException(CalendarImpl.SERIES_CONFLICT);
+      }
+    });
+    if (stored.occurrenceCount() > 0) {
+      series.add(stored);
+      CalendarReadView view = readView;
+      if (view != null) {
+        readView = view.withSeries(stored);
+      }
+      if (changeListener != null) {
+        changeListener.seriesAdded(stored);
+      }
+    }
+    return stored;
+  }
+
+  @Override
+  public List<EventReadOnly> editEvent(List<EventReadOnly> events, String property,
+                                       String newValue) {
+    return new EventEditor(this, this::updateEvent, series, this::swapSeries)
+        .edit(events, property, newValue);
+  }
+
+  @Override
+  public void replaceSeries(EventSeriesReadOnly oldSeries,
+                            List<EventSeriesReadOnly> newSeries) {
+    EventSeries stored = series.get(oldSeries);
+    if (stored == null) {
+      throw new IllegalArgumentException("Series doesn't exist");
+    }
+    List<EventSeries> rules = new ArrayList<>(newSeries.size());
+    for (EventSeriesReadOnly rule : newSeries) {
+      rules.add(new EventSeries.EventSeriesBuilder(rule).build());
+    }
+    swapSeries(stored, rules);
+  }
+
+  @Override
+  public void removeEvent(EventReadOnly event) {
+    if (deleteEvent(event) && changeListener != null) {
+      changeListener.eventRemoved(event);
+    }
+  }
+
+  @Override
+  public void setChangeListener(CalendarChangeListener listener) {
+    this.changeListener = listener;
+  }
+
+  @Override
+  public StringPoolReadOnly getStringPool() {
+    return stringPool;
+  }
+
+  /**
+   * Queries merge new rows into the sorted order and may compact the columns, so they
+   * must not run while the calendar changes.
+   *
+   * @return false
+   */
+  @Override
+  public boolean publishesReadView() {
+    return false;
+  }
+
+  /**
+   * Binary searches the start order for the time and keeps the rows with the subject,
+   * then adds the occurrence of any series with that subject starting then.
+   *
+   * @param subject       the subject of the events
+   * @param startDateTime the start date and time of the events
+   * @return the matching events, empty if there are none.
+   */
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    List<EventReadOnly> result = new ArrayList<>();
+    int subjectId = strings.find(subject);
+    if (subjectId != NONE) {
+      sortRows();
+      long minute = EventColumns.minuteOf(startDateTime);
+      for (int i = firstStartingFrom(startDateTime); i < orderSize; i++) {
+        int row = order[i];
+        if (columns.compareStart(row, minute, startDateTime) != 0) {
+          break;
+        }
+        if (columns.isLive(row) && columns.subjectId(row) == subjectId) {
+          result.add(new ColumnarEvent(columns, row));
+        }
+      }
+    }
+    LocalDate date = startDateTime.toLocalDate();
+    for (EventSeries eventSeries : series.withSubject(subject)) {
+      if (eventSeries.getStartTime().equals(startDateTime.toLocalTime())
+          && eventSeries.occursOn(date)) {
+        result.add(eventSeries.occurrenceOn(date));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Looks the id up in the id table for the rows carrying it, then adds the occurrences
+   * still expanded from the series rules with that id.
+   *
+   * @param seriesId the id shared by the occurrences of the series
+   * @return the occurrences in start order, empty if there is no such series.
+   */
+  @Override
+  public synchronized List<EventReadOnly> getSeriesEvents(UUID seriesId) {
+    List<EventReadOnly> result = new ArrayList<>();
+    long high = seriesId.getMostSignificantBits();
+    long low = seriesId.getLeastSignificantBits();
+    int mask = idSlots.length - 1;
+    for (int i = EventColumns.idHash(high, low) & mask; idSlots[i] != EMPTY;
+         i = (i + 1) & mask) {
+      int row = idSlots[i] - 1;
+      if (columns.isLive(row) && columns.hasId(row, high, low)) {
+        result.add(new ColumnarEvent(columns, row));
+      }
+    }
+    for (EventSeries rule : series.withId(seriesId)) {
+      rule.forEachOccurrence(result::add);
+    }
+    result.sort(Comparator.comparing(EventReadOnly::getStartDateTime));
+    return result;
+  }
+
+  /**
+   * Visits the rows in start order and merges in the series occurrences by date.
+   *
+   * @param consumer the consumer that processes each event.
+   */
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    sortRows();
+    PriorityQueue<SeriesCursor> cursors = SeriesCursor.queueOf(series.values());
+    long currentDay = Long.MIN_VALUE;
+    for (int i = 0; i < orderSize; i++) {
+      int row = order[i];
+      if (!columns.isLive(row)) {
+        continue;
+      }
+      long day = Math.floorDiv(columns.startMinute(row), MINUTES_PER_DAY);
+      if (day != currentDay) {
+        SeriesCursor.drain(cursors, LocalDate.ofEpochDay(day).minusDays(1), consumer);
+        currentDay = day;
+      }
+      consumer.accept(new ColumnarEvent(columns, row));
+    }
+    SeriesCursor.drain(cursors, LocalDate.MAX, consumer);
+  }
+
+  @Override
+  public void forEachStoredEvent(Consumer<EventReadOnly> consumer) {
+    sortRows();
+    for (int i = 0; i < orderSize; i++) {
+      if (columns.isLive(order[i])) {
+        consumer.accept(new ColumnarEvent(columns, order[i]));
+      }
+    }
+  }
+
+  @Override
+  public void forEachSeries(Consumer<EventSeriesReadOnly> consumer) {
+    for (EventSeries eventSeries : series.values()) {
+      consumer.accept(eventSeries);
+    }
+  }
+
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    sortRows();
+    List<EventReadOnly> result = new ArrayList<>();
+    if (startDateTime.toLocalDate().equals(endDateTime.toLocalDate())
+        && startDateTime.toLocalTime().equals(LocalTime.of(0, 0))
+        && endDateTime.toLocalTime().equals(LocalTime.of(23, 59))) {
+      LocalDate date = startDateTime.toLocalDate();
+      long nextDay = EventColumns.minuteOf(date.plusDays(1).atStartOfDay());
+      for (int i = firstStartingFrom(date.atStartOfDay()); i < orderSize; i++) {
+        int row = order[i];
+        if (columns.startMinute(row) >= nextDay) {
+          break;
+        }
+        if (columns.isLive(row)) {
+          result.add(new ColumnarEvent(columns, row));
+        }
+      }
+      for (EventSeries eventSeries : series.values()) {
+        if (eventSeries.occursOn(date)) {
+          result.add(eventSeries.occurrenceOn(date));
+        }
+      }
+      return result;
+    }
+    long startMinute = EventColumns.minuteOf(startDateTime);
+    long endMinute = EventColumns.minuteOf(endDateTime);
+    for (int i = firstStartingFrom(order, orderSize,
+        startDateTime.minusMinutes(maxShortMinutes)); i < orderSize; i++) {
+      int row = order[i];
+      if (columns.compareStart(row, endMinute, endDateTime) > 0) {
+        break;
+      }
+      if (columns.isLive(row) && !isLong(row)
+          && columns.compareEnd(row, startMinute, startDateTime) >= 0) {
+        result.add(new ColumnarEvent(columns, row));
+      }
+    }
+    int shortRows = result.size();
+    for (int i = firstStartingFrom(longOrder, longSize,
+        startDateTime.minusMinutes(maxLongMinutes)); i < longSize; i++) {
+      int row = longOrder[i];
+      if (columns.compareStart(row, endMinute, endDateTime) > 0) {
+        break;
+      }
+      if (columns.isLive(row) && columns.compareEnd(row, startMinute, startDateTime) >= 0) {
+        result.add(new ColumnarEvent(columns, row));
+      }
+    }
+    if (series.isEmpty() && result.size() == shortRows) {
+      return result;
+    }
+    for (EventSeries eventSeries : series.values()) {
+      result.addAll(eventSeries.occurrencesOverlapping(startDateTime, endDateTime));
+    }
+    result.sort(Comparator.comparing(EventReadOnly::getStartDateTime));
+    return result;
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    Map<LocalDate, List<EventReadOnly>> allEvents = new TreeMap<>();
+    forEachEvent(event -> allEvents
+        .computeIfAbsent(event.getStartDateTime().toLocalDate(), k -> new ArrayList<>())
+        .add(event));
+    return allEvents;
+  }
+
+  /**
+   * Returns a view of the calendar as it is now, built from the events on first use.
+   * Changes after that make a new version of it from the old one, as CalendarImpl does,
+   * instead of building it again. Rows keep their values once removed and compaction
+   * writes fresh columns, so the views of events the read view holds never change.
+   *
+   * @return the immutable view of the calendar
+   */
+  @Override
+  public synchronized CalendarReadOnly getReadView() {
+    CalendarReadView view = readView;
+    if (view == null) {
+      List<EventReadOnly> stored = new ArrayList<>(live);
+      forEachStoredEvent(stored::add);
+      List<EventSeriesReadOnly> allSeries = new ArrayList<>(series.values());
+      view = CalendarReadView.of(stored, allSeries);
+      readView = view;
+    }
+    return view;
+  }
+
+  /**
+   * Checks the rows that start close enough before the time to still be running, in the
+   * main order and then in the long order, comparing their minutes in place, then the
+   * occurrences of the series.
+   */
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    sortRows();
+    if (busyIn(order, orderSize, maxShortMinutes, dateTime)
+        || busyIn(longOrder, longSize, maxLongMinutes, dateTime)) {
+      return true;
+    }
+    for (EventSeries eventSeries : series.values()) {
+      for (EventReadOnly occurrence : eventSeries.occurrencesOverlapping(dateTime, dateTime)) {
+        if (occurrence.getStartDateTime().equals(dateTime)
+            || occurrence.getEndDateTime().isAfter(dateTime)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean busyIn(int[] rows, int size, long lookBack, LocalDateTime dateTime) {
+    long minute = EventColumns.minuteOf(dateTime);
+    for (int i = firstStartingFrom(rows, size, dateTime.minusMinutes(lookBack)); i < size;
+         i++) {
+      int row = rows[i];
+      int startOrder = columns.compareStart(row, minute, dateTime);
+      if (startOrder > 0) {
+        break;
+      }
+      if (columns.isLive(row)
+          && (startOrder == 0 || columns.compareEnd(row, minute, dateTime) > 0)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Replaces an existing event with its edited version.
+   * The old row keeps its values once removed, so the old event can still be read by
+   * the listener.
+   *
+   * @param oldEvent the event before the edit
+   * @param newEvent the event after the edit
+   * @throws IllegalArgumentException if the edited event conflicts with another event
+   */
+  private void updateEvent(EventReadOnly oldEvent, EventReadOnly newEvent) {
+    if (!EventKey.of(newEvent).equals(EventKey.of(oldEvent)) && containsEvent(newEvent)) {
+      throw new IllegalArgumentException("Update conflicting with existing event");
+    }
+    deleteEvent(oldEvent);
+    storeEvent(newEvent);
+    if (changeListener != null) {
+      changeListener.eventEdited(oldEvent, newEvent);
+    }
+  }
+
+  private synchronized void storeEvent(EventReadOnly event) {
+    if ((live + removedSlots + 1) * 2 > slots.length) {
+      rehash(Math.max(32, Integer.highestOneBit(live + 1) * 4));
+    }
+    if ((idEntries + 1) * 2 > idSlots.length) {
+      rehashIds(Math.max(32, Integer.highestOneBit(live + 1) * 4));
+    }
+    int row = columns.append(event);
+    index(row);
+    indexId(row);
+    live++;
+    growLookBack(columns, row);
+    CalendarReadView view = readView;
+    if (view != null) {
+      readView = view.withEvent(new ColumnarEvent(columns, row));
+    }
+  }
+
+  private synchronized boolean deleteEvent(EventReadOnly event) {
+    int slot = findSlot(event);
+    if (slot != NONE) {
+      CalendarReadView view = readView;
+      if (view != null) {
+        readView = view.withoutEvent(new ColumnarEvent(columns, slots[slot] - 1));
+      }
+      columns.kill(slots[slot] - 1);
+      slots[slot] = REMOVED;
+      removedSlots++;
+      live--;
+      return true;
+    }
+    EventSeries owner = findSeriesOf(event);
+    if (owner != null) {
+      EventSeries remaining = owner.withException(event.getStartDateTime().toLocalDate());
+      if (remaining.occurrenceCount() == 0) {
+        dropSeries(owner);
+      } else {
+        replaceSeries(owner, remaining);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private void replaceSeries(EventSeries oldSeries, EventSeries newSeries) {
+    series.replace(oldSeries, newSeries);
+    CalendarReadView view = readView;
+    if (view != null) {
+      readView = view.withSeries(newSeries);
+    }
+  }
+
+  private void dropSeries(EventSeries eventSeries) {
+    series.remove(eventSeries);
+    CalendarReadView view = readView;
+    if (view != null) {
+      readView = view.withoutSeries(eventSeries);
+    }
+  }
+
+  private void addRule(EventSeries eventSeries) {
+    series.add(eventSeries);
+    CalendarReadView view = readView;
+    if (view != null) {
+      readView = view.withSeries(eventSeries);
+    }
+  }
+
+  /**
+   * Returns the series with its subject and description swapped for the pooled strings.
+   */
+  private EventSeries internStrings(EventSeriesReadOnly eventSeries) {
+    return new EventSeries.EventSeriesBuilder(eventSeries)
+        .setSubject(stringPool.intern(eventSeries.getSubject()))
+        .setDescription(stringPool.intern(eventSeries.getDescription()))
+        .build();
+  }
+
+  /**
+   * Replaces a series rule with the rules that take its place, checking every new
+   * occurrence first so a conflict leaves the calendar unchanged, as in CalendarImpl.
+   *
+   * @param oldSeries the stored rule
+   * @param newSeries the rules to store instead
+   * @throws IllegalArgumentException if a new occurrence conflicts with another event
+   */
+  private synchronized void swapSeries(EventSeries oldSeries, List<EventSeries> newSeries) {
+    for (EventSeries rule : newSeries) {
+      rule.forEachOccurrence(occurrence -> {
+        EventSeries owner = findSeriesOf(occurrence);
+        if (findSlot(occurrence) != NONE || owner != null && owner != oldSeries) {
+          throw new IllegalArgumentException("Update conflicting with existing event");
+        }
+      });
+    }
+    List<EventSeries> stored = new ArrayList<>(newSeries.size());
+    EventSeries inPlace = null;
+    for (EventSeries rule : newSeries) {
+      EventSeries interned = internStrings(rule);
+      stored.add(interned);
+      if (SeriesKey.of(interned).equals(SeriesKey.of(oldSeries))) {
+        inPlace = interned;
+      }
+    }
+    if (inPlace != null) {
+      replaceSeries(oldSeries, inPlace);
+    } else {
+      dropSeries(oldSeries);
+    }
+    for (EventSeries rule : stored) {
+      if (rule != inPlace) {
+        addRule(rule);
+      }
+    }
+    if (changeListener != null) {
+      changeListener.seriesReplaced(oldSeries, new ArrayList<>(stored));
+    }
+  }
+
+  private boolean containsEvent(EventReadOnly event) {
+    return findSlot(event) != NONE || findSeriesOf(event) != null;
+  }
+
+  private EventSeries findSeriesOf(EventReadOnly event) {
+    return series.findSeriesOf(event);
+  }
+
+  /**
+   * Returns the slot of the hash table holding the row of the given event.
+   */
+  private int findSlot(EventReadOnly event) {
+    int hash = columns.keyHash(event);
+    if (hash == 0) {
+      return NONE;
+    }
+    int mask = slots.length - 1;
+    for (int i = hash & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+      if (slots[i] != REMOVED && columns.sameEvent(slots[i] - 1, event)) {
+        return i;
+      }
+    }
+    return NONE;
+  }
+
+  private void index(int row) {
+    int mask = slots.length - 1;
+    int i = columns.rowHash(row) & mask;
+    while (slots[i] > EMPTY) {
+      i = (i + 1) & mask;
+    }
+    if (slots[i] == REMOVED) {
+      removedSlots--;
+    }
+    slots[i] = row + 1;
+  }
+
+  private void indexId(int row) {
+    int mask = idSlots.length - 1;
+    int i = columns.rowIdHash(row) & mask;
+    while (idSlots[i] != EMPTY) {
+      i = (i + 1) & mask;
+    }
+    idSlots[i] = row + 1;
+    idEntries++;
+  }
+
+  /**
+   * Rebuilds the id table from the live rows. Removed rows stay in the id table until
+   * then, and lookups skip them.
+   */
+  private void rehashIds(int capacity) {
+    idSlots = new int[capacity];
+    idEntries = 0;
+    for (int row = 0; row < columns.size(); row++) {
+      if (columns.isLive(row)) {
+        indexId(row);
+      }
+    }
+  }
+
+  private void rehash(int capacity) {
+    slots = new int[capacity];
+    removedSlots = 0;
+    int mask = capacity - 1;
+    for (int row = 0; row < columns.size(); row++) {
+      if (columns.isLive(row)) {
+        int i = columns.rowHash(row) & mask;
+        while (slots[i] != EMPTY) {
+          i = (i + 1) & mask;
+        }
+        slots[i] = row + 1;
+      }
+    }
+  }
+
+  /**
+   * Returns the position in the start order of the first row starting at or after
+   * the given time.
+   */
+  private int firstStartingFrom(LocalDateTime dateTime) {
+    return firstStartingFrom(order, orderSize, dateTime);
+  }
+
+  /**
+   * Returns the position in the given start-sorted rows of the first row starting at or
+   * after the given time.
+   */
+  private int firstStartingFrom(int[] rows, int size, LocalDateTime dateTime) {
+    long minute = EventColumns.minuteOf(dateTime);
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (columns.compareStart(rows[mid], minute, dateTime) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Sorts the rows appended since the last query and merges them into the start order,
+   * dropping removed rows on the way, then compacts the columns if most rows are removed.
+   */
+  private synchronized void sortRows() {
+    int rows = columns.size();
+    if (sortedRows == rows && orderSize == live) {
+      return;
+    }
+    int[] added = new int[rows - sortedRows];
+    int addedSize = 0;
+    for (int row = sortedRows; row < rows; row++) {
+      if (columns.isLive(row)) {
+        added[addedSize++] = row;
+      }
+    }
+    mergeSort(added, new int[addedSize], 0, addedSize);
+    int[] merged = new int[live];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < orderSize || j < addedSize) {
+      if (i < orderSize && !columns.isLive(order[i])) {
+        i++;
+      } else if (j == addedSize
+          || i < orderSize && columns.compareRows(order[i], added[j]) < 0) {
+        merged[size++] = order[i++];
+      } else {
+        merged[size++] = added[j++];
+      }
+    }
+    order = merged;
+    orderSize = size;
+    sortedRows = rows;
+    if (rows - live > live && rows >= COMPACT_MIN_ROWS) {
+      compact();
+    }
+    int[] longRows = new int[longOrder.length];
+    int longRowsSize = 0;
+    for (int k = 0; k < orderSize; k++) {
+      if (isLong(order[k])) {
+        if (longRowsSize == longRows.length) {
+          longRows = Arrays.copyOf(longRows, Math.max(8, longRowsSize * 2));
+        }
+        longRows[longRowsSize++] = order[k];
+      }
+    }
+    longOrder = longRows;
+    longSize = longRowsSize;
+  }
+
+  /**
+   * Checks whether a row lasts more than a day, which puts it in the long order.
+   */
+  private boolean isLong(int row) {
+    return columns.endMinute(row) - columns.startMinute(row) + 1 > MINUTES_PER_DAY;
+  }
+
+  private void growLookBack(EventColumns rows, int row) {
+    long minutes = rows.endMinute(row) - rows.startMinute(row) + 1;
+    if (minutes > MINUTES_PER_DAY) {
+      maxLongMinutes = Math.max(maxLongMinutes, minutes);
+    } else {
+      maxShortMinutes = Math.max(maxShortMinutes, minutes);
+    }
+  }
+
+  /**
+   * Copies the live rows to fresh columns in start order. Views of the old columns keep
+   * reading the old columns.
+   */
+  private void compact() {
+    EventColumns compacted = new EventColumns(strings, live);
+    maxShortMinutes = 0;
+    maxLongMinutes = 0;
+    for (int i = 0; i < orderSize; i++) {
+      compacted.appendRow(columns, order[i]);
+      order[i] = i;
+      growLookBack(compacted, i);
+    }
+    columns = compacted;
+    sortedRows = orderSize;
+    rehash(Math.max(32, Integer.highestOneBit(Math.max(1, live)) * 4));
+    rehashIds(Math.max(32, Integer.highestOneBit(Math.max(1, live)) * 4));
+  }
+
+  private void mergeSort(int[] rows, int[] buffer, int from, int to) {
+    if (to - from < 2) {
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    mergeSort(rows, buffer, from, mid);
+    mergeSort(rows, buffer, mid, to);
+    if (columns.compareRows(rows[mid - 1], rows[mid]) <= 0) {
+      return;
+    }
+    System.arraycopy(rows, from, buffer, from, to - from);
+    int i = from;
+    int j = mid;
+    for (int k = from; k < to; k++) {
+      if (j >= to || i < mid && columns.compareRows(buffer[i], buffer[j]) <= 0) {
+        rows[k] = buffer[i++];
+      } else {
+        rows[k] = buffer[j++];
+      }
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package calendar.model;
+
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * View of one row of event columns, reading each field from the columns when it is
+ * asked for. Two views are equal when their subject, start and end are equal, the same
+ * rule Event uses.
+ */
+class ColumnarEvent implements EventReadOnly {
+  private final EventColumns columns;
+  private final int row;
+
+  /**
+   * Creates a view of the given row.
+   *
+   * @param columns the columns holding the row
+   * @param row     the row of the event
+   */
+  ColumnarEvent(EventColumns columns, int row) {
+    this.columns = columns;
+    this.row = row;
+  }
+
+  @Override
+  public String getSubject() {
+    return columns.subject(row);
+  }
+
+  @Override
+  public LocalDateTime getStartDateTime() {
+    return columns.start(row);
+  }
+
+  @Override
+  public LocalDateTime getEndDateTime() {
+    return columns.end(row);
+  }
+
+  @Override
+  public String getDescription() {
+    return columns.description(row);
+  }
+
+  @Override
+  public Location getLocation() {
+    return columns.location(row);
+  }
+
+  @Override
+  public EventStatus getEventStatus() {
+    return columns.status(row);
+  }
+
+  @Override
+  public TypeOfEvent getEventType() {
+    return columns.type(row);
+  }
+
+  @Override
+  public UUID getId() {
+    return columns.id(row);
+  }
+
+  @Override
+  public boolean isAllDay() {
+    return columns.isAllDay(row);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ColumnarEvent)) {
+      return false;
+    }
+    ColumnarEvent other = (ColumnarEvent) o;
+    return getSubject().equals(other.getSubject())
+        && getStartDateTime().equals(other.getStartDateTime())
+        && getEndDateTime().equals(other.getEndDateTime());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getSubject(), getStartDateTime(), getEndDateTime());
+  }
+
+  @Override
+  public String toString() {
+    return new Event.EventBuilder(this).build().toString();
+  }
+}
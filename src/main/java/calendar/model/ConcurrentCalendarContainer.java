@@ -0,0 +1,127 @@
+package calendar.model;
+
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.EditCalendar;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Calendar container that can be used by several threads at once, such as the GUI and
+ * a background import, or several sessions.
+ * Calendars are registered in a concurrent map and each one is guarded by its own lock,
+ * so threads working on different calendars never wait for each other. Adding, renaming
+ * and changing the time zone of calendars are done one at a time.
+ * Work spanning several calendars takes their locks in a fixed order, so two threads
+ * copying between the same calendars in opposite directions cannot deadlock.
+ */
+public class ConcurrentCalendarContainer implements CalendarContainer {
+  private final Map<String, LockedCalendar> calendars;
+  private final Object registryLock;
+  private volatile LockedCalendar activeCalendar;
+
+  /**
+   * Creates a new container with no calendars.
+   */
+  public ConcurrentCalendarContainer() {
+    this.calendars = new ConcurrentHashMap<>();
+    this.registryLock = new Object();
+  }
+
+  @Override
+  public void addCalendar(String name, AdvancedCalendar advancedCalendar) {
+    synchronized (registryLock) {
+      if (calendars.putIfAbsent(name, LockedCalendar.of(advancedCalendar)) != null) {
+        throw new IllegalArgumentException("Calendar with name " + name + " already exists");
+      }
+    }
+  }
+
+  /**
+   * Updates the name or time zone of a calendar. The calendar's events are moved to the
+   * new time zone holding its write lock, so no other thread sees them half moved.
+   */
+  @Override
+  public void updateCalendar(String name, String property, String newValue) {
+    synchronized (registryLock) {
+      LockedCalendar oldCalendar = calendars.get(name);
+      if (oldCalendar == null) {
+        throw new IllegalArgumentException("Calendar with name " + name + " does not exist");
+      }
+      Map<String, EditCalendar> modifyCalendarMap = new HashMap<>();
+      modifyCalendarMap.put("name", new EditCalendarName());
+      modifyCalendarMap.put("timezone", new EditCalendarTimeZone());
+      EditCalendar editCall = modifyCalendarMap.get(property);
+      if (editCall == null) {
+        throw new IllegalArgumentException("Invalid property value for property " + property);
+      }
+      LockedCalendar newCalendar = oldCalendar.getLock().write(() -> {
+        LockedCalendar edited = LockedCalendar.of(editCall.edit(oldCalendar, newValue));
+        if (!edited.getName().equals(name) && calendars.containsKey(edited.getName())) {
+          throw new IllegalArgumentException(
+              "Calendar with the given name already exists" + newValue);
+        }
+        return edited;
+      });
+      calendars.remove(name);
+      calendars.put(newCalendar.getName(), newCalendar);
+      if (activeCalendar == oldCalendar) {
+        activeCalendar = newCalendar;
+      }
+    }
+  }
+
+  @Override
+  public AdvancedCalendar getActiveCalendar() {
+    LockedCalendar active = activeCalendar;
+    if (active == null) {
+      return calendars.get("default");
+    }
+    return active;
+  }
+
+  @Override
+  public void setActiveCalendar(String name) {
+    LockedCalendar calendar = calendars.get(name);
+    if (calendar == null) {
+      throw new IllegalArgumentException("Calendar with name " + name + " does not exist");
+    }
+    activeCalendar = calendar;
+  }
+
+  @Override
+  public Map<String, AdvancedCalendar> getCalendars() {
+    return new HashMap<>(calendars);
+  }
+
+  /**
+   * Runs the action holding the write locks of the given calendars, taken in the order
+   * the calendars were first added in and let go in reverse. Calendars that are not
+   * guarded by this container are left unlocked.
+   */
+  @Override
+  public <T> T withCalendars(Collection<AdvancedCalendar> involved, Supplier<T> action) {
+    List<CalendarLock> locks = new ArrayList<>();
+    for (AdvancedCalendar calendar : involved) {
+      if (calendar instanceof LockedCalendar
+          && !locks.contains(((LockedCalendar) calendar).getLock())) {
+        locks.add(((LockedCalendar) calendar).getLock());
+      }
+    }
+    locks.sort(Comparator.comparingLong(CalendarLock::getOrder));
+    return withLocks(locks, 0, action);
+  }
+
+  private static <T> T withLocks(List<CalendarLock> locks, int next, Supplier<T> action) {
+    if (next == locks.size()) {
+      return action.get();
+    }
+    return locks.get(next).write(() -> withLocks(locks, next + 1, action));
+  }
+}
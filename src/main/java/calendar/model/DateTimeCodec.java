@@ -0,0 +1,304 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parses and formats the fixed date and time formats used by the commands and exporters.
+ * A well formed value such as 2025-10-20T09:30 is read digit by digit without a regex or
+ * a formatter. Anything else is handed to the matching shared formatter, so values the
+ * fast path does not accept are resolved and rejected exactly as before, with the same
+ * DateTimeParseException.
+ */
+public final class DateTimeCodec {
+  /**
+   * Formatter for the yyyy-MM-dd'T'HH:mm date time format.
+   */
+  public static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern(
+      "yyyy-MM-dd'T'HH:mm");
+
+  /**
+   * Formatter for the yyyy-MM-dd date format.
+   */
+  public static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+  /**
+   * Formatter for the HH:mm time format.
+   */
+  public static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+  private static final DateTimeFormatter US_DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+  private static final DateTimeFormatter BASIC_DATE_TIME = DateTimeFormatter.ofPattern(
+      "yyyyMMdd'T'HHmmss");
+
+  private static final int DATE_LENGTH = 10;
+  private static final int TIME_LENGTH = 5;
+  private static final int DATE_TIME_LENGTH = DATE_LENGTH + 1 + TIME_LENGTH;
+
+  private DateTimeCodec() {
+  }
+
+  /**
+   * Parses a date time in the yyyy-MM-dd'T'HH:mm format.
+   *
+   * @param text the text to parse
+   * @return the parsed date time
+   * @throws java.time.format.DateTimeParseException if the text is not a valid date time
+   */
+  public static LocalDateTime parseDateTime(CharSequence text) {
+    LocalDateTime dateTime = tryParseDateTime(text);
+    return dateTime != null ? dateTime : LocalDateTime.parse(text, DATE_TIME);
+  }
+
+  /**
+   * Parses an ISO-8601 date time such as 2025-10-20T09:30 or 2025-10-20T09:30:15.
+   * Values without seconds take the fast path, the rest are parsed as LocalDateTime.parse does.
+   *
+   * @param text the text to parse
+   * @return the parsed date time
+   * @throws java.time.format.DateTimeParseException if the text is not a valid date time
+   */
+  public static LocalDateTime parseIsoDateTime(CharSequence text) {
+    LocalDateTime dateTime = tryParseDateTime(text);
+    return dateTime != null ? dateTime : LocalDateTime.parse(text);
+  }
+
+  /**
+   * Parses a date in the yyyy-MM-dd format.
+   *
+   * @param text the text to parse
+   * @return the parsed date
+   * @throws java.time.format.DateTimeParseException if the text is not a valid date
+   */
+  public static LocalDate parseDate(CharSequence text) {
+    LocalDate date = text.length() == DATE_LENGTH ? tryParseDate(text) : null;
+    return date != null ? date : LocalDate.parse(text, DATE);
+  }
+
+  /**
+   * Parses a time in the HH:mm format.
+   *
+   * @param text the text to parse
+   * @return the parsed time
+   * @throws java.time.format.DateTimeParseException if the text is not a valid time
+   */
+  public static LocalTime parseTime(CharSequence text) {
+    LocalTime time = text.length() == TIME_LENGTH ? tryParseTime(text, 0) : null;
+    return time != null ? time : LocalTime.parse(text, TIME);
+  }
+
+  /**
+   * Checks that the text has the shape dddd-dd-ddTdd:dd without checking the values.
+   *
+   * @param text the text to check
+   * @return true if every position holds a digit or the expected separator
+   */
+  public static boolean isDateTimeShape(CharSequence text) {
+    if (text.length() != DATE_TIME_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < DATE_TIME_LENGTH; i++) {
+      char c = text.charAt(i);
+      switch (i) {
+        case 4:
+        case 7:
+          if (c != '-') {
+            return false;
+          }
+          break;
+        case 10:
+          if (c != 'T') {
+            return false;
+          }
+          break;
+        case 13:
+          if (c != ':') {
+            return false;
+          }
+          break;
+        default:
+          if (c < '0' || c > '9') {
+            return false;
+          }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Formats a date in the yyyy-MM-dd format.
+   *
+   * @param date the date to format
+   * @return the formatted date
+   */
+  public static String formatDate(LocalDate date) {
+    if (!isFourDigitYear(date.getYear())) {
+      return date.format(DATE);
+    }
+    StringBuilder sb = new StringBuilder(DATE_LENGTH);
+    appendDigits(sb, date.getYear(), 4).append('-');
+    appendDigits(sb, date.getMonthValue(), 2).append('-');
+    return appendDigits(sb, date.getDayOfMonth(), 2).toString();
+  }
+
+  /**
+   * Appends a date in the MM/dd/yyyy format used by the CSV export.
+   *
+   * @param sb   the builder to append to
+   * @param date the date to append
+   * @return the builder
+   */
+  public static StringBuilder appendUsDate(StringBuilder sb, LocalDate date) {
+    if (!isFourDigitYear(date.getYear())) {
+      return sb.append(date.format(US_DATE));
+    }
+    appendDigits(sb, date.getMonthValue(), 2).append('/');
+    appendDigits(sb, date.getDayOfMonth(), 2).append('/');
+    return appendDigits(sb, date.getYear(), 4);
+  }
+
+  /**
+   * Appends a time in the 12-hour format used by the CSV export, such as 9:05AM or 12:30PM.
+   *
+   * @param sb   the builder to append to
+   * @param time the time to append
+   * @return the builder
+   */
+  public static StringBuilder appendTwelveHourTime(StringBuilder sb, LocalTime time) {
+    int hour = time.getHour();
+    if (hour == 0) {
+      sb.append(12);
+    } else if (hour <= 12) {
+      sb.append(hour);
+    } else {
+      sb.append(hour - 12);
+    }
+    sb.append(':');
+    appendDigits(sb, time.getMinute(), 2);
+    return sb.append(hour < 12 ? "AM" : "PM");
+  }
+
+  /**
+   * Appends a date time in the yyyyMMdd'T'HHmmss format used by the iCal export.
+   *
+   * @param sb       the builder to append to
+   * @param dateTime the date time to append
+   * @return the builder
+   */
+  public static StringBuilder appendBasicDateTime(StringBuilder sb, LocalDateTime dateTime) {
+    if (!isFourDigitYear(dateTime.getYear())) {
+      return sb.append(dateTime.format(BASIC_DATE_TIME));
+    }
+    appendDigits(sb, dateTime.getYear(), 4);
+    appendDigits(sb, dateTime.getMonthValue(), 2);
+    appendDigits(sb, dateTime.getDayOfMonth(), 2).append('T');
+    appendDigits(sb, dateTime.getHour(), 2);
+    appendDigits(sb, dateTime.getMinute(), 2);
+    return appendDigits(sb, dateTime.getSecond(), 2);
+  }
+
+  /**
+   * Parses a date time in the yyyyMMdd'T'HHmmss format used by iCal files.
+   *
+   * @param text the text to parse
+   * @return the parsed date time
+   * @throws java.time.format.DateTimeParseException if the text is not a valid date time
+   */
+  public static LocalDateTime parseBasicDateTime(CharSequence text) {
+    return LocalDateTime.parse(text, BASIC_DATE_TIME);
+  }
+
+  /**
+   * Parses a date in the yyyyMMdd format used by iCal files.
+   *
+   * @param text the text to parse
+   * @return the parsed date
+   * @throws java.time.format.DateTimeParseException if the text is not a valid date
+   */
+  public static LocalDate parseBasicDate(CharSequence text) {
+    return LocalDate.parse(text, DateTimeFormatter.BASIC_ISO_DATE);
+  }
+
+  /**
+   * Reads a date time whose every field is in range, or returns null so the caller falls
+   * back to the formatter, which also handles the values it resolves instead of rejecting.
+   */
+  private static LocalDateTime tryParseDateTime(CharSequence text) {
+    if (text.length() != DATE_TIME_LENGTH || text.charAt(DATE_LENGTH) != 'T') {
+      return null;
+    }
+    LocalDate date = tryParseDate(text);
+    LocalTime time = date == null ? null : tryParseTime(text, DATE_LENGTH + 1);
+    return time == null ? null : LocalDateTime.of(date, time);
+  }
+
+  private static LocalDate tryParseDate(CharSequence text) {
+    if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+      return null;
+    }
+    int year = digits(text, 0, 4);
+    int month = digits(text, 5, 2);
+    int day = digits(text, 8, 2);
+    // the formatters move an out of range day to the end of the month, so leave it to them
+    if (year < 1 || month < 1 || month > 12 || day < 1
+        || day > lengthOfMonth(year, month)) {
+      return null;
+    }
+    return LocalDate.of(year, month, day);
+  }
+
+  private static LocalTime tryParseTime(CharSequence text, int offset) {
+    if (text.charAt(offset + 2) != ':') {
+      return null;
+    }
+    int hour = digits(text, offset, 2);
+    int minute = digits(text, offset + 3, 2);
+    if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+      return null;
+    }
+    return LocalTime.of(hour, minute);
+  }
+
+  /**
+   * Returns the value of the digits at the position, or -1 if one of them is not a digit.
+   */
+  private static int digits(CharSequence text, int offset, int count) {
+    int value = 0;
+    for (int i = offset; i < offset + count; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        return leap ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  private static boolean isFourDigitYear(int year) {
+    return year >= 1 && year <= 9999;
+  }
+
+  private static StringBuilder appendDigits(StringBuilder sb, int value, int width) {
+    for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+      sb.append((char) ('0' + value / divisor % 10));
+    }
+    return sb;
+  }
+}
@@ -5,7 +5,6 @@ import calendar.model.datatypes.Location;
 import calendar.model.datatypes.TypeOfEvent;
 import calendar.model.interfaces.EventReadOnly;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -172,7 +171,6 @@ public class Event implements EventReadOnly {
    */
 
   public static class EventBuilder {
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
     private String subject;
     private LocalDateTime startDateTime;
     private LocalDateTime endDateTime;
@@ -199,7 +197,7 @@ public class Event implements EventReadOnly {
       this.location = Location.UNKNOWN;
       this.eventStatus = EventStatus.UNKNOWN;
       this.eventType = TypeOfEvent.SINGLE;
-      this.eventId = UUID.randomUUID();
+      this.eventId = null;
       this.allDay = false;
     }
 
@@ -295,10 +293,15 @@ public class Event implements EventReadOnly {
 
     /**
      * Builds and returns a instance of Event.
+     * A random uuid is drawn here, and only when none was set, since drawing one is
+     * costly for events that are read back with their stored uuid.
      *
      * @return a fully built Event object.
      */
     public EventReadOnly build() {
+      if (this.eventId == null) {
+        this.eventId = UUID.randomUUID();
+      }
       return new Event(this.subject, this.startDateTime, this.endDateTime, this.description,
           this.location, this.eventStatus, this.eventType, this.eventId, this.allDay);
     }
@@ -0,0 +1,397 @@
+package calendar.model;
+
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Events stored column by column in primitive arrays, one row per event.
+ * Start and end are epoch minutes, subject and description are ids into a table of
+ * distinct strings, the id is split into two longs and the enums are byte ordinals.
+ * Times with seconds are rare, so their exact values are kept aside in a map.
+ * Rows are only ever appended. A removed row is marked dead but keeps its values, so a
+ * view of it still reads the event it was handed out for.
+ */
+class EventColumns {
+  static final int NONE = -1;
+  private static final byte LIVE = 1;
+  private static final byte ALL_DAY = 2;
+  private static final byte EXACT = 4;
+  private static final Location[] LOCATIONS = Location.values();
+  private static final EventStatus[] STATUSES = EventStatus.values();
+  private static final TypeOfEvent[] TYPES = TypeOfEvent.values();
+
+  private final Strings strings;
+  private final Map<Integer, LocalDateTime[]> exactTimes;
+  private long[] startMinutes;
+  private long[] endMinutes;
+  private int[] subjects;
+  private int[] descriptions;
+  private long[] idHigh;
+  private long[] idLow;
+  private byte[] flags;
+  private byte[] locations;
+  private byte[] statuses;
+  private byte[] types;
+  private int size;
+
+  /**
+   * Creates empty columns with room for the given number of rows.
+   *
+   * @param strings  the string table shared with earlier columns of the same calendar
+   * @param capacity the number of rows to allocate up front
+   */
+  EventColumns(Strings strings, int capacity) {
+    this.strings = strings;
+    this.exactTimes = new HashMap<>();
+    int rows = Math.max(capacity, 16);
+    this.startMinutes = new long[rows];
+    this.endMinutes = new long[rows];
+    this.subjects = new int[rows];
+    this.descriptions = new int[rows];
+    this.idHigh = new long[rows];
+    this.idLow = new long[rows];
+    this.flags = new byte[rows];
+    this.locations = new byte[rows];
+    this.statuses = new byte[rows];
+    this.types = new byte[rows];
+  }
+
+  /**
+   * Appends the event as a new live row.
+   *
+   * @param event the event to store
+   * @return the row of the event
+   */
+  int append(EventReadOnly event) {
+    if (size == startMinutes.length) {
+      grow();
+    }
+    int row = size++;
+    LocalDateTime start = event.getStartDateTime();
+    LocalDateTime end = event.getEndDateTime();
+    startMinutes[row] = minuteOf(start);
+    endMinutes[row] = minuteOf(end);
+    byte rowFlags = LIVE;
+    if (!onMinute(start) || !onMinute(end)) {
+      exactTimes.put(row, new LocalDateTime[] {start, end});
+      rowFlags |= EXACT;
+    }
+    if (event.isAllDay()) {
+      rowFlags |= ALL_DAY;
+    }
+    flags[row] = rowFlags;
+    subjects[row] = strings.intern(event.getSubject());
+    descriptions[row] = strings.intern(event.getDescription());
+    idHigh[row] = event.getId().getMostSignificantBits();
+    idLow[row] = event.getId().getLeastSignificantBits();
+    locations[row] = ordinalOf(event.getLocation());
+    statuses[row] = ordinalOf(event.getEventStatus());
+    types[row] = ordinalOf(event.getEventType());
+    return row;
+  }
+
+  /**
+   * Copies a row of other columns sharing the same string table into a new row.
+   *
+   * @param other the columns to copy from
+   * @param from  the row to copy
+   */
+  void appendRow(EventColumns other, int from) {
+    if (size == startMinutes.length) {
+      grow();
+    }
+    int row = size++;
+    startMinutes[row] = other.startMinutes[from];
+    endMinutes[row] = other.endMinutes[from];
+    subjects[row] = other.subjects[from];
+    descriptions[row] = other.descriptions[from];
+    idHigh[row] = other.idHigh[from];
+    idLow[row] = other.idLow[from];
+    flags[row] = other.flags[from];
+    locations[row] = other.locations[from];
+    statuses[row] = other.statuses[from];
+    types[row] = other.types[from];
+    if ((flags[row] & EXACT) != 0) {
+      exactTimes.put(row, other.exactTimes.get(from));
+    }
+  }
+
+  /**
+   * Marks the row as removed, keeping its values for any view still holding it.
+   *
+   * @param row the row to remove
+   */
+  void kill(int row) {
+    flags[row] &= ~LIVE;
+  }
+
+  int size() {
+    return size;
+  }
+
+  Strings strings() {
+    return strings;
+  }
+
+  boolean isLive(int row) {
+    return (flags[row] & LIVE) != 0;
+  }
+
+  long startMinute(int row) {
+    return startMinutes[row];
+  }
+
+  long endMinute(int row) {
+    return endMinutes[row];
+  }
+
+  int subjectId(int row) {
+    return subjects[row];
+  }
+
+  LocalDateTime start(int row) {
+    if ((flags[row] & EXACT) != 0) {
+      return exactTimes.get(row)[0];
+    }
+    return dateTimeOf(startMinutes[row]);
+  }
+
+  LocalDateTime end(int row) {
+    if ((flags[row] & EXACT) != 0) {
+      return exactTimes.get(row)[1];
+    }
+    return dateTimeOf(endMinutes[row]);
+  }
+
+  String subject(int row) {
+    return strings.get(subjects[row]);
+  }
+
+  String description(int row) {
+    return strings.get(descriptions[row]);
+  }
+
+  boolean hasId(int row, long high, long low) {
+    return idHigh[row] == high && idLow[row] == low;
+  }
+
+  UUID id(int row) {
+    return new UUID(idHigh[row], idLow[row]);
+  }
+
+  boolean isAllDay(int row) {
+    return (flags[row] & ALL_DAY) != 0;
+  }
+
+  Location location(int row) {
+    return valueAt(LOCATIONS, locations[row]);
+  }
+
+  EventStatus status(int row) {
+    return valueAt(STATUSES, statuses[row]);
+  }
+
+  TypeOfEvent type(int row) {
+    return valueAt(TYPES, types[row]);
+  }
+
+  /**
+   * Compares the start of the row with a date time whose epoch minute is given.
+   * Only rows or times with seconds need the full date times compared.
+   *
+   * @param row    the row to compare
+   * @param minute the epoch minute of the date time
+   * @param time   the date time
+   * @return negative, zero or positive as the row starts before, at or after the time
+   */
+  int compareStart(int row, long minute, LocalDateTime time) {
+    int byMinute = Long.compare(startMinutes[row], minute);
+    if (byMinute != 0 || ((flags[row] & EXACT) == 0 && onMinute(time))) {
+      return byMinute;
+    }
+    return start(row).compareTo(time);
+  }
+
+  /**
+   * Compares the end of the row with a date time whose epoch minute is given.
+   *
+   * @param row    the row to compare
+   * @param minute the epoch minute of the date time
+   * @param time   the date time
+   * @return negative, zero or positive as the row ends before, at or after the time
+   */
+  int compareEnd(int row, long minute, LocalDateTime time) {
+    int byMinute = Long.compare(endMinutes[row], minute);
+    if (byMinute != 0 || ((flags[row] & EXACT) == 0 && onMinute(time))) {
+      return byMinute;
+    }
+    return end(row).compareTo(time);
+  }
+
+  /**
+   * Orders two rows by start, then by row so that earlier rows come first.
+   *
+   * @param row   a row
+   * @param other another row
+   * @return negative, zero or positive as the first row sorts before, with or after the other
+   */
+  int compareRows(int row, int other) {
+    int byStart = Long.compare(startMinutes[row], startMinutes[other]);
+    if (byStart == 0 && ((flags[row] | flags[other]) & EXACT) != 0) {
+      byStart = start(row).compareTo(start(other));
+    }
+    return byStart != 0 ? byStart : Integer.compare(row, other);
+  }
+
+  /**
+   * Checks whether the row holds an event with the same subject, start and end as the
+   * given one, the rule used by Event equality.
+   *
+   * @param row   the row to check
+   * @param event the event to compare with
+   * @return true if the row is the same event
+   */
+  boolean sameEvent(int row, EventReadOnly event) {
+    LocalDateTime start = event.getStartDateTime();
+    LocalDateTime end = event.getEndDateTime();
+    return compareStart(row, minuteOf(start), start) == 0
+        && compareEnd(row, minuteOf(end), end) == 0
+        && strings.get(subjects[row]).equals(event.getSubject());
+  }
+
+  /**
+   * Returns the hash of a row, equal to keyHash of every event the row is the same as.
+   *
+   * @param row the row to hash
+   * @return the hash of subject, start and end
+   */
+  int rowHash(int row) {
+    return hash(subjects[row], startMinutes[row], endMinutes[row]);
+  }
+
+  /**
+   * Returns the hash of an event for looking it up among the rows.
+   *
+   * @param event the event to hash
+   * @return the hash, or 0 if no row can hold the event since its subject is unknown
+   */
+  int keyHash(EventReadOnly event) {
+    int subject = strings.find(event.getSubject());
+    if (subject == NONE) {
+      return 0;
+    }
+    return hash(subject, minuteOf(event.getStartDateTime()), minuteOf(event.getEndDateTime()));
+  }
+
+  /**
+   * Returns the hash of the id of a row, equal to idHash of the id.
+   *
+   * @param row the row to hash
+   * @return the hash of the id
+   */
+  int rowIdHash(int row) {
+    return idHash(idHigh[row], idLow[row]);
+  }
+
+  /**
+   * Returns the hash of an id for looking up the rows that carry it.
+   *
+   * @param high the most significant bits of the id
+   * @param low  the least significant bits of the id
+   * @return the hash of the id
+   */
+  static int idHash(long high, long low) {
+    long h = high * 0x9E3779B97F4A7C15L ^ low;
+    h ^= h >>> 31;
+    return (int) (h ^ (h >>> 32)) & Integer.MAX_VALUE;
+  }
+
+  static long minuteOf(LocalDateTime dateTime) {
+    return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+  }
+
+  static LocalDateTime dateTimeOf(long minute) {
+    return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+  }
+
+  private static boolean onMinute(LocalDateTime dateTime) {
+    return dateTime.getSecond() == 0 && dateTime.getNano() == 0;
+  }
+
+  private static int hash(int subject, long startMinute, long endMinute) {
+    long h = subject * 0x9E3779B97F4A7C15L + startMinute * 31 + endMinute;
+    h ^= h >>> 31;
+    int result = (int) (h ^ (h >>> 32)) & Integer.MAX_VALUE;
+    return result == 0 ? 1 : result;
+  }
+
+  private void grow() {
+    int rows = startMinutes.length * 2;
+    startMinutes = Arrays.copyOf(startMinutes, rows);
+    endMinutes = Arrays.copyOf(endMinutes, rows);
+    subjects = Arrays.copyOf(subjects, rows);
+    descriptions = Arrays.copyOf(descriptions, rows);
+    idHigh = Arrays.copyOf(idHigh, rows);
+    idLow = Arrays.copyOf(idLow, rows);
+    flags = Arrays.copyOf(flags, rows);
+    locations = Arrays.copyOf(locations, rows);
+    statuses = Arrays.copyOf(statuses, rows);
+    types = Arrays.copyOf(types, rows);
+  }
+
+  private static byte ordinalOf(Enum<?> value) {
+    return (byte) (value == null ? NONE : value.ordinal());
+  }
+
+  private static <T> T valueAt(T[] values, byte ordinal) {
+    return ordinal == NONE ? null : values[ordinal];
+  }
+
+  /**
+   * Table of the distinct strings of a calendar, each stored once and referred to by id.
+   * Strings are never dropped, since subjects and descriptions repeat far more often
+   * than they go out of use. New strings are passed through the calendar's string pool
+   * first, so the pool reports the duplicates the table saves.
+   */
+  static class Strings {
+    private final StringPool pool;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    Strings(StringPool pool) {
+      this.pool = pool;
+    }
+
+    int intern(String value) {
+      if (value == null) {
+        return NONE;
+      }
+      String pooled = pool.intern(value);
+      Integer id = ids.get(pooled);
+      if (id == null) {
+        id = values.size();
+        ids.put(pooled, id);
+        values.add(pooled);
+      }
+      return id;
+    }
+
+    int find(String value) {
+      return value == null ? NONE : ids.getOrDefault(value, NONE);
+    }
+
+    String get(int id) {
+      return id == NONE ? null : values.get(id);
+    }
+  }
+}
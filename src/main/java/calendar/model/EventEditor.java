@@ -0,0 +1,236 @@
+package calendar.model;
+
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.ModifyEvent;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Applies a property edit to events of a calendar.
+ * Builds the edited version of every event with the matching ModifyEvent and hands
+ * the old and new versions to the calendar, which decides how to store the change.
+ * When the edit covers every occurrence of a series rule from some date on, the rule is
+ * split at that date and its part from then on rewritten instead, so editing a whole
+ * series costs the same however many times it repeats.
+ */
+class EventEditor {
+  private final CalendarEditable calendar;
+  private final BiConsumer<EventReadOnly, EventReadOnly> update;
+  private final SeriesRules rules;
+  private final BiConsumer<EventSeries, List<EventSeries>> replace;
+
+  /**
+   * Creates an editor for the given calendar.
+   *
+   * @param calendar the calendar the events belong to
+   * @param update   replaces an event with its edited version
+   * @param rules    the series rules of the calendar
+   * @param replace  replaces a series rule with the rules that take its place
+   */
+  EventEditor(CalendarEditable calendar, BiConsumer<EventReadOnly, EventReadOnly> update,
+              SeriesRules rules, BiConsumer<EventSeries, List<EventSeries>> replace) {
+    this.calendar = calendar;
+    this.update = update;
+    this.rules = rules;
+    this.replace = replace;
+  }
+
+  /**
+   * Edits one or more existing events by modifying a specified property.
+   *
+   * @param events   the list of events to modify
+   * @param property the property to edit like subject
+   * @param newValue the new value to assign to the property
+   * @return the edited events
+   * @throws IllegalArgumentException      if no events are given
+   * @throws UnsupportedOperationException if the property name is invalid
+   */
+  List<EventReadOnly> edit(List<EventReadOnly> events, String property, String newValue) {
+    if (events.isEmpty()) {
+      throw new IllegalArgumentException("Event with given details doesn't exist");
+    }
+    if (events.size() == 1) {
+      return editSingleEvent(events, property, newValue);
+    }
+    return editMultipleEvents(events, property, newValue);
+  }
+
+  /**
+   * Edits multiple events in a batch by modifying the specified property.
+   *
+   * @param events   the list of events to modify
+   * @param property the property name to edit
+   * @param newValue the new value for the property
+   * @throws UnsupportedOperationException if the property is invalid
+   */
+  private List<EventReadOnly> editMultipleEvents(List<EventReadOnly> events,
+                                                 String property, String newValue) {
+    Map<String, ModifyEvent> modifyEvents = populateModifyEvents();
+    ModifyEvent modifyEvent = modifyEvents.getOrDefault(property.toLowerCase(), null);
+    if (modifyEvent == null) {
+      throw new UnsupportedOperationException("Invalid property value to edit: " + property);
+    }
+    UUID uuid = UUID.randomUUID();
+    List<EventReadOnly> editedEvents = new ArrayList<>();
+    List<EventReadOnly> remaining = rewriteCoveredRules(events, modifyEvents, modifyEvent,
+        property, newValue, uuid, editedEvents);
+    for (EventReadOnly event : remaining) {
+      EventReadOnly updatedEvent = editOne(modifyEvents, modifyEvent, event, property,
+          newValue, uuid);
+      update.accept(event, updatedEvent);
+      editedEvents.add(updatedEvent);
+    }
+    return editedEvents;
+  }
+
+  /**
+   * Rewrites the series rules whose occurrences from the first edited one on are all
+   * being edited. The part of such a rule before that date stays as it was and the part
+   * from then on becomes a rule repeating the edited first occurrence, so no occurrence
+   * of it is stored as an override.
+   *
+   * @param editedEvents receives the occurrences of the rewritten rules
+   * @return the events still to be edited one by one
+   */
+  private List<EventReadOnly> rewriteCoveredRules(List<EventReadOnly> events,
+                                                  Map<String, ModifyEvent> modifyEvents,
+                                                  ModifyEvent modifyEvent, String property,
+                                                  String newValue, UUID uuid,
+                                                  List<EventReadOnly> editedEvents) {
+    Map<EventSeries, List<EventReadOnly>> byRule = new LinkedHashMap<>();
+    for (EventReadOnly event : events) {
+      if (event.getEventType() != TypeOfEvent.SERIES) {
+        continue;
+      }
+      for (EventSeries rule : rules.withId(event.getId())) {
+        if (rule.generates(event)) {
+          byRule.computeIfAbsent(rule, k -> new ArrayList<>()).add(event);
+          break;
+        }
+      }
+    }
+    Set<EventReadOnly> rewritten = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Map.Entry<EventSeries, List<EventReadOnly>> entry : byRule.entrySet()) {
+      EventSeries rule = entry.getKey();
+      List<EventReadOnly> covered = entry.getValue();
+      TreeSet<LocalDate> dates = new TreeSet<>();
+      for (EventReadOnly occurrence : covered) {
+        dates.add(occurrence.getStartDateTime().toLocalDate());
+      }
+      LocalDate from = dates.first();
+      if (dates.size() != rule.occurrenceCountFrom(from)) {
+        continue;
+      }
+      EventReadOnly first = rule.occurrenceOn(from);
+      EventReadOnly edited = editOne(modifyEvents, modifyEvent, first, property, newValue,
+          uuid);
+      if (!edited.getStartDateTime().toLocalDate().equals(from)) {
+        continue;
+      }
+      List<EventSeries> replacement = new ArrayList<>();
+      EventSeries head = rule.until(from);
+      if (head.occurrenceCount() > 0) {
+        replacement.add(head);
+      }
+      EventSeries tail = rule.rewrittenFrom(from, edited);
+      replacement.add(tail);
+      replace.accept(rule, replacement);
+      tail.forEachOccurrence(editedEvents::add);
+      rewritten.addAll(covered);
+    }
+    List<EventReadOnly> remaining = new ArrayList<>();
+    for (EventReadOnly event : events) {
+      if (!rewritten.contains(event)) {
+        remaining.add(event);
+      }
+    }
+    return remaining;
+  }
+
+  private EventReadOnly editOne(Map<String, ModifyEvent> modifyEvents,
+                                ModifyEvent modifyEvent, EventReadOnly event,
+                                String property, String newValue, UUID uuid) {
+    if (property.equalsIgnoreCase("start")) {
+      EventReadOnly updatedEvent = modifyEvents.get("id").edit(calendar, event,
+          uuid.toString());
+      String currStart = updatedEvent.getStartDateTime().toString();
+      String newStartTime = newValue.split("T")[1];
+      String newStratDateTime = currStart.split("T")[0] + "T" + newStartTime;
+      return modifyEvent.edit(calendar, updatedEvent, newStratDateTime);
+    } else if (property.equalsIgnoreCase("end")) {
+      String currEnd = event.getEndDateTime().toString();
+      String newEndTime = newValue.split("T")[1];
+      String newEndDateTime = currEnd.split("T")[0] + "T" + newEndTime;
+      return modifyEvent.edit(calendar, event, newEndDateTime);
+    }
+    return modifyEvent.edit(calendar, event, newValue);
+  }
+
+  /**
+   * Edits a single event's property.
+   * and if necessary, changes its type from series to single.
+   *
+   * @param events   list containing events.
+   * @param property the property to modify.
+   * @param newValue the value for the property.
+   * @throws UnsupportedOperationException if the property is invalid
+   */
+  private List<EventReadOnly> editSingleEvent(List<EventReadOnly> events,
+                                              String property, String newValue) {
+    Map<String, ModifyEvent> modifyEvents = populateModifyEvents();
+    ModifyEvent modifyEvent = modifyEvents.getOrDefault(property.toLowerCase(), null);
+    if (modifyEvent == null) {
+      throw new UnsupportedOperationException("Invalid property value to edit: " + property);
+    }
+
+    List<EventReadOnly> editedEvents = new ArrayList<>();
+
+    for (EventReadOnly event : events) {
+      EventReadOnly updatedEvent = event;
+
+      if (property.equalsIgnoreCase("start")
+          && event.getEventType() == TypeOfEvent.SERIES) {
+        updatedEvent = new Event.EventBuilder(event)
+            .setEventId(UUID.randomUUID())
+            .setEventType(TypeOfEvent.SINGLE)
+            .build();
+      }
+      updatedEvent = modifyEvent.edit(calendar, updatedEvent, newValue);
+      update.accept(event, updatedEvent);
+      editedEvents.add(updatedEvent);
+    }
+    return editedEvents;
+  }
+
+  /**
+   * Populates a map of property modification handlers used.
+   * call and modify events for the given property.
+   *
+   * @return a map linking property names to their respective modification classes.
+   */
+  private Map<String, ModifyEvent> populateModifyEvents() {
+    Map<String, ModifyEvent> modifyEvents = new HashMap<>();
+
+    modifyEvents.put("subject", new ModifySubject());
+    modifyEvents.put("start", new ModifyStartDate());
+    modifyEvents.put("end", new ModifyEndDate());
+    modifyEvents.put("location", new ModifyLocation());
+    modifyEvents.put("description", new ModifyDescription());
+    modifyEvents.put("status", new ModifyStatus());
+    modifyEvents.put("id", new ModifyId());
+
+    return modifyEvents;
+  }
+}
@@ -0,0 +1,52 @@
+package calendar.model;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Identity of an event inside a calendar.
+ * Two events are the same event if they share the subject, start date/time and
+ * end date/time, which is the rule used by Event equals and hashCode. The key lets
+ * the calendar check that rule with a hash lookup for any EventReadOnly.
+ */
+final class EventKey {
+  private final String subject;
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
+
+  private EventKey(String subject, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    this.subject = subject;
+    this.startDateTime = startDateTime;
+    this.endDateTime = endDateTime;
+  }
+
+  /**
+   * Returns the key of the given event.
+   *
+   * @param event the event to build the key for
+   * @return the key made of subject, start and end.
+   */
+  static EventKey of(EventReadOnly event) {
+    return new EventKey(event.getSubject(), event.getStartDateTime(), event.getEndDateTime());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EventKey)) {
+      return false;
+    }
+    EventKey other = (EventKey) o;
+    return subject.equals(other.subject)
+        && startDateTime.equals(other.startDateTime)
+        && endDateTime.equals(other.endDateTime);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(subject, startDateTime, endDateTime);
+  }
+}
@@ -0,0 +1,512 @@
+package calendar.model;
+
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Represents a recurring event series stored as a single rule.
+ * Occurrences are built on demand from the rule, so a series costs the same memory
+ * however many times it repeats. Every occurrence is a SERIES event carrying the
+ * series id, which makes it equal to the event that used to be stored for that date.
+ * A series never changes once built. Removing an occurrence makes a new series whose
+ * exceptions share all but one path of the old series' persistent set, so it costs
+ * O(log n) and versions holding the old series keep seeing it as it was.
+ */
+public class EventSeries implements EventSeriesReadOnly {
+  private final String subject;
+  private final String description;
+  private final Location location;
+  private final EventStatus eventStatus;
+  private final UUID seriesId;
+  private final boolean allDay;
+  private final LocalTime startTime;
+  private final Duration duration;
+  private final Set<DayOfWeek> repeatDays;
+  private final LocalDate firstDate;
+  private final LocalDate lastDate;
+  private final PersistentTreeMap<LocalDate, Boolean> exceptions;
+
+  /**
+   * Private constructs a series with the given parameters.
+   *
+   * @param subject     the title of every occurrence
+   * @param description the description of every occurrence
+   * @param location    the location of every occurrence
+   * @param status      the status of every occurrence
+   * @param seriesId    UUID shared by all the occurrences
+   * @param allDay      true if the occurrences are all day events
+   * @param startTime   the time of day every occurrence starts
+   * @param duration    the duration of every occurrence
+   * @param repeatDays  the week days the series repeats on
+   * @param firstDate   the first date an occurrence can start on
+   * @param lastDate    the last date an occurrence can start on
+   * @param exceptions  the dates that are not part of the series anymore
+   */
+  private EventSeries(String subject, String description, Location location,
+                      EventStatus status, UUID seriesId, boolean allDay, LocalTime startTime,
+                      Duration duration, Set<DayOfWeek> repeatDays, LocalDate firstDate,
+                      LocalDate lastDate, PersistentTreeMap<LocalDate, Boolean> exceptions) {
+    if (duration.isNegative()) {
+      throw new IllegalArgumentException("endDateTime cannot be before startDateTime");
+    }
+    if (repeatDays.isEmpty()) {
+      throw new IllegalArgumentException("Series must repeat on at least one day");
+    }
+    this.subject = subject;
+    this.description = description;
+    this.location = location;
+    this.eventStatus = status;
+    this.seriesId = seriesId;
+    this.allDay = allDay;
+    this.startTime = startTime;
+    this.duration = duration;
+    this.repeatDays = Collections.unmodifiableSet(EnumSet.copyOf(repeatDays));
+    this.firstDate = firstDate;
+    this.lastDate = lastDate;
+    this.exceptions = exceptions;
+  }
+
+  @Override
+  public UUID getId() {
+    return this.seriesId;
+  }
+
+  @Override
+  public String getSubject() {
+    return this.subject;
+  }
+
+  @Override
+  public String getDescription() {
+    return this.description;
+  }
+
+  @Override
+  public Location getLocation() {
+    return this.location;
+  }
+
+  @Override
+  public EventStatus getEventStatus() {
+    return this.eventStatus;
+  }
+
+  @Override
+  public boolean isAllDay() {
+    return this.allDay;
+  }
+
+  @Override
+  public LocalTime getStartTime() {
+    return this.startTime;
+  }
+
+  @Override
+  public Duration getDuration() {
+    return this.duration;
+  }
+
+  @Override
+  public Set<DayOfWeek> getRepeatDays() {
+    return this.repeatDays;
+  }
+
+  @Override
+  public LocalDate getFirstDate() {
+    return this.firstDate;
+  }
+
+  @Override
+  public LocalDate getLastDate() {
+    return this.lastDate;
+  }
+
+  @Override
+  public Set<LocalDate> getExceptions() {
+    return this.exceptions.asMap().keySet();
+  }
+
+  @Override
+  public boolean occursOn(LocalDate date) {
+    return !date.isBefore(firstDate) && !date.isAfter(lastDate)
+        && repeatDays.contains(date.getDayOfWeek())
+        && exceptions.get(date) == null;
+  }
+
+  @Override
+  public long occurrenceCount() {
+    return countRepeatDays(firstDate, lastDate, repeatDays) - exceptions.size();
+  }
+
+  @Override
+  public List<EventReadOnly> occurrencesBetween(LocalDate from, LocalDate to) {
+    List<EventReadOnly> result = new ArrayList<>();
+    LocalDate current = from.isBefore(firstDate) ? firstDate : from;
+    LocalDate end = to.isAfter(lastDate) ? lastDate : to;
+    while (!current.isAfter(end)) {
+      if (occursOn(current)) {
+        result.add(occurrenceOn(current));
+      }
+      current = current.plusDays(1);
+    }
+    return result;
+  }
+
+  @Override
+  public List<EventReadOnly> occurrencesOverlapping(LocalDateTime startDateTime,
+                                                    LocalDateTime endDateTime) {
+    LocalDate from = startDateTime.minus(duration).toLocalDate();
+    List<EventReadOnly> result = new ArrayList<>();
+    for (EventReadOnly occurrence : occurrencesBetween(from, endDateTime.toLocalDate())) {
+      if (!occurrence.getEndDateTime().isBefore(startDateTime)
+          && !occurrence.getStartDateTime().isAfter(endDateTime)) {
+        result.add(occurrence);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void forEachOccurrence(Consumer<EventReadOnly> consumer) {
+    LocalDate current = firstDate;
+    while (!current.isAfter(lastDate)) {
+      if (occursOn(current)) {
+        consumer.accept(occurrenceOn(current));
+      }
+      current = current.plusDays(1);
+    }
+  }
+
+  /**
+   * Returns the first date on or after the given date that has an occurrence.
+   *
+   * @param date the date to start looking from
+   * @return the next occurrence date, or null if the series has no more occurrences.
+   */
+  LocalDate nextOccurrenceDate(LocalDate date) {
+    LocalDate current = date.isBefore(firstDate) ? firstDate : date;
+    while (!current.isAfter(lastDate)) {
+      if (occursOn(current)) {
+        return current;
+      }
+      current = current.plusDays(1);
+    }
+    return null;
+  }
+
+  /**
+   * Builds the occurrence of this series that starts on the given date.
+   * The caller is expected to check occursOn first.
+   *
+   * @param date the date of the occurrence
+   * @return the occurrence as a SERIES event.
+   */
+  EventReadOnly occurrenceOn(LocalDate date) {
+    LocalDateTime start = LocalDateTime.of(date, startTime);
+    return new Event.EventBuilder(subject, start)
+        .setEndDateTime(start.plus(duration))
+        .setDescription(description)
+        .setLocation(location)
+        .setEventStatus(eventStatus)
+        .setEventType(TypeOfEvent.SERIES)
+        .setEventId(seriesId)
+        .setAllDay(allDay)
+        .build();
+  }
+
+  /**
+   * Checks whether the given event is one of the occurrences of this series.
+   * Uses the same rule as Event equality, that is subject, start and end.
+   *
+   * @param event the event to check
+   * @return true if the series generates an event equal to the given one.
+   */
+  boolean generates(EventReadOnly event) {
+    LocalDate date = event.getStartDateTime().toLocalDate();
+    return subject.equals(event.getSubject())
+        && startTime.equals(event.getStartDateTime().toLocalTime())
+        && event.getEndDateTime().equals(event.getStartDateTime().plus(duration))
+        && occursOn(date);
+  }
+
+  /**
+   * Returns this series without the occurrence on the given date.
+   *
+   * @param date the date of the occurrence to remove
+   * @return the new series, with the same id
+   */
+  EventSeries withException(LocalDate date) {
+    return new EventSeries(subject, description, location, eventStatus, seriesId, allDay,
+        startTime, duration, repeatDays, firstDate, lastDate, exceptions.plus(date, true));
+  }
+
+  /**
+   * Counts the occurrences on or after the given date.
+   *
+   * @param date the first date to count from
+   * @return the number of occurrences from that date on
+   */
+  long occurrenceCountFrom(LocalDate date) {
+    LocalDate from = date.isBefore(firstDate) ? firstDate : date;
+    long[] skipped = new long[1];
+    exceptions.forEachBetween(from, null, (day, excluded) -> skipped[0]++);
+    return countRepeatDays(from, lastDate, repeatDays) - skipped[0];
+  }
+
+  /**
+   * Returns the part of this series before the given date, with the same id.
+   *
+   * @param date the first date the new series no longer covers
+   * @return the shortened series, with no occurrences if the date is its first date
+   */
+  EventSeries until(LocalDate date) {
+    LocalDate last = date.minusDays(1);
+    return new EventSeries(subject, description, location, eventStatus, seriesId, allDay,
+        startTime, duration, repeatDays, firstDate, last, exceptionsBetween(null, last));
+  }
+
+  /**
+   * Returns the part of this series from the given date on, rewritten to repeat the
+   * given edited occurrence. Subject, description, location, status, id, times and
+   * all day flag are taken from the occurrence, and the repeat days, last date and
+   * exceptions from this series.
+   *
+   * @param date       the first date the new series covers
+   * @param occurrence the occurrence on that date with the edit applied
+   * @return the new series
+   * @throws IllegalArgumentException if the edited occurrence ends before it starts
+   */
+  EventSeries rewrittenFrom(LocalDate date, EventReadOnly occurrence) {
+    return new EventSeries(occurrence.getSubject(), occurrence.getDescription(),
+        occurrence.getLocation(), occurrence.getEventStatus(), occurrence.getId(),
+        occurrence.isAllDay(), occurrence.getStartDateTime().toLocalTime(),
+        Duration.between(occurrence.getStartDateTime(), occurrence.getEndDateTime()),
+        repeatDays, date, lastDate, exceptionsBetween(date, null));
+  }
+
+  private PersistentTreeMap<LocalDate, Boolean> exceptionsBetween(LocalDate from,
+                                                                  LocalDate to) {
+    List<LocalDate> kept = new ArrayList<>();
+    exceptions.forEachBetween(from, to, (day, excluded) -> kept.add(day));
+    return kept.size() == exceptions.size() ? exceptions
+        : PersistentTreeMap.ofSorted(kept, Collections.nCopies(kept.size(), true));
+  }
+
+  private static long countRepeatDays(LocalDate from, LocalDate to, Set<DayOfWeek> days) {
+    if (to.isBefore(from)) {
+      return 0;
+    }
+    long totalDays = ChronoUnit.DAYS.between(from, to) + 1;
+    long count = (totalDays / 7) * days.size();
+    LocalDate current = from.plusDays((totalDays / 7) * 7);
+    while (!current.isAfter(to)) {
+      if (days.contains(current.getDayOfWeek())) {
+        count++;
+      }
+      current = current.plusDays(1);
+    }
+    return count;
+  }
+
+  /**
+   * A builder class used to build and create an EventSeries.
+   * The end of the series is given either as a last date or as a number of occurrences.
+   */
+  public static class EventSeriesBuilder {
+    private String subject;
+    private LocalDateTime firstStart;
+    private Duration duration;
+    private String description;
+    private Location location;
+    private EventStatus eventStatus;
+    private UUID seriesId;
+    private boolean allDay;
+    private Set<DayOfWeek> repeatDays;
+    private LocalDate lastDate;
+    private int occurrences;
+    private PersistentTreeMap<LocalDate, Boolean> exceptions;
+
+    /**
+     * We first initialize a series builder with the mandatory fields.
+     *
+     * @param subject    the subject of every occurrence
+     * @param firstStart the start date and time the series repeats from
+     * @param firstEnd   the end date and time of an occurrence starting at firstStart
+     * @param repeatDays the week days the series repeats on
+     */
+    public EventSeriesBuilder(String subject, LocalDateTime firstStart, LocalDateTime firstEnd,
+                              Set<DayOfWeek> repeatDays) {
+      if (subject == null || firstStart == null || firstEnd == null || repeatDays == null) {
+        throw new IllegalArgumentException("subject, start, end and days cannot be null");
+      }
+      this.subject = subject;
+      this.firstStart = firstStart;
+      this.duration = Duration.between(firstStart, firstEnd);
+      this.description = "No description given";
+      this.location = Location.UNKNOWN;
+      this.eventStatus = EventStatus.UNKNOWN;
+      this.seriesId = UUID.randomUUID();
+      this.allDay = false;
+      this.repeatDays = repeatDays;
+      this.lastDate = firstStart.toLocalDate();
+      this.occurrences = 0;
+      this.exceptions = PersistentTreeMap.empty();
+    }
+
+    /**
+     * Creates a new builder initialized with the values of an existing series.
+     *
+     * @param series the series whose values will be copied into the builder
+     */
+    public EventSeriesBuilder(EventSeriesReadOnly series) {
+      this.subject = series.getSubject();
+      this.firstStart = LocalDateTime.of(series.getFirstDate(), series.getStartTime());
+      this.duration = series.getDuration();
+      this.description = series.getDescription();
+      this.location = series.getLocation();
+      this.eventStatus = series.getEventStatus();
+      this.seriesId = series.getId();
+      this.allDay = series.isAllDay();
+      this.repeatDays = series.getRepeatDays();
+      this.lastDate = series.getLastDate();
+      this.occurrences = 0;
+      this.exceptions = series instanceof EventSeries ? ((EventSeries) series).exceptions
+          : exceptionsOf(series.getExceptions());
+    }
+
+    /**
+     * Sets the subject of every occurrence.
+     */
+    public EventSeriesBuilder setSubject(String subject) {
+      if (subject == null) {
+        throw new IllegalArgumentException("subject cannot be null");
+      }
+      this.subject = subject;
+      return this;
+    }
+
+    /**
+     * Sets the last date (inclusive) the series can occur on.
+     */
+    public EventSeriesBuilder setLastDate(LocalDate lastDate) {
+      this.lastDate = Objects.requireNonNull(lastDate);
+      this.occurrences = 0;
+      return this;
+    }
+
+    /**
+     * Sets the number of occurrences of the series, counted from the first start date.
+     */
+    public EventSeriesBuilder setOccurrences(int occurrences) {
+      if (occurrences < 1) {
+        throw new IllegalArgumentException("Series must have at least one occurrence");
+      }
+      this.occurrences = occurrences;
+      return this;
+    }
+
+    /**
+     * Sets the description of the series.
+     */
+    public EventSeriesBuilder setDescription(String description) {
+      this.description = description;
+      return this;
+    }
+
+    /**
+     * Sets the location of the series.
+     */
+    public EventSeriesBuilder setLocation(Location location) {
+      this.location = location;
+      return this;
+    }
+
+    /**
+     * Sets the event status of the series.
+     */
+    public EventSeriesBuilder setEventStatus(EventStatus eventStatus) {
+      this.eventStatus = eventStatus;
+      return this;
+    }
+
+    /**
+     * Sets the uuid shared by the occurrences.
+     */
+    public EventSeriesBuilder setSeriesId(UUID seriesId) {
+      this.seriesId = seriesId;
+      return this;
+    }
+
+    /**
+     * Sets if the occurrences are all day events.
+     */
+    public EventSeriesBuilder setAllDay(boolean allDay) {
+      this.allDay = allDay;
+      return this;
+    }
+
+    /**
+     * Sets the dates that are no longer part of the series.
+     */
+    public EventSeriesBuilder setExceptions(Set<LocalDate> exceptions) {
+      this.exceptions = exceptionsOf(exceptions);
+      return this;
+    }
+
+    private static PersistentTreeMap<LocalDate, Boolean> exceptionsOf(Set<LocalDate> dates) {
+      List<LocalDate> sorted = new ArrayList<>(new TreeSet<>(dates));
+      return PersistentTreeMap.ofSorted(sorted, Collections.nCopies(sorted.size(), true));
+    }
+
+    /**
+     * Builds and returns a instance of EventSeries.
+     * When a number of occurrences is given, the last date is worked out from it
+     * by skipping whole weeks first and walking the remaining days.
+     *
+     * @return a fully built EventSeries object.
+     */
+    public EventSeries build() {
+      LocalDate firstDate = firstStart.toLocalDate();
+      LocalDate last = lastDate;
+      if (occurrences > 0 && !repeatDays.isEmpty()) {
+        last = lastOccurrenceDate(firstDate, occurrences);
+      }
+      return new EventSeries(subject, description, location, eventStatus, seriesId, allDay,
+          firstStart.toLocalTime(), duration, repeatDays, firstDate, last, exceptions);
+    }
+
+    private LocalDate lastOccurrenceDate(LocalDate firstDate, int count) {
+      int perWeek = repeatDays.size();
+      int fullWeeks = (count - 1) / perWeek;
+      int remaining = count - fullWeeks * perWeek;
+      LocalDate current = firstDate.plusWeeks(fullWeeks);
+      while (true) {
+        if (repeatDays.contains(current.getDayOfWeek())) {
+          remaining--;
+          if (remaining == 0) {
+            return current;
+          }
+        }
+        current = current.plusDays(1);
+      }
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package calendar.model;
+
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Finds the periods in which none of a group of calendars has an event.
+ * The search goes one day at a time: for each day it asks every calendar for the
+ * events inside that day's working hours, merges them in start order and sweeps
+ * once over them to collect the gaps. Days are only searched when the caller asks
+ * for more slots, so finding the next free slot stops at the first day that has one.
+ */
+public class FreeSlotFinder {
+  private final List<AdvancedCalendar> calendars;
+  private final ZoneId zoneId;
+
+  /**
+   * Creates a finder over the given calendars.
+   * Times passed to and returned by the finder are in the given time zone, and the
+   * events of a calendar in another time zone are converted before they are compared.
+   *
+   * @param calendars the calendars that must all be free
+   * @param zoneId    the time zone the search window and working hours are given in
+   * @throws IllegalArgumentException if no calendar is given
+   */
+  public FreeSlotFinder(List<AdvancedCalendar> calendars, ZoneId zoneId) {
+    if (calendars.isEmpty()) {
+      throw new IllegalArgumentException("At least one calendar is required");
+    }
+    this.calendars = new ArrayList<>(calendars);
+    this.zoneId = Objects.requireNonNull(zoneId);
+  }
+
+  /**
+   * Returns the free slots inside the window that are at least the given duration long.
+   * Only the time between the start and end of the working hours on each day is searched.
+   * Each slot is a whole free period, so a caller that needs exactly the duration books
+   * the beginning of the slot.
+   *
+   * @param windowStart the start of the search window
+   * @param windowEnd   the end of the search window
+   * @param duration    the minimum length of a slot
+   * @param workStart   the time each working day starts
+   * @param workEnd     the time each working day ends
+   * @return the free slots in start order, computed as the iterator advances
+   * @throws IllegalArgumentException if the window, duration or working hours are invalid
+   */
+  public Iterator<TimeSlot> findFreeSlots(LocalDateTime windowStart, LocalDateTime windowEnd,
+                                          Duration duration, LocalTime workStart,
+                                          LocalTime workEnd) {
+    if (!windowEnd.isAfter(windowStart)) {
+      throw new IllegalArgumentException("Window end must be after window start");
+    }
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("Duration must be positive");
+    }
+    if (!workEnd.isAfter(workStart)) {
+      throw new IllegalArgumentException("Working hours must end after they start");
+    }
+    return new SlotIterator(windowStart, windowEnd, duration, workStart, workEnd);
+  }
+
+  private List<TimeSlot> freeSlotsBetween(LocalDateTime from, LocalDateTime to,
+                                          Duration duration) {
+    List<EventReadOnly> busy = new ArrayList<>();
+    for (AdvancedCalendar calendar : calendars) {
+      busy.addAll(eventsBetween(calendar, from, to));
+    }
+    // every calendar returns its events in start order, so this sort only merges the runs
+    busy.sort(Comparator.comparing(EventReadOnly::getStartDateTime));
+
+    List<TimeSlot> slots = new ArrayList<>();
+    LocalDateTime free = from;
+    for (EventReadOnly event : busy) {
+      LocalDateTime busyStart = event.getStartDateTime().isBefore(from)
+          ? from : event.getStartDateTime();
+      if (!Duration.between(free, busyStart).minus(duration).isNegative()) {
+        slots.add(new TimeSlot(free, busyStart));
+      }
+      if (event.getEndDateTime().isAfter(free)) {
+        free = event.getEndDateTime();
+      }
+    }
+    if (free.isBefore(to) && !Duration.between(free, to).minus(duration).isNegative()) {
+      slots.add(new TimeSlot(free, to));
+    }
+    return slots;
+  }
+
+  /**
+   * Returns the events of a calendar that overlap [from, to), converted to the search zone.
+   * The end is pulled back by a nanosecond so an event starting exactly at the end
+   * is left out.
+   */
+  private List<EventReadOnly> eventsBetween(AdvancedCalendar calendar, LocalDateTime from,
+                                            LocalDateTime to) {
+    ZoneId calendarZone = calendar.getZoneId();
+    if (calendarZone.equals(zoneId)) {
+      return calendar.getEvents(from, to.minusNanos(1));
+    }
+    List<EventReadOnly> converted = new ArrayList<>();
+    for (EventReadOnly event : calendar.getEvents(convert(from, zoneId, calendarZone),
+        convert(to, zoneId, calendarZone).minusNanos(1))) {
+      converted.add(new Event.EventBuilder(event)
+          .setStartDateTime(convert(event.getStartDateTime(), calendarZone, zoneId))
+          .setEndDateTime(convert(event.getEndDateTime(), calendarZone, zoneId))
+          .build());
+    }
+    return converted;
+  }
+
+  private static LocalDateTime convert(LocalDateTime dateTime, ZoneId from, ZoneId to) {
+    return dateTime.atZone(from).withZoneSameInstant(to).toLocalDateTime();
+  }
+
+  /**
+   * Walks the window day by day and hands out the slots found on each day.
+   */
+  private class SlotIterator implements Iterator<TimeSlot> {
+    private final LocalDateTime windowStart;
+    private final LocalDateTime windowEnd;
+    private final Duration duration;
+    private final LocalTime workStart;
+    private final LocalTime workEnd;
+    private final Deque<TimeSlot> pending;
+    private LocalDate nextDay;
+
+    SlotIterator(LocalDateTime windowStart, LocalDateTime windowEnd, Duration duration,
+                 LocalTime workStart, LocalTime workEnd) {
+      this.windowStart = windowStart;
+      this.windowEnd = windowEnd;
+      this.duration = duration;
+      this.workStart = workStart;
+      this.workEnd = workEnd;
+      this.pending = new ArrayDeque<>();
+      this.nextDay = windowStart.toLocalDate();
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (pending.isEmpty() && !nextDay.isAfter(windowEnd.toLocalDate())) {
+        LocalDateTime from = maxOf(windowStart, nextDay.atTime(workStart));
+        LocalDateTime to = minOf(windowEnd, nextDay.atTime(workEnd));
+        if (from.isBefore(to)) {
+          pending.addAll(freeSlotsBetween(from, to, duration));
+        }
+        nextDay = nextDay.plusDays(1);
+      }
+      return !pending.isEmpty();
+    }
+
+    @Override
+    public TimeSlot next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more free slots");
+      }
+      return pending.poll();
+    }
+
+    private LocalDateTime maxOf(LocalDateTime first, LocalDateTime second) {
+      return first.isAfter(second) ? first : second;
+    }
+
+    private LocalDateTime minOf(LocalDateTime first, LocalDateTime second) {
+      return first.isBefore(second) ? first : second;
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package calendar.model;
+
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarChangeListener;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import calendar.model.interfaces.StringPoolReadOnly;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Advanced calendar guarded by the lock of its calendar, so that several threads can
+ * use it at once. Changes take the write lock and lookups the read lock, with results
+ * copied before the lock is let go. Range, busy and whole calendar reads of a calendar
+ * that publishes its read view only read a version no change touches, so they run as
+ * optimistic reads that take no lock and are only run again under the read lock if a
+ * writer overlapped them, which also keeps a change made of several calls, such as a
+ * time zone change, from being seen half done. Other calendars answer them holding the
+ * read lock, and consumers are fed outside the lock.
+ * The wrapper is its own underlying calendar, so code going through getCalendar is
+ * guarded as well.
+ */
+class LockedCalendar implements AdvancedCalendar {
+  private final AdvancedCalendar calendar;
+  private final CalendarLock lock;
+
+  /**
+   * Guards the given calendar with the given lock.
+   *
+   * @param calendar the calendar to guard, not itself guarded
+   * @param lock     the lock of the calendar
+   */
+  private LockedCalendar(AdvancedCalendar calendar, CalendarLock lock) {
+    this.calendar = Objects.requireNonNull(calendar);
+    this.lock = Objects.requireNonNull(lock);
+  }
+
+  /**
+   * Returns the given calendar guarded by its lock. A calendar built on top of a guarded
+   * one, as renaming and time zone changes do, is unwrapped and keeps the same lock.
+   *
+   * @param advancedCalendar the calendar to guard
+   * @return the guarded calendar
+   */
+  static LockedCalendar of(AdvancedCalendar advancedCalendar) {
+    if (advancedCalendar instanceof LockedCalendar) {
+      return (LockedCalendar) advancedCalendar;
+    }
+    if (advancedCalendar.getCalendar() instanceof LockedCalendar) {
+      LockedCalendar inner = (LockedCalendar) advancedCalendar.getCalendar();
+      return new LockedCalendar(new AdvancedCalendarImpl
+          .AdvancedCalendarBuilder(advancedCalendar.getName(), advancedCalendar.getZoneId())
+          .setCalendar(inner.calendar.getCalendar())
+          .build(), inner.lock);
+    }
+    return new LockedCalendar(advancedCalendar, new CalendarLock());
+  }
+
+  CalendarLock getLock() {
+    return lock;
+  }
+
+  @Override
+  public EventReadOnly addEvent(EventReadOnly event) {
+    return lock.write(() -> calendar.addEvent(event));
+  }
+
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> events) {
+    return lock.write(() -> calendar.addEvents(events));
+  }
+
+  @Override
+  public EventSeriesReadOnly addSeries(EventSeriesReadOnly series) {
+    return lock.write(() -> calendar.addSeries(series));
+  }
+
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    return lock.read(() -> new ArrayList<>(calendar.findEvents(subject, startDateTime)));
+  }
+
+  @Override
+  public List<EventReadOnly> getSeriesEvents(UUID seriesId) {
+    return lock.read(() -> new ArrayList<>(calendar.getSeriesEvents(seriesId)));
+  }
+
+  @Override
+  public List<EventReadOnly> editEvent(List<EventReadOnly> events, String property,
+                                       String newValue) {
+    return lock.write(() -> calendar.editEvent(events, property, newValue));
+  }
+
+  @Override
+  public void replaceSeries(EventSeriesReadOnly oldSeries,
+                            List<EventSeriesReadOnly> newSeries) {
+    lock.write(() -> {
+      calendar.replaceSeries(oldSeries, newSeries);
+      return null;
+    });
+  }
+
+  @Override
+  public void removeEvent(EventReadOnly event) {
+    lock.write(() -> {
+      calendar.removeEvent(event);
+      return null;
+    });
+  }
+
+  @Override
+  public void setChangeListener(CalendarChangeListener listener) {
+    lock.write(() -> {
+      calendar.setChangeListener(listener);
+      return null;
+    });
+  }
+
+  /**
+   * Returns the pool without the lock, since the pool synchronizes its own methods.
+   *
+   * @return the string pool of the calendar
+   */
+  @Override
+  public StringPoolReadOnly getStringPool() {
+    return calendar.getStringPool();
+  }
+
+  /**
+   * Returns true, since the wrapper takes whatever lock its queries need.
+   */
+  @Override
+  public boolean publishesReadView() {
+    return true;
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    return query(() -> calendar.isBusy(dateTime));
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    feed(CalendarReadOnly::forEachEvent, consumer);
+  }
+
+  @Override
+  public void forEachStoredEvent(Consumer<EventReadOnly> consumer) {
+    feed(CalendarReadOnly::forEachStoredEvent, consumer);
+  }
+
+  @Override
+  public void forEachSeries(Consumer<EventSeriesReadOnly> consumer) {
+    feed(CalendarReadOnly::forEachSeries, consumer);
+  }
+
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    return query(() -> calendar.getEvents(startDateTime, endDateTime));
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    return query(calendar::getAllEvents);
+  }
+
+  @Override
+  public CalendarReadOnly getReadView() {
+    return query(calendar::getReadView);
+  }
+
+  @Override
+  public String getName() {
+    return calendar.getName();
+  }
+
+  @Override
+  public ZoneId getZoneId() {
+    return calendar.getZoneId();
+  }
+
+  @Override
+  public CalendarEditable getCalendar() {
+    return this;
+  }
+
+  /**
+   * Runs a query on a calendar that publishes its read view as an optimistic read,
+   * otherwise holding the read lock.
+   */
+  private <T> T query(Supplier<T> action) {
+    return calendar.publishesReadView() ? lock.optimisticRead(action) : lock.read(action);
+  }
+
+  /**
+   * Walks the read view of a calendar that publishes one, got by an optimistic read, so
+   * the consumer is fed from a version no write touches. Other calendars copy what the
+   * walk visits holding the read lock and feed the copy after.
+   */
+  private <T> void feed(BiConsumer<CalendarReadOnly, Consumer<T>> walk,
+                        Consumer<T> consumer) {
+    if (calendar.publishesReadView()) {
+      walk.accept(lock.optimisticRead(calendar::getReadView), consumer);
+      return;
+    }
+    List<T> visited = lock.read(() -> {
+      List<T> copy = new ArrayList<>();
+      walk.accept(calendar, copy::add);
+      return copy;
+    });
+    visited.forEach(consumer);
+  }
+}
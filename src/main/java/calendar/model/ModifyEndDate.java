@@ -4,7 +4,6 @@ import calendar.model.interfaces.CalendarEditable;
 import calendar.model.interfaces.EventReadOnly;
 import calendar.model.interfaces.ModifyEvent;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 
 /**
@@ -16,21 +15,18 @@ public class ModifyEndDate implements ModifyEvent {
   @Override
   public EventReadOnly edit(CalendarEditable calendar, EventReadOnly event, String newValue) {
 
-    String regex = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}$";
-
-    if (!newValue.matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}$")) {
+    if (!DateTimeCodec.isDateTimeShape(newValue)) {
       throw new IllegalArgumentException("Invalid date-time format: " + newValue);
     }
 
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
-    LocalDateTime eightAm = LocalDateTime.parse(newValue, formatter).toLocalDate().atTime(8, 0);
-    LocalDateTime
-        fivePm = LocalDateTime.parse(newValue, formatter).toLocalDate().atTime(17, 0);
+    LocalDateTime newEndDateTime = DateTimeCodec.parseDateTime(newValue);
+    LocalDateTime eightAm = newEndDateTime.toLocalDate().atTime(8, 0);
+    LocalDateTime fivePm = newEndDateTime.toLocalDate().atTime(17, 0);
     EventReadOnly updatedEvent;
     boolean isAllDay = event.getStartDateTime().equals(eightAm)
-        && LocalDateTime.parse(newValue, formatter).equals(fivePm);
+        && newEndDateTime.equals(fivePm);
     Event.EventBuilder builder = new Event.EventBuilder(event)
-        .setEndDateTime(LocalDateTime.parse(newValue, formatter));
+        .setEndDateTime(newEndDateTime);
     builder.setAllDay(isAllDay);
     updatedEvent = builder.build();
     return updatedEvent;
@@ -4,7 +4,6 @@ import calendar.model.interfaces.CalendarEditable;
 import calendar.model.interfaces.EventReadOnly;
 import calendar.model.interfaces.ModifyEvent;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Implements the ModifyEvent interface to update the start date time of an event.
@@ -15,22 +14,13 @@ public class ModifyStartDate implements ModifyEvent {
   @Override
   public EventReadOnly edit(CalendarEditable calendar, EventReadOnly event, String newValue) {
 
-    String regex = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}$";
-
-    if (!newValue.matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}$")) {
+    if (!DateTimeCodec.isDateTimeShape(newValue)) {
       throw new IllegalArgumentException("Invalid date-time format: " + newValue);
     }
 
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
-
-    LocalDateTime eightAm = LocalDateTime.parse(newValue, formatter).toLocalDate().atTime(8, 0);
-
-    LocalDateTime
-        fivePm = LocalDateTime.parse(newValue, formatter).toLocalDate().atTime(17, 0);
-
-
-    LocalDateTime newStartDateTime = LocalDateTime.parse(newValue, formatter);
-
+    LocalDateTime newStartDateTime = DateTimeCodec.parseDateTime(newValue);
+    LocalDateTime eightAm = newStartDateTime.toLocalDate().atTime(8, 0);
+    LocalDateTime fivePm = newStartDateTime.toLocalDate().atTime(17, 0);
 
     EventReadOnly updatedEvent;
     boolean isAllDay = newStartDateTime.equals(eightAm) && event.getEndDateTime().equals(fivePm);
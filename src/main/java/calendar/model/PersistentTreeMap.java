@@ -0,0 +1,336 @@
+package calendar.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable sorted map kept as an AVL tree. Adding or removing a key returns a new map
+ * that copies only the nodes on the path to the key and shares every other node with
+ * the old map, so both versions stay valid and each change costs O(log n).
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class PersistentTreeMap<K extends Comparable<? super K>, V> {
+  private static final PersistentTreeMap<?, ?> EMPTY = new PersistentTreeMap<>(null);
+
+  private final Node<K, V> root;
+
+  private PersistentTreeMap(Node<K, V> root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns the empty map.
+   *
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   * @return the empty map
+   */
+  @SuppressWarnings("unchecked")
+  static <K extends Comparable<? super K>, V> PersistentTreeMap<K, V> empty() {
+    return (PersistentTreeMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Builds a map from keys given in ascending order, without any rebalancing.
+   *
+   * @param keys   the keys in ascending order, each once
+   * @param values the value of each key
+   * @param <K>    the type of the keys
+   * @param <V>    the type of the values
+   * @return the map
+   */
+  static <K extends Comparable<? super K>, V> PersistentTreeMap<K, V> ofSorted(
+      List<K> keys, List<V> values) {
+    return new PersistentTreeMap<>(build(keys, values, 0, keys.size()));
+  }
+
+  int size() {
+    return Node.size(root);
+  }
+
+  boolean isEmpty() {
+    return root == null;
+  }
+
+  /**
+   * Returns the value of the key.
+   *
+   * @param key the key to look up
+   * @return the value, or null if the key is not in the map
+   */
+  V get(K key) {
+    Node<K, V> node = root;
+    while (node != null) {
+      int order = key.compareTo(node.key);
+      if (order == 0) {
+        return node.value;
+      }
+      node = order < 0 ? node.left : node.right;
+    }
+    return null;
+  }
+
+  /**
+   * Returns a map with the key set to the value.
+   *
+   * @param key   the key to set
+   * @param value the value of the key
+   * @return the new map
+   */
+  PersistentTreeMap<K, V> plus(K key, V value) {
+    return new PersistentTreeMap<>(put(root, key, value));
+  }
+
+  /**
+   * Returns a map without the key.
+   *
+   * @param key the key to remove
+   * @return the new map, or this map if the key is not in it
+   */
+  PersistentTreeMap<K, V> minus(K key) {
+    Node<K, V> removed = remove(root, key);
+    return removed == root ? this : new PersistentTreeMap<>(removed);
+  }
+
+  /**
+   * Hands every entry to the action in key order.
+   *
+   * @param action the action to run on each key and value
+   */
+  void forEach(BiConsumer<K, V> action) {
+    forEachBetween(null, null, action);
+  }
+
+  /**
+   * Hands the entries with keys between the two given keys, both inclusive, to the action
+   * in key order. A null bound leaves that side open.
+   *
+   * @param from   the lowest key to visit, or null
+   * @param to     the highest key to visit, or null
+   * @param action the action to run on each key and value
+   */
+  void forEachBetween(K from, K to, BiConsumer<K, V> action) {
+    visit(root, from, to, action);
+  }
+
+  /**
+   * Returns an unmodifiable map reading this version. Creating it copies nothing.
+   *
+   * @return the map view
+   */
+  Map<K, V> asMap() {
+    return new MapView();
+  }
+
+  private static <K extends Comparable<? super K>, V> void visit(Node<K, V> node, K from, K to,
+                                                             BiConsumer<K, V> action) {
+    if (node == null) {
+      return;
+    }
+    boolean aboveFrom = from == null || from.compareTo(node.key) < 0;
+    boolean belowTo = to == null || to.compareTo(node.key) > 0;
+    if (aboveFrom) {
+      visit(node.left, from, to, action);
+    }
+    if ((aboveFrom || from.compareTo(node.key) == 0)
+        && (belowTo || to.compareTo(node.key) == 0)) {
+      action.accept(node.key, node.value);
+    }
+    if (belowTo) {
+      visit(node.right, from, to, action);
+    }
+  }
+
+  private static <K, V> Node<K, V> build(List<K> keys, List<V> values, int from, int to) {
+    if (from >= to) {
+      return null;
+    }
+    int mid = (from + to) >>> 1;
+    return new Node<>(keys.get(mid), values.get(mid),
+        build(keys, values, from, mid), build(keys, values, mid + 1, to));
+  }
+
+  private static <K extends Comparable<? super K>, V> Node<K, V> put(Node<K, V> node, K key,
+                                                                 V value) {
+    if (node == null) {
+      return new Node<>(key, value, null, null);
+    }
+    int order = key.compareTo(node.key);
+    if (order == 0) {
+      return new Node<>(key, value, node.left, node.right);
+    }
+    if (order < 0) {
+      return balance(node.key, node.value, put(node.left, key, value), node.right);
+    }
+    return balance(node.key, node.value, node.left, put(node.right, key, value));
+  }
+
+  private static <K extends Comparable<? super K>, V> Node<K, V> remove(Node<K, V> node,
+                                                                    K key) {
+    if (node == null) {
+      return null;
+    }
+    int order = key.compareTo(node.key);
+    if (order < 0) {
+      Node<K, V> left = remove(node.left, key);
+      return left == node.left ? node : balance(node.key, node.value, left, node.right);
+    }
+    if (order > 0) {
+      Node<K, V> right = remove(node.right, key);
+      return right == node.right ? node : balance(node.key, node.value, node.left, right);
+    }
+    if (node.left == null) {
+      return node.right;
+    }
+    if (node.right == null) {
+      return node.left;
+    }
+    Node<K, V> first = node.right;
+    while (first.left != null) {
+      first = first.left;
+    }
+    return balance(first.key, first.value, node.left, remove(node.right, first.key));
+  }
+
+  private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left,
+                                           Node<K, V> right) {
+    int skew = Node.height(left) - Node.height(right);
+    if (skew > 1) {
+      if (Node.height(left.left) < Node.height(left.right)) {
+        left = rotateLeft(left.key, left.value, left.left, left.right);
+      }
+      return rotateRight(key, value, left, right);
+    }
+    if (skew < -1) {
+      if (Node.height(right.right) < Node.height(right.left)) {
+        right = rotateRight(right.key, right.value, right.left, right.right);
+      }
+      return rotateLeft(key, value, left, right);
+    }
+    return new Node<>(key, value, left, right);
+  }
+
+  private static <K, V> Node<K, V> rotateRight(K key, V value, Node<K, V> left,
+                                               Node<K, V> right) {
+    return new Node<>(left.key, left.value, left.left,
+        new Node<>(key, value, left.right, right));
+  }
+
+  private static <K, V> Node<K, V> rotateLeft(K key, V value, Node<K, V> left,
+                                              Node<K, V> right) {
+    return new Node<>(right.key, right.value,
+        new Node<>(key, value, left, right.left), right.right);
+  }
+
+  /**
+   * Node of the tree, never changed once built.
+   */
+  private static final class Node<K, V> {
+    private final K key;
+    private final V value;
+    private final Node<K, V> left;
+    private final Node<K, V> right;
+    private final int height;
+    private final int size;
+
+    Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+      this.key = key;
+      this.value = value;
+      this.left = left;
+      this.right = right;
+      this.height = Math.max(height(left), height(right)) + 1;
+      this.size = size(left) + size(right) + 1;
+    }
+
+    static int height(Node<?, ?> node) {
+      return node == null ? 0 : node.height;
+    }
+
+    static int size(Node<?, ?> node) {
+      return node == null ? 0 : node.size;
+    }
+  }
+
+  /**
+   * Unmodifiable map reading the tree in key order.
+   */
+  private class MapView extends AbstractMap<K, V> {
+
+    @Override
+    public int size() {
+      return PersistentTreeMap.this.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+      try {
+        return PersistentTreeMap.this.get((K) key);
+      } catch (ClassCastException | NullPointerException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          return new EntryIterator(root);
+        }
+
+        @Override
+        public int size() {
+          return PersistentTreeMap.this.size();
+        }
+      };
+    }
+  }
+
+  /**
+   * In order walk of the tree keeping the path to the next node on a stack.
+   */
+  private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+    private final Deque<Node<K, V>> path = new ArrayDeque<>();
+
+    EntryIterator(Node<K, V> root) {
+      pushLeft(root);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !path.isEmpty();
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+      if (path.isEmpty()) {
+        throw new NoSuchElementException();
+      }
+      Node<K, V> node = path.pop();
+      pushLeft(node.right);
+      return new AbstractMap.SimpleImmutableEntry<>(node.key, node.value);
+    }
+
+    private void pushLeft(Node<K, V> node) {
+      for (Node<K, V> current = node; current != null; current = current.left) {
+        path.push(current);
+      }
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package calendar.model;
+
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Position of a series inside a date ordered walk over a calendar.
+ * The cursors of all series are kept in a priority queue keyed on each series' next
+ * occurrence date, so stored events and series occurrences can be merged in date order
+ * while only one occurrence per series is expanded at a time.
+ */
+class SeriesCursor implements Comparable<SeriesCursor> {
+  private final EventSeries series;
+  private final LocalDate date;
+  private final int order;
+
+  private SeriesCursor(EventSeries series, LocalDate date, int order) {
+    this.series = series;
+    this.date = date;
+    this.order = order;
+  }
+
+  /**
+   * Returns a queue holding a cursor on the first occurrence of every series.
+   * Series with the same next date are visited in the order they are given.
+   *
+   * @param series the series to walk
+   * @return the queue of cursors
+   */
+  static PriorityQueue<SeriesCursor> queueOf(Collection<EventSeries> series) {
+    PriorityQueue<SeriesCursor> cursors = new PriorityQueue<>();
+    int order = 0;
+    for (EventSeries eventSeries : series) {
+      LocalDate next = eventSeries.nextOccurrenceDate(eventSeries.getFirstDate());
+      if (next != null) {
+        cursors.add(new SeriesCursor(eventSeries, next, order++));
+      }
+    }
+    return cursors;
+  }
+
+  /**
+   * Hands every occurrence up to and including the given date to the consumer,
+   * moving each cursor on to its series' next occurrence.
+   *
+   * @param cursors  the queue built by queueOf
+   * @param upTo     the last date to visit
+   * @param consumer the consumer that processes each occurrence
+   */
+  static void drain(PriorityQueue<SeriesCursor> cursors, LocalDate upTo,
+                    Consumer<EventReadOnly> consumer) {
+    while (!cursors.isEmpty() && !cursors.peek().date.isAfter(upTo)) {
+      SeriesCursor cursor = cursors.poll();
+      consumer.accept(cursor.series.occurrenceOn(cursor.date));
+      if (cursor.date.isBefore(cursor.series.getLastDate())) {
+        LocalDate next = cursor.series.nextOccurrenceDate(cursor.date.plusDays(1));
+        if (next != null) {
+          cursors.add(new SeriesCursor(cursor.series, next, cursor.order));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the date of the next occurrence the queue would visit.
+   *
+   * @param cursors the queue built by queueOf
+   * @return the date, or null if every occurrence was visited
+   */
+  static LocalDate nextDate(PriorityQueue<SeriesCursor> cursors) {
+    return cursors.isEmpty() ? null : cursors.peek().date;
+  }
+
+  @Override
+  public int compareTo(SeriesCursor other) {
+    int byDate = date.compareTo(other.date);
+    return byDate != 0 ? byDate : Integer.compare(order, other.order);
+  }
+}
@@ -0,0 +1,54 @@
+package calendar.model;
+
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Identity of a series rule inside a calendar.
+ * Editing a series from a date on splits its rule in two that keep the series id, so
+ * the id alone does not tell rules apart. Rules sharing an id never share a date, so
+ * the id together with the first date does.
+ */
+final class SeriesKey implements Comparable<SeriesKey> {
+  private final UUID id;
+  private final LocalDate firstDate;
+
+  private SeriesKey(UUID id, LocalDate firstDate) {
+    this.id = id;
+    this.firstDate = firstDate;
+  }
+
+  /**
+   * Returns the key of the given series.
+   *
+   * @param series the series to build the key for
+   * @return the key made of id and first date.
+   */
+  static SeriesKey of(EventSeriesReadOnly series) {
+    return new SeriesKey(series.getId(), series.getFirstDate());
+  }
+
+  @Override
+  public int compareTo(SeriesKey other) {
+    int byId = id.compareTo(other.id);
+    return byId != 0 ? byId : firstDate.compareTo(other.firstDate);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SeriesKey)) {
+      return false;
+    }
+    SeriesKey other = (SeriesKey) o;
+    return id.equals(other.id) && firstDate.equals(other.firstDate);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * id.hashCode() + firstDate.hashCode();
+  }
+}
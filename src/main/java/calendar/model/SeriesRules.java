@@ -0,0 +1,161 @@
+package calendar.model;
+
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The recurring series of a calendar, stored as rules in the order they were added and
+ * indexed by id and by subject, so checking that an event already exists does not look
+ * at every series. Several rules share an id once a series was edited from a date on.
+ * A rule replaced by one with the same key keeps its place in the order.
+ */
+final class SeriesRules {
+  private final Map<SeriesKey, EventSeries> rules;
+  private final Map<UUID, List<EventSeries>> byId;
+  private final Map<String, List<EventSeries>> bySubject;
+
+  /**
+   * Creates an empty set of rules.
+   */
+  SeriesRules() {
+    this.rules = new LinkedHashMap<>();
+    this.byId = new HashMap<>();
+    this.bySubject = new HashMap<>();
+  }
+
+  boolean isEmpty() {
+    return rules.isEmpty();
+  }
+
+  int size() {
+    return rules.size();
+  }
+
+  /**
+   * Returns the rules in the order they were added.
+   *
+   * @return the live collection of the rules
+   */
+  Collection<EventSeries> values() {
+    return rules.values();
+  }
+
+  /**
+   * Checks whether a rule with the same id and first date is stored.
+   *
+   * @param series the series to look for
+   * @return true if such a rule is stored
+   */
+  boolean contains(EventSeriesReadOnly series) {
+    return rules.containsKey(SeriesKey.of(series));
+  }
+
+  /**
+   * Returns the stored rule with the id and first date of the given series.
+   *
+   * @param series the series to look for
+   * @return the stored rule, or null if there is none
+   */
+  EventSeries get(EventSeriesReadOnly series) {
+    return rules.get(SeriesKey.of(series));
+  }
+
+  /**
+   * Returns the rules with the given id.
+   *
+   * @param seriesId the id of the series
+   * @return the rules, empty if there are none
+   */
+  List<EventSeries> withId(UUID seriesId) {
+    return byId.getOrDefault(seriesId, List.of());
+  }
+
+  /**
+   * Returns the rules whose occurrences have the given subject.
+   *
+   * @param subject the subject of the occurrences
+   * @return the rules, empty if there are none
+   */
+  List<EventSeries> withSubject(String subject) {
+    return bySubject.getOrDefault(subject, List.of());
+  }
+
+  /**
+   * Returns the rule that generates the given event, looking at the rules with its id
+   * first.
+   *
+   * @param event the event to look for
+   * @return the rule, or null if no rule generates the event
+   */
+  EventSeries findSeriesOf(EventReadOnly event) {
+    for (EventSeries eventSeries : withId(event.getId())) {
+      if (eventSeries.generates(event)) {
+        return eventSeries;
+      }
+    }
+    for (EventSeries eventSeries : withSubject(event.getSubject())) {
+      if (eventSeries.generates(event)) {
+        return eventSeries;
+      }
+    }
+    return null;
+  }
+
+  void add(EventSeries eventSeries) {
+    rules.put(SeriesKey.of(eventSeries), eventSeries);
+    byId.computeIfAbsent(eventSeries.getId(), k -> new ArrayList<>()).add(eventSeries);
+    bySubject.computeIfAbsent(eventSeries.getSubject(), k -> new ArrayList<>())
+        .add(eventSeries);
+  }
+
+  /**
+   * Replaces a stored rule by another, in its place if both have the same key.
+   *
+   * @param oldSeries the stored rule
+   * @param newSeries the rule to store instead
+   */
+  void replace(EventSeries oldSeries, EventSeries newSeries) {
+    if (!SeriesKey.of(oldSeries).equals(SeriesKey.of(newSeries))) {
+      remove(oldSeries);
+      add(newSeries);
+      return;
+    }
+    rules.put(SeriesKey.of(newSeries), newSeries);
+    replaceIn(byId, oldSeries.getId(), oldSeries, newSeries);
+    if (oldSeries.getSubject().equals(newSeries.getSubject())) {
+      replaceIn(bySubject, oldSeries.getSubject(), oldSeries, newSeries);
+    } else {
+      removeFrom(bySubject, oldSeries.getSubject(), oldSeries);
+      bySubject.computeIfAbsent(newSeries.getSubject(), k -> new ArrayList<>())
+          .add(newSeries);
+    }
+  }
+
+  void remove(EventSeries eventSeries) {
+    rules.remove(SeriesKey.of(eventSeries));
+    removeFrom(byId, eventSeries.getId(), eventSeries);
+    removeFrom(bySubject, eventSeries.getSubject(), eventSeries);
+  }
+
+  private static <K> void replaceIn(Map<K, List<EventSeries>> index, K key,
+                                    EventSeries oldSeries, EventSeries newSeries) {
+    List<EventSeries> sameKey = index.get(key);
+    sameKey.set(sameKey.indexOf(oldSeries), newSeries);
+  }
+
+  private static <K> void removeFrom(Map<K, List<EventSeries>> index, K key,
+                                     EventSeries eventSeries) {
+    List<EventSeries> sameKey = index.get(key);
+    sameKey.remove(eventSeries);
+    if (sameKey.isEmpty()) {
+      index.remove(key);
+    }
+  }
+}
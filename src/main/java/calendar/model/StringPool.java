@@ -0,0 +1,106 @@
+package calendar.model;
+
+import calendar.model.interfaces.StringPoolReadOnly;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Bounded pool of canonical strings owned by a calendar.
+ * Equal event subjects and descriptions are swapped for one shared instance, so the
+ * copies made while parsing commands or reading files can be collected. The pool only
+ * holds its strings weakly and drops them once no event uses them anymore. When the
+ * pool is full, new strings are returned as they are rather than pooled.
+ * Every method is synchronized, since the memory report reads the pool from another
+ * thread than the one storing events, and even reading its size purges the map.
+ */
+public class StringPool implements StringPoolReadOnly {
+  /**
+   * The number of strings a calendar's pool holds by default.
+   */
+  public static final int DEFAULT_CAPACITY = 1 << 16;
+
+  private final int capacity;
+  private final Map<String, WeakReference<String>> strings;
+  private long lookups;
+  private long hits;
+  private long bytesReplaced;
+
+  /**
+   * Creates an empty pool.
+   *
+   * @param capacity the largest number of strings to hold
+   */
+  public StringPool(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Pool capacity cannot be negative");
+    }
+    this.capacity = capacity;
+    this.strings = new WeakHashMap<>();
+  }
+
+  /**
+   * Returns the pooled string equal to the given one, pooling the given one if there is
+   * none and the pool has room.
+   *
+   * @param value the string to intern, may be null
+   * @return the canonical string, or the value itself if it is not pooled
+   */
+  public synchronized String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    lookups++;
+    WeakReference<String> reference = strings.get(value);
+    String pooled = reference == null ? null : reference.get();
+    if (pooled != null) {
+      if (pooled != value) {
+        hits++;
+        bytesReplaced += sizeOf(value);
+      }
+      return pooled;
+    }
+    if (strings.size() < capacity) {
+      strings.put(value, new WeakReference<>(value));
+    }
+    return value;
+  }
+
+  @Override
+  public synchronized int size() {
+    return strings.size();
+  }
+
+  @Override
+  public int getCapacity() {
+    return capacity;
+  }
+
+  @Override
+  public synchronized long getLookups() {
+    return lookups;
+  }
+
+  @Override
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  @Override
+  public synchronized long getBytesReplaced() {
+    return bytesReplaced;
+  }
+
+  /**
+   * Estimates the heap taken by a string on a 64-bit JVM with compressed references and
+   * compact strings: the String object and its byte array, each padded to 8 bytes.
+   */
+  private static long sizeOf(String value) {
+    boolean latin1 = true;
+    for (int i = 0; i < value.length() && latin1; i++) {
+      latin1 = value.charAt(i) < 256;
+    }
+    long bytes = latin1 ? value.length() : 2L * value.length();
+    return 24 + ((16 + bytes + 7) & ~7L);
+  }
+}
@@ -0,0 +1,66 @@
+package calendar.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Represents a free period of time returned by a free slot search.
+ * The slot starts at its start date time and ends before its end date time.
+ */
+public class TimeSlot {
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
+
+  /**
+   * Creates a slot between the two date times.
+   *
+   * @param startDateTime the start of the slot
+   * @param endDateTime   the end of the slot
+   * @throws IllegalArgumentException if the end is before the start
+   */
+  public TimeSlot(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    this.startDateTime = Objects.requireNonNull(startDateTime);
+    this.endDateTime = Objects.requireNonNull(endDateTime);
+    if (endDateTime.isBefore(startDateTime)) {
+      throw new IllegalArgumentException("endDateTime cannot be before startDateTime");
+    }
+  }
+
+  public LocalDateTime getStartDateTime() {
+    return startDateTime;
+  }
+
+  public LocalDateTime getEndDateTime() {
+    return endDateTime;
+  }
+
+  /**
+   * Returns the length of the slot.
+   */
+  public Duration getDuration() {
+    return Duration.between(startDateTime, endDateTime);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TimeSlot)) {
+      return false;
+    }
+    TimeSlot other = (TimeSlot) o;
+    return startDateTime.equals(other.startDateTime) && endDateTime.equals(other.endDateTime);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(startDateTime, endDateTime);
+  }
+
+  @Override
+  public String toString() {
+    return "Free from " + startDateTime + " to " + endDateTime;
+  }
+}
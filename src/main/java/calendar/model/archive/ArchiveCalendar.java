@@ -0,0 +1,580 @@
+package calendar.model.archive;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.StringPool;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarChangeListener;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import calendar.model.interfaces.StringPoolReadOnly;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read-only calendar answered straight from a memory-mapped archive file.
+ * The file holds one fixed-width record per event, followed by a pool of the distinct
+ * subjects and descriptions. Events up to a day long come first and longer ones after
+ * them, each tier sorted by start and with its own longest duration in the header, so a
+ * single long event does not widen the look-back of every query. Queries binary search
+ * both tiers, read the fields in place and merge the two in start order, so the events
+ * are never loaded onto the heap; the events handed out are small views that decode a
+ * field only when it is asked for.
+ * Series are archived as their occurrences. Every method that would change the calendar
+ * throws, so an archive can be mounted in a container next to ordinary calendars.
+ * A mapping is limited to 2GB, which is about forty million events.
+ */
+public class ArchiveCalendar implements CalendarEditable {
+  static final int MAGIC = 0x43414c41;
+  static final short VERSION = 2;
+
+  static final int HEADER_BYTES = 48;
+  static final int COUNT = 6;
+  static final int LONG_COUNT = 10;
+  static final int SHORT_DURATION = 14;
+  static final int LONG_DURATION = 22;
+  static final int POOL = 30;
+  static final int ZONE = 38;
+
+  static final long ONE_DAY_SECONDS = 24 * 60 * 60;
+
+  static final int RECORD_BYTES = 52;
+  static final int START_SECOND = 0;
+  static final int START_NANO = 8;
+  static final int END_SECOND = 12;
+  static final int END_NANO = 20;
+  static final int SUBJECT = 24;
+  static final int DESCRIPTION = 28;
+  static final int ID_HIGH = 32;
+  static final int ID_LOW = 40;
+  static final int FLAGS = 48;
+  static final int LOCATION = 49;
+  static final int STATUS = 50;
+  static final int TYPE = 51;
+
+  static final int NONE = -1;
+  static final byte ALL_DAY = 1;
+
+  private final Path file;
+  private final ByteBuffer buffer;
+  private final int count;
+  private final int shortCount;
+  private final long shortDurationSeconds;
+  private final long longDurationSeconds;
+  private final int pool;
+  private final ZoneId zoneId;
+  private final StringPool stringPool;
+
+  private ArchiveCalendar(Path file, ByteBuffer buffer) {
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC
+        || buffer.getShort(4) != VERSION) {
+      throw new IllegalArgumentException("Not a calendar archive");
+    }
+    this.file = file;
+    this.buffer = buffer;
+    this.count = buffer.getInt(COUNT);
+    this.shortCount = count - buffer.getInt(LONG_COUNT);
+    this.shortDurationSeconds = buffer.getLong(SHORT_DURATION);
+    this.longDurationSeconds = buffer.getLong(LONG_DURATION);
+    this.pool = (int) buffer.getLong(POOL);
+    if (count < 0 || shortCount < 0 || shortCount > count
+        || pool < HEADER_BYTES + (long) count * RECORD_BYTES || pool > buffer.capacity()) {
+      throw new IllegalArgumentException("Calendar archive is damaged");
+    }
+    this.zoneId = ZoneId.of(stringAt(buffer.getInt(ZONE)));
+    this.stringPool = new StringPool(0);
+  }
+
+  /**
+   * Maps an archive file written by {@link #write}.
+   *
+   * @param file the archive file
+   * @return the calendar answered from the file
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a calendar archive
+   */
+  public static ArchiveCalendar open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Calendar archive is larger than 2GB: " + file);
+      }
+      return new ArchiveCalendar(file.toAbsolutePath(),
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Maps an archive file and wraps it as a named calendar in the archived time zone,
+   * ready to be added to a calendar container.
+   *
+   * @param name the name of the calendar in the container
+   * @param file the archive file
+   * @return the mounted calendar
+   * @throws IOException if the file cannot be read
+   */
+  public static AdvancedCalendar mount(String name, Path file) throws IOException {
+    ArchiveCalendar archive = open(file);
+    return new AdvancedCalendarImpl.AdvancedCalendarBuilder(name, archive.getZoneId())
+        .setCalendar(archive)
+        .build();
+  }
+
+  /**
+   * Writes every event of the calendar, with series expanded, to an archive file.
+   * The events are taken from the calendar's read view, so changes made meanwhile are
+   * not archived half done.
+   *
+   * @param calendar the calendar to archive
+   * @param zoneId   the time zone of the calendar
+   * @param file     the file to write, replaced if it exists
+   * @return the number of events archived
+   * @throws IOException if the file cannot be written
+   */
+  public static int write(CalendarReadOnly calendar, ZoneId zoneId, Path file)
+      throws IOException {
+    List<EventReadOnly> events = new ArrayList<>();
+    calendar.getReadView().forEachEvent(events::add);
+    if (events.size() > (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES) {
+      throw new IllegalArgumentException("Too many events for one archive");
+    }
+    events.sort(Comparator.comparing(ArchiveCalendar::isLong)
+        .thenComparing(EventReadOnly::getStartDateTime)
+        .thenComparing(EventReadOnly::getEndDateTime));
+
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    List<byte[]> encoded = new ArrayList<>();
+    int[] poolSize = new int[1];
+    ByteBuffer records = ByteBuffer.allocate(events.size() * RECORD_BYTES);
+    long[] maxDuration = new long[2];
+    int longCount = 0;
+    for (EventReadOnly event : events) {
+      LocalDateTime start = event.getStartDateTime();
+      LocalDateTime end = event.getEndDateTime();
+      long startSecond = start.toEpochSecond(ZoneOffset.UTC);
+      long endSecond = end.toEpochSecond(ZoneOffset.UTC);
+      int tier = isLong(event) ? 1 : 0;
+      longCount += tier;
+      maxDuration[tier] = Math.max(maxDuration[tier], endSecond - startSecond + 1);
+      records.putLong(startSecond).putInt(start.getNano())
+          .putLong(endSecond).putInt(end.getNano())
+          .putInt(poolOffset(strings, encoded, poolSize, event.getSubject()))
+          .putInt(poolOffset(strings, encoded, poolSize, event.getDescription()))
+          .putLong(event.getId().getMostSignificantBits())
+          .putLong(event.getId().getLeastSignificantBits())
+          .put(event.isAllDay() ? ALL_DAY : 0)
+          .put(ordinalOf(event.getLocation()))
+          .put(ordinalOf(event.getEventStatus()))
+          .put(ordinalOf(event.getEventType()));
+    }
+    int zone = poolOffset(strings, encoded, poolSize, zoneId.getId());
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC).putShort(VERSION).putInt(events.size()).putInt(longCount)
+        .putLong(maxDuration[0]).putLong(maxDuration[1])
+        .putLong(HEADER_BYTES + (long) records.capacity()).putInt(zone);
+    header.clear();
+    ByteBuffer poolBytes = ByteBuffer.allocate(poolSize[0]);
+    for (byte[] bytes : encoded) {
+      poolBytes.putInt(bytes.length).put(bytes);
+    }
+    poolBytes.flip();
+    records.flip();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer[] parts = {header, records, poolBytes};
+      while (poolBytes.hasRemaining()) {
+        channel.write(parts);
+      }
+    }
+    return events.size();
+  }
+
+  /**
+   * Returns the archive file the calendar is answered from.
+   *
+   * @return the absolute path of the archive file
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Returns the time zone the calendar was archived in.
+   *
+   * @return the archived time zone
+   */
+  public ZoneId getZoneId() {
+    return zoneId;
+  }
+
+  /**
+   * Checks the records of each tier that start close enough before the time to still be
+   * running, reading their times in place without creating any events.
+   */
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    long second = dateTime.toEpochSecond(ZoneOffset.UTC);
+    int nano = dateTime.getNano();
+    return isBusy(0, shortCount, second - shortDurationSeconds, second, nano)
+        || isBusy(shortCount, count, second - longDurationSeconds, second, nano);
+  }
+
+  private boolean isBusy(int from, int to, long lookBack, long second, int nano) {
+    for (int i = firstStartingFrom(from, to, lookBack, 0); i < to; i++) {
+      int record = recordAt(i);
+      int startOrder = compare(buffer.getLong(record + START_SECOND),
+          buffer.getInt(record + START_NANO), second, nano);
+      if (startOrder > 0) {
+        break;
+      }
+      if (startOrder == 0 || compare(buffer.getLong(record + END_SECOND),
+          buffer.getInt(record + END_NANO), second, nano) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachEvent(Consumer<EventReadOnly> consumer) {
+    int shortIndex = 0;
+    int longIndex = shortCount;
+    while (shortIndex < shortCount || longIndex < count) {
+      boolean takeShort = longIndex == count || (shortIndex < shortCount
+          && compareRecords(recordAt(shortIndex), recordAt(longIndex)) <= 0);
+      int record = takeShort ? recordAt(shortIndex++) : recordAt(longIndex++);
+      consumer.accept(new ArchivedEvent(this, record));
+    }
+  }
+
+  @Override
+  public void forEachStoredEvent(Consumer<EventReadOnly> consumer) {
+    forEachEvent(consumer);
+  }
+
+  @Override
+  public void forEachSeries(Consumer<EventSeriesReadOnly> consumer) {
+    // series are archived as their occurrences
+  }
+
+  /**
+   * Returns the events overlapping the range, or for a range covering one whole day
+   * the events starting on that day, matching CalendarImpl.
+   */
+  @Override
+  public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    List<EventReadOnly> result = new ArrayList<>();
+    LocalDate date = startDateTime.toLocalDate();
+    if (date.equals(endDateTime.toLocalDate())
+        && startDateTime.toLocalTime().equals(LocalTime.of(0, 0))
+        && endDateTime.toLocalTime().equals(LocalTime.of(23, 59))) {
+      long dayStart = startDateTime.toEpochSecond(ZoneOffset.UTC);
+      long nextDay = dayStart + ONE_DAY_SECONDS;
+      for (int record : merged(startingOn(0, shortCount, dayStart, nextDay),
+          startingOn(shortCount, count, dayStart, nextDay))) {
+        result.add(new ArchivedEvent(this, record));
+      }
+      return result;
+    }
+    long startSecond = startDateTime.toEpochSecond(ZoneOffset.UTC);
+    int startNano = startDateTime.getNano();
+    long endSecond = endDateTime.toEpochSecond(ZoneOffset.UTC);
+    int endNano = endDateTime.getNano();
+    for (int record : merged(
+        overlapping(0, shortCount, shortDurationSeconds, startSecond, startNano, endSecond,
+            endNano),
+        overlapping(shortCount, count, longDurationSeconds, startSecond, startNano,
+            endSecond, endNano))) {
+      result.add(new ArchivedEvent(this, record));
+    }
+    return result;
+  }
+
+  private List<Integer> startingOn(int from, int to, long dayStart, long nextDay) {
+    List<Integer> records = new ArrayList<>();
+    for (int i = firstStartingFrom(from, to, dayStart, 0); i < to; i++) {
+      int record = recordAt(i);
+      if (buffer.getLong(record + START_SECOND) >= nextDay) {
+        break;
+      }
+      records.add(record);
+    }
+    return records;
+  }
+
+  private List<Integer> overlapping(int from, int to, long lookBack, long startSecond,
+                                    int startNano, long endSecond, int endNano) {
+    List<Integer> records = new ArrayList<>();
+    for (int i = firstStartingFrom(from, to, startSecond - lookBack, 0); i < to; i++) {
+      int record = recordAt(i);
+      if (compare(buffer.getLong(record + START_SECOND), buffer.getInt(record + START_NANO),
+          endSecond, endNano) > 0) {
+        break;
+      }
+      if (compare(buffer.getLong(record + END_SECOND), buffer.getInt(record + END_NANO),
+          startSecond, startNano) >= 0) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+
+  @Override
+  public Map<LocalDate, List<EventReadOnly>> getAllEvents() {
+    Map<LocalDate, List<EventReadOnly>> allEvents = new TreeMap<>();
+    forEachEvent(event -> allEvents
+        .computeIfAbsent(event.getStartDateTime().toLocalDate(), k -> new ArrayList<>())
+        .add(event));
+    return allEvents;
+  }
+
+  /**
+   * Returns this calendar, since an archive never changes.
+   */
+  @Override
+  public CalendarReadOnly getReadView() {
+    return this;
+  }
+
+  /**
+   * Compares the subjects as UTF-8 bytes against the pool, so only matches are decoded.
+   */
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    List<EventReadOnly> result = new ArrayList<>();
+    byte[] wanted = subject.getBytes(StandardCharsets.UTF_8);
+    long second = startDateTime.toEpochSecond(ZoneOffset.UTC);
+    int nano = startDateTime.getNano();
+    for (int record : merged(startingAt(0, shortCount, wanted, second, nano),
+        startingAt(shortCount, count, wanted, second, nano))) {
+      result.add(new ArchivedEvent(this, record));
+    }
+    return result;
+  }
+
+  private List<Integer> startingAt(int from, int to, byte[] subject, long second, int nano) {
+    List<Integer> records = new ArrayList<>();
+    for (int i = firstStartingFrom(from, to, second, nano); i < to; i++) {
+      int record = recordAt(i);
+      if (compare(buffer.getLong(record + START_SECOND), buffer.getInt(record + START_NANO),
+          second, nano) != 0) {
+        break;
+      }
+      if (poolEquals(buffer.getInt(record + SUBJECT), subject)) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+
+  @Override
+  public List<EventReadOnly> getSeriesEvents(UUID seriesId) {
+    List<EventReadOnly> result = new ArrayList<>();
+    long high = seriesId.getMostSignificantBits();
+    long low = seriesId.getLeastSignificantBits();
+    for (int record : merged(withId(0, shortCount, high, low),
+        withId(shortCount, count, high, low))) {
+      result.add(new ArchivedEvent(this, record));
+    }
+    return result;
+  }
+
+  private List<Integer> withId(int from, int to, long high, long low) {
+    List<Integer> records = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      int record = recordAt(i);
+      if (buffer.getLong(record + ID_HIGH) == high && buffer.getLong(record + ID_LOW) == low) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+
+  @Override
+  public EventReadOnly addEvent(EventReadOnly event) {
+    throw readOnly();
+  }
+
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> events) {
+    throw readOnly();
+  }
+
+  @Override
+  public EventSeriesReadOnly addSeries(EventSeriesReadOnly series) {
+    throw readOnly();
+  }
+
+  @Override
+  public List<EventReadOnly> editEvent(List<EventReadOnly> events, String property,
+                                       String newValue) {
+    throw readOnly();
+  }
+
+  @Override
+  public void replaceSeries(EventSeriesReadOnly oldSeries,
+                            List<EventSeriesReadOnly> newSeries) {
+    throw readOnly();
+  }
+
+  @Override
+  public void removeEvent(EventReadOnly event) {
+    throw readOnly();
+  }
+
+  /**
+   * Accepts the listener without using it, since an archive never changes.
+   */
+  @Override
+  public void setChangeListener(CalendarChangeListener listener) {
+    // nothing to report
+  }
+
+  /**
+   * Returns an empty pool, since the strings of an archive stay in the file.
+   */
+  @Override
+  public StringPoolReadOnly getStringPool() {
+    return stringPool;
+  }
+
+  /**
+   * Returns true, since an archive never changes once written.
+   */
+  @Override
+  public boolean publishesReadView() {
+    return true;
+  }
+
+  ByteBuffer buffer() {
+    return buffer;
+  }
+
+  String stringAt(int offset) {
+    if (offset == NONE) {
+      return null;
+    }
+    int at = pool + offset;
+    byte[] bytes = new byte[buffer.getInt(at)];
+    buffer.get(at + Integer.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private boolean poolEquals(int offset, byte[] wanted) {
+    int at = pool + offset;
+    if (buffer.getInt(at) != wanted.length) {
+      return false;
+    }
+    at += Integer.BYTES;
+    for (int i = 0; i < wanted.length; i++) {
+      if (buffer.get(at + i) != wanted[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int recordAt(int index) {
+    return HEADER_BYTES + index * RECORD_BYTES;
+  }
+
+  /**
+   * Returns the index of the first record of the tier from from to to starting at or
+   * after the given time.
+   */
+  private int firstStartingFrom(int from, int to, long second, int nano) {
+    int low = from;
+    int high = to;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      int record = recordAt(mid);
+      if (compare(buffer.getLong(record + START_SECOND), buffer.getInt(record + START_NANO),
+          second, nano) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Merges the records of the two tiers, each already in start order, in start order.
+   */
+  private List<Integer> merged(List<Integer> shortRecords, List<Integer> longRecords) {
+    if (longRecords.isEmpty()) {
+      return shortRecords;
+    }
+    List<Integer> records = new ArrayList<>(shortRecords.size() + longRecords.size());
+    int shortIndex = 0;
+    int longIndex = 0;
+    while (shortIndex < shortRecords.size() || longIndex < longRecords.size()) {
+      boolean takeShort = longIndex == longRecords.size() || (shortIndex < shortRecords.size()
+          && compareRecords(shortRecords.get(shortIndex), longRecords.get(longIndex)) <= 0);
+      records.add(takeShort ? shortRecords.get(shortIndex++) : longRecords.get(longIndex++));
+    }
+    return records;
+  }
+
+  private int compareRecords(int record, int other) {
+    int byStart = compare(buffer.getLong(record + START_SECOND),
+        buffer.getInt(record + START_NANO), buffer.getLong(other + START_SECOND),
+        buffer.getInt(other + START_NANO));
+    return byStart != 0 ? byStart : compare(buffer.getLong(record + END_SECOND),
+        buffer.getInt(record + END_NANO), buffer.getLong(other + END_SECOND),
+        buffer.getInt(other + END_NANO));
+  }
+
+  private static boolean isLong(EventReadOnly event) {
+    return event.getEndDateTime().toEpochSecond(ZoneOffset.UTC)
+        - event.getStartDateTime().toEpochSecond(ZoneOffset.UTC) > ONE_DAY_SECONDS;
+  }
+
+  private static int compare(long second, int nano, long otherSecond, int otherNano) {
+    int bySecond = Long.compare(second, otherSecond);
+    return bySecond != 0 ? bySecond : Integer.compare(nano, otherNano);
+  }
+
+  private static int poolOffset(Map<String, Integer> strings, List<byte[]> encoded,
+                                int[] poolSize, String value) {
+    if (value == null) {
+      return NONE;
+    }
+    Integer offset = strings.get(value);
+    if (offset == null) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      offset = poolSize[0];
+      strings.put(value, offset);
+      encoded.add(bytes);
+      poolSize[0] += Integer.BYTES + bytes.length;
+    }
+    return offset;
+  }
+
+  private static byte ordinalOf(Enum<?> value) {
+    return (byte) (value == null ? NONE : value.ordinal());
+  }
+
+  private static IllegalArgumentException readOnly() {
+    return new IllegalArgumentException("Archived calendars cannot be edited");
+  }
+}
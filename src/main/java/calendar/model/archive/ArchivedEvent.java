@@ -0,0 +1,117 @@
+package calendar.model.archive;
+
+import calendar.model.Event;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.EventReadOnly;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * View of one event record of an archive, decoding each field from the mapping when
+ * it is asked for. Two views are equal when their subject, start and end are equal,
+ * the same rule Event uses.
+ */
+class ArchivedEvent implements EventReadOnly {
+  private static final Location[] LOCATIONS = Location.values();
+  private static final EventStatus[] STATUSES = EventStatus.values();
+  private static final TypeOfEvent[] TYPES = TypeOfEvent.values();
+
+  private final ArchiveCalendar archive;
+  private final int record;
+
+  /**
+   * Creates a view of the record at the given position of the archive.
+   *
+   * @param archive the archive holding the record
+   * @param record  the byte position of the record
+   */
+  ArchivedEvent(ArchiveCalendar archive, int record) {
+    this.archive = archive;
+    this.record = record;
+  }
+
+  @Override
+  public String getSubject() {
+    return archive.stringAt(buffer().getInt(record + ArchiveCalendar.SUBJECT));
+  }
+
+  @Override
+  public LocalDateTime getStartDateTime() {
+    return LocalDateTime.ofEpochSecond(buffer().getLong(record + ArchiveCalendar.START_SECOND),
+        buffer().getInt(record + ArchiveCalendar.START_NANO), ZoneOffset.UTC);
+  }
+
+  @Override
+  public LocalDateTime getEndDateTime() {
+    return LocalDateTime.ofEpochSecond(buffer().getLong(record + ArchiveCalendar.END_SECOND),
+        buffer().getInt(record + ArchiveCalendar.END_NANO), ZoneOffset.UTC);
+  }
+
+  @Override
+  public String getDescription() {
+    return archive.stringAt(buffer().getInt(record + ArchiveCalendar.DESCRIPTION));
+  }
+
+  @Override
+  public Location getLocation() {
+    return valueAt(LOCATIONS, buffer().get(record + ArchiveCalendar.LOCATION));
+  }
+
+  @Override
+  public EventStatus getEventStatus() {
+    return valueAt(STATUSES, buffer().get(record + ArchiveCalendar.STATUS));
+  }
+
+  @Override
+  public TypeOfEvent getEventType() {
+    return valueAt(TYPES, buffer().get(record + ArchiveCalendar.TYPE));
+  }
+
+  @Override
+  public UUID getId() {
+    return new UUID(buffer().getLong(record + ArchiveCalendar.ID_HIGH),
+        buffer().getLong(record + ArchiveCalendar.ID_LOW));
+  }
+
+  @Override
+  public boolean isAllDay() {
+    return (buffer().get(record + ArchiveCalendar.FLAGS) & ArchiveCalendar.ALL_DAY) != 0;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ArchivedEvent)) {
+      return false;
+    }
+    ArchivedEvent other = (ArchivedEvent) o;
+    return getSubject().equals(other.getSubject())
+        && getStartDateTime().equals(other.getStartDateTime())
+        && getEndDateTime().equals(other.getEndDateTime());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getSubject(), getStartDateTime(), getEndDateTime());
+  }
+
+  @Override
+  public String toString() {
+    return new Event.EventBuilder(this).build().toString();
+  }
+
+  private ByteBuffer buffer() {
+    return archive.buffer();
+  }
+
+  private static <T> T valueAt(T[] values, byte ordinal) {
+    return ordinal == ArchiveCalendar.NONE ? null : values[ordinal];
+  }
+}
@@ -0,0 +1,48 @@
+package calendar.model.interfaces;
+
+import java.util.List;
+
+/**
+ * Listener that is told about every change made to the events of a calendar.
+ * The calendar calls it after a change has been applied, so a change that fails
+ * is never reported, and an edit that fails part way reports the events it did change.
+ */
+public interface CalendarChangeListener {
+
+  /**
+   * Called after an event has been added.
+   *
+   * @param event the added event
+   */
+  void eventAdded(EventReadOnly event);
+
+  /**
+   * Called after a recurring series has been added.
+   *
+   * @param series the series as stored in the calendar
+   */
+  void seriesAdded(EventSeriesReadOnly series);
+
+  /**
+   * Called after an event has been replaced by its edited version.
+   *
+   * @param oldEvent the event before the edit
+   * @param newEvent the event after the edit
+   */
+  void eventEdited(EventReadOnly oldEvent, EventReadOnly newEvent);
+
+  /**
+   * Called after a series rule has been replaced by the rules that take its place.
+   *
+   * @param oldSeries the series before the change
+   * @param newSeries the series stored instead
+   */
+  void seriesReplaced(EventSeriesReadOnly oldSeries, List<EventSeriesReadOnly> newSeries);
+
+  /**
+   * Called after an event has been removed.
+   *
+   * @param event the removed event
+   */
+  void eventRemoved(EventReadOnly event);
+}
@@ -1,6 +1,8 @@
 package calendar.model.interfaces;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Represents a calendar manager which can manage multiple calendar at a time.
@@ -45,4 +47,16 @@ public interface CalendarContainer {
    * @return a map of all existing calendars.
    */
   Map<String, AdvancedCalendar> getCalendars();
+
+  /**
+   * Runs an action that works on several calendars at once, such as copying events from
+   * one calendar to another, without other users of the container changing those
+   * calendars while it runs.
+   *
+   * @param calendars the calendars the action reads or changes
+   * @param action    the action to run
+   * @param <T>       the type of the result
+   * @return the result of the action
+   */
+  <T> T withCalendars(Collection<AdvancedCalendar> calendars, Supplier<T> action);
 }
@@ -1,6 +1,9 @@
 package calendar.model.interfaces;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Represents a modifiable version of the calendar model.
@@ -16,6 +19,47 @@ public interface CalendarEditable extends CalendarReadOnly {
    */
   EventReadOnly addEvent(EventReadOnly event);
 
+  /**
+   * Adds a batch of events to the calendar.
+   * The batch is checked as a whole before anything is stored, so either every event
+   * is added or, if any event conflicts, none of them are.
+   *
+   * @param events the events to add
+   * @return the added events in the order they were given
+   * @throws IllegalArgumentException if an event already exists or appears twice in the batch
+   */
+  List<EventReadOnly> addEvents(Collection<EventReadOnly> events);
+
+  /**
+   * Adds a recurring series to the calendar.
+   * The series is stored as a single rule and its occurrences are expanded on demand.
+   *
+   * @param series the series to add
+   * @return the series as stored in the calendar
+   * @throws IllegalArgumentException if any occurrence conflicts with an existing event
+   */
+  EventSeriesReadOnly addSeries(EventSeriesReadOnly series);
+
+  /**
+   * Returns the events with the given subject that start at the given date and time.
+   * The lookup is indexed on the start date and time, so the calendar is not scanned.
+   *
+   * @param subject       the subject of the events
+   * @param startDateTime the start date and time of the events
+   * @return the matching events, empty if there are none.
+   */
+  List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime);
+
+  /**
+   * Returns every occurrence of the series with the given id.
+   * The lookup is indexed, so only the events of the series are visited.
+   *
+   * @param seriesId the id shared by the occurrences of the series
+   * @return the occurrences in start order, or the single event with that id,
+   *         empty if there is no such id.
+   */
+  List<EventReadOnly> getSeriesEvents(UUID seriesId);
+
   /**
    * Edits one or more existing events by modifying a specified property.
    *
@@ -27,10 +71,46 @@ public interface CalendarEditable extends CalendarReadOnly {
    */
   List<EventReadOnly> editEvent(List<EventReadOnly> events, String property, String newValue);
 
+  /**
+   * Replaces a series rule with the rules that take its place, such as the two parts of
+   * a series that was edited from a date on. Edits record their rewrites through this, so
+   * they can be replayed without expanding the series.
+   *
+   * @param oldSeries the stored series, found by its id and first date
+   * @param newSeries the series to store instead
+   * @throws IllegalArgumentException if there is no such series or a new occurrence
+   *                                  conflicts with an existing event
+   */
+  void replaceSeries(EventSeriesReadOnly oldSeries, List<EventSeriesReadOnly> newSeries);
+
   /**
    * Removes an event from the calendar.
    *
    * @param event the event to remove
    */
   void removeEvent(EventReadOnly event);
+
+  /**
+   * Sets the listener that is told about every change to the events of the calendar.
+   * Only one listener is kept, and null stops the notifications.
+   *
+   * @param listener the listener to notify, or null for none
+   */
+  void setChangeListener(CalendarChangeListener listener);
+
+  /**
+   * Returns the pool the calendar interns the subjects and descriptions of its events
+   * through, for reporting how much memory it saves.
+   *
+   * @return the string pool of the calendar
+   */
+  StringPoolReadOnly getStringPool();
+
+  /**
+   * Returns whether the queries of the calendar only read the immutable version that its
+   * last complete change published, so they can run while another thread changes it.
+   *
+   * @return true if queries need no lock against changes
+   */
+  boolean publishesReadView();
 }
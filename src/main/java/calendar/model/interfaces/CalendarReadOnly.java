@@ -15,6 +15,7 @@ public interface CalendarReadOnly {
 
   /**
    * Checks whether the status in calendar is busy at the given date and time.
+   * An event that started on an earlier day and is still running also makes it busy.
    *
    * @param dateTime the date and time to check
    * @return true if busy at the given time else false.
@@ -30,6 +31,21 @@ public interface CalendarReadOnly {
    */
   void forEachEvent(Consumer<EventReadOnly> consumer);
 
+  /**
+   * Executes the provided consumer for every event that is stored on its own,
+   * in date order. Occurrences generated from a series rule are left out.
+   *
+   * @param consumer the consumer that processes each stored event.
+   */
+  void forEachStoredEvent(Consumer<EventReadOnly> consumer);
+
+  /**
+   * Executes the provided consumer for every recurring series rule of the calendar.
+   *
+   * @param consumer the consumer that processes each series.
+   */
+  void forEachSeries(Consumer<EventSeriesReadOnly> consumer);
+
   /**
    * Retrieves all events that occur between the given start and end times.
    *
@@ -47,4 +63,13 @@ public interface CalendarReadOnly {
    *
    */
   Map<LocalDate, List<EventReadOnly>> getAllEvents();
+
+  /**
+   * Returns an immutable view of the calendar as it is now. Later changes to the calendar
+   * are not seen by the view, so it can be read at length, such as for an export, while
+   * the calendar keeps changing.
+   *
+   * @return the read view of the calendar.
+   */
+  CalendarReadOnly getReadView();
 }
@@ -0,0 +1,125 @@
+package calendar.model.interfaces;
+
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Represents a read-only view of a recurring event series.
+ * A series stores its repetition rule once (the week days it repeats on, the first and
+ * last date, the time of day and duration) and expands the individual occurrences
+ * only when they are asked for. Dates that were edited or removed from the series
+ * are kept as exceptions and are not expanded.
+ */
+public interface EventSeriesReadOnly {
+
+  /**
+   * Returns the Unique ID shared by every occurrence of the series.
+   */
+  UUID getId();
+
+  /**
+   * Returns the subject.
+   */
+  String getSubject();
+
+  /**
+   * Returns the description.
+   */
+  String getDescription();
+
+  /**
+   * Returns the location.
+   */
+  Location getLocation();
+
+  /**
+   * Returns the Event Status.
+   */
+  EventStatus getEventStatus();
+
+  /**
+   * Indicates whether the occurrences last for the entire day.
+   */
+  boolean isAllDay();
+
+  /**
+   * Returns the time of day each occurrence starts at.
+   */
+  LocalTime getStartTime();
+
+  /**
+   * Returns the duration of each occurrence.
+   */
+  Duration getDuration();
+
+  /**
+   * Returns the days of the week the series repeats on.
+   */
+  Set<DayOfWeek> getRepeatDays();
+
+  /**
+   * Returns the first date the series can occur on.
+   */
+  LocalDate getFirstDate();
+
+  /**
+   * Returns the last date the series can occur on.
+   */
+  LocalDate getLastDate();
+
+  /**
+   * Returns the dates that were removed from the series.
+   */
+  Set<LocalDate> getExceptions();
+
+  /**
+   * Checks whether the series has an occurrence on the given date.
+   *
+   * @param date the date to check
+   * @return true if an occurrence starts on the date else false.
+   */
+  boolean occursOn(LocalDate date);
+
+  /**
+   * Returns the number of occurrences left in the series.
+   *
+   * @return the number of occurrences, excluding the exceptions.
+   */
+  long occurrenceCount();
+
+  /**
+   * Returns the occurrences that start between the two dates, both inclusive.
+   *
+   * @param from the first date to expand
+   * @param to   the last date to expand
+   * @return the occurrences in start order, empty if there are none.
+   */
+  List<EventReadOnly> occurrencesBetween(LocalDate from, LocalDate to);
+
+  /**
+   * Returns the occurrences that overlap the given range, that is the occurrence does not
+   * end before the start and does not start after the end.
+   *
+   * @param startDateTime the start date and time of the range.
+   * @param endDateTime   the end date and time of the range.
+   * @return the overlapping occurrences in start order, empty if there are none.
+   */
+  List<EventReadOnly> occurrencesOverlapping(LocalDateTime startDateTime,
+                                             LocalDateTime endDateTime);
+
+  /**
+   * Executes the provided consumer for every occurrence of the series in start order.
+   *
+   * @param consumer the consumer that processes each occurrence.
+   */
+  void forEachOccurrence(Consumer<EventReadOnly> consumer);
+}
@@ -0,0 +1,35 @@
+package calendar.model.interfaces;
+
+/**
+ * Represents the read-only view of a calendar's string pool.
+ * Reports how many strings the pool holds and how many duplicates it has replaced.
+ */
+public interface StringPoolReadOnly {
+
+  /**
+   * Returns the number of distinct strings currently pooled.
+   */
+  int size();
+
+  /**
+   * Returns the largest number of strings the pool will hold.
+   */
+  int getCapacity();
+
+  /**
+   * Returns the number of strings that were passed through the pool.
+   */
+  long getLookups();
+
+  /**
+   * Returns the number of strings that were replaced by an equal pooled string.
+   */
+  long getHits();
+
+  /**
+   * Returns the estimated heap bytes of all the duplicate strings the pool has replaced.
+   * The count only grows: it is not lowered when the events using a pooled string are
+   * removed, so it measures the duplicates avoided rather than the memory saved now.
+   */
+  long getBytesReplaced();
+}
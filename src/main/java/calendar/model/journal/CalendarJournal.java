@@ -0,0 +1,395 @@
+package calendar.model.journal;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.archive.ArchiveCalendar;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the changes made to a calendar container, so that its calendars
+ * survive a restart without running every command again.
+ * Each change is one record: a calendar added, mounted from an archive or updated, an
+ * event added, edited or removed, or a series added or split by an edit, in a named
+ * calendar. On start the journal is replayed
+ * into an empty container and a container that records every later change is handed back.
+ * A record that can no longer be applied, such as the mount of an archive that was since
+ * deleted, is skipped and reported rather than stopping the start. Records are written in
+ * groups, and the sync policy decides when they are forced to the disk. A group that has
+ * not filled up is committed by a background thread after at most the commit delay, so a
+ * crash loses at most that much time of changes.
+ */
+public class CalendarJournal implements Closeable {
+  /**
+   * Number of records committed together when no group size is given.
+   */
+  public static final int DEFAULT_GROUP_SIZE = 64;
+
+  /**
+   * Longest time a record waits for its group to fill up when no delay is given.
+   */
+  public static final Duration DEFAULT_COMMIT_DELAY = Duration.ofMillis(100);
+
+  static final byte ADD_CALENDAR = 1;
+  static final byte UPDATE_CALENDAR = 2;
+  static final byte ADD_EVENT = 3;
+  static final byte ADD_SERIES = 4;
+  static final byte EDIT_EVENT = 5;
+  static final byte REMOVE_EVENT = 6;
+  static final byte MOUNT_CALENDAR = 7;
+  static final byte REPLACE_SERIES = 8;
+
+  private final FileChannel channel;
+  private final SyncPolicy syncPolicy;
+  private final int groupSize;
+  private final Duration commitDelay;
+  private final RecordBuffer record;
+  private final DataOutputStream recordOut;
+  private final List<String> skipped;
+  private JournalWriter writer;
+  private ScheduledExecutorService committer;
+
+  /**
+   * Opens the journal file, creating it if it does not exist.
+   *
+   * @param file        the journal file
+   * @param syncPolicy  when the records are forced to the disk
+   * @param groupSize   the number of records committed together
+   * @param commitDelay the longest time a record waits for its group to fill up
+   * @throws IOException if the file cannot be opened
+   */
+  public CalendarJournal(Path file, SyncPolicy syncPolicy, int groupSize, Duration commitDelay)
+      throws IOException {
+    if (groupSize < 1) {
+      throw new IllegalArgumentException("Journal group size must be positive.");
+    }
+    if (commitDelay.isNegative() || commitDelay.isZero()) {
+      throw new IllegalArgumentException("Journal commit delay must be positive.");
+    }
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    this.syncPolicy = syncPolicy;
+    this.groupSize = groupSize;
+    this.commitDelay = commitDelay;
+    this.record = new RecordBuffer();
+    this.recordOut = new DataOutputStream(record);
+    this.skipped = new ArrayList<>();
+  }
+
+  /**
+   * Opens the journal file with the default commit delay.
+   *
+   * @param file       the journal file
+   * @param syncPolicy when the records are forced to the disk
+   * @param groupSize  the number of records committed together
+   * @throws IOException if the file cannot be opened
+   */
+  public CalendarJournal(Path file, SyncPolicy syncPolicy, int groupSize) throws IOException {
+    this(file, syncPolicy, groupSize, DEFAULT_COMMIT_DELAY);
+  }
+
+  /**
+   * Opens the journal file with the group sync policy and the default group size.
+   *
+   * @param file the journal file
+   * @throws IOException if the file cannot be opened
+   */
+  public CalendarJournal(Path file) throws IOException {
+    this(file, SyncPolicy.GROUP, DEFAULT_GROUP_SIZE);
+  }
+
+  /**
+   * Replays the journal into the container and returns a container that journals every
+   * later change. A record at the end of the file that was only partly written is dropped.
+   *
+   * @param container the container to restore, normally empty
+   * @return the container to use from now on
+   * @throws IOException           if the journal cannot be read
+   * @throws IllegalStateException if the journal was already restored
+   */
+  public synchronized CalendarContainer restore(CalendarContainer container)
+      throws IOException {
+    if (writer != null) {
+      throw new IllegalStateException("Journal has already been restored.");
+    }
+    long validLength = replay(container);
+    channel.truncate(validLength);
+    channel.position(validLength);
+    writer = new JournalWriter(channel, syncPolicy, groupSize);
+    if (syncPolicy != SyncPolicy.ALWAYS && groupSize > 1) {
+      committer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "journal-commit");
+        thread.setDaemon(true);
+        return thread;
+      });
+      long delay = Math.max(1, commitDelay.toMillis());
+      committer.scheduleWithFixedDelay(this::commitQuietly, delay, delay,
+          TimeUnit.MILLISECONDS);
+    }
+    return new JournaledCalendarContainer(container, this);
+  }
+
+  /**
+   * Returns why each record that could not be applied on restore was skipped.
+   *
+   * @return one line per skipped record, in the order of the journal
+   */
+  public synchronized List<String> getSkippedRecords() {
+    return Collections.unmodifiableList(new ArrayList<>(skipped));
+  }
+
+  /**
+   * Writes and forces the records that are waiting for their group to fill up.
+   */
+  public synchronized void flush() {
+    if (writer != null) {
+      writer.commit();
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (committer != null) {
+      committer.shutdownNow();
+    }
+    if (writer != null) {
+      writer.close();
+    } else {
+      channel.close();
+    }
+  }
+
+  private void commitQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      // a failed commit must not stop the next ones
+    }
+  }
+
+  synchronized void recordAddCalendar(String name, ZoneId zoneId) {
+    try {
+      startRecord(ADD_CALENDAR, name);
+      JournalCodec.writeString(recordOut, zoneId.getId());
+      endRecord();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write to journal.", e);
+    }
+  }
+
+  synchronized void recordMountCalendar(String name, Path file) {
+    try {
+      startRecord(MOUNT_CALENDAR, name);
+      JournalCodec.writeString(recordOut, file.toString());
+      endRecord();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write to journal.", e);
+    }
+  }
+
+  synchronized void recordUpdateCalendar(String name, String property, String newValue) {
+    try {
+      startRecord(UPDATE_CALENDAR, name);
+      JournalCodec.writeString(recordOut, property);
+      JournalCodec.writeString(recordOut, newValue);
+      endRecord();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write to journal.", e);
+    }
+  }
+
+  synchronized void recordEvent(byte type, String calendarName, EventReadOnly event) {
+    try {
+      startRecord(type, calendarName);
+      JournalCodec.writeEvent(recordOut, event);
+      endRecord();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write to journal.", e);
+    }
+  }
+
+  synchronized void recordSeries(String calendarName, EventSeriesReadOnly series) {
+    try {
+      startRecord(ADD_SERIES, calendarName);
+      JournalCodec.writeSeries(recordOut, series);
+      endRecord();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write to journal.", e);
+    }
+  }
+
+  synchronized void recordSeriesReplaced(String calendarName, EventSeriesReadOnly oldSeries,
+                                         List<EventSeriesReadOnly> newSeries) {
+    try {
+      startRecord(REPLACE_SERIES, calendarName);
+      JournalCodec.writeSeries(recordOut, oldSeries);
+      recordOut.writeInt(newSeries.size());
+      for (EventSeriesReadOnly series : newSeries) {
+        JournalCodec.writeSeries(recordOut, series);
+      }
+      endRecord();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write to journal.", e);
+    }
+  }
+
+  synchronized void recordEdit(String calendarName, EventReadOnly oldEvent,
+                               EventReadOnly newEvent) {
+    try {
+      startRecord(EDIT_EVENT, calendarName);
+      JournalCodec.writeEvent(recordOut, oldEvent);
+      JournalCodec.writeEvent(recordOut, newEvent);
+      endRecord();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write to journal.", e);
+    }
+  }
+
+  private void startRecord(byte type, String calendarName) throws IOException {
+    record.reset();
+    recordOut.writeByte(type);
+    JournalCodec.writeString(recordOut, calendarName);
+  }
+
+  private void endRecord() throws IOException {
+    recordOut.flush();
+    writer.append(record.array(), record.size());
+  }
+
+  /**
+   * Applies every valid record to the container and returns the length of the file
+   * up to the end of the last valid record. A valid record that cannot be applied is
+   * skipped, and the records after it are still applied.
+   */
+  private long replay(CalendarContainer container) throws IOException {
+    channel.position(0);
+    InputStream in = new BufferedInputStream(Channels.newInputStream(channel), 1 << 16);
+    DataInputStream data = new DataInputStream(in);
+    Map<String, AdvancedCalendar> calendars = new HashMap<>(container.getCalendars());
+    CRC32 crc = new CRC32();
+    long validLength = 0;
+    int index = 0;
+    while (true) {
+      byte[] bytes;
+      int checksum;
+      try {
+        int length = data.readInt();
+        checksum = data.readInt();
+        if (length < 0 || length > channel.size() - validLength) {
+          break;
+        }
+        bytes = new byte[length];
+        data.readFully(bytes);
+      } catch (EOFException e) {
+        break;
+      }
+      crc.reset();
+      crc.update(bytes);
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      index++;
+      try {
+        apply(new DataInputStream(new ByteArrayInputStream(bytes)), container, calendars);
+      } catch (IOException | RuntimeException e) {
+        skipped.add("record " + index + ": " + e.getMessage());
+      }
+      validLength += JournalWriter.HEADER_BYTES + bytes.length;
+    }
+    return validLength;
+  }
+
+  private void apply(DataInputStream in, CalendarContainer container,
+                     Map<String, AdvancedCalendar> calendars) throws IOException {
+    byte type = in.readByte();
+    String name = JournalCodec.readString(in);
+    switch (type) {
+      case ADD_CALENDAR:
+        container.addCalendar(name, new AdvancedCalendarImpl
+            .AdvancedCalendarBuilder(name, ZoneId.of(JournalCodec.readString(in)))
+            .build());
+        calendars.put(name, container.getCalendars().get(name));
+        break;
+      case MOUNT_CALENDAR:
+        container.addCalendar(name,
+            ArchiveCalendar.mount(name, Paths.get(JournalCodec.readString(in))));
+        calendars.put(name, container.getCalendars().get(name));
+        break;
+      case UPDATE_CALENDAR:
+        container.updateCalendar(name, JournalCodec.readString(in),
+            JournalCodec.readString(in));
+        calendars.clear();
+        calendars.putAll(container.getCalendars());
+        break;
+      case ADD_EVENT:
+        calendarNamed(calendars, name).addEvent(JournalCodec.readEvent(in));
+        break;
+      case ADD_SERIES:
+        calendarNamed(calendars, name).addSeries(JournalCodec.readSeries(in));
+        break;
+      case EDIT_EVENT:
+        AdvancedCalendar calendar = calendarNamed(calendars, name);
+        calendar.removeEvent(JournalCodec.readEvent(in));
+        calendar.addEvent(JournalCodec.readEvent(in));
+        break;
+      case REMOVE_EVENT:
+        calendarNamed(calendars, name).removeEvent(JournalCodec.readEvent(in));
+        break;
+      case REPLACE_SERIES:
+        EventSeriesReadOnly oldSeries = JournalCodec.readSeries(in);
+        int count = in.readInt();
+        List<EventSeriesReadOnly> newSeries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          newSeries.add(JournalCodec.readSeries(in));
+        }
+        calendarNamed(calendars, name).replaceSeries(oldSeries, newSeries);
+        break;
+      default:
+        throw new IllegalStateException("Unknown journal record type " + type);
+    }
+  }
+
+  private AdvancedCalendar calendarNamed(Map<String, AdvancedCalendar> calendars,
+                                         String name) {
+    AdvancedCalendar calendar = calendars.get(name);
+    if (calendar == null) {
+      throw new IllegalStateException("Journal refers to unknown calendar " + name);
+    }
+    return calendar;
+  }
+
+  /**
+   * Byte buffer whose array can be written out without copying it.
+   */
+  private static class RecordBuffer extends ByteArrayOutputStream {
+    byte[] array() {
+      return buf;
+    }
+  }
+}
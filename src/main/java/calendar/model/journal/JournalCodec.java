@@ -0,0 +1,155 @@
+package calendar.model.journal;
+
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Writes the values stored in journal records and reads them back.
+ * Date times are written as the epoch day and the nano of day, enums by name and strings
+ * as UTF-8 bytes after their length, so no value has a length limit.
+ */
+final class JournalCodec {
+
+  private JournalCodec() {
+  }
+
+  static void writeEvent(DataOutput out, EventReadOnly event) throws IOException {
+    writeString(out, event.getSubject());
+    writeDateTime(out, event.getStartDateTime());
+    writeDateTime(out, event.getEndDateTime());
+    writeString(out, event.getDescription());
+    writeEnum(out, event.getLocation());
+    writeEnum(out, event.getEventStatus());
+    writeEnum(out, event.getEventType());
+    writeUuid(out, event.getId());
+    out.writeBoolean(event.isAllDay());
+  }
+
+  static EventReadOnly readEvent(DataInput in) throws IOException {
+    String subject = readString(in);
+    LocalDateTime start = readDateTime(in);
+    return new Event.EventBuilder(subject, start)
+        .setEndDateTime(readDateTime(in))
+        .setDescription(readString(in))
+        .setLocation(readEnum(in, Location.class))
+        .setEventStatus(readEnum(in, EventStatus.class))
+        .setEventType(readEnum(in, TypeOfEvent.class))
+        .setEventId(readUuid(in))
+        .setAllDay(in.readBoolean())
+        .build();
+  }
+
+  static void writeSeries(DataOutput out, EventSeriesReadOnly series) throws IOException {
+    writeString(out, series.getSubject());
+    writeDateTime(out, LocalDateTime.of(series.getFirstDate(), series.getStartTime()));
+    out.writeLong(series.getDuration().toNanos());
+    int days = 0;
+    for (DayOfWeek day : series.getRepeatDays()) {
+      days |= 1 << day.ordinal();
+    }
+    out.writeByte(days);
+    out.writeLong(series.getLastDate().toEpochDay());
+    writeString(out, series.getDescription());
+    writeEnum(out, series.getLocation());
+    writeEnum(out, series.getEventStatus());
+    writeUuid(out, series.getId());
+    out.writeBoolean(series.isAllDay());
+    out.writeInt(series.getExceptions().size());
+    for (LocalDate exception : series.getExceptions()) {
+      out.writeLong(exception.toEpochDay());
+    }
+  }
+
+  static EventSeries readSeries(DataInput in) throws IOException {
+    String subject = readString(in);
+    LocalDateTime firstStart = readDateTime(in);
+    LocalDateTime firstEnd = firstStart.plusNanos(in.readLong());
+    int days = in.readByte();
+    Set<DayOfWeek> repeatDays = EnumSet.noneOf(DayOfWeek.class);
+    for (DayOfWeek day : DayOfWeek.values()) {
+      if ((days & (1 << day.ordinal())) != 0) {
+        repeatDays.add(day);
+      }
+    }
+    EventSeries.EventSeriesBuilder builder =
+        new EventSeries.EventSeriesBuilder(subject, firstStart, firstEnd, repeatDays)
+            .setLastDate(LocalDate.ofEpochDay(in.readLong()))
+            .setDescription(readString(in))
+            .setLocation(readEnum(in, Location.class))
+            .setEventStatus(readEnum(in, EventStatus.class))
+            .setSeriesId(readUuid(in))
+            .setAllDay(in.readBoolean());
+    int exceptionCount = in.readInt();
+    Set<LocalDate> exceptions = new TreeSet<>();
+    for (int i = 0; i < exceptionCount; i++) {
+      exceptions.add(LocalDate.ofEpochDay(in.readLong()));
+    }
+    return builder.setExceptions(exceptions).build();
+  }
+
+  static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+    writeString(out, value == null ? null : value.name());
+  }
+
+  private static <T extends Enum<T>> T readEnum(DataInput in, Class<T> type)
+      throws IOException {
+    String name = readString(in);
+    return name == null ? null : Enum.valueOf(type, name);
+  }
+
+  private static void writeDateTime(DataOutput out, LocalDateTime dateTime) throws IOException {
+    out.writeLong(dateTime.toLocalDate().toEpochDay());
+    out.writeLong(dateTime.toLocalTime().toNanoOfDay());
+  }
+
+  private static LocalDateTime readDateTime(DataInput in) throws IOException {
+    LocalDate date = LocalDate.ofEpochDay(in.readLong());
+    return LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readLong()));
+  }
+
+  private static void writeUuid(DataOutput out, UUID id) throws IOException {
+    out.writeLong(id.getMostSignificantBits());
+    out.writeLong(id.getLeastSignificantBits());
+  }
+
+  private static UUID readUuid(DataInput in) throws IOException {
+    return new UUID(in.readLong(), in.readLong());
+  }
+}
@@ -0,0 +1,99 @@
+package calendar.model.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Appends records to the end of a journal file.
+ * Records are framed by their length and a CRC32 of their bytes, so a record that was only
+ * partly written when the program stopped is recognised and dropped on the next start.
+ * Pending records are collected in one buffer and committed with a single write, followed
+ * by a force of the channel unless the sync policy is NEVER.
+ */
+class JournalWriter implements Closeable {
+  static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+  private final FileChannel channel;
+  private final SyncPolicy syncPolicy;
+  private final int groupSize;
+  private final CRC32 crc;
+  private ByteBuffer pending;
+  private int pendingRecords;
+
+  /**
+   * Creates a writer that appends at the current position of the channel.
+   *
+   * @param channel    the journal file, positioned after its last valid record
+   * @param syncPolicy when the records are forced to the disk
+   * @param groupSize  the number of records committed together
+   */
+  JournalWriter(FileChannel channel, SyncPolicy syncPolicy, int groupSize) {
+    if (groupSize < 1) {
+      throw new IllegalArgumentException("Journal group size must be positive.");
+    }
+    this.channel = channel;
+    this.syncPolicy = syncPolicy;
+    this.groupSize = syncPolicy == SyncPolicy.ALWAYS ? 1 : groupSize;
+    this.crc = new CRC32();
+    this.pending = ByteBuffer.allocate(8192);
+  }
+
+  /**
+   * Adds a record to the pending group and commits the group once it is full.
+   *
+   * @param record the bytes of the record
+   * @param length the number of bytes of the record to write
+   */
+  synchronized void append(byte[] record, int length) {
+    if (pending.remaining() < HEADER_BYTES + length) {
+      ByteBuffer larger = ByteBuffer.allocate(
+          Math.max(pending.capacity() * 2, pending.position() + HEADER_BYTES + length));
+      pending.flip();
+      larger.put(pending);
+      pending = larger;
+    }
+    crc.reset();
+    crc.update(record, 0, length);
+    pending.putInt(length);
+    pending.putInt((int) crc.getValue());
+    pending.put(record, 0, length);
+    pendingRecords++;
+    if (pendingRecords >= groupSize) {
+      commit();
+    }
+  }
+
+  /**
+   * Writes the pending records with one write and forces them unless the policy is NEVER.
+   */
+  synchronized void commit() {
+    if (pendingRecords == 0) {
+      return;
+    }
+    try {
+      pending.flip();
+      while (pending.hasRemaining()) {
+        channel.write(pending);
+      }
+      pending.clear();
+      pendingRecords = 0;
+      if (syncPolicy != SyncPolicy.NEVER) {
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write to journal.", e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      commit();
+    } finally {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package calendar.model.journal;
+
+import calendar.model.archive.ArchiveCalendar;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarChangeListener;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Calendar container that writes every change to a journal before handing control back.
+ * Calendar changes are recorded here, and each calendar gets a listener that records
+ * the changes to its events under the calendar's current name. Calendar changes are
+ * recorded one at a time, so the journal can wrap a container used by several threads.
+ */
+class JournaledCalendarContainer implements CalendarContainer {
+  private final CalendarContainer container;
+  private final CalendarJournal journal;
+  private final Map<CalendarEditable, CalendarRecorder> recorders;
+
+  /**
+   * Wraps a container whose calendars already match the journal.
+   *
+   * @param container the container that holds the calendars
+   * @param journal   the journal the changes are written to
+   */
+  JournaledCalendarContainer(CalendarContainer container, CalendarJournal journal) {
+    this.container = Objects.requireNonNull(container);
+    this.journal = Objects.requireNonNull(journal);
+    this.recorders = new IdentityHashMap<>();
+    attachAll();
+  }
+
+  /**
+   * Adds the calendar and records it, together with any series and events it already
+   * holds. Series are recorded as rules, so replay does not expand them.
+   * A mounted archive is recorded by its file alone, since its events stay in the file.
+   */
+  @Override
+  public synchronized void addCalendar(String name, AdvancedCalendar advancedCalendar) {
+    container.addCalendar(name, advancedCalendar);
+    if (advancedCalendar.getCalendar() instanceof ArchiveCalendar) {
+      journal.recordMountCalendar(name,
+          ((ArchiveCalendar) advancedCalendar.getCalendar()).getFile());
+    } else {
+      journal.recordAddCalendar(name, advancedCalendar.getZoneId());
+      advancedCalendar.forEachSeries(series -> journal.recordSeries(name, series));
+      advancedCalendar.forEachStoredEvent(
+          event -> journal.recordEvent(CalendarJournal.ADD_EVENT, name, event));
+    }
+    attachAll();
+  }
+
+  /**
+   * Updates the calendar and records the update. The events a time zone change moves
+   * are not recorded one by one, since replaying the update moves them again.
+   */
+  @Override
+  public synchronized void updateCalendar(String name, String property, String newValue) {
+    AdvancedCalendar calendar = container.getCalendars().get(name);
+    CalendarRecorder recorder = calendar == null ? null : recorders.get(calendar.getCalendar());
+    if (recorder != null) {
+      recorder.recording = false;
+    }
+    try {
+      container.updateCalendar(name, property, newValue);
+    } finally {
+      if (recorder != null) {
+        recorder.recording = true;
+      }
+    }
+    journal.recordUpdateCalendar(name, property, newValue);
+    attachAll();
+  }
+
+  @Override
+  public AdvancedCalendar getActiveCalendar() {
+    return container.getActiveCalendar();
+  }
+
+  @Override
+  public void setActiveCalendar(String name) {
+    container.setActiveCalendar(name);
+  }
+
+  @Override
+  public Map<String, AdvancedCalendar> getCalendars() {
+    return container.getCalendars();
+  }
+
+  @Override
+  public <T> T withCalendars(Collection<AdvancedCalendar> calendars, Supplier<T> action) {
+    return container.withCalendars(calendars, action);
+  }
+
+  /**
+   * Gives every calendar in the container a recorder under its current name, and drops
+   * the recorders of calendars that were renamed away or replaced.
+   */
+  private void attachAll() {
+    Map<CalendarEditable, CalendarRecorder> current = new IdentityHashMap<>();
+    for (Map.Entry<String, AdvancedCalendar> entry : container.getCalendars().entrySet()) {
+      CalendarEditable calendar = entry.getValue().getCalendar();
+      CalendarRecorder recorder = recorders.remove(calendar);
+      if (recorder == null) {
+        recorder = new CalendarRecorder(entry.getKey());
+        entry.getValue().setChangeListener(recorder);
+      }
+      recorder.name = entry.getKey();
+      current.put(calendar, recorder);
+    }
+    for (Map.Entry<CalendarEditable, CalendarRecorder> stale : recorders.entrySet()) {
+      stale.getValue().recording = false;
+      stale.getKey().setChangeListener(null);
+    }
+    recorders.clear();
+    recorders.putAll(current);
+  }
+
+  /**
+   * Records the changes to the events of one calendar.
+   */
+  private class CalendarRecorder implements CalendarChangeListener {
+    private volatile String name;
+    private volatile boolean recording = true;
+
+    CalendarRecorder(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void eventAdded(EventReadOnly event) {
+      if (recording) {
+        journal.recordEvent(CalendarJournal.ADD_EVENT, name, event);
+      }
+    }
+
+    @Override
+    public void seriesAdded(EventSeriesReadOnly series) {
+      if (recording) {
+        journal.recordSeries(name, series);
+      }
+    }
+
+    @Override
+    public void seriesReplaced(EventSeriesReadOnly oldSeries,
+                               List<EventSeriesReadOnly> newSeries) {
+      if (recording) {
+        journal.recordSeriesReplaced(name, oldSeries, newSeries);
+      }
+    }
+
+    @Override
+    public void eventEdited(EventReadOnly oldEvent, EventReadOnly newEvent) {
+      if (recording) {
+        journal.recordEdit(name, oldEvent, newEvent);
+      }
+    }
+
+    @Override
+    public void eventRemoved(EventReadOnly event) {
+      if (recording) {
+        journal.recordEvent(CalendarJournal.REMOVE_EVENT, name, event);
+      }
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package calendar.model.journal;
+
+/**
+ * Decides when the records of a calendar journal are forced to the disk.
+ */
+public enum SyncPolicy {
+  /**
+   * Every change is written and forced to the disk before the call that made it returns.
+   */
+  ALWAYS,
+
+  /**
+   * Changes are collected and written with a single write and a single force once a
+   * group is full, once the commit delay has passed, or when the journal is flushed or
+   * closed.
+   */
+  GROUP,
+
+  /**
+   * Changes are written in groups like GROUP but never forced,
+   * so the operating system decides when they reach the disk.
+   */
+  NEVER;
+
+  /**
+   * Used to map a string input to an enum.
+   *
+   * @param policy string input.
+   * @return the policy with the given name, ignoring case.
+   * @throws IllegalArgumentException if there is no policy with that name
+   */
+  public static SyncPolicy getSyncPolicy(String policy) {
+    for (SyncPolicy value : values()) {
+      if (value.name().equalsIgnoreCase(policy)) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Invalid journal sync policy: " + policy);
+  }
+}
@@ -0,0 +1,397 @@
+package calendar.model.snapshot;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Saves every calendar of a container to a compact binary file and loads it back.
+ * The file starts with a table of every distinct string (names, zones, subjects and
+ * descriptions), and the calendars refer to the strings by their position in the table.
+ * Times are stored as minutes since the epoch, enums by ordinal and series as their rule,
+ * so a snapshot is a fraction of the size of an export. Loading maps the file into memory
+ * and reads it in one pass without any text parsing.
+ */
+public final class CalendarSnapshot {
+  private static final int MAGIC = 0x43414c53;
+  private static final short VERSION = 1;
+  private static final int NONE = -1;
+
+  private static final byte ALL_DAY = 1;
+  private static final byte SUB_MINUTE = 2;
+
+  private static final Location[] LOCATIONS = Location.values();
+  private static final EventStatus[] STATUSES = EventStatus.values();
+  private static final TypeOfEvent[] TYPES = TypeOfEvent.values();
+  private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+  private CalendarSnapshot() {
+  }
+
+  /**
+   * Writes every calendar of the container, with its events and series, to the file.
+   * Each calendar is read from its read view, so its series and events are saved as they
+   * were at one moment even if the calendar changes during the save.
+   *
+   * @param container the container to save
+   * @param file      the file to write, replaced if it exists
+   * @return the number of calendars saved
+   * @throws IOException if the file cannot be written
+   */
+  public static int save(CalendarContainer container, Path file) throws IOException {
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    Body body = new Body();
+    Map<String, AdvancedCalendar> calendars = container.getCalendars();
+    body.putInt(calendars.size());
+    for (Map.Entry<String, AdvancedCalendar> entry : calendars.entrySet()) {
+      AdvancedCalendar calendar = entry.getValue();
+      CalendarReadOnly view = calendar.getReadView();
+      body.putInt(indexOf(strings, entry.getKey()));
+      body.putInt(indexOf(strings, calendar.getZoneId().getId()));
+      List<EventSeriesReadOnly> seriesList = new ArrayList<>();
+      view.forEachSeries(seriesList::add);
+      body.putInt(seriesList.size());
+      for (EventSeriesReadOnly series : seriesList) {
+        writeSeries(body, strings, series);
+      }
+      List<EventReadOnly> events = new ArrayList<>();
+      view.forEachStoredEvent(events::add);
+      body.putInt(events.size());
+      for (EventReadOnly event : events) {
+        writeEvent(body, strings, event);
+      }
+    }
+
+    List<byte[]> encoded = new ArrayList<>(strings.size());
+    int tableBytes = Integer.BYTES;
+    for (String value : strings.keySet()) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      encoded.add(bytes);
+      tableBytes += Integer.BYTES + bytes.length;
+    }
+    ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + Short.BYTES + tableBytes);
+    header.putInt(MAGIC).putShort(VERSION).putInt(encoded.size());
+    for (byte[] bytes : encoded) {
+      header.putInt(bytes.length).put(bytes);
+    }
+    header.flip();
+    ByteBuffer content = body.buffer.flip();
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer[] parts = {header, content};
+      while (content.hasRemaining()) {
+        channel.write(parts);
+      }
+    }
+    return calendars.size();
+  }
+
+  /**
+   * Reads a snapshot file and adds its calendars to the container.
+   * A calendar in the snapshot may only replace a calendar of the same name that has no
+   * events yet, such as a fresh default calendar, which takes the time zone of the snapshot.
+   * Every calendar is checked before anything is added, so a conflict changes nothing.
+   *
+   * @param file      the snapshot file
+   * @param container the container to add the calendars to
+   * @return the number of calendars loaded
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a snapshot or a calendar conflicts
+   */
+  public static int load(Path file, CalendarContainer container) throws IOException {
+    List<LoadedCalendar> loaded = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (in.getInt() != MAGIC || in.getShort() != VERSION) {
+        throw new IllegalArgumentException("Not a calendar snapshot: " + file);
+      }
+      String[] strings = new String[in.getInt()];
+      byte[] scratch = new byte[64];
+      for (int i = 0; i < strings.length; i++) {
+        int length = in.getInt();
+        if (scratch.length < length) {
+          scratch = new byte[length];
+        }
+        in.get(scratch, 0, length);
+        strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+      }
+      int calendarCount = in.getInt();
+      for (int i = 0; i < calendarCount; i++) {
+        LoadedCalendar calendar = new LoadedCalendar(strings[in.getInt()],
+            strings[in.getInt()]);
+        int seriesCount = in.getInt();
+        for (int j = 0; j < seriesCount; j++) {
+          calendar.series.add(readSeries(in, strings));
+        }
+        int eventCount = in.getInt();
+        calendar.events = new ArrayList<>(eventCount);
+        for (int j = 0; j < eventCount; j++) {
+          calendar.events.add(readEvent(in, strings));
+        }
+        loaded.add(calendar);
+      }
+    } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Snapshot file is damaged: " + file);
+    }
+
+    Map<String, AdvancedCalendar> existing = container.getCalendars();
+    for (LoadedCalendar calendar : loaded) {
+      AdvancedCalendar current = existing.get(calendar.name);
+      if (current != null && hasEvents(current)) {
+        throw new IllegalArgumentException("Calendar " + calendar.name + " already has events");
+      }
+    }
+    for (LoadedCalendar calendar : loaded) {
+      calendar.addTo(container, existing.get(calendar.name));
+    }
+    return loaded.size();
+  }
+
+  private static boolean hasEvents(AdvancedCalendar calendar) {
+    boolean[] found = new boolean[1];
+    calendar.forEachStoredEvent(event -> found[0] = true);
+    calendar.forEachSeries(series -> found[0] = true);
+    return found[0];
+  }
+
+  private static void writeEvent(Body out, Map<String, Integer> strings, EventReadOnly event) {
+    LocalDateTime start = event.getStartDateTime();
+    LocalDateTime end = event.getEndDateTime();
+    boolean subMinute = start.getSecond() != 0 || start.getNano() != 0
+        || end.getSecond() != 0 || end.getNano() != 0;
+    out.putInt(indexOf(strings, event.getSubject()));
+    out.putInt(indexOf(strings, event.getDescription()));
+    out.put((byte) ((event.isAllDay() ? ALL_DAY : 0) | (subMinute ? SUB_MINUTE : 0)));
+    out.put(ordinalOf(event.getLocation()));
+    out.put(ordinalOf(event.getEventStatus()));
+    out.put(ordinalOf(event.getEventType()));
+    out.putLong(epochMinute(start));
+    out.putLong(epochMinute(end));
+    if (subMinute) {
+      out.putLong(nanoOfMinute(start));
+      out.putLong(nanoOfMinute(end));
+    }
+    out.putLong(event.getId().getMostSignificantBits());
+    out.putLong(event.getId().getLeastSignificantBits());
+  }
+
+  private static EventReadOnly readEvent(ByteBuffer in, String[] strings) {
+    String subject = strings[in.getInt()];
+    String description = stringAt(strings, in.getInt());
+    byte flags = in.get();
+    Location location = valueAt(LOCATIONS, in.get());
+    EventStatus status = valueAt(STATUSES, in.get());
+    TypeOfEvent type = valueAt(TYPES, in.get());
+    LocalDateTime start = fromEpochMinute(in.getLong());
+    LocalDateTime end = fromEpochMinute(in.getLong());
+    if ((flags & SUB_MINUTE) != 0) {
+      start = start.plusNanos(in.getLong());
+      end = end.plusNanos(in.getLong());
+    }
+    return new Event.EventBuilder(subject, start)
+        .setEndDateTime(end)
+        .setDescription(description)
+        .setLocation(location)
+        .setEventStatus(status)
+        .setEventType(type)
+        .setEventId(new UUID(in.getLong(), in.getLong()))
+        .setAllDay((flags & ALL_DAY) != 0)
+        .build();
+  }
+
+  private static void writeSeries(Body out, Map<String, Integer> strings,
+                                  EventSeriesReadOnly series) {
+    LocalDateTime firstStart = LocalDateTime.of(series.getFirstDate(), series.getStartTime());
+    long durationNanos = series.getDuration().toNanos();
+    boolean subMinute = nanoOfMinute(firstStart) != 0 || durationNanos % 60_000_000_000L != 0;
+    int days = 0;
+    for (DayOfWeek day : series.getRepeatDays()) {
+      days |= 1 << day.ordinal();
+    }
+    out.putInt(indexOf(strings, series.getSubject()));
+    out.putInt(indexOf(strings, series.getDescription()));
+    out.put((byte) ((series.isAllDay() ? ALL_DAY : 0) | (subMinute ? SUB_MINUTE : 0)));
+    out.put(ordinalOf(series.getLocation()));
+    out.put(ordinalOf(series.getEventStatus()));
+    out.put((byte) days);
+    out.putLong(epochMinute(firstStart));
+    if (subMinute) {
+      out.putLong(nanoOfMinute(firstStart));
+      out.putLong(durationNanos);
+    } else {
+      out.putLong(durationNanos / 60_000_000_000L);
+    }
+    out.putLong(series.getLastDate().toEpochDay());
+    out.putLong(series.getId().getMostSignificantBits());
+    out.putLong(series.getId().getLeastSignificantBits());
+    out.putInt(series.getExceptions().size());
+    for (LocalDate exception : series.getExceptions()) {
+      out.putLong(exception.toEpochDay());
+    }
+  }
+
+  private static EventSeries readSeries(ByteBuffer in, String[] strings) {
+    String subject = strings[in.getInt()];
+    String description = stringAt(strings, in.getInt());
+    byte flags = in.get();
+    Location location = valueAt(LOCATIONS, in.get());
+    EventStatus status = valueAt(STATUSES, in.get());
+    int days = in.get();
+    LocalDateTime firstStart = fromEpochMinute(in.getLong());
+    Duration duration;
+    if ((flags & SUB_MINUTE) != 0) {
+      firstStart = firstStart.plusNanos(in.getLong());
+      duration = Duration.ofNanos(in.getLong());
+    } else {
+      duration = Duration.ofMinutes(in.getLong());
+    }
+    Set<DayOfWeek> repeatDays = EnumSet.noneOf(DayOfWeek.class);
+    for (DayOfWeek day : DAYS) {
+      if ((days & (1 << day.ordinal())) != 0) {
+        repeatDays.add(day);
+      }
+    }
+    EventSeries.EventSeriesBuilder builder = new EventSeries.EventSeriesBuilder(subject,
+        firstStart, firstStart.plus(duration), repeatDays)
+        .setLastDate(LocalDate.ofEpochDay(in.getLong()))
+        .setSeriesId(new UUID(in.getLong(), in.getLong()))
+        .setDescription(description)
+        .setLocation(location)
+        .setEventStatus(status)
+        .setAllDay((flags & ALL_DAY) != 0);
+    int exceptionCount = in.getInt();
+    Set<LocalDate> exceptions = new TreeSet<>();
+    for (int i = 0; i < exceptionCount; i++) {
+      exceptions.add(LocalDate.ofEpochDay(in.getLong()));
+    }
+    return builder.setExceptions(exceptions).build();
+  }
+
+  private static int indexOf(Map<String, Integer> strings, String value) {
+    if (value == null) {
+      return NONE;
+    }
+    Integer index = strings.get(value);
+    if (index == null) {
+      index = strings.size();
+      strings.put(value, index);
+    }
+    return index;
+  }
+
+  private static String stringAt(String[] strings, int index) {
+    return index == NONE ? null : strings[index];
+  }
+
+  private static byte ordinalOf(Enum<?> value) {
+    return (byte) (value == null ? NONE : value.ordinal());
+  }
+
+  private static <T> T valueAt(T[] values, byte ordinal) {
+    return ordinal == NONE ? null : values[ordinal];
+  }
+
+  private static long epochMinute(LocalDateTime dateTime) {
+    return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+  }
+
+  private static long nanoOfMinute(LocalDateTime dateTime) {
+    return dateTime.getSecond() * 1_000_000_000L + dateTime.getNano();
+  }
+
+  private static LocalDateTime fromEpochMinute(long epochMinute) {
+    return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+  }
+
+  /**
+   * Growable buffer the calendars are encoded into before the string table is known.
+   */
+  private static class Body {
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+    void put(byte value) {
+      ensure(Byte.BYTES).put(value);
+    }
+
+    void putInt(int value) {
+      ensure(Integer.BYTES).putInt(value);
+    }
+
+    void putLong(long value) {
+      ensure(Long.BYTES).putLong(value);
+    }
+
+    private ByteBuffer ensure(int bytes) {
+      if (buffer.remaining() < bytes) {
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+      }
+      return buffer;
+    }
+  }
+
+  /**
+   * A calendar read from a snapshot, kept until every calendar has been checked.
+   */
+  private static class LoadedCalendar {
+    private final String name;
+    private final String zoneId;
+    private final List<EventSeries> series;
+    private List<EventReadOnly> events;
+
+    LoadedCalendar(String name, String zoneId) {
+      this.name = name;
+      this.zoneId = zoneId;
+      this.series = new ArrayList<>();
+    }
+
+    void addTo(CalendarContainer container, AdvancedCalendar current) {
+      AdvancedCalendar target = current;
+      if (target == null) {
+        container.addCalendar(name, new AdvancedCalendarImpl
+            .AdvancedCalendarBuilder(name, ZoneId.of(zoneId)).build());
+        target = container.getCalendars().get(name);
+      } else if (!target.getZoneId().getId().equals(zoneId)) {
+        container.updateCalendar(name, "timezone", zoneId);
+        target = container.getCalendars().get(name);
+      }
+      for (EventSeries eventSeries : series) {
+        target.addSeries(eventSeries);
+      }
+      target.addEvents(events);
+    }
+  }
+}
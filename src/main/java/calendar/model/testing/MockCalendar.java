@@ -1,13 +1,20 @@
 package calendar.model.testing;
 
+import calendar.model.StringPool;
+import calendar.model.interfaces.CalendarChangeListener;
 import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
 import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import calendar.model.interfaces.StringPoolReadOnly;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 /**
@@ -34,6 +41,30 @@ class MockCalendar implements CalendarEditable {
     return event;
   }
 
+  @Override
+  public List<EventReadOnly> addEvents(Collection<EventReadOnly> events) {
+    appendToLog("addEvents");
+    return new ArrayList<>(events);
+  }
+
+  @Override
+  public EventSeriesReadOnly addSeries(EventSeriesReadOnly series) {
+    appendToLog("addSeries");
+    return series;
+  }
+
+  @Override
+  public List<EventReadOnly> findEvents(String subject, LocalDateTime startDateTime) {
+    appendToLog("findEvents");
+    return new ArrayList<>();
+  }
+
+  @Override
+  public List<EventReadOnly> getSeriesEvents(UUID seriesId) {
+    appendToLog("getSeriesEvents");
+    return new ArrayList<>();
+  }
+
   @Override
   public List<EventReadOnly> editEvent(List<EventReadOnly> events,
                                        String property, String newValue) {
@@ -41,11 +72,34 @@ class MockCalendar implements CalendarEditable {
     return events;
   }
 
+  @Override
+  public void replaceSeries(EventSeriesReadOnly oldSeries,
+                            List<EventSeriesReadOnly> newSeries) {
+    appendToLog("replaceSeries");
+  }
+
   @Override
   public void removeEvent(EventReadOnly event) {
     appendToLog("removeEvent");
   }
 
+  @Override
+  public void setChangeListener(CalendarChangeListener listener) {
+    appendToLog("setChangeListener");
+  }
+
+  @Override
+  public StringPoolReadOnly getStringPool() {
+    appendToLog("getStringPool");
+    return new StringPool(0);
+  }
+
+  @Override
+  public boolean publishesReadView() {
+    appendToLog("publishesReadView");
+    return false;
+  }
+
   @Override
   public boolean isBusy(LocalDateTime dateTime) {
     appendToLog("isBusy");
@@ -57,6 +111,16 @@ class MockCalendar implements CalendarEditable {
     appendToLog("forEachEvent");
   }
 
+  @Override
+  public void forEachStoredEvent(Consumer<EventReadOnly> consumer) {
+    appendToLog("forEachStoredEvent");
+  }
+
+  @Override
+  public void forEachSeries(Consumer<EventSeriesReadOnly> consumer) {
+    appendToLog("forEachSeries");
+  }
+
   @Override
   public List<EventReadOnly> getEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
     appendToLog("getEvents");
@@ -69,6 +133,12 @@ class MockCalendar implements CalendarEditable {
     return Map.of();
   }
 
+  @Override
+  public CalendarReadOnly getReadView() {
+    appendToLog("getReadView");
+    return this;
+  }
+
   private void appendToLog(String message) {
     try {
       log.append(message);
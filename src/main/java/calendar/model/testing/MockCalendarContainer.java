@@ -3,7 +3,9 @@ package calendar.model.testing;
 import calendar.model.interfaces.AdvancedCalendar;
 import calendar.model.interfaces.CalendarContainer;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * A mock implementation of CalendarContainer used for testing controller interactions.
@@ -48,6 +50,12 @@ public class MockCalendarContainer implements CalendarContainer {
     return Map.of();
   }
 
+  @Override
+  public <T> T withCalendars(Collection<AdvancedCalendar> calendars, Supplier<T> action) {
+    appendToLog("Call reached withCalendars");
+    return action.get();
+  }
+
   private void appendToLog(String message) {
     try {
       log.append(message);
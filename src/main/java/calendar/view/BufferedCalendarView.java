@@ -0,0 +1,83 @@
+package calendar.view;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Calendar View that collects the rendered messages in a buffer instead of writing
+ * each one to the output. The buffer is written out once it grows past a threshold
+ * and when flush is called, which suits headless runs that render a result for
+ * every line of a long script.
+ */
+public class BufferedCalendarView implements CalendarView {
+  /**
+   * Number of characters buffered before the output is written when no threshold is given.
+   */
+  public static final int DEFAULT_FLUSH_THRESHOLD = 1 << 16;
+
+  private final Appendable out;
+  private final int flushThreshold;
+  private final StringBuilder buffer;
+
+  /**
+   * Constructor of a buffered CLI view.
+   *
+   * @param out            the output the buffered messages are written to.
+   * @param flushThreshold the number of buffered characters that triggers a write.
+   * @throws IllegalArgumentException if out is null or the threshold is not positive.
+   */
+  public BufferedCalendarView(Appendable out, int flushThreshold) {
+    if (out == null) {
+      throw new IllegalArgumentException("view cannot be null or print stream cannot be null.");
+    }
+    if (flushThreshold <= 0) {
+      throw new IllegalArgumentException("Flush threshold must be positive.");
+    }
+    this.out = out;
+    this.flushThreshold = flushThreshold;
+    this.buffer = new StringBuilder(flushThreshold + 1024);
+  }
+
+  /**
+   * Constructor of a buffered CLI view using the default threshold.
+   *
+   * @param out the output the buffered messages are written to.
+   */
+  public BufferedCalendarView(Appendable out) {
+    this(out, DEFAULT_FLUSH_THRESHOLD);
+  }
+
+  @Override
+  public void render(String message) {
+    write(message);
+  }
+
+  @Override
+  public void renderError(String message) {
+    buffer.append("!!***");
+    buffer.append(message);
+    write("***!!");
+  }
+
+  /**
+   * Writes everything buffered so far to the output and flushes the output if it can be.
+   */
+  public void flush() {
+    try {
+      out.append(buffer);
+      buffer.setLength(0);
+      if (out instanceof Flushable) {
+        ((Flushable) out).flush();
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write to output stream.", e);
+    }
+  }
+
+  private void write(String message) {
+    buffer.append(message).append(System.lineSeparator());
+    if (buffer.length() >= flushThreshold) {
+      flush();
+    }
+  }
+}
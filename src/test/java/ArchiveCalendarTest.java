@@ -0,0 +1,136 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.CalendarContainerImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.archive.ArchiveCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.EventReadOnly;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for ArchiveCalendar.
+ * Checks that an archived calendar answers queries the same way as the calendar it was
+ * written from, and that it refuses every edit.
+ */
+public class ArchiveCalendarTest {
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+  private Path file;
+  private CalendarImpl calendar;
+  private ArchiveCalendar archive;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("calendar", ".archive");
+    calendar = new CalendarImpl();
+    calendar.addEvent(new Event.EventBuilder("Standup", MONDAY)
+        .setEndDateTime(MONDAY.plusMinutes(15)).setDescription("daily").build());
+    calendar.addEvent(new Event.EventBuilder("Offsite", MONDAY.minusDays(1))
+        .setEndDateTime(MONDAY.plusDays(1)).setDescription(null).build());
+    calendar.addEvent(new Event.EventBuilder("Standup", MONDAY.plusSeconds(30)).build());
+    calendar.addSeries(new EventSeries.EventSeriesBuilder("Gym", MONDAY.plusHours(9),
+        MONDAY.plusHours(10), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(6).build());
+    assertEquals(9, ArchiveCalendar.write(calendar, NEW_YORK, file));
+    archive = ArchiveCalendar.open(file);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private void assertSameEvents(List<EventReadOnly> expected, List<EventReadOnly> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (EventReadOnly event : expected) {
+      boolean found = false;
+      for (EventReadOnly other : actual) {
+        found |= event.getSubject().equals(other.getSubject())
+            && event.getStartDateTime().equals(other.getStartDateTime())
+            && event.getEndDateTime().equals(other.getEndDateTime())
+            && event.getId().equals(other.getId())
+            && event.getLocation() == other.getLocation()
+            && Objects.equals(event.getDescription(), other.getDescription());
+      }
+      assertTrue(event.toString(), found);
+    }
+  }
+
+  @Test
+  public void testQueriesMatchSourceCalendar() {
+    LocalDateTime[][] ranges = {
+        {MONDAY, MONDAY},
+        {MONDAY.withHour(0), MONDAY.withHour(23).withMinute(59)},
+        {MONDAY.minusDays(3), MONDAY.plusDays(30)},
+        {MONDAY.plusDays(2).plusHours(9).plusMinutes(30), MONDAY.plusDays(2).plusHours(11)},
+        {MONDAY.plusYears(1), MONDAY.plusYears(2)}};
+    for (LocalDateTime[] range : ranges) {
+      assertSameEvents(calendar.getEvents(range[0], range[1]),
+          archive.getEvents(range[0], range[1]));
+    }
+    LocalDateTime[] times = {MONDAY, MONDAY.plusMinutes(15), MONDAY.plusSeconds(10),
+        MONDAY.plusHours(12), MONDAY.plusDays(1), MONDAY.plusDays(2).plusHours(9).plusMinutes(59),
+        MONDAY.plusDays(2).plusHours(10)};
+    for (LocalDateTime time : times) {
+      assertEquals(time.toString(), calendar.isBusy(time), archive.isBusy(time));
+    }
+    assertSameEvents(calendar.findEvents("Standup", MONDAY), archive.findEvents("Standup",
+        MONDAY));
+    UUID gym = calendar.findEvents("Gym", MONDAY.plusHours(9)).get(0).getId();
+    assertSameEvents(calendar.getSeriesEvents(gym), archive.getSeriesEvents(gym));
+    assertEquals(calendar.getAllEvents().keySet(), archive.getAllEvents().keySet());
+  }
+
+  @Test
+  public void testLongEventIsMergedInStartOrder() {
+    List<String> subjects = new ArrayList<>();
+    archive.forEachEvent(event -> subjects.add(event.getSubject()));
+    assertEquals(List.of("Offsite", "Standup", "Standup", "Gym"), subjects.subList(0, 4));
+    List<EventReadOnly> monday = archive.getEvents(MONDAY, MONDAY.plusHours(10));
+    assertEquals("Offsite", monday.get(0).getSubject());
+    assertEquals("Gym", monday.get(monday.size() - 1).getSubject());
+    assertTrue(archive.isBusy(MONDAY.plusHours(20)));
+  }
+
+  @Test
+  public void testArchivedEventPrintsLikeTheSourceEvent() {
+    assertEquals(calendar.getAllEvents().toString(), archive.getAllEvents().toString());
+  }
+
+  @Test
+  public void testMountedArchiveSitsBesideOtherCalendars() throws IOException {
+    CalendarContainer container = new CalendarContainerImpl();
+    container.addCalendar("Old", ArchiveCalendar.mount("Old", file));
+    assertEquals(NEW_YORK, container.getCalendars().get("Old").getZoneId());
+    assertTrue(container.getCalendars().get("Old").isBusy(MONDAY));
+    assertFalse(container.getCalendars().get("Old").isBusy(MONDAY.plusYears(1)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testArchiveRejectsEdits() {
+    archive.editEvent(archive.findEvents("Standup", MONDAY), "subject", "Sync");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOpenRejectsOtherFiles() throws IOException {
+    Files.writeString(file, "subject,start date\n");
+    ArchiveCalendar.open(file);
+  }
+}
@@ -162,6 +162,34 @@ public class CalendarContainerControllerTest {
     assertTrue(out.toString().contains("Now you are using calendar Work"));
   }
 
+  @Test
+  public void testCreateAfterUseGoesToNewActiveCalendar() {
+    String in = "create calendar --name Work --timezone America/New_York"
+        + System.lineSeparator()
+        + "create event Standup from 2025-11-03T09:00 to 2025-11-03T09:30"
+        + System.lineSeparator()
+        + "use calendar --name Work"
+        + System.lineSeparator()
+        + "create event Review from 2025-11-03T10:00 to 2025-11-03T11:00";
+
+    inputStream = new StringReader(in);
+
+    CalendarController controller = new AdvanceCalendarController(container, inputStream, view);
+
+    controller.run();
+
+    LocalDateTime dayStart = LocalDateTime.of(2025, 11, 3, 0, 0);
+    LocalDateTime dayEnd = LocalDateTime.of(2025, 11, 3, 23, 59);
+    List<EventReadOnly> defaultEvents = container.getCalendars().get("default")
+        .getEvents(dayStart, dayEnd);
+    List<EventReadOnly> workEvents = container.getCalendars().get("Work")
+        .getEvents(dayStart, dayEnd);
+    assertEquals(1, defaultEvents.size());
+    assertEquals("Standup", defaultEvents.get(0).getSubject());
+    assertEquals(1, workEvents.size());
+    assertEquals("Review", workEvents.get(0).getSubject());
+  }
+
   @Test
   public void testCalendarManagerUseCommandInvalidName() {
 
@@ -575,4 +603,34 @@ public class CalendarContainerControllerTest {
     controller.run();
     assertTrue(out.toString().contains("Invalid command."));
   }
+
+  @Test
+  public void testFindSlotsAcrossCalendars() {
+    String in = "create calendar --name Work --timezone America/New_York"
+        + System.lineSeparator()
+        + "create calendar --name Home --timezone America/New_York"
+        + System.lineSeparator()
+        + "use calendar --name Work"
+        + System.lineSeparator()
+        + "create event Review from 2025-10-20T09:00 to 2025-10-20T12:00"
+        + System.lineSeparator()
+        + "use calendar --name Home"
+        + System.lineSeparator()
+        + "create event Dentist from 2025-10-20T13:00 to 2025-10-20T16:30"
+        + System.lineSeparator()
+        + "find slots 45 between 2025-10-20T00:00 and 2025-10-20T23:59 from 09:00 to 17:00 "
+        + "in Work,Home"
+        + System.lineSeparator()
+        + "find slots 90 between 2025-10-20T00:00 and 2025-10-20T23:59 from 09:00 to 17:00 "
+        + "in Work,Home";
+
+    inputStream = new StringReader(in);
+    CalendarController controller = new AdvanceCalendarController(container, inputStream, view);
+    controller.run();
+
+    assertTrue(out.toString().contains("Free slots:" + System.lineSeparator()
+        + "Free from 2025-10-20T12:00 to 2025-10-20T13:00"));
+    assertFalse(out.toString().contains("Free from 2025-10-20T16:30"));
+    assertTrue(out.toString().contains("No free slots found"));
+  }
 }
@@ -0,0 +1,275 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.archive.ArchiveCalendar;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import calendar.model.journal.CalendarJournal;
+import calendar.model.journal.SyncPolicy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for CalendarJournal.
+ * Checks that calendars and events restored from the journal match the calendars
+ * that were journaled, and that a record cut short at the end of the file is dropped.
+ */
+public class CalendarJournalTest {
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("calendar", ".journal");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private CalendarContainer open(SyncPolicy policy, CalendarJournal[] journal)
+      throws IOException {
+    journal[0] = new CalendarJournal(file, policy, 4);
+    return journal[0].restore(new CalendarContainerImpl());
+  }
+
+  private EventReadOnly event(String subject, LocalDateTime start) {
+    return new Event.EventBuilder(subject, start).setEndDateTime(start.plusHours(1)).build();
+  }
+
+  @Test
+  public void testRestoreReplaysCalendarAndEventChanges() throws IOException {
+    CalendarJournal[] journal = new CalendarJournal[1];
+    CalendarContainer container = open(SyncPolicy.GROUP, journal);
+    container.addCalendar("Work", new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", NEW_YORK).build());
+    AdvancedCalendar work = container.getCalendars().get("Work");
+    LocalDateTime monday = LocalDateTime.of(2025, 11, 3, 9, 0);
+    work.addEvent(event("Standup", monday));
+    EventReadOnly review = work.addEvent(event("Review", monday.plusHours(3)));
+    work.addSeries(new EventSeries.EventSeriesBuilder("Gym", monday.plusHours(9),
+        monday.plusHours(10), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(4).build());
+    work.editEvent(work.findEvents("Gym", monday.plusDays(2).plusHours(9)),
+        "location", "online");
+    work.removeEvent(review);
+    container.updateCalendar("Work", "timezone", "Europe/London");
+    container.updateCalendar("Work", "name", "Office");
+    container.getCalendars().get("Office").addEvent(event("Lunch", monday.plusHours(8)));
+    Map<LocalDate, List<EventReadOnly>> expected =
+        container.getCalendars().get("Office").getAllEvents();
+    journal[0].close();
+
+    CalendarContainer restored = open(SyncPolicy.GROUP, journal);
+    journal[0].close();
+
+    assertEquals(container.getCalendars().keySet(), restored.getCalendars().keySet());
+    AdvancedCalendar office = restored.getCalendars().get("Office");
+    assertEquals("Europe/London", office.getZoneId().getId());
+    assertEquals(expected, office.getAllEvents());
+    List<EventReadOnly> gym = office.findEvents("Gym", monday.plusDays(2).plusHours(14));
+    assertEquals(1, gym.size());
+    assertEquals("ONLINE", gym.get(0).getLocation().name());
+  }
+
+  @Test
+  public void testRestoreReplaysASeriesSplitByAnEdit() throws IOException {
+    CalendarJournal[] journal = new CalendarJournal[1];
+    CalendarContainer container = open(SyncPolicy.GROUP, journal);
+    container.addCalendar("Work", new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", NEW_YORK).build());
+    AdvancedCalendar work = container.getCalendars().get("Work");
+    LocalDateTime monday = LocalDateTime.of(2025, 11, 3, 18, 0);
+    EventSeriesReadOnly gym = work.addSeries(new EventSeries.EventSeriesBuilder("Gym",
+        monday, monday.plusHours(1), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(6).build());
+    List<EventReadOnly> fromWeekTwo = work.getSeriesEvents(gym.getId());
+    fromWeekTwo.removeIf(event -> event.getStartDateTime().isBefore(monday.plusWeeks(1)));
+    work.editEvent(fromWeekTwo, "description", "Weights");
+    Map<LocalDate, List<EventReadOnly>> expected = work.getAllEvents();
+    journal[0].close();
+
+    CalendarContainer restored = open(SyncPolicy.GROUP, journal);
+    journal[0].close();
+
+    AdvancedCalendar restoredWork = restored.getCalendars().get("Work");
+    assertTrue(journal[0].getSkippedRecords().isEmpty());
+    assertEquals(expected, restoredWork.getAllEvents());
+    List<EventSeriesReadOnly> rules = new ArrayList<>();
+    restoredWork.forEachSeries(rules::add);
+    assertEquals(2, rules.size());
+    assertEquals("Weights", rules.get(1).getDescription());
+    List<EventReadOnly> stored = new ArrayList<>();
+    restoredWork.forEachStoredEvent(stored::add);
+    assertTrue(stored.isEmpty());
+  }
+
+  @Test
+  public void testCalendarAddedWithSeriesIsRestoredWithItsRules() throws IOException {
+    AdvancedCalendar filled = new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", NEW_YORK).build();
+    LocalDateTime monday = LocalDateTime.of(2025, 11, 3, 18, 0);
+    filled.addSeries(new EventSeries.EventSeriesBuilder("Gym", monday, monday.plusHours(1),
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY)).setOccurrences(6).build());
+    filled.addEvent(event("Standup", monday.minusHours(9)));
+    CalendarJournal[] journal = new CalendarJournal[1];
+    CalendarContainer container = open(SyncPolicy.GROUP, journal);
+    container.addCalendar("Work", filled);
+    Map<LocalDate, List<EventReadOnly>> expected = filled.getAllEvents();
+    journal[0].close();
+
+    CalendarContainer restored = open(SyncPolicy.GROUP, journal);
+    journal[0].close();
+
+    AdvancedCalendar restoredWork = restored.getCalendars().get("Work");
+    assertTrue(journal[0].getSkippedRecords().isEmpty());
+    assertEquals(expected, restoredWork.getAllEvents());
+    List<EventSeriesReadOnly> rules = new ArrayList<>();
+    restoredWork.forEachSeries(rules::add);
+    assertEquals(1, rules.size());
+    assertEquals(6, restoredWork.getSeriesEvents(rules.get(0).getId()).size());
+    List<EventReadOnly> stored = new ArrayList<>();
+    restoredWork.forEachStoredEvent(stored::add);
+    assertEquals(1, stored.size());
+  }
+
+  @Test
+  public void testFailedChangeIsNotJournaled() throws IOException {
+    CalendarJournal[] journal = new CalendarJournal[1];
+    CalendarContainer container = open(SyncPolicy.ALWAYS, journal);
+    container.addCalendar("Work", new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", NEW_YORK).build());
+    AdvancedCalendar work = container.getCalendars().get("Work");
+    LocalDateTime start = LocalDateTime.of(2025, 11, 3, 9, 0);
+    work.addEvent(event("Standup", start));
+    try {
+      work.addEvent(event("Standup", start));
+    } catch (IllegalArgumentException e) {
+      // duplicate is rejected and must not reach the journal
+    }
+    long length = Files.size(file);
+    journal[0].close();
+
+    CalendarContainer restored = open(SyncPolicy.ALWAYS, journal);
+    journal[0].close();
+    assertEquals(1, restored.getCalendars().get("Work").getEvents(start, start).size());
+    assertEquals(length, Files.size(file));
+  }
+
+  @Test
+  public void testTornRecordAtEndIsDropped() throws IOException {
+    CalendarJournal[] journal = new CalendarJournal[1];
+    CalendarContainer container = open(SyncPolicy.ALWAYS, journal);
+    container.addCalendar("Work", new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", NEW_YORK).build());
+    LocalDateTime start = LocalDateTime.of(2025, 11, 3, 9, 0);
+    container.getCalendars().get("Work").addEvent(event("Standup", start));
+    journal[0].close();
+    long length = Files.size(file);
+    Files.write(file, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+    CalendarContainer restored = open(SyncPolicy.ALWAYS, journal);
+    restored.getCalendars().get("Work").addEvent(event("Review", start.plusHours(2)));
+    journal[0].close();
+    assertTrue(Files.size(file) > length);
+
+    CalendarContainer again = open(SyncPolicy.ALWAYS, journal);
+    journal[0].close();
+    assertEquals(2, again.getCalendars().get("Work")
+        .getEvents(start, start.plusHours(3)).size());
+  }
+
+  @Test
+  public void testGroupThatDoesNotFillUpIsCommittedAfterTheDelay() throws Exception {
+    CalendarJournal journal = new CalendarJournal(file, SyncPolicy.GROUP, 64,
+        Duration.ofMillis(20));
+    CalendarContainer container = journal.restore(new CalendarContainerImpl());
+    container.addCalendar("Work", new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", NEW_YORK).build());
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (Files.size(file) == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    long length = Files.size(file);
+    journal.close();
+    assertTrue(length > 0);
+    assertEquals(length, Files.size(file));
+  }
+
+  @Test
+  public void testMountedArchiveIsJournaledByItsFile() throws IOException {
+    Path archiveFile = Files.createTempFile("calendar", ".archive");
+    try {
+      AdvancedCalendar source = new AdvancedCalendarImpl
+          .AdvancedCalendarBuilder("Source", NEW_YORK).build();
+      LocalDateTime start = LocalDateTime.of(2025, 11, 3, 9, 0);
+      for (int i = 0; i < 50; i++) {
+        source.addEvent(event("Meeting " + i, start.plusDays(i)));
+      }
+      ArchiveCalendar.write(source, NEW_YORK, archiveFile);
+
+      CalendarJournal[] journal = new CalendarJournal[1];
+      CalendarContainer container = open(SyncPolicy.ALWAYS, journal);
+      container.addCalendar("Old", ArchiveCalendar.mount("Old", archiveFile));
+      journal[0].close();
+      assertTrue(Files.size(file) < 200);
+
+      CalendarContainer restored = open(SyncPolicy.ALWAYS, journal);
+      journal[0].close();
+      Map<LocalDate, List<EventReadOnly>> mounted =
+          restored.getCalendars().get("Old").getAllEvents();
+      assertEquals(source.getAllEvents().keySet(), mounted.keySet());
+      assertEquals("Meeting 49",
+          mounted.get(LocalDate.of(2025, 12, 22)).get(0).getSubject());
+    } finally {
+      Files.deleteIfExists(archiveFile);
+    }
+  }
+
+  @Test
+  public void testRecordThatCannotBeAppliedIsSkipped() throws IOException {
+    Path archiveFile = Files.createTempFile("calendar", ".archive");
+    AdvancedCalendar source = new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Source", NEW_YORK).build();
+    ArchiveCalendar.write(source, NEW_YORK, archiveFile);
+    CalendarJournal[] journal = new CalendarJournal[1];
+    CalendarContainer container = open(SyncPolicy.ALWAYS, journal);
+    container.addCalendar("Old", ArchiveCalendar.mount("Old", archiveFile));
+    container.addCalendar("Work", new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder("Work", NEW_YORK).build());
+    LocalDateTime start = LocalDateTime.of(2025, 11, 3, 9, 0);
+    container.getCalendars().get("Work").addEvent(event("Standup", start));
+    journal[0].close();
+    Files.delete(archiveFile);
+
+    CalendarContainer restored = open(SyncPolicy.ALWAYS, journal);
+    List<String> skipped = journal[0].getSkippedRecords();
+    journal[0].close();
+    assertEquals(1, skipped.size());
+    assertTrue(skipped.get(0).startsWith("record 1: "));
+    assertFalse(restored.getCalendars().containsKey("Old"));
+    assertEquals(1, restored.getCalendars().get("Work").getEvents(start, start).size());
+  }
+}
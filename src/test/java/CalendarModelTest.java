@@ -878,4 +878,181 @@ public class CalendarModelTest {
     calendar.addEvent(event2);
     assertTrue(calendar.isBusy(LocalDateTime.of(2025, 10, 29, 13, 0)));
   }
+
+  @Test
+  public void testGetEventsRangeIncludesEventStartedBefore() {
+    EventReadOnly longEvent = new Event.EventBuilder("Conference",
+        LocalDateTime.of(2025, 10, 20, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 24, 17, 0))
+        .build();
+    EventReadOnly shortEvent = new Event.EventBuilder("Standup",
+        LocalDateTime.of(2025, 10, 22, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 22, 9, 15))
+        .build();
+    calendar.addEvent(longEvent);
+    calendar.addEvent(shortEvent);
+
+    List<EventReadOnly> events = calendar.getEvents(LocalDateTime.of(2025, 10, 23, 10, 0),
+        LocalDateTime.of(2025, 10, 23, 11, 0));
+    assertEquals(1, events.size());
+    assertEquals(longEvent, events.get(0));
+
+    List<EventReadOnly> touching = calendar.getEvents(LocalDateTime.of(2025, 10, 22, 9, 15),
+        LocalDateTime.of(2025, 10, 25, 0, 0));
+    assertEquals(2, touching.size());
+  }
+
+  @Test
+  public void testGetEventsRangeAfterRemoveAndEdit() {
+    EventReadOnly longEvent = new Event.EventBuilder("Conference",
+        LocalDateTime.of(2025, 10, 20, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 24, 17, 0))
+        .build();
+    EventReadOnly shortEvent = new Event.EventBuilder("Standup",
+        LocalDateTime.of(2025, 10, 23, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 23, 9, 15))
+        .build();
+    calendar.addEvent(longEvent);
+    calendar.addEvent(shortEvent);
+    calendar.removeEvent(longEvent);
+
+    List<EventReadOnly> events = calendar.getEvents(LocalDateTime.of(2025, 10, 23, 0, 0),
+        LocalDateTime.of(2025, 10, 23, 12, 0));
+    assertEquals(1, events.size());
+
+    List<EventReadOnly> toEdit = new ArrayList<>();
+    toEdit.add(shortEvent);
+    calendar.editEvent(toEdit, "subject", "Daily Standup");
+    events = calendar.getEvents(LocalDateTime.of(2025, 10, 23, 0, 0),
+        LocalDateTime.of(2025, 10, 23, 12, 0));
+    assertEquals(1, events.size());
+    assertEquals("Daily Standup", events.get(0).getSubject());
+  }
+
+  @Test
+  public void testDuplicateCheckFollowsRemoveAndEdit() {
+    EventReadOnly standup = new Event.EventBuilder("Standup",
+        LocalDateTime.of(2025, 10, 23, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 23, 9, 15))
+        .build();
+    calendar.addEvent(standup);
+    calendar.removeEvent(standup);
+    calendar.addEvent(standup);
+
+    List<EventReadOnly> toEdit = new ArrayList<>();
+    toEdit.add(standup);
+    calendar.editEvent(toEdit, "subject", "Daily Standup");
+    calendar.addEvent(standup);
+    try {
+      calendar.addEvent(new Event.EventBuilder("Daily Standup",
+          LocalDateTime.of(2025, 10, 23, 9, 0))
+          .setEndDateTime(LocalDateTime.of(2025, 10, 23, 9, 15))
+          .setLocation(Location.ONLINE)
+          .build());
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertEquals("Event already exists", e.getMessage());
+    }
+    assertEquals(2, calendar.getEvents(LocalDateTime.of(2025, 10, 23, 0, 0),
+        LocalDateTime.of(2025, 10, 23, 23, 59)).size());
+  }
+
+  @Test
+  public void testFindEventsBySubjectAndStart() {
+    calendar.addEvent(new Event.EventBuilder("Standup", LocalDateTime.of(2025, 10, 23, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 23, 9, 15))
+        .build());
+    calendar.addEvent(new Event.EventBuilder("Standup", LocalDateTime.of(2025, 10, 23, 9, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 23, 9, 30))
+        .build());
+    calendar.addEvent(new Event.EventBuilder("Review", LocalDateTime.of(2025, 10, 23, 9, 0))
+        .build());
+
+    assertEquals(2, calendar.findEvents("Standup", LocalDateTime.of(2025, 10, 23, 9, 0)).size());
+    assertEquals(1, calendar.findEvents("Review", LocalDateTime.of(2025, 10, 23, 9, 0)).size());
+    assertTrue(calendar.findEvents("Standup", LocalDateTime.of(2025, 10, 23, 9, 15)).isEmpty());
+    assertTrue(calendar.findEvents("Retro", LocalDateTime.of(2025, 10, 23, 9, 0)).isEmpty());
+  }
+
+  @Test
+  public void testGetEventsMonthMergesLongAndShortEvents() {
+    calendar.addEvent(new Event.EventBuilder("Standup", LocalDateTime.of(2025, 10, 1, 9, 0))
+        .build());
+    calendar.addEvent(new Event.EventBuilder("Sabbatical", LocalDateTime.of(2025, 9, 1, 8, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 3, 17, 0))
+        .build());
+    calendar.addEvent(new Event.EventBuilder("Retreat", LocalDateTime.of(2025, 10, 2, 12, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 4, 12, 0))
+        .build());
+    calendar.addEvent(new Event.EventBuilder("Review", LocalDateTime.of(2025, 10, 3, 9, 0))
+        .build());
+    calendar.addEvent(new Event.EventBuilder("Late", LocalDateTime.of(2025, 9, 30, 23, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 1, 1, 0))
+        .build());
+
+    List<EventReadOnly> month = calendar.getEvents(LocalDateTime.of(2025, 10, 1, 0, 0),
+        LocalDateTime.of(2025, 10, 31, 23, 59, 59));
+    assertEquals(5, month.size());
+    assertEquals("Sabbatical", month.get(0).getSubject());
+    assertEquals("Late", month.get(1).getSubject());
+    assertEquals("Standup", month.get(2).getSubject());
+    assertEquals("Retreat", month.get(3).getSubject());
+    assertEquals("Review", month.get(4).getSubject());
+
+    List<EventReadOnly> day = calendar.getEvents(LocalDateTime.of(2025, 10, 4, 0, 0),
+        LocalDateTime.of(2025, 10, 4, 23, 59, 59));
+    assertEquals(1, day.size());
+    assertEquals("Retreat", day.get(0).getSubject());
+  }
+
+  @Test
+  public void testIsBusyCoversMultiDayEvents() {
+    EventReadOnly retreat = new Event.EventBuilder("Retreat", LocalDateTime.of(2025, 10, 2, 12, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 10, 4, 12, 0))
+        .build();
+    assertFalse(calendar.isBusy(LocalDateTime.of(2025, 10, 3, 9, 0)));
+    calendar.addEvent(retreat);
+    assertTrue(calendar.isBusy(LocalDateTime.of(2025, 10, 2, 12, 0)));
+    assertTrue(calendar.isBusy(LocalDateTime.of(2025, 10, 3, 9, 0)));
+    assertTrue(calendar.isBusy(LocalDateTime.of(2025, 10, 4, 11, 59)));
+    assertTrue(calendar.isBusy(LocalDateTime.of(2025, 10, 4, 11, 59, 30)));
+    assertFalse(calendar.isBusy(LocalDateTime.of(2025, 10, 4, 12, 0)));
+    assertFalse(calendar.isBusy(LocalDateTime.of(2025, 10, 2, 11, 59)));
+
+    calendar.removeEvent(retreat);
+    assertFalse(calendar.isBusy(LocalDateTime.of(2025, 10, 3, 9, 0)));
+  }
+
+  @Test
+  public void testAddEventsIsAllOrNothing() {
+    EventReadOnly standup = new Event.EventBuilder("Standup", LocalDateTime.of(2025, 10, 23, 9, 0))
+        .build();
+    EventReadOnly review = new Event.EventBuilder("Review", LocalDateTime.of(2025, 10, 24, 9, 0))
+        .build();
+    calendar.addEvent(review);
+
+    List<EventReadOnly> batch = new ArrayList<>();
+    batch.add(standup);
+    batch.add(review);
+    try {
+      calendar.addEvents(batch);
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertEquals("Event already exists", e.getMessage());
+    }
+    assertTrue(filter.filter(EventPredicates.bySubject("Standup")).isEmpty());
+
+    batch.set(1, standup);
+    try {
+      calendar.addEvents(batch);
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertEquals("Event already exists", e.getMessage());
+    }
+    assertTrue(filter.filter(EventPredicates.bySubject("Standup")).isEmpty());
+
+    batch.remove(1);
+    assertEquals(batch, calendar.addEvents(batch));
+    assertEquals(1, filter.filter(EventPredicates.bySubject("Standup")).size());
+  }
 }
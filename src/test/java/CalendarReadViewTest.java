@@ -0,0 +1,214 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendar;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.CalendarReadOnly;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the read views of calendars.
+ * A view must answer like the calendar did when it was taken, whatever changes follow,
+ * and must not let its events be changed.
+ */
+public class CalendarReadViewTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+  private CalendarImpl calendar;
+
+  @Before
+  public void setUp() {
+    calendar = new CalendarImpl();
+  }
+
+  private static List<String> describe(CalendarReadOnly calendar, LocalDateTime from,
+                                       LocalDateTime to) {
+    List<String> result = new ArrayList<>();
+    for (EventReadOnly event : calendar.getEvents(from, to)) {
+      result.add("range " + event.getSubject() + " " + event.getStartDateTime() + " "
+          + event.getEndDateTime() + " " + event.getDescription());
+    }
+    calendar.forEachEvent(event -> result.add("each " + event.getSubject() + " "
+        + event.getStartDateTime()));
+    calendar.forEachStoredEvent(event -> result.add("stored " + event.getSubject()));
+    calendar.forEachSeries(series -> result.add("series " + series.getSubject() + " "
+        + series.getExceptions()));
+    calendar.getAllEvents().forEach((date, events) -> result.add("day " + date + " "
+        + events.size()));
+    for (LocalDateTime time = from; !time.isAfter(to); time = time.plusMinutes(43)) {
+      result.add("busy " + time + " " + calendar.isBusy(time));
+    }
+    return result;
+  }
+
+  private void addSeries() {
+    calendar.addSeries(new EventSeries.EventSeriesBuilder("Gym", MONDAY.plusHours(9),
+        MONDAY.plusHours(10), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(6).build());
+  }
+
+  @Test
+  public void testViewKeepsItsVersion() {
+    calendar.addEvent(new Event.EventBuilder("Standup", MONDAY).build());
+    calendar.addEvent(new Event.EventBuilder("Offsite", MONDAY.minusDays(1))
+        .setEndDateTime(MONDAY.plusDays(2)).build());
+    addSeries();
+    LocalDateTime from = MONDAY.minusDays(2);
+    LocalDateTime to = MONDAY.plusDays(20);
+    CalendarReadOnly view = calendar.getReadView();
+    List<String> before = describe(calendar, from, to);
+
+    calendar.editEvent(calendar.findEvents("Standup", MONDAY), "subject", "Sync");
+    calendar.removeEvent(calendar.findEvents("Gym", MONDAY.plusDays(2).plusHours(9)).get(0));
+    calendar.editEvent(calendar.findEvents("Gym", MONDAY.plusDays(7).plusHours(9)),
+        "description", "moved");
+    calendar.addEvent(new Event.EventBuilder("Review", MONDAY.plusDays(3)).build());
+
+    assertEquals(before, describe(view, from, to));
+    assertEquals(describe(calendar, from, to), describe(calendar.getReadView(), from, to));
+    assertSame(view, view.getReadView());
+    assertNotSame(view, calendar.getReadView());
+  }
+
+  @Test
+  public void testViewsMatchTheCalendarThroughRandomChanges() {
+    Random random = new Random(11);
+    List<EventReadOnly> stored = new ArrayList<>();
+    List<CalendarReadOnly> views = new ArrayList<>();
+    List<List<String>> expected = new ArrayList<>();
+    LocalDateTime from = MONDAY.minusDays(1);
+    LocalDateTime to = MONDAY.plusDays(12);
+    addSeries();
+    for (int i = 0; i < 1500; i++) {
+      if (i % 150 == 0) {
+        views.add(calendar.getReadView());
+        expected.add(describe(calendar, from, to));
+      }
+      if (!stored.isEmpty() && random.nextInt(3) == 0) {
+        calendar.removeEvent(stored.remove(random.nextInt(stored.size())));
+        continue;
+      }
+      LocalDateTime start = MONDAY.plusMinutes(random.nextInt(60 * 24 * 10));
+      EventReadOnly event = new Event.EventBuilder("E" + random.nextInt(20), start)
+          .setEndDateTime(start.plusMinutes(random.nextInt(random.nextInt(8) == 0
+              ? 60 * 24 * 4 : 90))).build();
+      try {
+        stored.add(calendar.addEvent(event));
+      } catch (IllegalArgumentException e) {
+        // the same subject and times were drawn twice
+      }
+    }
+    for (int i = 0; i < views.size(); i++) {
+      assertEquals(expected.get(i), describe(views.get(i), from, to));
+    }
+    assertEquals(describe(calendar, from, to), describe(calendar.getReadView(), from, to));
+  }
+
+  @Test
+  public void testQueriesMatchAScanOfEveryEvent() {
+    Random random = new Random(5);
+    addSeries();
+    calendar.addEvent(new Event.EventBuilder("Sabbatical", MONDAY.minusDays(30))
+        .setEndDateTime(MONDAY.plusDays(1)).build());
+    for (int i = 0; i < 300; i++) {
+      LocalDateTime start = MONDAY.plusMinutes(random.nextInt(60 * 24 * 14));
+      try {
+        calendar.addEvent(new Event.EventBuilder("E" + i, start)
+            .setEndDateTime(start.plusMinutes(random.nextInt(random.nextInt(6) == 0
+                ? 60 * 24 * 5 : 120))).build());
+      } catch (IllegalArgumentException e) {
+        // the same subject and times were drawn twice
+      }
+    }
+    List<EventReadOnly> all = new ArrayList<>();
+    calendar.forEachEvent(all::add);
+    for (int i = 0; i < 200; i++) {
+      LocalDateTime from = MONDAY.minusDays(2).plusMinutes(random.nextInt(60 * 24 * 18));
+      LocalDateTime to = from.plusMinutes(random.nextInt(60 * 24));
+      List<String> expected = new ArrayList<>();
+      boolean busy = false;
+      for (EventReadOnly event : all) {
+        if (!event.getEndDateTime().isBefore(from) && !event.getStartDateTime().isAfter(to)) {
+          expected.add(event.getSubject() + " " + event.getStartDateTime());
+        }
+        busy |= event.getStartDateTime().equals(from)
+            || (event.getStartDateTime().isBefore(from) && event.getEndDateTime().isAfter(from));
+      }
+      List<String> actual = new ArrayList<>();
+      for (EventReadOnly event : calendar.getEvents(from, to)) {
+        actual.add(event.getSubject() + " " + event.getStartDateTime());
+      }
+      expected.sort(null);
+      actual.sort(null);
+      assertEquals(expected, actual);
+      assertEquals(busy, calendar.isBusy(from));
+    }
+    Map<LocalDate, List<EventReadOnly>> days = calendar.getAllEvents();
+    List<EventReadOnly> merged = new ArrayList<>();
+    days.values().forEach(merged::addAll);
+    assertEquals(all, merged);
+    LocalDate wednesday = MONDAY.toLocalDate().plusDays(2);
+    assertEquals(calendar.getEvents(wednesday.atStartOfDay(), wednesday.atTime(23, 59)),
+        days.get(wednesday));
+  }
+
+  @Test
+  public void testColumnarViewKeepsItsVersion() {
+    CalendarEditable columnar = new ColumnarCalendar();
+    columnar.addEvent(new Event.EventBuilder("Standup", MONDAY).build());
+    CalendarReadOnly view = columnar.getReadView();
+    assertSame(view, columnar.getReadView());
+    columnar.addEvent(new Event.EventBuilder("Review", MONDAY.plusDays(1)).build());
+    columnar.removeEvent(columnar.findEvents("Standup", MONDAY).get(0));
+    Map<LocalDate, List<EventReadOnly>> days = view.getAllEvents();
+    assertEquals(List.of(MONDAY.toLocalDate()), new ArrayList<>(days.keySet()));
+    assertEquals("Standup", days.get(MONDAY.toLocalDate()).get(0).getSubject());
+    assertEquals(1, columnar.getReadView().getAllEvents().size());
+  }
+
+  @Test
+  public void testRemovingAnOccurrenceKeepsTheSeriesInPlace() {
+    addSeries();
+    calendar.addSeries(new EventSeries.EventSeriesBuilder("Swim", MONDAY.plusHours(7),
+        MONDAY.plusHours(8), EnumSet.of(DayOfWeek.MONDAY)).setOccurrences(3).build());
+    List<EventSeries> before = new ArrayList<>();
+    calendar.forEachSeries(series -> before.add((EventSeries) series));
+
+    calendar.removeEvent(calendar.findEvents("Gym", MONDAY.plusHours(9)).get(0));
+
+    List<String> after = new ArrayList<>();
+    calendar.getReadView().forEachSeries(series -> after.add(series.getSubject() + " "
+        + series.occurrenceCount() + " " + series.getExceptions()));
+    assertEquals(List.of("Gym 5 [2025-11-03]", "Swim 3 []"), after);
+    assertEquals(6, before.get(0).occurrenceCount());
+    assertEquals(List.of(), new ArrayList<>(before.get(0).getExceptions()));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testAllEventsCannotBeChanged() {
+    calendar.addEvent(new Event.EventBuilder("Standup", MONDAY).build());
+    calendar.getAllEvents().get(MONDAY.toLocalDate()).clear();
+  }
+
+  @Test
+  public void testDayEventsAreNotTheCalendars() {
+    calendar.addEvent(new Event.EventBuilder("Standup", MONDAY).build());
+    LocalDateTime dayStart = MONDAY.withHour(0);
+    LocalDateTime dayEnd = MONDAY.withHour(23).withMinute(59);
+    calendar.getEvents(dayStart, dayEnd).clear();
+    assertEquals(1, calendar.getEvents(dayStart, dayEnd).size());
+  }
+}
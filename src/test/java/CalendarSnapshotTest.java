@@ -0,0 +1,99 @@
+import static org.junit.Assert.assertEquals;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.snapshot.CalendarSnapshot;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for CalendarSnapshot.
+ * Checks that saved calendars load back with the same events, series and time zones,
+ * and that a snapshot never overwrites a calendar that already has events.
+ */
+public class CalendarSnapshotTest {
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("calendar", ".snapshot");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private AdvancedCalendar addCalendar(CalendarContainer container, String name, ZoneId zone) {
+    container.addCalendar(name, new AdvancedCalendarImpl.AdvancedCalendarBuilder(name, zone)
+        .build());
+    return container.getCalendars().get(name);
+  }
+
+  @Test
+  public void testLoadRestoresSavedCalendars() throws IOException {
+    CalendarContainer container = new CalendarContainerImpl();
+    AdvancedCalendar work = addCalendar(container, "Work", NEW_YORK);
+    LocalDateTime monday = LocalDateTime.of(2025, 11, 3, 9, 0);
+    work.addEvent(new Event.EventBuilder("Standup", monday)
+        .setEndDateTime(monday.plusMinutes(15)).setDescription("daily").build());
+    work.addEvent(new Event.EventBuilder("Review", monday.plusHours(3).plusSeconds(30))
+        .setEndDateTime(monday.plusHours(4)).build());
+    work.addSeries(new EventSeries.EventSeriesBuilder("Gym", monday.plusHours(9),
+        monday.plusHours(10), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(4).build());
+    work.editEvent(work.findEvents("Gym", monday.plusDays(2).plusHours(9)),
+        "location", "online");
+    AdvancedCalendar home = addCalendar(container, "Home", ZoneId.of("Asia/Tokyo"));
+    home.addEvent(new Event.EventBuilder("Standup", monday.plusDays(1)).build());
+
+    assertEquals(container.getCalendars().size(), CalendarSnapshot.save(container, file));
+    CalendarContainer loaded = new CalendarContainerImpl();
+    CalendarSnapshot.load(file, loaded);
+
+    assertEquals(container.getCalendars().keySet(), loaded.getCalendars().keySet());
+    for (String name : container.getCalendars().keySet()) {
+      AdvancedCalendar expected = container.getCalendars().get(name);
+      AdvancedCalendar actual = loaded.getCalendars().get(name);
+      assertEquals(expected.getZoneId(), actual.getZoneId());
+      assertEquals(expected.getAllEvents(), actual.getAllEvents());
+    }
+    List<EventReadOnly> gym = loaded.getCalendars().get("Work")
+        .findEvents("Gym", monday.plusDays(7).plusHours(9));
+    assertEquals(1, gym.size());
+    assertEquals(work.findEvents("Gym", monday.plusDays(7).plusHours(9)).get(0).getId(),
+        gym.get(0).getId());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadRejectsCalendarThatHasEvents() throws IOException {
+    CalendarContainer container = new CalendarContainerImpl();
+    addCalendar(container, "Work", NEW_YORK);
+    CalendarSnapshot.save(container, file);
+    LocalDateTime start = LocalDateTime.of(2025, 11, 3, 9, 0);
+    container.getCalendars().get("Work").addEvent(new Event.EventBuilder("Standup", start)
+        .build());
+    CalendarSnapshot.load(file, container);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadRejectsFileThatIsNotSnapshot() throws IOException {
+    Files.writeString(file, "subject,start date\n");
+    CalendarSnapshot.load(file, new CalendarContainerImpl());
+  }
+}
@@ -1,5 +1,7 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import calendar.view.BufferedCalendarView;
 import calendar.view.CalendarViewImpl;
 import org.junit.Test;
 
@@ -37,4 +39,24 @@ public class CalendarViewTest {
     String expectedPrefix = "!!***Error Message***!!" + System.lineSeparator();
     assertEquals(sb.toString(), expectedPrefix);
   }
+
+  @Test
+  public void testBufferedViewWritesAtThresholdAndFlush() {
+    StringBuilder sb = new StringBuilder();
+    BufferedCalendarView view = new BufferedCalendarView(sb, 16);
+    view.render("Hello");
+    assertEquals("", sb.toString());
+    view.renderError("Error Message");
+    assertEquals("Hello" + System.lineSeparator() + "!!***Error Message***!!"
+        + System.lineSeparator(), sb.toString());
+    view.render("Bye");
+    view.flush();
+    assertTrue(sb.toString().endsWith("***!!" + System.lineSeparator() + "Bye"
+        + System.lineSeparator()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBufferedViewRejectsBadThreshold() {
+    new BufferedCalendarView(new StringBuilder(), 0);
+  }
 }
@@ -0,0 +1,260 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendar;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for ColumnarCalendar.
+ * Runs the same changes against a CalendarImpl and checks that both calendars answer
+ * every query with the same events.
+ */
+public class ColumnarCalendarTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+  private CalendarImpl expected;
+  private ColumnarCalendar actual;
+
+  @Before
+  public void setUp() {
+    expected = new CalendarImpl();
+    actual = new ColumnarCalendar();
+  }
+
+  private void addToBoth(EventReadOnly event) {
+    expected.addEvent(event);
+    actual.addEvent(event);
+  }
+
+  private static List<String> describe(List<EventReadOnly> events) {
+    List<String> result = new ArrayList<>();
+    for (EventReadOnly event : events) {
+      result.add(event.getSubject() + "|" + event.getStartDateTime() + "|"
+          + event.getEndDateTime() + "|" + event.getDescription() + "|" + event.getLocation()
+          + "|" + event.getEventStatus() + "|" + event.getEventType() + "|" + event.getId()
+          + "|" + event.isAllDay());
+    }
+    result.sort(null);
+    return result;
+  }
+
+  private void assertSameAnswers(LocalDateTime from, LocalDateTime to) {
+    assertEquals(describe(expected.getEvents(from, to)), describe(actual.getEvents(from, to)));
+    for (LocalDateTime time = from; !time.isAfter(to); time = time.plusMinutes(37)) {
+      assertEquals(time.toString(), expected.isBusy(time), actual.isBusy(time));
+    }
+    List<EventReadOnly> all = new ArrayList<>();
+    List<EventReadOnly> allActual = new ArrayList<>();
+    expected.forEachEvent(all::add);
+    actual.forEachEvent(allActual::add);
+    assertEquals(describe(all), describe(allActual));
+    for (int i = 1; i < allActual.size(); i++) {
+      assertTrue(!allActual.get(i).getStartDateTime().toLocalDate()
+          .isBefore(allActual.get(i - 1).getStartDateTime().toLocalDate()));
+    }
+  }
+
+  @Test
+  public void testQueriesMatchCalendarImpl() {
+    addToBoth(new Event.EventBuilder("Standup", MONDAY)
+        .setEndDateTime(MONDAY.plusMinutes(15)).setDescription("daily").build());
+    addToBoth(new Event.EventBuilder("Offsite", MONDAY.minusDays(1))
+        .setEndDateTime(MONDAY.plusDays(1)).setDescription(null).build());
+    addToBoth(new Event.EventBuilder("Standup", MONDAY.plusSeconds(30)).build());
+    EventSeries gym = new EventSeries.EventSeriesBuilder("Gym", MONDAY.plusHours(9),
+        MONDAY.plusHours(10), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(6).build();
+    expected.addSeries(gym);
+    actual.addSeries(gym);
+
+    assertSameAnswers(MONDAY.minusDays(2), MONDAY.plusDays(20));
+    assertSameAnswers(MONDAY.withHour(0), MONDAY.withHour(23).withMinute(59));
+    assertEquals(describe(expected.findEvents("Standup", MONDAY)),
+        describe(actual.findEvents("Standup", MONDAY)));
+    assertEquals(describe(expected.getSeriesEvents(gym.getId())),
+        describe(actual.getSeriesEvents(gym.getId())));
+    Map<LocalDate, List<EventReadOnly>> days = actual.getAllEvents();
+    assertEquals(expected.getAllEvents().keySet(), days.keySet());
+  }
+
+  @Test
+  public void testEditsAndRemovalsMatchCalendarImpl() {
+    for (int day = 0; day < 5; day++) {
+      addToBoth(new Event.EventBuilder("Meeting", MONDAY.plusDays(day)).build());
+    }
+    EventSeries gym = new EventSeries.EventSeriesBuilder("Gym", MONDAY.plusHours(9),
+        MONDAY.plusHours(10), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(4).build();
+    expected.addSeries(gym);
+    actual.addSeries(gym);
+
+    for (CalendarEditable calendar : List.of(expected, actual)) {
+      List<EventReadOnly> edited = calendar.editEvent(calendar.findEvents("Meeting",
+          MONDAY.plusDays(1)), "description", "moved");
+      assertEquals("moved", edited.get(0).getDescription());
+      calendar.editEvent(calendar.findEvents("Meeting", MONDAY.plusDays(2)), "start",
+          MONDAY.plusDays(2).plusMinutes(30).toString());
+      calendar.editEvent(calendar.findEvents("Gym", MONDAY.plusDays(2).plusHours(9)),
+          "subject", "Run");
+      calendar.removeEvent(calendar.findEvents("Meeting", MONDAY.plusDays(3)).get(0));
+      calendar.removeEvent(calendar.findEvents("Gym", MONDAY.plusDays(7).plusHours(9)).get(0));
+    }
+    assertSameAnswers(MONDAY.minusDays(1), MONDAY.plusDays(14));
+  }
+
+  @Test
+  public void testSeriesEditFromDateMatchesCalendarImpl() {
+    EventSeries gym = new EventSeries.EventSeriesBuilder("Gym", MONDAY.plusHours(9),
+        MONDAY.plusHours(10), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(8).build();
+    expected.addSeries(gym);
+    actual.addSeries(gym);
+
+    for (CalendarEditable calendar : List.of(expected, actual)) {
+      List<EventReadOnly> fromWeekTwo = calendar.getSeriesEvents(gym.getId());
+      fromWeekTwo.removeIf(event -> event.getStartDateTime().isBefore(MONDAY.plusDays(7)));
+      calendar.editEvent(fromWeekTwo, "subject", "Run");
+      List<EventReadOnly> stored = new ArrayList<>();
+      calendar.forEachStoredEvent(stored::add);
+      assertTrue(stored.isEmpty());
+    }
+    assertSameAnswers(MONDAY.minusDays(1), MONDAY.plusDays(28));
+    assertEquals(describe(expected.getSeriesEvents(gym.getId())),
+        describe(actual.getSeriesEvents(gym.getId())));
+  }
+
+  @Test
+  public void testLongEventsAreFoundAcrossTheirDays() {
+    addToBoth(new Event.EventBuilder("Conference", MONDAY.minusDays(20))
+        .setEndDateTime(MONDAY.plusDays(2)).build());
+    addToBoth(new Event.EventBuilder("Trip", MONDAY.minusDays(3))
+        .setEndDateTime(MONDAY.minusDays(1)).build());
+    for (int day = 0; day < 5; day++) {
+      addToBoth(new Event.EventBuilder("Standup", MONDAY.plusDays(day))
+          .setEndDateTime(MONDAY.plusDays(day).plusMinutes(15)).build());
+    }
+
+    assertSameAnswers(MONDAY.minusDays(4), MONDAY.plusDays(4));
+    assertSameAnswers(MONDAY.plusMinutes(20), MONDAY.plusMinutes(40));
+    assertEquals(1, actual.getEvents(MONDAY.plusDays(1).plusHours(2),
+        MONDAY.plusDays(1).plusHours(3)).size());
+    actual.removeEvent(actual.findEvents("Conference", MONDAY.minusDays(20)).get(0));
+    assertTrue(actual.getEvents(MONDAY.plusDays(1).plusHours(2),
+        MONDAY.plusDays(1).plusHours(3)).isEmpty());
+  }
+
+  @Test
+  public void testSeriesEventsAreFoundByIdAfterChanges() {
+    EventSeries gym = new EventSeries.EventSeriesBuilder("Gym", MONDAY.plusHours(9),
+        MONDAY.plusHours(10), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(4).build();
+    expected.addSeries(gym);
+    actual.addSeries(gym);
+    for (int i = 0; i < 200; i++) {
+      addToBoth(new Event.EventBuilder("Meeting " + i, MONDAY.plusHours(i)).build());
+    }
+    for (CalendarEditable calendar : List.of(expected, actual)) {
+      calendar.editEvent(calendar.findEvents("Gym", MONDAY.plusDays(2).plusHours(9)),
+          "location", "online");
+      for (int i = 0; i < 150; i++) {
+        calendar.removeEvent(calendar.findEvents("Meeting " + i, MONDAY.plusHours(i)).get(0));
+      }
+    }
+    actual.getEvents(MONDAY, MONDAY.plusDays(30));
+
+    assertEquals(describe(expected.getSeriesEvents(gym.getId())),
+        describe(actual.getSeriesEvents(gym.getId())));
+    EventReadOnly meeting = actual.findEvents("Meeting 170", MONDAY.plusHours(170)).get(0);
+    assertEquals(1, actual.getSeriesEvents(meeting.getId()).size());
+  }
+
+  @Test
+  public void testReadViewFollowsLaterChanges() {
+    addToBoth(new Event.EventBuilder("Standup", MONDAY).build());
+    actual.getReadView();
+    EventSeries gym = new EventSeries.EventSeriesBuilder("Gym", MONDAY.plusHours(9),
+        MONDAY.plusHours(10), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(4).build();
+    expected.addSeries(gym);
+    actual.addSeries(gym);
+    addToBoth(new Event.EventBuilder("Review", MONDAY.plusDays(1)).build());
+    for (CalendarEditable calendar : List.of(expected, actual)) {
+      calendar.removeEvent(calendar.findEvents("Standup", MONDAY).get(0));
+      calendar.editEvent(calendar.findEvents("Gym", MONDAY.plusDays(2).plusHours(9)),
+          "subject", "Run");
+    }
+
+    List<EventReadOnly> all = new ArrayList<>();
+    List<EventReadOnly> viewed = new ArrayList<>();
+    expected.forEachEvent(all::add);
+    actual.getReadView().forEachEvent(viewed::add);
+    assertEquals(describe(all), describe(viewed));
+    assertEquals(describe(expected.getEvents(MONDAY, MONDAY.plusDays(3))),
+        describe(actual.getReadView().getEvents(MONDAY, MONDAY.plusDays(3))));
+  }
+
+  @Test
+  public void testStoragePropertyPicksColumnarCalendar() {
+    String property = AdvancedCalendarImpl.AdvancedCalendarBuilder.STORAGE_PROPERTY;
+    System.setProperty(property, "columnar");
+    try {
+      assertTrue(new AdvancedCalendarImpl.AdvancedCalendarBuilder("Work",
+          ZoneId.of("UTC")).build().getCalendar() instanceof ColumnarCalendar);
+    } finally {
+      System.clearProperty(property);
+    }
+    assertTrue(new AdvancedCalendarImpl.AdvancedCalendarBuilder("Work",
+        ZoneId.of("UTC")).build().getCalendar() instanceof CalendarImpl);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsDuplicates() {
+    actual.addEvent(new Event.EventBuilder("Standup", MONDAY).build());
+    actual.addEvent(new Event.EventBuilder("Standup", MONDAY).build());
+  }
+
+  @Test
+  public void testRandomChangesMatchCalendarImpl() {
+    Random random = new Random(7);
+    List<EventReadOnly> stored = new ArrayList<>();
+    for (int i = 0; i < 6000; i++) {
+      if (i % 250 == 0) {
+        LocalDateTime day = MONDAY.plusDays(random.nextInt(10));
+        assertEquals(describe(expected.getEvents(day, day.plusHours(5))),
+            describe(actual.getEvents(day, day.plusHours(5))));
+      }
+      if (!stored.isEmpty() && random.nextInt(i < 3000 ? 4 : 2) == 0) {
+        EventReadOnly event = stored.remove(random.nextInt(stored.size()));
+        expected.removeEvent(event);
+        actual.removeEvent(event);
+        continue;
+      }
+      LocalDateTime start = MONDAY.plusMinutes(random.nextInt(60 * 24 * 10));
+      EventReadOnly event = new Event.EventBuilder("E" + random.nextInt(20), start)
+          .setEndDateTime(start.plusMinutes(random.nextInt(60 * 30))).build();
+      try {
+        expected.addEvent(event);
+      } catch (IllegalArgumentException e) {
+        continue;
+      }
+      actual.addEvent(event);
+      stored.add(event);
+    }
+    assertSameAnswers(MONDAY.minusDays(1), MONDAY.plusDays(12));
+  }
+}
@@ -0,0 +1,172 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.AdvanceCalendarController;
+import calendar.controller.metrics.CommandMetrics;
+import calendar.controller.metrics.CommandStats;
+import calendar.controller.metrics.LatencyHistogram;
+import calendar.controller.metrics.MetricsDumper;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.view.CalendarViewImpl;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the command metrics: the accuracy of the latency histogram, recording from
+ * several threads at once, what the controller records and the show metrics report.
+ */
+public class CommandMetricsTest {
+  private CommandMetrics metrics;
+  private CalendarContainer container;
+
+  @Before
+  public void setUp() {
+    metrics = new CommandMetrics();
+    container = new CalendarContainerImpl();
+  }
+
+  private String run(String... commands) {
+    StringBuilder out = new StringBuilder();
+    new AdvanceCalendarController(container,
+        new StringReader(String.join(System.lineSeparator(), commands)),
+        new CalendarViewImpl(out), metrics).run();
+    return out.toString();
+  }
+
+  @Test
+  public void testPercentilesAreWithinTheirBucket() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 100_000; value++) {
+      histogram.record(value * 1000);
+    }
+    assertEquals(100_000, histogram.getCount());
+    assertEquals(100_000_000, histogram.getMax());
+    double[] percentiles = {50, 99, 99.9};
+    long[] exactValues = {50_000_000, 99_000_000, 99_900_000};
+    for (int i = 0; i < percentiles.length; i++) {
+      long value = histogram.getPercentile(percentiles[i]);
+      long exact = exactValues[i];
+      assertTrue(percentiles[i] + ": " + value, value >= exact && value <= exact * 1.07);
+    }
+    assertEquals(100_000_000, histogram.getPercentile(100));
+    assertEquals(0, new LatencyHistogram().getPercentile(99));
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 0; value < 40; value++) {
+      histogram.record(value);
+    }
+    assertEquals(19, histogram.getPercentile(50));
+    assertEquals(0, histogram.getPercentile(0));
+    assertEquals(39, histogram.getPercentile(100));
+  }
+
+  @Test
+  public void testThreadsRecordWithoutLosingCounts() throws InterruptedException {
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      int thread = t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          metrics.record(i % 2 == 0 ? "create event" : "print events", i, i % 10 == thread);
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Map<String, CommandStats> stats = metrics.getStats();
+    assertEquals(List.of("create event", "print events"), new ArrayList<>(stats.keySet()));
+    assertEquals(40_000, stats.get("create event").getCount());
+    assertEquals(40_000, stats.get("print events").getCount());
+    assertEquals(8_000, stats.get("create event").getErrors()
+        + stats.get("print events").getErrors());
+  }
+
+  @Test
+  public void testControllerRecordsEveryCommandByKey() {
+    run("create event Standup from 2025-11-03T09:00 to 2025-11-03T09:30",
+        "create event Review on 2025-11-04",
+        "create event Broken from 2025-11-03T09:00 to 2025-11-02T09:30",
+        "print events on 2025-11-03",
+        "bogus command here");
+    Map<String, CommandStats> stats = metrics.getStats();
+    assertEquals(List.of("create event", "print events"), new ArrayList<>(stats.keySet()));
+    assertEquals(3, stats.get("create event").getCount());
+    assertEquals(1, stats.get("create event").getErrors());
+    assertEquals(1, stats.get("print events").getCount());
+    assertEquals(0, stats.get("print events").getErrors());
+  }
+
+  @Test
+  public void testCommandsAreMatchedOnBothWords() {
+    String out = run("create meeting Standup on 2025-11-03",
+        "calendar event Standup on 2025-11-03",
+        "create event Review on 2025-11-03",
+        "create calendar --name Work --timezone America/New_York",
+        "use calendar --name Work",
+        "create event Standup on 2025-11-03");
+    assertTrue(out, out.contains("Invalid command: create meeting Standup on 2025-11-03"));
+    assertTrue(out, out.contains("Invalid command: calendar event Standup on 2025-11-03"));
+    assertEquals(List.of("create calendar", "create event", "use calendar"),
+        new ArrayList<>(metrics.getStats().keySet()));
+    assertEquals(1, container.getCalendars().get("Work").getEvents(
+        LocalDateTime.of(2025, 11, 3, 0, 0), LocalDateTime.of(2025, 11, 4, 0, 0)).size());
+    assertEquals(1, container.getCalendars().get("default").getEvents(
+        LocalDateTime.of(2025, 11, 3, 0, 0), LocalDateTime.of(2025, 11, 4, 0, 0)).size());
+  }
+
+  @Test
+  public void testShowMetricsReportsCommandsAndCalendarSizes() {
+    String out = run("create event Standup from 2025-11-03T09:00 to 2025-11-03T09:30",
+        "create event Gym from 2025-11-03T18:00 to 2025-11-03T19:00 repeats MW for 4 times",
+        "show metrics");
+    assertTrue(out, out.contains("Command metrics:"));
+    assertTrue(out, out.contains("create event: 2 runs, 0 errors, p50 "));
+    assertTrue(out, out.contains(" ms, p99 "));
+    assertTrue(out, out.contains("default: 5 events, 1 stored, 1 series"));
+    assertTrue(out, out.contains("Total events: 5"));
+    assertTrue(out, run("show metrics").contains("show metrics: 1 runs, 0 errors"));
+  }
+
+  @Test
+  public void testReportCommandsTakeNoArguments() {
+    String out = run("show metrics now");
+    assertTrue(out, out.contains("Usage: show metrics"));
+    assertTrue(run("show memory").contains("Memory report:"));
+    assertTrue(run("show memory report").contains("Usage: show memory"));
+  }
+
+  @Test
+  public void testDumperWritesTheReport() throws IOException {
+    File file = File.createTempFile("metrics", ".txt");
+    file.deleteOnExit();
+    MetricsDumper dumper = new MetricsDumper(file.toPath(), Duration.ofHours(1),
+        () -> "report " + metrics.getStats().size());
+    dumper.start();
+    metrics.record("show status", 1000, false);
+    dumper.close();
+    String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    assertTrue(content, content.startsWith("Metrics at "));
+    assertTrue(content, content.contains("report 1"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPercentileMustBeWithinRange() {
+    new LatencyHistogram().getPercentile(101);
+  }
+}
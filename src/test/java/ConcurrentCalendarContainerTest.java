@@ -0,0 +1,275 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendar;
+import calendar.model.ConcurrentCalendarContainer;
+import calendar.model.Event;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarChangeListener;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Stress tests for ConcurrentCalendarContainer.
+ * Writer threads add events in pairs while reader threads query the same calendar,
+ * and every reader must see whole pairs only. Copies between two calendars in opposite
+ * directions must finish, and renames must not lose events added meanwhile.
+ */
+public class ConcurrentCalendarContainerTest {
+  private static final LocalDateTime START = LocalDateTime.of(2025, 11, 3, 9, 0);
+  private static final int WRITERS = 4;
+  private static final int READERS = 4;
+  private static final int PAIRS = 500;
+  private ConcurrentCalendarContainer container;
+
+  @Before
+  public void setUp() {
+    container = new ConcurrentCalendarContainer();
+  }
+
+  private AdvancedCalendar addCalendar(String name, CalendarEditable calendar) {
+    container.addCalendar(name, new AdvancedCalendarImpl
+        .AdvancedCalendarBuilder(name, ZoneId.of("America/New_York"))
+        .setCalendar(calendar)
+        .build());
+    return container.getCalendars().get(name);
+  }
+
+  private static List<EventReadOnly> pair(int writer, int i) {
+    LocalDateTime start = START.plusDays(i % 20).plusMinutes(writer * 97 + i / 20 * 2);
+    List<EventReadOnly> pair = new ArrayList<>();
+    pair.add(new Event.EventBuilder("W" + writer + "-" + i, start)
+        .setEndDateTime(start.plusMinutes(1)).build());
+    pair.add(new Event.EventBuilder("W" + writer + "-" + i + "b", start)
+        .setEndDateTime(start.plusMinutes(1)).build());
+    return pair;
+  }
+
+  /**
+   * Runs the tasks on their own threads, all started together, and waits for them.
+   */
+  private static void runTogether(List<Runnable> tasks) throws InterruptedException {
+    CountDownLatch ready = new CountDownLatch(1);
+    ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    List<Thread> threads = new ArrayList<>();
+    for (Runnable task : tasks) {
+      Thread thread = new Thread(() -> {
+        try {
+          ready.await();
+          task.run();
+        } catch (Throwable e) {
+          failures.add(e);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    ready.countDown();
+    for (Thread thread : threads) {
+      thread.join(60_000);
+      assertFalse("thread did not finish", thread.isAlive());
+    }
+    if (!failures.isEmpty()) {
+      throw new AssertionError(failures.peek());
+    }
+  }
+
+  private void assertReadersSeeWholePairs(AdvancedCalendar calendar)
+      throws InterruptedException {
+    AtomicBoolean writing = new AtomicBoolean(true);
+    CountDownLatch writersLeft = new CountDownLatch(WRITERS);
+    List<Runnable> tasks = new ArrayList<>();
+    for (int w = 0; w < WRITERS; w++) {
+      int writer = w;
+      tasks.add(() -> {
+        for (int i = 0; i < PAIRS; i++) {
+          calendar.addEvents(pair(writer, i));
+        }
+        writersLeft.countDown();
+        if (writersLeft.getCount() == 0) {
+          writing.set(false);
+        }
+      });
+    }
+    for (int r = 0; r < READERS; r++) {
+      tasks.add(() -> {
+        while (writing.get()) {
+          List<EventReadOnly> events = calendar.getEvents(START, START.plusDays(25));
+          assertEquals(0, events.size() % 2);
+          calendar.isBusy(START.plusMinutes(97));
+          assertEquals(0, calendar.getAllEvents().values().stream()
+              .mapToInt(List::size).sum() % 2);
+        }
+      });
+    }
+    runTogether(tasks);
+
+    assertEquals(WRITERS * PAIRS * 2, calendar.getEvents(START, START.plusDays(25)).size());
+    for (int w = 0; w < WRITERS; w++) {
+      for (int i = 0; i < PAIRS; i += 37) {
+        LocalDateTime start = pair(w, i).get(0).getStartDateTime();
+        assertTrue(calendar.isBusy(start));
+        assertFalse(calendar.isBusy(start.plusMinutes(1)));
+      }
+    }
+  }
+
+  @Test
+  public void testReadersSeeWholeBatchesOfCalendarImpl() throws InterruptedException {
+    assertReadersSeeWholePairs(addCalendar("work", new CalendarImpl()));
+  }
+
+  @Test
+  public void testReadersSeeWholeBatchesOfColumnarCalendar() throws InterruptedException {
+    assertReadersSeeWholePairs(addCalendar("work", new ColumnarCalendar()));
+  }
+
+  @Test
+  public void testReadDuringAWriteSeesTheWholeWrite() throws InterruptedException {
+    AdvancedCalendar calendar = addCalendar("work", new CalendarImpl());
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    calendar.setChangeListener(new CalendarChangeListener() {
+      @Override
+      public void eventAdded(EventReadOnly event) {
+        writing.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+
+      @Override
+      public void seriesAdded(EventSeriesReadOnly series) {
+        // not used
+      }
+
+      @Override
+      public void eventEdited(EventReadOnly oldEvent, EventReadOnly newEvent) {
+        // not used
+      }
+
+      @Override
+      public void seriesReplaced(EventSeriesReadOnly oldSeries,
+                                 List<EventSeriesReadOnly> newSeries) {
+        // not used
+      }
+
+      @Override
+      public void eventRemoved(EventReadOnly event) {
+        // not used
+      }
+    });
+    Thread writer = new Thread(() -> calendar.addEvents(pair(0, 0)));
+    writer.start();
+    AtomicInteger seen = new AtomicInteger(-1);
+    Thread reader = new Thread(() -> seen.set(
+        calendar.getEvents(START, START.plusDays(1)).size()));
+    try {
+      writing.await();
+      reader.start();
+      reader.join(200);
+      assertEquals(-1, seen.get());
+    } finally {
+      release.countDown();
+      writer.join(60_000);
+      reader.join(60_000);
+    }
+    assertEquals(2, seen.get());
+  }
+
+  @Test
+  public void testOppositeCopiesDoNotDeadlock() throws InterruptedException {
+    AdvancedCalendar home = addCalendar("home", new CalendarImpl());
+    AdvancedCalendar work = addCalendar("work", new CalendarImpl());
+    List<Runnable> tasks = new ArrayList<>();
+    for (int w = 0; w < WRITERS; w++) {
+      int writer = w;
+      AdvancedCalendar from = writer % 2 == 0 ? home : work;
+      AdvancedCalendar to = writer % 2 == 0 ? work : home;
+      tasks.add(() -> {
+        for (int i = 0; i < PAIRS; i++) {
+          List<EventReadOnly> events = pair(writer, i);
+          container.withCalendars(List.of(from, to), () -> {
+            from.addEvent(events.get(0));
+            Thread.yield();
+            return to.addEvent(events.get(1));
+          });
+        }
+      });
+    }
+    runTogether(tasks);
+    assertEquals(WRITERS * PAIRS, home.getEvents(START, START.plusDays(25)).size());
+    assertEquals(WRITERS * PAIRS, work.getEvents(START, START.plusDays(25)).size());
+  }
+
+  @Test
+  public void testRenamesKeepEventsAddedMeanwhile() throws InterruptedException {
+    AdvancedCalendar work = addCalendar("work", new CalendarImpl());
+    List<Runnable> tasks = new ArrayList<>();
+    for (int w = 0; w < WRITERS; w++) {
+      int writer = w;
+      tasks.add(() -> {
+        for (int i = 0; i < PAIRS; i++) {
+          work.addEvents(pair(writer, i));
+        }
+      });
+    }
+    tasks.add(() -> {
+      for (int i = 0; i < 200; i++) {
+        container.updateCalendar(i % 2 == 0 ? "work" : "office", "name",
+            i % 2 == 0 ? "office" : "work");
+      }
+    });
+    runTogether(tasks);
+    AdvancedCalendar renamed = container.getCalendars().get("work");
+    assertEquals("work", renamed.getName());
+    assertEquals(WRITERS * PAIRS * 2, renamed.getEvents(START, START.plusDays(25)).size());
+  }
+
+  @Test
+  public void testTimeZoneChangeMovesEveryEventAtOnce() throws InterruptedException {
+    AdvancedCalendar work = addCalendar("work", new CalendarImpl());
+    for (int i = 0; i < PAIRS; i++) {
+      work.addEvents(pair(0, i));
+    }
+    AtomicBoolean moving = new AtomicBoolean(true);
+    List<Runnable> tasks = new ArrayList<>();
+    tasks.add(() -> {
+      container.updateCalendar("work", "timezone", "Europe/Paris");
+      moving.set(false);
+    });
+    for (int r = 0; r < READERS; r++) {
+      tasks.add(() -> {
+        while (moving.get()) {
+          assertEquals(PAIRS * 2, work.getEvents(START.minusDays(1), START.plusDays(25)).size());
+        }
+      });
+    }
+    runTogether(tasks);
+    AdvancedCalendar moved = container.getCalendars().get("work");
+    assertEquals(ZoneId.of("Europe/Paris"), moved.getZoneId());
+    assertEquals(1, moved.findEvents("W0-0", START.plusHours(6)).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsDuplicateNames() {
+    addCalendar("work", new CalendarImpl());
+    addCalendar("work", new CalendarImpl());
+  }
+}
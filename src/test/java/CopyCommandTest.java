@@ -353,4 +353,63 @@ public class CopyCommandTest {
     assertEquals(10, originalCal.size());
     assertEquals(3, copiedEvents.size());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testCopyEventAddsToTarget() {
+    String input = "create calendar --name cal1 --timezone America/New_York"
+        + System.lineSeparator()
+        + "use calendar --name cal1"
+        + System.lineSeparator()
+        + "create event Meeting from 2025-06-26T10:00 to 2025-06-26T11:00"
+        + System.lineSeparator()
+        + "create calendar --name cal2 --timezone America/New_York"
+        + System.lineSeparator()
+        + "copy event Meeting on 2025-06-26T10:00 --target cal2 to 2025-10-26T10:00"
+        + System.lineSeparator()
+        + "copy event Meeting on 2025-06-26T10:00 --target cal2 to 2025-10-26T10:00";
+    StringReader inputStream = new StringReader(input);
+    StringBuilder output = new StringBuilder();
+    CalendarView calendarView = new CalendarViewImpl(output);
+    CalendarContainer calendarContainer = new CalendarContainerImpl();
+    CalendarController controller =
+        new AdvanceCalendarController(calendarContainer, inputStream, calendarView);
+    controller.run();
+    List<EventReadOnly> copied = calendarContainer.getCalendars().get("cal2")
+        .getEvents(LocalDateTime.of(2025, 10, 26, 0, 0), LocalDateTime.of(2025, 10, 26, 23, 59));
+    assertEquals(1, copied.size());
+    assertEquals(LocalDateTime.of(2025, 10, 26, 11, 0), copied.get(0).getEndDateTime());
+    assertTrue(output.toString().contains("!!***Event already exists***!!"));
+  }
+
+  @Test
+  public void testCopyEventsConflictCopiesNothing() {
+    String input = "create calendar --name cal1 --timezone America/New_York"
+        + System.lineSeparator()
+        + "use calendar --name cal1"
+        + System.lineSeparator()
+        + "create event Meet from 2025-10-27T08:00 to 2025-10-27T09:00"
+        + System.lineSeparator()
+        + "create event Lunch from 2025-10-27T12:00 to 2025-10-27T13:00"
+        + System.lineSeparator()
+        + "create calendar --name cal2 --timezone America/New_York"
+        + System.lineSeparator()
+        + "use calendar --name cal2"
+        + System.lineSeparator()
+        + "create event Lunch from 2025-11-03T12:00 to 2025-11-03T13:00"
+        + System.lineSeparator()
+        + "use calendar --name cal1"
+        + System.lineSeparator()
+        + "copy events on 2025-10-27 --target cal2 to 2025-11-03";
+    StringReader inputStream = new StringReader(input);
+    StringBuilder output = new StringBuilder();
+    CalendarView calendarView = new CalendarViewImpl(output);
+    CalendarContainer calendarContainer = new CalendarContainerImpl();
+    CalendarController controller =
+        new AdvanceCalendarController(calendarContainer, inputStream, calendarView);
+    controller.run();
+    assertTrue(output.toString().contains("!!***Event already exists***!!"));
+    assertEquals(1, calendarContainer.getCalendars().get("cal2")
+        .getEvents(LocalDateTime.of(2025, 11, 3, 0, 0), LocalDateTime.of(2025, 11, 3, 23, 59))
+        .size());
+  }
+}
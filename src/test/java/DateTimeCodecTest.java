@@ -0,0 +1,82 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.DateTimeCodec;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import org.junit.Test;
+
+/**
+ * Tests for DateTimeCodec, checking that the hand written parsing and formatting give
+ * the same results as the formatters they replace.
+ */
+public class DateTimeCodecTest {
+
+  @Test
+  public void testParseDateTimeMatchesFormatter() {
+    String[] values = {"2025-10-20T09:30", "2024-02-29T00:00", "0001-01-01T23:59",
+        "2025-04-31T10:00", "2025-02-30T08:00", "9999-12-31T23:59"};
+    for (String value : values) {
+      assertEquals(LocalDateTime.parse(value, DateTimeCodec.DATE_TIME),
+          DateTimeCodec.parseDateTime(value));
+    }
+  }
+
+  @Test
+  public void testParseDateAndTime() {
+    assertEquals(LocalDate.of(2025, 10, 20), DateTimeCodec.parseDate("2025-10-20"));
+    assertEquals(LocalDate.of(2025, 6, 30), DateTimeCodec.parseDate("2025-06-31"));
+    assertEquals(LocalTime.of(7, 5), DateTimeCodec.parseTime("07:05"));
+  }
+
+  @Test
+  public void testParseIsoDateTimeAcceptsSeconds() {
+    assertEquals(LocalDateTime.of(2025, 10, 20, 9, 30),
+        DateTimeCodec.parseIsoDateTime("2025-10-20T09:30"));
+    assertEquals(LocalDateTime.of(2025, 10, 20, 9, 30, 15),
+        DateTimeCodec.parseIsoDateTime("2025-10-20T09:30:15"));
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void testParseDateTimeRejectsBadMonth() {
+    DateTimeCodec.parseDateTime("2025-13-01T10:00");
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void testParseDateTimeRejectsBadHour() {
+    DateTimeCodec.parseDateTime("2025-10-20T25:00");
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void testParseDateRejectsDateTime() {
+    DateTimeCodec.parseDate("2025-10-20T10:00");
+  }
+
+  @Test
+  public void testIsDateTimeShape() {
+    assertTrue(DateTimeCodec.isDateTimeShape("2025-10-20T09:30"));
+    assertTrue(DateTimeCodec.isDateTimeShape("2025-99-99T99:99"));
+    assertFalse(DateTimeCodec.isDateTimeShape("2025-10-20 09:30"));
+    assertFalse(DateTimeCodec.isDateTimeShape("2025-10-20T9:30"));
+    assertFalse(DateTimeCodec.isDateTimeShape("2025-10-20T09:30:00"));
+  }
+
+  @Test
+  public void testFormatting() {
+    LocalDateTime dateTime = LocalDateTime.of(2025, 3, 7, 0, 5);
+    assertEquals("2025-03-07", DateTimeCodec.formatDate(dateTime.toLocalDate()));
+    assertEquals("03/07/2025",
+        DateTimeCodec.appendUsDate(new StringBuilder(), dateTime.toLocalDate()).toString());
+    assertEquals("12:05AM",
+        DateTimeCodec.appendTwelveHourTime(new StringBuilder(), LocalTime.of(0, 5)).toString());
+    assertEquals("12:30PM",
+        DateTimeCodec.appendTwelveHourTime(new StringBuilder(), LocalTime.of(12, 30)).toString());
+    assertEquals("11:59PM",
+        DateTimeCodec.appendTwelveHourTime(new StringBuilder(), LocalTime.of(23, 59)).toString());
+    assertEquals("20250307T000500",
+        DateTimeCodec.appendBasicDateTime(new StringBuilder(), dateTime).toString());
+  }
+}
@@ -0,0 +1,305 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.CalendarFilter;
+import calendar.controller.EventPredicates;
+import calendar.model.CalendarImpl;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.datatypes.TypeOfEvent;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.model.interfaces.EventSeriesReadOnly;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the EventSeries rule and for series stored in CalendarImpl.
+ * Checks that occurrences are expanded lazily, that edits and removals of single
+ * occurrences are kept as exceptions of the series, and that editing a series from
+ * a date on rewrites its rule.
+ */
+public class EventSeriesTest {
+  private CalendarEditable calendar;
+  private EventSeriesReadOnly mondayWednesday;
+
+  /**
+   * Creates an empty calendar and a Monday/Wednesday series of ten occurrences
+   * starting on Monday 2025-10-20.
+   */
+  @Before
+  public void setUp() {
+    calendar = new CalendarImpl();
+    mondayWednesday = new EventSeries.EventSeriesBuilder("Lecture",
+        LocalDateTime.of(2025, 10, 20, 10, 0), LocalDateTime.of(2025, 10, 20, 11, 30),
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+        .setOccurrences(10)
+        .build();
+  }
+
+  @Test
+  public void testOccurrencesComputeLastDate() {
+    assertEquals(LocalDate.of(2025, 10, 20), mondayWednesday.getFirstDate());
+    assertEquals(LocalDate.of(2025, 11, 19), mondayWednesday.getLastDate());
+    assertEquals(10, mondayWednesday.occurrenceCount());
+  }
+
+  @Test
+  public void testOccurrencesSkipStartDayNotInRule() {
+    EventSeriesReadOnly series = new EventSeries.EventSeriesBuilder("Gym",
+        LocalDateTime.of(2025, 10, 21, 7, 0), LocalDateTime.of(2025, 10, 21, 8, 0),
+        EnumSet.of(DayOfWeek.SATURDAY))
+        .setOccurrences(2)
+        .build();
+    List<EventReadOnly> all = new ArrayList<>();
+    series.forEachOccurrence(all::add);
+    assertEquals(2, all.size());
+    assertEquals(LocalDateTime.of(2025, 10, 25, 7, 0), all.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 11, 1, 7, 0), all.get(1).getStartDateTime());
+  }
+
+  @Test
+  public void testOccurrencesBetweenOnlyExpandsWindow() {
+    List<EventReadOnly> week = mondayWednesday.occurrencesBetween(LocalDate.of(2025, 10, 27),
+        LocalDate.of(2025, 11, 2));
+    assertEquals(2, week.size());
+    assertEquals(TypeOfEvent.SERIES, week.get(0).getEventType());
+    assertEquals(mondayWednesday.getId(), week.get(1).getId());
+    assertEquals(LocalDateTime.of(2025, 10, 29, 11, 30), week.get(1).getEndDateTime());
+  }
+
+  @Test
+  public void testSeriesVisibleThroughCalendarQueries() {
+    calendar.addSeries(mondayWednesday);
+    assertEquals(10, new CalendarFilter(calendar)
+        .filter(EventPredicates.bySubject("Lecture")).size());
+    assertEquals(1, calendar.getEvents(LocalDateTime.of(2025, 10, 22, 0, 0),
+        LocalDateTime.of(2025, 10, 22, 23, 59)).size());
+    assertEquals(2, calendar.getEvents(LocalDateTime.of(2025, 10, 27, 11, 30),
+        LocalDateTime.of(2025, 10, 29, 10, 0)).size());
+    assertTrue(calendar.isBusy(LocalDateTime.of(2025, 11, 3, 10, 45)));
+    assertFalse(calendar.isBusy(LocalDateTime.of(2025, 11, 4, 10, 45)));
+    assertEquals(10, calendar.getAllEvents().size());
+  }
+
+  @Test
+  public void testForEachEventMergesSeriesInDateOrder() {
+    EventReadOnly single = new Event.EventBuilder("Review",
+        LocalDateTime.of(2025, 10, 21, 9, 0)).build();
+    calendar.addEvent(single);
+    calendar.addSeries(mondayWednesday);
+    List<EventReadOnly> all = new ArrayList<>();
+    calendar.forEachEvent(all::add);
+    assertEquals(11, all.size());
+    assertEquals(LocalDateTime.of(2025, 10, 20, 10, 0), all.get(0).getStartDateTime());
+    assertEquals(single, all.get(1));
+    assertEquals(LocalDateTime.of(2025, 10, 22, 10, 0), all.get(2).getStartDateTime());
+  }
+
+  @Test
+  public void testSeriesConflictWithExistingEvent() {
+    calendar.addEvent(new Event.EventBuilder("Lecture", LocalDateTime.of(2025, 11, 5, 10, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 11, 5, 11, 30))
+        .build());
+    try {
+      calendar.addSeries(mondayWednesday);
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("conflict with existing event"));
+    }
+    assertEquals(1, new CalendarFilter(calendar)
+        .filter(EventPredicates.bySubject("Lecture")).size());
+  }
+
+  @Test
+  public void testAddEventConflictsWithSeriesOccurrence() {
+    calendar.addSeries(mondayWednesday);
+    try {
+      calendar.addEvent(new Event.EventBuilder("Lecture", LocalDateTime.of(2025, 11, 5, 10, 0))
+          .setEndDateTime(LocalDateTime.of(2025, 11, 5, 11, 30))
+          .build());
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertEquals("Event already exists", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testEditOccurrenceStoredAsOverride() {
+    calendar.addSeries(mondayWednesday);
+    List<EventReadOnly> toEdit = calendar.getEvents(LocalDateTime.of(2025, 10, 22, 0, 0),
+        LocalDateTime.of(2025, 10, 22, 23, 59));
+    calendar.editEvent(toEdit, "location", "online");
+
+    List<EventReadOnly> lectures = new CalendarFilter(calendar)
+        .filter(EventPredicates.bySubject("Lecture"));
+    assertEquals(10, lectures.size());
+    List<EventReadOnly> sameSeries = new CalendarFilter(calendar)
+        .filter(EventPredicates.byEventId(mondayWednesday.getId()));
+    assertEquals(10, sameSeries.size());
+    EventReadOnly edited = calendar.getEvents(LocalDateTime.of(2025, 10, 22, 0, 0),
+        LocalDateTime.of(2025, 10, 22, 23, 59)).get(0);
+    assertEquals("ONLINE", edited.getLocation().name());
+    assertEquals(TypeOfEvent.SERIES, edited.getEventType());
+  }
+
+  @Test
+  public void testRemoveAllOccurrencesDropsSeries() {
+    calendar.addSeries(mondayWednesday);
+    List<EventReadOnly> all = new ArrayList<>();
+    calendar.forEachEvent(all::add);
+    for (EventReadOnly occurrence : all) {
+      calendar.removeEvent(occurrence);
+    }
+    List<EventReadOnly> remaining = new ArrayList<>();
+    calendar.forEachEvent(remaining::add);
+    assertTrue(remaining.isEmpty());
+    calendar.addSeries(mondayWednesday);
+    assertEquals(10, calendar.getAllEvents().size());
+  }
+
+  @Test
+  public void testGetSeriesEventsMergesRuleAndOverrides() {
+    calendar.addSeries(mondayWednesday);
+    calendar.addEvent(new Event.EventBuilder("Review",
+        LocalDateTime.of(2025, 10, 21, 9, 0)).build());
+    List<EventReadOnly> toEdit = calendar.getEvents(LocalDateTime.of(2025, 10, 22, 0, 0),
+        LocalDateTime.of(2025, 10, 22, 23, 59));
+    calendar.editEvent(toEdit, "location", "online");
+    calendar.removeEvent(calendar.getSeriesEvents(mondayWednesday.getId()).get(0));
+
+    List<EventReadOnly> occurrences = calendar.getSeriesEvents(mondayWednesday.getId());
+    assertEquals(9, occurrences.size());
+    assertEquals(LocalDateTime.of(2025, 10, 22, 10, 0), occurrences.get(0).getStartDateTime());
+    assertEquals("ONLINE", occurrences.get(0).getLocation().name());
+    assertEquals(LocalDateTime.of(2025, 10, 27, 10, 0), occurrences.get(1).getStartDateTime());
+    assertTrue(calendar.getSeriesEvents(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  public void testFindEventsMatchesSeriesOccurrence() {
+    calendar.addSeries(mondayWednesday);
+    List<EventReadOnly> found = calendar.findEvents("Lecture",
+        LocalDateTime.of(2025, 10, 29, 10, 0));
+    assertEquals(1, found.size());
+    assertEquals(mondayWednesday.getId(), found.get(0).getId());
+    assertTrue(calendar.findEvents("Lecture", LocalDateTime.of(2025, 10, 28, 10, 0)).isEmpty());
+    assertTrue(calendar.findEvents("Lecture", LocalDateTime.of(2025, 10, 29, 11, 0)).isEmpty());
+  }
+
+  private List<EventReadOnly> seriesEventsFrom(UUID seriesId, LocalDate date) {
+    List<EventReadOnly> events = calendar.getSeriesEvents(seriesId);
+    events.removeIf(event -> event.getStartDateTime().toLocalDate().isBefore(date));
+    return events;
+  }
+
+  @Test
+  public void testWholeSeriesEditRewritesTheRule() {
+    EventSeriesReadOnly weekdays = calendar.addSeries(new EventSeries.EventSeriesBuilder(
+        "Standup", LocalDateTime.of(2025, 10, 20, 9, 0), LocalDateTime.of(2025, 10, 20, 9, 15),
+        EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY))
+        .setLastDate(LocalDate.of(2035, 12, 31))
+        .build());
+    calendar.editEvent(calendar.getSeriesEvents(weekdays.getId()), "subject", "Sync");
+
+    List<EventReadOnly> stored = new ArrayList<>();
+    calendar.forEachStoredEvent(stored::add);
+    assertTrue(stored.isEmpty());
+    List<EventSeriesReadOnly> rules = new ArrayList<>();
+    calendar.forEachSeries(rules::add);
+    assertEquals(1, rules.size());
+    assertEquals("Sync", rules.get(0).getSubject());
+    assertEquals(weekdays.occurrenceCount(), rules.get(0).occurrenceCount());
+    assertTrue(calendar.findEvents("Standup", LocalDateTime.of(2030, 1, 1, 9, 0)).isEmpty());
+    assertEquals(1, calendar.findEvents("Sync", LocalDateTime.of(2030, 1, 1, 9, 0)).size());
+  }
+
+  @Test
+  public void testEditFromDateSplitsTheRule() {
+    calendar.addSeries(mondayWednesday);
+    calendar.removeEvent(calendar.findEvents("Lecture",
+        LocalDateTime.of(2025, 11, 10, 10, 0)).get(0));
+    List<EventReadOnly> edited = calendar.editEvent(
+        seriesEventsFrom(mondayWednesday.getId(), LocalDate.of(2025, 11, 3)),
+        "description", "Moved online");
+
+    assertEquals(5, edited.size());
+    List<EventReadOnly> stored = new ArrayList<>();
+    calendar.forEachStoredEvent(stored::add);
+    assertTrue(stored.isEmpty());
+    List<EventSeriesReadOnly> rules = new ArrayList<>();
+    calendar.forEachSeries(rules::add);
+    assertEquals(2, rules.size());
+    assertEquals(mondayWednesday.getId(), rules.get(1).getId());
+    List<EventReadOnly> occurrences = calendar.getSeriesEvents(mondayWednesday.getId());
+    assertEquals(9, occurrences.size());
+    assertEquals("No description given", occurrences.get(3).getDescription());
+    assertEquals("Moved online", occurrences.get(4).getDescription());
+    assertEquals(LocalDateTime.of(2025, 11, 12, 10, 0), occurrences.get(6).getStartDateTime());
+  }
+
+  @Test
+  public void testStartEditFromDateMovesTheRestToANewSeries() {
+    calendar.addSeries(mondayWednesday);
+    calendar.editEvent(seriesEventsFrom(mondayWednesday.getId(), LocalDate.of(2025, 11, 3)),
+        "start", "2025-11-03T09:00");
+
+    assertEquals(4, calendar.getSeriesEvents(mondayWednesday.getId()).size());
+    List<EventReadOnly> moved = calendar.findEvents("Lecture",
+        LocalDateTime.of(2025, 11, 19, 9, 0));
+    assertEquals(1, moved.size());
+    List<EventReadOnly> rest = calendar.getSeriesEvents(moved.get(0).getId());
+    assertEquals(6, rest.size());
+    assertEquals(LocalDateTime.of(2025, 11, 3, 11, 30), rest.get(0).getEndDateTime());
+    List<EventReadOnly> stored = new ArrayList<>();
+    calendar.forEachStoredEvent(stored::add);
+    assertTrue(stored.isEmpty());
+  }
+
+  @Test
+  public void testRuleRewriteConflictLeavesTheSeriesUnchanged() {
+    calendar.addSeries(mondayWednesday);
+    calendar.addEvent(new Event.EventBuilder("Seminar", LocalDateTime.of(2025, 11, 5, 10, 0))
+        .setEndDateTime(LocalDateTime.of(2025, 11, 5, 11, 30))
+        .build());
+    try {
+      calendar.editEvent(calendar.getSeriesEvents(mondayWednesday.getId()), "subject",
+          "Seminar");
+      assert false;
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("conflicting"));
+    }
+    List<EventSeriesReadOnly> rules = new ArrayList<>();
+    calendar.forEachSeries(rules::add);
+    assertEquals(1, rules.size());
+    assertEquals("Lecture", rules.get(0).getSubject());
+    assertEquals(10, calendar.getSeriesEvents(mondayWednesday.getId()).size());
+  }
+
+  @Test
+  public void testWholeSeriesEditKeepsEarlierOverridesEdited() {
+    calendar.addSeries(mondayWednesday);
+    calendar.editEvent(calendar.findEvents("Lecture", LocalDateTime.of(2025, 10, 22, 10, 0)),
+        "location", "online");
+    calendar.editEvent(calendar.getSeriesEvents(mondayWednesday.getId()), "subject",
+        "Talk");
+
+    List<EventReadOnly> occurrences = calendar.getSeriesEvents(mondayWednesday.getId());
+    assertEquals(10, occurrences.size());
+    for (EventReadOnly occurrence : occurrences) {
+      assertEquals("Talk", occurrence.getSubject());
+    }
+    assertEquals("ONLINE", occurrences.get(1).getLocation().name());
+    List<EventReadOnly> stored = new ArrayList<>();
+    calendar.forEachStoredEvent(stored::add);
+    assertEquals(1, stored.size());
+  }
+}
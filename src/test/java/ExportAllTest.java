@@ -0,0 +1,141 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.AdvanceCalendarController;
+import calendar.controller.CsvExporter;
+import calendar.controller.commanddata.ExportAllCommandData;
+import calendar.controller.handlers.ExportAllHandler;
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.Event;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.view.CalendarViewImpl;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for exporting every calendar at once: one file per calendar with the same content
+ * a single export writes, a progress line per file, the summary and the names of the files.
+ */
+public class ExportAllTest {
+  private CalendarContainer container;
+  private Path directory;
+
+  @Before
+  public void setUp() throws IOException {
+    container = new CalendarContainerImpl();
+    directory = Files.createTempDirectory("export-all");
+    directory.toFile().deleteOnExit();
+  }
+
+  private String run(String... commands) {
+    StringBuilder out = new StringBuilder();
+    new AdvanceCalendarController(container,
+        new StringReader(String.join(System.lineSeparator(), commands)),
+        new CalendarViewImpl(out)).run();
+    return out.toString();
+  }
+
+  private List<String> files() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      List<String> names = files.map(file -> {
+        file.toFile().deleteOnExit();
+        return file.getFileName().toString();
+      }).sorted().collect(Collectors.toList());
+      return names;
+    }
+  }
+
+  private void addCalendar(String name, int events) {
+    AdvancedCalendar calendar = new AdvancedCalendarImpl.AdvancedCalendarBuilder(name,
+        ZoneId.of("UTC")).build();
+    for (int i = 0; i < events; i++) {
+      calendar.addEvent(new Event.EventBuilder("Event " + i,
+          LocalDateTime.of(2025, 11, 3, 9, 0).plusDays(i)).build());
+    }
+    container.addCalendar(name, calendar);
+  }
+
+  @Test
+  public void testEveryCalendarIsExportedWithProgress() throws IOException {
+    String out = run("create calendar --name work --timezone America/New_York",
+        "create calendar --name home --timezone Europe/Paris",
+        "use calendar --name work",
+        "create event Standup from 2025-11-03T09:00 to 2025-11-03T09:30 "
+            + "repeats MTWRF for 5 times",
+        "use calendar --name home",
+        "create event Dinner from 2025-11-03T19:00 to 2025-11-03T20:00",
+        "export all " + directory + " --format csv");
+    assertEquals(List.of("default.csv", "home.csv", "work.csv"), files());
+    assertTrue(out, out.contains("[1/3] "));
+    assertTrue(out, out.contains("[3/3] "));
+    assertTrue(out, out.contains("work: 5 events, "));
+    assertTrue(out, out.contains("home: 1 events, "));
+    assertTrue(out, out.contains("Exported 3 of 3 calendars to: " + directory));
+    assertTrue(out, out.contains("6 events, "));
+
+    File single = File.createTempFile("work", ".csv");
+    single.deleteOnExit();
+    new CsvExporter().export(single.getPath(),
+        container.getCalendars().get("work").getAllEvents());
+    assertEquals(Files.readString(single.toPath()),
+        Files.readString(directory.resolve("work.csv")));
+  }
+
+  @Test
+  public void testManyCalendarsOnFewThreads() throws IOException {
+    for (int i = 0; i < 40; i++) {
+      addCalendar("cal" + i, i % 7);
+    }
+    List<String> progress = Collections.synchronizedList(new ArrayList<>());
+    String summary = new ExportAllHandler(container, progress::add, 3)
+        .handle(new ExportAllCommandData(directory.toString(), "ical"));
+    assertEquals(40, files().size());
+    assertEquals(40, progress.size());
+    assertTrue(progress.get(39), progress.get(39).startsWith("[40/40] "));
+    assertTrue(summary, summary.startsWith("Exported 40 of 40 calendars"));
+    String content = Files.readString(directory.resolve("cal6.ical"));
+    assertEquals(6, content.split("BEGIN:VEVENT", -1).length - 1);
+    assertTrue(content, content.endsWith("END:VCALENDAR\n"));
+  }
+
+  @Test
+  public void testFileNamesAreSafeAndDistinct() throws IOException {
+    addCalendar("team/plans", 1);
+    addCalendar("team_plans", 1);
+    addCalendar("Team_Plans", 1);
+    new ExportAllHandler(container, line -> { }, 2)
+        .handle(new ExportAllCommandData(directory.toString(), "csv"));
+    assertEquals(List.of("Team_Plans.csv", "team_plans-2.csv", "team_plans-3.csv"), files());
+  }
+
+  @Test
+  public void testInvalidCommandsAreRejected() throws IOException {
+    addCalendar("work", 1);
+    String out = run("export all " + directory + " --format pdf",
+        "export all " + directory,
+        "export all " + directory + " --type csv");
+    assertTrue(out, out.contains("Invalid file type: pdf"));
+    assertTrue(out, out.contains("Usage: export all <directory> --format csv|ical"));
+    assertEquals(List.of(), files());
+  }
+
+  @Test
+  public void testNothingToExport() {
+    assertEquals("No calendars to export", new ExportAllHandler(container, line -> { })
+        .handle(new ExportAllCommandData(directory.toString(), "csv")));
+  }
+}
@@ -0,0 +1,119 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.CsvExporter;
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.interfaces.AdvancedCalendar;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the flight recorder events of calendars and exporters: what a recording that
+ * turns them on gets, and that a recording that does not gets none of them.
+ */
+public class FlightRecorderEventsTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+  private AdvancedCalendar calendar;
+
+  @Before
+  public void setUp() {
+    calendar = new AdvancedCalendarImpl.AdvancedCalendarBuilder("work",
+        ZoneId.of("UTC")).build();
+  }
+
+  private void useCalendar() {
+    calendar.addEvent(new Event.EventBuilder("Standup", MONDAY).build());
+    calendar.addSeries(new EventSeries.EventSeriesBuilder("Gym", MONDAY.plusHours(9),
+        MONDAY.plusHours(10), EnumSet.of(DayOfWeek.MONDAY)).setOccurrences(3).build());
+    calendar.getEvents(MONDAY.minusHours(1), MONDAY.plusDays(10));
+    calendar.isBusy(MONDAY.plusMinutes(10));
+    calendar.removeEvent(calendar.findEvents("Standup", MONDAY).get(0));
+  }
+
+  private static List<RecordedEvent> record(boolean enabled, Runnable action)
+      throws IOException {
+    Path file = Files.createTempFile("calendar", ".jfr");
+    try (Recording recording = new Recording()) {
+      if (enabled) {
+        recording.enable("calendar.Mutation").withoutThreshold();
+        recording.enable("calendar.Query").withoutThreshold();
+        recording.enable("calendar.Export").withoutThreshold();
+      }
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(file);
+    }
+    List<RecordedEvent> events = new ArrayList<>();
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      if (event.getEventType().getName().startsWith("calendar.")) {
+        events.add(event);
+      }
+    }
+    Files.delete(file);
+    return events;
+  }
+
+  private static List<String> describe(List<RecordedEvent> events) {
+    List<String> result = new ArrayList<>();
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals("calendar.Mutation")) {
+        result.add(event.getString("calendar") + " " + event.getString("operation") + " "
+            + event.getLong("eventsChanged") + " " + event.getInt("storedEvents") + " "
+            + event.getInt("series"));
+      } else if (event.getEventType().getName().equals("calendar.Query")) {
+        result.add(event.getString("calendar") + " " + event.getString("operation") + " "
+            + event.getString("from") + " " + event.getInt("scanned") + " "
+            + event.getInt("returned"));
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void testRecordingGetsChangesAndQueries() throws IOException {
+    List<RecordedEvent> events = record(true, this::useCalendar);
+    assertEquals(List.of(
+        "work add 1 1 0",
+        "work addSeries 3 1 1",
+        "work getEvents 2025-11-03T08:00 2 3",
+        "work isBusy 2025-11-03T09:10 0 1",
+        "work remove 1 0 1"), describe(events));
+  }
+
+  @Test
+  public void testRecordingGetsExports() throws IOException {
+    calendar.addEvent(new Event.EventBuilder("Standup", MONDAY).build());
+    File file = File.createTempFile("calendar", ".csv");
+    file.deleteOnExit();
+    List<RecordedEvent> events = record(true, () ->
+        new CsvExporter().export(file.getPath(), calendar.getAllEvents()));
+    assertEquals(1, events.size());
+    RecordedEvent export = events.get(0);
+    assertEquals("calendar.Export", export.getEventType().getName());
+    assertEquals("csv", export.getString("format"));
+    assertEquals(1, export.getInt("events"));
+    assertEquals(file.length(), export.getLong("bytesWritten"));
+    assertTrue(export.getDuration().toNanos() > 0);
+  }
+
+  @Test
+  public void testEventsAreOffUnlessEnabled() throws IOException {
+    assertEquals(0, record(false, this::useCalendar).size());
+  }
+}
@@ -0,0 +1,125 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.Event;
+import calendar.model.EventSeries;
+import calendar.model.FreeSlotFinder;
+import calendar.model.TimeSlot;
+import calendar.model.interfaces.AdvancedCalendar;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for FreeSlotFinder.
+ * Checks the slots shared by several calendars, working hours, multi-day events,
+ * series occurrences and calendars in other time zones.
+ */
+public class FreeSlotFinderTest {
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private AdvancedCalendar work;
+  private AdvancedCalendar home;
+
+  /**
+   * Creates two empty calendars in the New York time zone.
+   */
+  @Before
+  public void setUp() {
+    work = new AdvancedCalendarImpl.AdvancedCalendarBuilder("Work", NEW_YORK)
+        .setCalendar(new CalendarImpl()).build();
+    home = new AdvancedCalendarImpl.AdvancedCalendarBuilder("Home", NEW_YORK)
+        .setCalendar(new CalendarImpl()).build();
+  }
+
+  private List<TimeSlot> slots(List<AdvancedCalendar> calendars, LocalDateTime from,
+                               LocalDateTime to, int minutes) {
+    Iterator<TimeSlot> iterator = new FreeSlotFinder(calendars, NEW_YORK)
+        .findFreeSlots(from, to, Duration.ofMinutes(minutes), LocalTime.of(9, 0),
+            LocalTime.of(17, 0));
+    List<TimeSlot> result = new ArrayList<>();
+    iterator.forEachRemaining(result::add);
+    return result;
+  }
+
+  private void addEvent(AdvancedCalendar calendar, LocalDateTime start, LocalDateTime end) {
+    calendar.addEvent(new Event.EventBuilder("Busy", start).setEndDateTime(end).build());
+  }
+
+  @Test
+  public void testMergesCalendarsInsideWorkingHours() {
+    addEvent(work, LocalDateTime.of(2025, 10, 20, 8, 0), LocalDateTime.of(2025, 10, 20, 10, 0));
+    addEvent(home, LocalDateTime.of(2025, 10, 20, 9, 30), LocalDateTime.of(2025, 10, 20, 11, 0));
+    addEvent(work, LocalDateTime.of(2025, 10, 20, 11, 30), LocalDateTime.of(2025, 10, 20, 12, 0));
+    addEvent(home, LocalDateTime.of(2025, 10, 20, 16, 30), LocalDateTime.of(2025, 10, 20, 18, 0));
+
+    List<TimeSlot> free = slots(List.of(work, home), LocalDateTime.of(2025, 10, 20, 0, 0),
+        LocalDateTime.of(2025, 10, 20, 23, 59), 45);
+    assertEquals(1, free.size());
+    assertEquals(new TimeSlot(LocalDateTime.of(2025, 10, 20, 12, 0),
+        LocalDateTime.of(2025, 10, 20, 16, 30)), free.get(0));
+
+    free = slots(List.of(work, home), LocalDateTime.of(2025, 10, 20, 0, 0),
+        LocalDateTime.of(2025, 10, 20, 23, 59), 30);
+    assertEquals(2, free.size());
+    assertEquals(LocalDateTime.of(2025, 10, 20, 11, 0), free.get(0).getStartDateTime());
+    assertEquals(Duration.ofMinutes(30), free.get(0).getDuration());
+  }
+
+  @Test
+  public void testMultiDayEventBlocksFollowingDays() {
+    addEvent(work, LocalDateTime.of(2025, 10, 20, 13, 0), LocalDateTime.of(2025, 10, 22, 10, 0));
+    List<TimeSlot> free = slots(List.of(work), LocalDateTime.of(2025, 10, 20, 0, 0),
+        LocalDateTime.of(2025, 10, 22, 23, 59), 60);
+    assertEquals(2, free.size());
+    assertEquals(new TimeSlot(LocalDateTime.of(2025, 10, 20, 9, 0),
+        LocalDateTime.of(2025, 10, 20, 13, 0)), free.get(0));
+    assertEquals(new TimeSlot(LocalDateTime.of(2025, 10, 22, 10, 0),
+        LocalDateTime.of(2025, 10, 22, 17, 0)), free.get(1));
+  }
+
+  @Test
+  public void testSeriesAndOtherTimeZone() {
+    work.addSeries(new EventSeries.EventSeriesBuilder("Standup",
+        LocalDateTime.of(2025, 10, 20, 9, 0), LocalDateTime.of(2025, 10, 20, 10, 0),
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY)).setOccurrences(2).build());
+    AdvancedCalendar london = new AdvancedCalendarImpl.AdvancedCalendarBuilder("London",
+        ZoneId.of("Europe/London")).setCalendar(new CalendarImpl()).build();
+    addEvent(london, LocalDateTime.of(2025, 10, 21, 19, 0), LocalDateTime.of(2025, 10, 21, 22, 0));
+
+    List<TimeSlot> free = slots(List.of(work, london), LocalDateTime.of(2025, 10, 21, 0, 0),
+        LocalDateTime.of(2025, 10, 21, 23, 59), 60);
+    assertEquals(1, free.size());
+    assertEquals(new TimeSlot(LocalDateTime.of(2025, 10, 21, 10, 0),
+        LocalDateTime.of(2025, 10, 21, 14, 0)), free.get(0));
+  }
+
+  @Test
+  public void testWindowStopsAtItsEnds() {
+    List<TimeSlot> free = slots(List.of(work), LocalDateTime.of(2025, 10, 20, 15, 0),
+        LocalDateTime.of(2025, 10, 21, 10, 0), 60);
+    assertEquals(2, free.size());
+    assertEquals(new TimeSlot(LocalDateTime.of(2025, 10, 20, 15, 0),
+        LocalDateTime.of(2025, 10, 20, 17, 0)), free.get(0));
+    assertEquals(new TimeSlot(LocalDateTime.of(2025, 10, 21, 9, 0),
+        LocalDateTime.of(2025, 10, 21, 10, 0)), free.get(1));
+    assertFalse(slots(List.of(work), LocalDateTime.of(2025, 10, 20, 17, 30),
+        LocalDateTime.of(2025, 10, 20, 20, 0), 15).iterator().hasNext());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonPositiveDuration() {
+    new FreeSlotFinder(List.of(work), NEW_YORK).findFreeSlots(
+        LocalDateTime.of(2025, 10, 20, 0, 0), LocalDateTime.of(2025, 10, 21, 0, 0),
+        Duration.ZERO, LocalTime.of(9, 0), LocalTime.of(17, 0));
+  }
+}
@@ -0,0 +1,222 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.AdvanceCalendarController;
+import calendar.controller.IcalImporter;
+import calendar.controller.ImportReport;
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.datatypes.EventStatus;
+import calendar.model.datatypes.Location;
+import calendar.model.interfaces.AdvancedCalendar;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.EventReadOnly;
+import calendar.view.CalendarViewImpl;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for importing iCal files: the properties read, folded lines, time zones, repeating
+ * events, the records rejected, batches of events and the import cal command.
+ */
+public class IcalImportTest {
+  private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+  private static final LocalDateTime TO = LocalDateTime.of(2026, 12, 31, 23, 59);
+  private AdvancedCalendar calendar;
+
+  @Before
+  public void setUp() {
+    calendar = new AdvancedCalendarImpl.AdvancedCalendarBuilder("work",
+        ZoneId.of("America/New_York")).build();
+  }
+
+  private static File write(String... lines) throws IOException {
+    File file = File.createTempFile("import", ".ics");
+    file.deleteOnExit();
+    Files.writeString(file.toPath(), String.join("\r\n", lines) + "\r\n",
+        StandardCharsets.UTF_8);
+    return file;
+  }
+
+  private ImportReport importFile(File file) {
+    return new IcalImporter(calendar, calendar.getZoneId()).importFile(file.getPath());
+  }
+
+  private static String[] vevent(String... properties) {
+    String[] lines = new String[properties.length + 2];
+    lines[0] = "BEGIN:VEVENT";
+    System.arraycopy(properties, 0, lines, 1, properties.length);
+    lines[lines.length - 1] = "END:VEVENT";
+    return lines;
+  }
+
+  @Test
+  public void testPropertiesAreMapped() throws IOException {
+    ImportReport report = importFile(write(vevent(
+        "SUMMARY:Design review\\, part 1",
+        "DTSTART;TZID=Europe/London:20251103T140000",
+        "DTEND;TZID=Europe/London:20251103T150000",
+        "DESCRIPTION:Bring the dra",
+        " ft and the numbers",
+        "LOCATION:Room 4",
+        "CLASS:CONFIDENTIAL",
+        "BEGIN:VALARM",
+        "SUMMARY:Not the subject",
+        "END:VALARM")));
+    assertEquals(1, report.getEvents());
+    EventReadOnly event = calendar.getEvents(FROM, TO).get(0);
+    assertEquals("Design review, part 1", event.getSubject());
+    assertEquals(LocalDateTime.of(2025, 11, 3, 9, 0), event.getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 11, 3, 10, 0), event.getEndDateTime());
+    assertEquals("Bring the draft and the numbers", event.getDescription());
+    assertEquals(Location.PHYSICAL, event.getLocation());
+    assertEquals(EventStatus.PRIVATE, event.getEventStatus());
+  }
+
+  @Test
+  public void testDatesUtcAndDurations() throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.addAll(List.of(vevent("SUMMARY:Offsite", "DTSTART;VALUE=DATE:20251110",
+        "DTEND;VALUE=DATE:20251112", "LOCATION:https://meet.example.com/x")));
+    lines.addAll(List.of(vevent("SUMMARY:Call", "DTSTART:20251113T150000Z",
+        "DURATION:PT45M", "CLASS:PUBLIC")));
+    lines.addAll(List.of(vevent("SUMMARY:Night shift", "DTSTART:20251114T220000",
+        "DTEND:20251115T060000")));
+    ImportReport report = importFile(write(lines.toArray(new String[0])));
+    assertEquals(5, report.getEvents());
+    List<EventReadOnly> events = calendar.getEvents(FROM, TO);
+    assertEquals("Offsite", events.get(0).getSubject());
+    assertTrue(events.get(0).isAllDay());
+    assertEquals(LocalDateTime.of(2025, 11, 11, 8, 0), events.get(1).getStartDateTime());
+    assertEquals(Location.ONLINE, events.get(1).getLocation());
+    assertEquals(LocalDateTime.of(2025, 11, 13, 10, 0), events.get(2).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 11, 13, 10, 45), events.get(2).getEndDateTime());
+    assertEquals(EventStatus.PUBLIC, events.get(2).getEventStatus());
+    assertEquals(LocalDateTime.of(2025, 11, 14, 23, 59), events.get(3).getEndDateTime());
+    assertEquals(LocalDateTime.of(2025, 11, 15, 0, 0), events.get(4).getStartDateTime());
+  }
+
+  @Test
+  public void testRepeatingEventsBecomeSeries() throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.addAll(List.of(vevent("SUMMARY:Standup", "DTSTART:20251103T090000",
+        "DTEND:20251103T091500", "RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=6",
+        "EXDATE:20251105T090000")));
+    lines.addAll(List.of(vevent("SUMMARY:Gym", "DTSTART;VALUE=DATE:20251104",
+        "RRULE:FREQ=DAILY;UNTIL=20251107")));
+    ImportReport report = importFile(write(lines.toArray(new String[0])));
+    assertEquals(2, report.getSeries());
+    assertEquals(9, report.getSeriesOccurrences());
+    List<EventReadOnly> standups = calendar.getSeriesEvents(
+        calendar.findEvents("Standup", LocalDateTime.of(2025, 11, 3, 9, 0)).get(0).getId());
+    assertEquals(5, standups.size());
+    assertEquals(LocalDate.of(2025, 11, 14), standups.get(4).getStartDateTime().toLocalDate());
+    assertTrue(calendar.findEvents("Gym", LocalDateTime.of(2025, 11, 7, 8, 0))
+        .get(0).isAllDay());
+  }
+
+  @Test
+  public void testBadRecordsAreReportedAndTheRestImported() throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add("BEGIN:VCALENDAR");
+    lines.addAll(List.of(vevent("SUMMARY:Monthly", "DTSTART:20251103T090000",
+        "RRULE:FREQ=MONTHLY;COUNT=3")));
+    lines.addAll(List.of(vevent("SUMMARY:No start")));
+    lines.addAll(List.of(vevent("SUMMARY:Kept", "DTSTART:20251103T090000")));
+    lines.addAll(List.of(vevent("SUMMARY:Kept", "DTSTART:20251103T090000")));
+    lines.addAll(List.of(vevent("SUMMARY:Backwards", "DTSTART:20251103T090000",
+        "DTEND:20251103T080000")));
+    lines.addAll(List.of(vevent("SUMMARY:Bad zone",
+        "DTSTART;TZID=Mars/Olympus:20251103T090000")));
+    lines.add("END:VCALENDAR");
+    lines.add("BEGIN:VEVENT");
+    lines.add("SUMMARY:Cut off");
+    ImportReport report = importFile(write(lines.toArray(new String[0])));
+    assertEquals(1, report.getEvents());
+    assertEquals(6, report.getRejected());
+    assertEquals(List.of(
+        "line 2 (Monthly): RRULE FREQ=MONTHLY is not supported",
+        "line 7 (No start): VEVENT has no DTSTART",
+        "line 18 (Backwards): VEVENT ends before it starts",
+        "line 23 (Bad zone): Invalid DTSTART: 20251103T090000",
+        "line 14 (Kept): Event already exists",
+        "line 28 (Cut off): VEVENT is not closed"), report.getReasons());
+  }
+
+  @Test
+  public void testLargeFilesAreAddedInBatches() throws IOException {
+    File file = File.createTempFile("import", ".ics");
+    file.deleteOnExit();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+    try (Writer writer = Files.newBufferedWriter(file.toPath())) {
+      writer.write("BEGIN:VCALENDAR\n");
+      for (int i = 0; i < 2500; i++) {
+        int minutes = i == 1700 ? 1699 * 30 : i * 30;
+        writer.write("BEGIN:VEVENT\nSUMMARY:Slot\nDTSTART:"
+            + start.plusMinutes(minutes).toString().replaceAll("[-:]", "") + "00\n"
+            + "END:VEVENT\n");
+      }
+      writer.write("END:VCALENDAR\n");
+    }
+    ImportReport report = importFile(file);
+    assertEquals(2499, report.getEvents());
+    assertEquals(1, report.getRejected());
+    assertEquals(2499, calendar.getEvents(FROM, TO).size());
+  }
+
+  @Test
+  public void testExportedFileImportsTheSameEvents() throws IOException {
+    CalendarContainer container = new CalendarContainerImpl();
+    File exported = File.createTempFile("export", ".ical");
+    exported.deleteOnExit();
+    StringBuilder out = new StringBuilder();
+    new AdvanceCalendarController(container, new StringReader(String.join(
+        System.lineSeparator(),
+        "create calendar --name home --timezone America/New_York",
+        "use calendar --name home",
+        "create event Dinner from 2025-11-03T19:00 to 2025-11-03T20:00",
+        "create event Holiday on 2025-11-27",
+        "create event Class from 2025-11-04T10:00 to 2025-11-04T11:00 repeats TR for 4 times",
+        "export cal " + exported.getPath(),
+        "create calendar --name copy --timezone America/New_York",
+        "use calendar --name copy",
+        "import cal " + exported.getPath())), new CalendarViewImpl(out)).run();
+    assertTrue(out.toString(), out.toString().contains(
+        "Imported 6 events and 0 series (0 occurrences) from: "));
+    List<String> original = new ArrayList<>();
+    for (EventReadOnly event : container.getCalendars().get("home").getEvents(FROM, TO)) {
+      original.add(event.getSubject() + " " + event.getStartDateTime() + " "
+          + event.getEndDateTime() + " " + event.isAllDay());
+    }
+    List<String> imported = new ArrayList<>();
+    for (EventReadOnly event : container.getCalendars().get("copy").getEvents(FROM, TO)) {
+      imported.add(event.getSubject() + " " + event.getStartDateTime() + " "
+          + event.getEndDateTime() + " " + event.isAllDay());
+    }
+    assertEquals(original, imported);
+  }
+
+  @Test
+  public void testImportCommandChecksTheFile() {
+    StringBuilder out = new StringBuilder();
+    new AdvanceCalendarController(new CalendarContainerImpl(), new StringReader(String.join(
+        System.lineSeparator(),
+        "import cal events.csv",
+        "import cal missing-file.ics",
+        "import cal one.ics two.ics")), new CalendarViewImpl(out)).run();
+    assertTrue(out.toString(), out.toString().contains("Invalid file type: csv"));
+    assertTrue(out.toString(), out.toString().contains("Cannot read file: missing-file.ics"));
+    assertTrue(out.toString(), out.toString().contains("Usage: import cal <file.ics>"));
+  }
+}
@@ -0,0 +1,118 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import calendar.controller.handlers.MemoryReportHandler;
+import calendar.model.AdvancedCalendarImpl;
+import calendar.model.CalendarContainerImpl;
+import calendar.model.CalendarImpl;
+import calendar.model.ColumnarCalendar;
+import calendar.model.Event;
+import calendar.model.StringPool;
+import calendar.model.interfaces.CalendarContainer;
+import calendar.model.interfaces.CalendarEditable;
+import calendar.model.interfaces.EventReadOnly;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests for StringPool.
+ * Checks that equal strings are swapped for one instance, that the pool stops growing
+ * at its capacity, and that calendars store their events with pooled strings.
+ */
+public class StringPoolTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+  private static String copyOf(String value) {
+    return new String(value.toCharArray());
+  }
+
+  @Test
+  public void testInternReturnsOneInstance() {
+    StringPool pool = new StringPool(10);
+    String first = copyOf("Standup");
+    String second = copyOf("Standup");
+    assertNotSame(first, second);
+    assertSame(first, pool.intern(first));
+    assertSame(first, pool.intern(second));
+    assertSame(first, pool.intern(first));
+    assertNull(pool.intern(null));
+    assertEquals(1, pool.size());
+    assertEquals(3, pool.getLookups());
+    assertEquals(1, pool.getHits());
+    assertEquals(48, pool.getBytesReplaced());
+  }
+
+  @Test
+  public void testFullPoolReturnsNewStringsAsTheyAre() {
+    StringPool pool = new StringPool(1);
+    pool.intern("Standup");
+    String review = copyOf("Review");
+    assertSame(review, pool.intern(review));
+    assertNotSame(review, pool.intern(copyOf("Review")));
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void testCalendarsStorePooledStrings() {
+    for (CalendarEditable calendar : List.of(new CalendarImpl(), new ColumnarCalendar())) {
+      for (int day = 0; day < 5; day++) {
+        calendar.addEvent(new Event.EventBuilder(copyOf("Standup"), MONDAY.plusDays(day))
+            .setDescription(copyOf("daily sync")).build());
+      }
+      List<EventReadOnly> events = calendar.getEvents(MONDAY, MONDAY.plusDays(5));
+      assertEquals(5, events.size());
+      for (EventReadOnly event : events) {
+        assertSame(events.get(0).getSubject(), event.getSubject());
+        assertSame(events.get(0).getDescription(), event.getDescription());
+      }
+      assertEquals(8, calendar.getStringPool().getHits());
+      assertTrue(calendar.getStringPool().getBytesReplaced() > 0);
+    }
+  }
+
+  @Test
+  public void testMemoryReportListsEveryCalendar() {
+    CalendarContainer container = new CalendarContainerImpl();
+    for (String name : List.of("Work", "Home")) {
+      container.addCalendar(name, new AdvancedCalendarImpl.AdvancedCalendarBuilder(name,
+          ZoneId.of("UTC")).build());
+    }
+    container.getCalendars().get("Work").addEvent(new Event.EventBuilder("Standup", MONDAY)
+        .build());
+    container.getCalendars().get("Work").addEvent(new Event.EventBuilder(copyOf("Standup"),
+        MONDAY.plusDays(1)).build());
+    String report = new MemoryReportHandler(container).handle();
+    String[] lines = report.split(System.lineSeparator());
+    assertEquals(4, lines.length);
+    assertTrue(lines[1], lines[1].startsWith("Home: 0 of 65536 pooled strings"));
+    assertTrue(lines[2], lines[2].startsWith("Work: 2 of 65536 pooled strings, 1 of 4"));
+    assertEquals("Total bytes of duplicates replaced: 48", lines[3]);
+  }
+
+  @Test
+  public void testPoolCountsEveryLookupFromSeveralThreads() throws InterruptedException {
+    StringPool pool = new StringPool(StringPool.DEFAULT_CAPACITY);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 10000; i++) {
+          pool.intern(copyOf("Subject " + (i % 100)));
+          pool.size();
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40000, pool.getLookups());
+  }
+}
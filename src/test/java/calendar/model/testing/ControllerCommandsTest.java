@@ -117,7 +117,7 @@ public class ControllerCommandsTest {
     CalendarControllerImpl controller =
         new CalendarControllerImpl(calendar, testInputEdit, calendarView);
     controller.run();
-    assertTrue(log.toString().contains("forEachEventeditEvent"));
+    assertTrue(log.toString().contains("findEventseditEvent"));
   }
 
 
@@ -307,6 +307,35 @@ public class ControllerCommandsTest {
     assertEquals("event", tokens.get(1));
   }
 
+  @Test
+  public void testScanKeepsQuotedTokensTogether() {
+    CommandTokenizerImpl tokenizer = new CommandTokenizerImpl();
+    assertEquals(5, tokenizer.scan("create event \"Team Meeting\" on\"\" 2025-10-20"));
+    assertTrue(tokenizer.tokenEquals(0, "create"));
+    assertFalse(tokenizer.tokenEquals(1, "events"));
+    assertTrue(tokenizer.tokenEquals(2, "Team Meeting"));
+    assertEquals("Team Meeting", tokenizer.tokens().get(2));
+    assertEquals("on", tokenizer.tokens().get(3));
+    assertEquals(tokenizer.parser("create event \"Team Meeting\" on\"\" 2025-10-20"),
+        tokenizer.tokens());
+
+    assertEquals(1, tokenizer.scan("\"\" exit "));
+    assertTrue(tokenizer.tokenEquals(0, "exit"));
+    assertEquals(1, tokenizer.tokens().size());
+  }
+
+  @Test
+  public void testRunReadsReadableThatIsNotReader() {
+    StringBuilder out = new StringBuilder();
+    CalendarControllerImpl controller = new CalendarControllerImpl(new CalendarImpl(),
+        java.nio.CharBuffer.wrap("create event Review from 2025-10-20T09:00 to "
+            + "2025-10-20T10:00\n\nshow status on 2025-10-20T09:30\nexit\n"),
+        new CalendarViewImpl(out));
+    controller.run();
+    assertTrue(out.toString().contains("User is Busy"));
+    assertEquals(3, controller.getCommandsRun());
+  }
+
   @Test
   public void testEmptyCommandReturnsEmptyList() {
     CommandTokenizerImpl tokenizer = new CommandTokenizerImpl();